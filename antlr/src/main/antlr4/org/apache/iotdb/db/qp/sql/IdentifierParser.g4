@@ -52,6 +52,7 @@ keyWords
     | CHILD
     | CLEAR
     | CLUSTER
+    | COMPACTION
     | CONCAT
     | CONFIGNODES
     | CONFIGURATION
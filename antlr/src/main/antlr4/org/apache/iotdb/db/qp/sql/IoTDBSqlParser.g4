@@ -60,7 +60,7 @@ dclStatement
 
 utilityStatement
     : merge | fullMerge | flush | clearCache | settle | explain
-    | setSystemStatus | showVersion | showFlushInfo | showLockInfo | showQueryResource
+    | setSystemStatus | showVersion | showCompaction | showFlushInfo | showLockInfo | showQueryResource
     | showQueries | killQuery | grantWatermarkEmbedding | revokeWatermarkEmbedding
     | loadConfiguration | loadTimeseries | loadFile | removeFile | unloadFile;
 
@@ -726,6 +726,11 @@ showVersion
     : SHOW VERSION
     ;
 
+// Show Compaction
+showCompaction
+    : SHOW COMPACTION
+    ;
+
 // Show Flush Info
 showFlushInfo
     : SHOW FLUSH INFO
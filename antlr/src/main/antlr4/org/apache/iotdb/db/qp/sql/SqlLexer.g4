@@ -125,6 +125,10 @@ VARIABLES
     : V A R I A B L E S
     ;
 
+COMPACTION
+    : C O M P A C T I O N
+    ;
+
 CONCAT
     : C O N C A T
     ;
@@ -73,7 +73,10 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<THeartbeatR
                           heartbeatResp.getHeartbeatTimestamp(),
                           receiveTime,
                           // Region will inherit DataNode's status
-                          RegionStatus.parse(heartbeatResp.getStatus())));
+                          RegionStatus.parse(heartbeatResp.getStatus()),
+                          heartbeatResp.isSetRegionLoadSampleMap()
+                              ? heartbeatResp.getRegionLoadSampleMap().get(regionGroupId)
+                              : null));
 
               if (isLeader) {
                 routeBalancer.cacheLeaderSample(
@@ -82,6 +85,24 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<THeartbeatR
                         heartbeatResp.getHeartbeatTimestamp(), dataNodeLocation.getDataNodeId()));
               }
             });
+
+    // Update the replication lag of the RegionGroups led by this DataNode
+    if (heartbeatResp.isSetReplicationLagMap()) {
+      heartbeatResp
+          .getReplicationLagMap()
+          .forEach(
+              (regionGroupId, replicationLag) ->
+                  routeBalancer.cacheReplicationLagSample(
+                      regionGroupId,
+                      dataNodeLocation.getDataNodeId(),
+                      new Pair<>(heartbeatResp.getHeartbeatTimestamp(), replicationLag)));
+    }
+
+    // Update the version of the partition table cached by this DataNode
+    if (heartbeatResp.isSetPartitionTableEpoch() && heartbeatResp.isSetPartitionTableVersion()) {
+      dataNodeHeartbeatCache.cachePartitionTableVersion(
+          heartbeatResp.getPartitionTableEpoch(), heartbeatResp.getPartitionTableVersion());
+    }
   }
 
   @Override
@@ -22,6 +22,7 @@ import org.apache.iotdb.common.rpc.thrift.TEndPoint;
 import org.apache.iotdb.commons.client.property.ClientPoolProperty.DefaultProperty;
 import org.apache.iotdb.commons.conf.IoTDBConstant;
 import org.apache.iotdb.confignode.manager.load.balancer.RegionBalancer;
+import org.apache.iotdb.confignode.manager.load.balancer.partition.IPartitionAllocator;
 import org.apache.iotdb.confignode.manager.load.balancer.router.leader.ILeaderBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.priority.IPriorityBalancer;
 import org.apache.iotdb.confignode.manager.partition.RegionGroupExtensionPolicy;
@@ -113,6 +114,9 @@ public class ConfigNodeConfig {
    */
   private boolean enableDataPartitionInheritPolicy = false;
 
+  /** The policy of allocating new DataPartitions */
+  private String dataPartitionAllocationPolicy = IPartitionAllocator.GREEDY_POLICY;
+
   /** Max concurrent client number */
   private int rpcMaxConcurrentClientNum = 65535;
 
@@ -252,6 +256,12 @@ public class ConfigNodeConfig {
 
   private long cqMinEveryIntervalInMs = 1_000;
 
+  /** Whether to only recompute the windows of the aggregation CQs after the last execution */
+  private boolean enableIncrementalCq = false;
+
+  /** The late data within the grace period are taken into account by the incremental CQs */
+  private long cqLateDataGracePeriodInMs = 60_000;
+
   /** RatisConsensus protocol, request timeout for ratis client */
   private long dataRegionRatisRequestTimeoutMs = 10000L;
 
@@ -284,6 +294,11 @@ public class ConfigNodeConfig {
   private long schemaRegionRatisLogMax = 2L * 1024 * 1024 * 1024; // 2G
   private long dataRegionRatisLogMax = 20L * 1024 * 1024 * 1024; // 20G
 
+  /** RatisConsensus protocol, serve the linearizable reads by the leader lease */
+  private boolean configNodeRatisReadLeaderLeaseEnable = true;
+
+  private boolean schemaRegionRatisReadLeaderLeaseEnable = true;
+
   /** The getOrCreatePartitionTable interface will log new created Partition if set true */
   private boolean isEnablePrintingNewlyCreatedPartition = false;
 
@@ -562,6 +577,14 @@ public class ConfigNodeConfig {
     this.enableDataPartitionInheritPolicy = enableDataPartitionInheritPolicy;
   }
 
+  public String getDataPartitionAllocationPolicy() {
+    return dataPartitionAllocationPolicy;
+  }
+
+  public void setDataPartitionAllocationPolicy(String dataPartitionAllocationPolicy) {
+    this.dataPartitionAllocationPolicy = dataPartitionAllocationPolicy;
+  }
+
   public int getThriftServerAwaitTimeForStopService() {
     return thriftServerAwaitTimeForStopService;
   }
@@ -934,6 +957,22 @@ public class ConfigNodeConfig {
     this.cqMinEveryIntervalInMs = cqMinEveryIntervalInMs;
   }
 
+  public boolean isEnableIncrementalCq() {
+    return enableIncrementalCq;
+  }
+
+  public void setEnableIncrementalCq(boolean enableIncrementalCq) {
+    this.enableIncrementalCq = enableIncrementalCq;
+  }
+
+  public long getCqLateDataGracePeriodInMs() {
+    return cqLateDataGracePeriodInMs;
+  }
+
+  public void setCqLateDataGracePeriodInMs(long cqLateDataGracePeriodInMs) {
+    this.cqLateDataGracePeriodInMs = cqLateDataGracePeriodInMs;
+  }
+
   public long getDataRegionRatisRequestTimeoutMs() {
     return dataRegionRatisRequestTimeoutMs;
   }
@@ -1095,6 +1134,24 @@ public class ConfigNodeConfig {
     this.dataRegionRatisLogMax = dataRegionRatisLogMax;
   }
 
+  public boolean isConfigNodeRatisReadLeaderLeaseEnable() {
+    return configNodeRatisReadLeaderLeaseEnable;
+  }
+
+  public void setConfigNodeRatisReadLeaderLeaseEnable(
+      boolean configNodeRatisReadLeaderLeaseEnable) {
+    this.configNodeRatisReadLeaderLeaseEnable = configNodeRatisReadLeaderLeaseEnable;
+  }
+
+  public boolean isSchemaRegionRatisReadLeaderLeaseEnable() {
+    return schemaRegionRatisReadLeaderLeaseEnable;
+  }
+
+  public void setSchemaRegionRatisReadLeaderLeaseEnable(
+      boolean schemaRegionRatisReadLeaderLeaseEnable) {
+    this.schemaRegionRatisReadLeaderLeaseEnable = schemaRegionRatisReadLeaderLeaseEnable;
+  }
+
   public boolean isEnablePrintingNewlyCreatedPartition() {
     return isEnablePrintingNewlyCreatedPartition;
   }
@@ -21,9 +21,11 @@ package org.apache.iotdb.confignode.conf;
 import org.apache.iotdb.commons.conf.CommonConfig;
 import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.conf.IoTDBConstant;
+import org.apache.iotdb.commons.consensus.ReadConsistencyLevel;
 import org.apache.iotdb.commons.exception.BadNodeUrlException;
 import org.apache.iotdb.commons.utils.NodeUrlUtils;
 import org.apache.iotdb.confignode.manager.load.balancer.RegionBalancer;
+import org.apache.iotdb.confignode.manager.load.balancer.partition.IPartitionAllocator;
 import org.apache.iotdb.confignode.manager.load.balancer.router.leader.ILeaderBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.priority.IPriorityBalancer;
 import org.apache.iotdb.confignode.manager.partition.RegionGroupExtensionPolicy;
@@ -274,6 +276,21 @@ public class ConfigNodeDescriptor {
                 "enable_data_partition_inherit_policy",
                 String.valueOf(conf.isEnableDataPartitionInheritPolicy()))));
 
+    String dataPartitionAllocationPolicy =
+        properties
+            .getProperty(
+                "data_partition_allocation_policy", conf.getDataPartitionAllocationPolicy())
+            .trim();
+    if (IPartitionAllocator.GREEDY_POLICY.equals(dataPartitionAllocationPolicy)
+        || IPartitionAllocator.LOAD_AWARE_POLICY.equals(dataPartitionAllocationPolicy)) {
+      conf.setDataPartitionAllocationPolicy(dataPartitionAllocationPolicy);
+    } else {
+      throw new IOException(
+          String.format(
+              "Unknown data_partition_allocation_policy: %s, please set to \"GREEDY\" or \"LOAD_AWARE\"",
+              dataPartitionAllocationPolicy));
+    }
+
     conf.setCnRpcAdvancedCompressionEnable(
         Boolean.parseBoolean(
             properties
@@ -348,12 +365,13 @@ public class ConfigNodeDescriptor {
             .getProperty("leader_distribution_policy", conf.getLeaderDistributionPolicy())
             .trim();
     if (ILeaderBalancer.GREEDY_POLICY.equals(leaderDistributionPolicy)
-        || ILeaderBalancer.MIN_COST_FLOW_POLICY.equals(leaderDistributionPolicy)) {
+        || ILeaderBalancer.MIN_COST_FLOW_POLICY.equals(leaderDistributionPolicy)
+        || ILeaderBalancer.LOAD_AWARE_POLICY.equals(leaderDistributionPolicy)) {
       conf.setLeaderDistributionPolicy(leaderDistributionPolicy);
     } else {
       throw new IOException(
           String.format(
-              "Unknown leader_distribution_policy: %s, please set to \"GREEDY\" or \"MIN_COST_FLOW\"",
+              "Unknown leader_distribution_policy: %s, please set to \"GREEDY\", \"MIN_COST_FLOW\" or \"LOAD_AWARE\"",
               leaderDistributionPolicy));
     }
 
@@ -387,12 +405,12 @@ public class ConfigNodeDescriptor {
 
     String readConsistencyLevel =
         properties.getProperty("read_consistency_level", conf.getReadConsistencyLevel()).trim();
-    if (readConsistencyLevel.equals("strong") || readConsistencyLevel.equals("weak")) {
+    if (ReadConsistencyLevel.isValid(readConsistencyLevel)) {
       conf.setReadConsistencyLevel(readConsistencyLevel);
     } else {
       throw new IOException(
           String.format(
-              "Unknown read_consistency_level: %s, please set to \"strong\" or \"weak\"",
+              "Unknown read_consistency_level: %s, please set to \"strong\", \"weak\", \"any\" or \"bounded(ms)\"",
               readConsistencyLevel));
     }
 
@@ -757,6 +775,22 @@ public class ConfigNodeDescriptor {
                     String.valueOf(conf.getDataRegionRatisLogMax()))
                 .trim()));
 
+    conf.setConfigNodeRatisReadLeaderLeaseEnable(
+        Boolean.parseBoolean(
+            properties
+                .getProperty(
+                    "config_node_ratis_read_leader_lease_enable",
+                    String.valueOf(conf.isConfigNodeRatisReadLeaderLeaseEnable()))
+                .trim()));
+
+    conf.setSchemaRegionRatisReadLeaderLeaseEnable(
+        Boolean.parseBoolean(
+            properties
+                .getProperty(
+                    "schema_region_ratis_read_leader_lease_enable",
+                    String.valueOf(conf.isSchemaRegionRatisReadLeaderLeaseEnable()))
+                .trim()));
+
     conf.setEnablePrintingNewlyCreatedPartition(
         Boolean.parseBoolean(
             properties
@@ -807,6 +841,30 @@ public class ConfigNodeDescriptor {
     }
 
     conf.setCqMinEveryIntervalInMs(cqMinEveryIntervalInMs);
+
+    conf.setEnableIncrementalCq(
+        Boolean.parseBoolean(
+            properties
+                .getProperty(
+                    "enable_incremental_continuous_query",
+                    String.valueOf(conf.isEnableIncrementalCq()))
+                .trim()));
+
+    long cqLateDataGracePeriodInMs =
+        Long.parseLong(
+            properties
+                .getProperty(
+                    "continuous_query_late_data_grace_period_in_ms",
+                    String.valueOf(conf.getCqLateDataGracePeriodInMs()))
+                .trim());
+    if (cqLateDataGracePeriodInMs < 0) {
+      LOGGER.warn(
+          "continuous_query_late_data_grace_period_in_ms should not be negative, but current value is {}, ignore that and use the default value {}",
+          cqLateDataGracePeriodInMs,
+          conf.getCqLateDataGracePeriodInMs());
+      cqLateDataGracePeriodInMs = conf.getCqLateDataGracePeriodInMs();
+    }
+    conf.setCqLateDataGracePeriodInMs(cqLateDataGracePeriodInMs);
   }
 
   /**
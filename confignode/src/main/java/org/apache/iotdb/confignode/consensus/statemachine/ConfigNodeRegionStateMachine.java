@@ -210,6 +210,7 @@ public class ConfigNodeRegionStateMachine
       configManager.getLoadManager().startLoadStatisticsService();
       configManager.getLoadManager().getRouteBalancer().startRouteBalancingService();
       configManager.getRetryFailedTasksThread().startRetryFailedTasksService();
+      configManager.getPartitionManager().renewPartitionTableEpoch();
       configManager.getNodeManager().startHeartbeatService();
       configManager.getPartitionManager().startRegionCleaner();
 
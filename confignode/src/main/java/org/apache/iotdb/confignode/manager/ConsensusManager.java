@@ -35,6 +35,7 @@ import org.apache.iotdb.confignode.manager.node.NodeManager;
 import org.apache.iotdb.consensus.ConsensusFactory;
 import org.apache.iotdb.consensus.IConsensus;
 import org.apache.iotdb.consensus.common.Peer;
+import org.apache.iotdb.consensus.common.request.ReadOption;
 import org.apache.iotdb.consensus.common.response.ConsensusReadResponse;
 import org.apache.iotdb.consensus.common.response.ConsensusWriteResponse;
 import org.apache.iotdb.consensus.config.ConsensusConfig;
@@ -175,6 +176,11 @@ public class ConsensusManager {
                                   RatisConfig.Impl.newBuilder()
                                       .setTriggerSnapshotFileSize(CONF.getConfigNodeRatisLogMax())
                                       .build())
+                              .setRead(
+                                  RatisConfig.Read.newBuilder()
+                                      .setLeaderLeaseEnabled(
+                                          CONF.isConfigNodeRatisReadLeaderLeaseEnable())
+                                      .build())
                               .build())
                       .setStorageDir(CONF.getConsensusDir())
                       .build(),
@@ -281,6 +287,14 @@ public class ConsensusManager {
     return consensusImpl.read(consensusGroupId, plan);
   }
 
+  /**
+   * Read the result of all the writes committed before, which is only served by the
+   * ConfigNode-leader
+   */
+  public ConsensusReadResponse linearizableRead(ConfigPhysicalPlan plan) {
+    return consensusImpl.read(consensusGroupId, plan, ReadOption.LINEARIZABLE);
+  }
+
   public boolean isLeader() {
     return consensusImpl.isLeader(consensusGroupId);
   }
@@ -28,18 +28,22 @@ import org.apache.iotdb.confignode.consensus.request.write.cq.ShowCQPlan;
 import org.apache.iotdb.confignode.consensus.response.ShowCQResp;
 import org.apache.iotdb.confignode.manager.ConfigManager;
 import org.apache.iotdb.confignode.persistence.cq.CQInfo;
+import org.apache.iotdb.confignode.rpc.thrift.TCQEntry;
 import org.apache.iotdb.confignode.rpc.thrift.TCreateCQReq;
 import org.apache.iotdb.confignode.rpc.thrift.TDropCQReq;
 import org.apache.iotdb.confignode.rpc.thrift.TShowCQResp;
 import org.apache.iotdb.consensus.common.response.ConsensusReadResponse;
 import org.apache.iotdb.consensus.common.response.ConsensusWriteResponse;
 import org.apache.iotdb.rpc.TSStatusCode;
+import org.apache.iotdb.tsfile.utils.Pair;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -57,6 +61,12 @@ public class CQManager {
 
   private ScheduledExecutorService executor;
 
+  /**
+   * CQId -> the time range whose windows have all been computed by the CQ since it is scheduled by
+   * the current leader, i.e. [materializedStartTime, materializedEndTime)
+   */
+  private final Map<String, Pair<Long, Long>> materializedTimeRangeMap = new ConcurrentHashMap<>();
+
   public CQManager(ConfigManager configManager) {
     this.configManager = configManager;
     this.lock = new ReentrantReadWriteLock();
@@ -78,6 +88,9 @@ public class CQManager {
     ConsensusWriteResponse response =
         configManager.getConsensusManager().write(new DropCQPlan(req.cqId));
     if (response.getStatus() != null) {
+      if (response.getStatus().getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        materializedTimeRangeMap.remove(req.cqId);
+      }
       return response.getStatus();
     } else {
       LOGGER.warn(
@@ -92,7 +105,15 @@ public class CQManager {
   public TShowCQResp showCQ() {
     ConsensusReadResponse response = configManager.getConsensusManager().read(new ShowCQPlan());
     if (response.getDataset() != null) {
-      return ((ShowCQResp) response.getDataset()).convertToRpcShowCQResp();
+      TShowCQResp resp = ((ShowCQResp) response.getDataset()).convertToRpcShowCQResp();
+      for (TCQEntry entry : resp.getCqList()) {
+        Pair<Long, Long> materializedTimeRange = materializedTimeRangeMap.get(entry.getCqId());
+        if (materializedTimeRange != null) {
+          entry.setMaterializedStartTime(materializedTimeRange.left);
+          entry.setMaterializedEndTime(materializedTimeRange.right);
+        }
+      }
+      return resp;
     } else {
       LOGGER.warn("Unexpected error happened while showing cq: ", response.getException());
       // consensus layer related errors
@@ -102,6 +123,14 @@ public class CQManager {
     }
   }
 
+  /**
+   * Record the time range whose windows have all been computed by the CQ, so that the DataNodes can
+   * read the results of the CQ instead of the raw data in it.
+   */
+  public void updateMaterializedTimeRange(String cqId, long startTime, long endTime) {
+    materializedTimeRangeMap.put(cqId, new Pair<>(startTime, endTime));
+  }
+
   public ScheduledExecutorService getExecutor() {
     ScheduledExecutorService res;
     lock.readLock().lock();
@@ -127,6 +156,9 @@ public class CQManager {
         LOGGER.error("Error happened while shutting down previous cq schedule thread pool.", t);
       }
 
+      // the CQs will be materialized again by the new schedule tasks
+      materializedTimeRangeMap.clear();
+
       // 2. start a new schedule thread pool
       executor =
           IoTDBThreadPoolFactory.newScheduledThreadPool(CONF.getCqSubmitThread(), "CQ-Scheduler");
@@ -176,6 +208,7 @@ public class CQManager {
     try {
       previous = executor;
       executor = null;
+      materializedTimeRangeMap.clear();
     } finally {
       lock.writeLock().unlock();
     }
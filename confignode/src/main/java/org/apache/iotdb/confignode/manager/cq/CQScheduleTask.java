@@ -23,6 +23,8 @@ import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.client.async.AsyncDataNodeInternalServiceClient;
 import org.apache.iotdb.commons.cq.TimeoutPolicy;
 import org.apache.iotdb.confignode.client.async.AsyncDataNodeClientPool;
+import org.apache.iotdb.confignode.conf.ConfigNodeConfig;
+import org.apache.iotdb.confignode.conf.ConfigNodeDescriptor;
 import org.apache.iotdb.confignode.consensus.request.write.cq.UpdateCQLastExecTimePlan;
 import org.apache.iotdb.confignode.manager.ConfigManager;
 import org.apache.iotdb.confignode.persistence.cq.CQInfo;
@@ -42,6 +44,7 @@ import java.util.concurrent.TimeUnit;
 public class CQScheduleTask implements Runnable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CQScheduleTask.class);
+  private static final ConfigNodeConfig CONF = ConfigNodeDescriptor.getInstance().getConf();
 
   private static final long DEFAULT_RETRY_WAIT_TIME_IN_MS = 20L * 1_000;
 
@@ -65,6 +68,13 @@ public class CQScheduleTask implements Runnable {
 
   private long executionTime;
 
+  // the end time of the last successful execution, which is unknown after the task is created.
+  // Written by the callback thread and read by the next execution on the scheduler thread
+  private volatile long watermark = Long.MIN_VALUE;
+
+  // the start time of the time range computed by the successive successful executions
+  private volatile long materializedStartTime = Long.MIN_VALUE;
+
   public CQScheduleTask(
       TCreateCQReq req,
       long firstExecutionTime,
@@ -168,6 +178,13 @@ public class CQScheduleTask implements Runnable {
           System.currentTimeMillis());
       TExecuteCQ executeCQReq =
           new TExecuteCQ(queryBody, startTime, endTime, everyInterval, zoneId, cqId, username);
+      if (CONF.isEnableIncrementalCq()) {
+        long incrementalStartTime =
+            getIncrementalStartTime(startTime, watermark, CONF.getCqLateDataGracePeriodInMs());
+        if (incrementalStartTime > startTime) {
+          executeCQReq.setIncrementalStartTime(incrementalStartTime);
+        }
+      }
       try {
         AsyncDataNodeInternalServiceClient client =
             AsyncDataNodeClientPool.getInstance().getAsyncClient(targetDataNode.get());
@@ -181,6 +198,20 @@ public class CQScheduleTask implements Runnable {
     }
   }
 
+  /**
+   * The windows ending before the watermark have been computed by the last execution, and only the
+   * late data within the grace period before the watermark may change their results.
+   *
+   * @return the start time of the data to be recomputed, which is the start time of the time range
+   *     if the watermark is unknown
+   */
+  public static long getIncrementalStartTime(long startTime, long watermark, long gracePeriod) {
+    if (watermark == Long.MIN_VALUE || watermark - startTime <= gracePeriod) {
+      return startTime;
+    }
+    return watermark - gracePeriod;
+  }
+
   public void submitSelf() {
     submitSelf(Math.max(0, executionTime - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
   }
@@ -219,6 +250,11 @@ public class CQScheduleTask implements Runnable {
     @Override
     public void onComplete(TSStatus response) {
       if (response.code == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        // the time range is contiguous only if there is no gap after the last execution
+        if (watermark == Long.MIN_VALUE || startTime > watermark) {
+          materializedStartTime = startTime;
+        }
+        watermark = endTime;
 
         LOGGER.info(
             "[EndExecuteCQ] {}, time range is [{}, {}), current time is {}",
@@ -234,7 +270,13 @@ public class CQScheduleTask implements Runnable {
 
         // while leadership changed, the update last exec time operation for CQTasks in new leader
         // may still update failed because stale CQTask in old leader may update it in advance
-        if (!result.isSuccessful()) {
+        if (result.isSuccessful()) {
+          // the windows within the grace period may still be changed by the late data
+          configManager
+              .getCQManager()
+              .updateMaterializedTimeRange(
+                  cqId, materializedStartTime, watermark - CONF.getCqLateDataGracePeriodInMs());
+        } else {
           LOGGER.warn(
               "Failed to update the last execution time {} of CQ {}, because {}",
               executionTime,
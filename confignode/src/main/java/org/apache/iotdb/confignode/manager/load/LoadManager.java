@@ -51,6 +51,7 @@ import org.apache.iotdb.confignode.manager.node.heartbeat.NodeStatistics;
 import org.apache.iotdb.confignode.manager.observer.NodeStatisticsEvent;
 import org.apache.iotdb.confignode.manager.partition.PartitionManager;
 import org.apache.iotdb.confignode.manager.partition.heartbeat.RegionGroupStatistics;
+import org.apache.iotdb.confignode.manager.partition.heartbeat.RegionLoadStatistics;
 import org.apache.iotdb.confignode.manager.partition.heartbeat.RegionStatistics;
 import org.apache.iotdb.confignode.rpc.thrift.TTimeSlotList;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionRouteReq;
@@ -61,6 +62,8 @@ import com.google.common.eventbus.EventBus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -96,6 +99,10 @@ public class LoadManager {
       IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor("Cluster-LoadStatistics-Service");
   private final Object scheduleMonitor = new Object();
 
+  // The load of RegionGroups posted last time
+  private Map<TConsensusGroupId, RegionLoadStatistics> previousRegionGroupLoadMap =
+      Collections.emptyMap();
+
   private final EventBus eventBus =
       new AsyncEventBus("LoadManager-EventBus", Executors.newFixedThreadPool(5));
 
@@ -216,7 +223,6 @@ public class LoadManager {
     if (!differentNodeStatisticsMap.isEmpty()) {
       isNeedBroadcast = true;
       recordNodeStatistics(differentNodeStatisticsMap);
-      eventBus.post(new NodeStatisticsEvent(differentNodeStatisticsMap));
     }
 
     // Update RegionGroupStatistics
@@ -237,12 +243,30 @@ public class LoadManager {
       recordRegionGroupStatistics(differentRegionGroupStatisticsMap);
     }
 
+    // Notify the observers if the NodeStatistics or the load of RegionGroups has changed
+    Map<TConsensusGroupId, RegionLoadStatistics> regionGroupLoadMap = new HashMap<>();
+    getPartitionManager()
+        .getRegionGroupCacheMap()
+        .forEach(
+            (regionGroupId, regionGroupCache) ->
+                regionGroupLoadMap.put(regionGroupId, regionGroupCache.getLoadStatistics()));
+    if (!differentNodeStatisticsMap.isEmpty()
+        || !regionGroupLoadMap.equals(previousRegionGroupLoadMap)) {
+      previousRegionGroupLoadMap = regionGroupLoadMap;
+      eventBus.post(new NodeStatisticsEvent(differentNodeStatisticsMap, regionGroupLoadMap));
+    }
+
     // Update RegionRouteMap
     if (routeBalancer.updateRegionRouteMap()) {
       isNeedBroadcast = true;
       recordRegionRouteMap(routeBalancer.getRegionRouteMap());
     }
 
+    // Update the replication lag for the bounded staleness reads
+    if (routeBalancer.updateReplicationLagMap()) {
+      isNeedBroadcast = true;
+    }
+
     if (isNeedBroadcast) {
       broadcastLatestRegionRouteMap();
     }
@@ -313,11 +337,12 @@ public class LoadManager {
     LOGGER.info("[UpdateLoadStatistics] Begin to broadcast RegionRouteMap:");
     long broadcastTime = System.currentTimeMillis();
 
+    TRegionRouteReq regionRouteReq = new TRegionRouteReq(broadcastTime, latestRegionRouteMap);
+    regionRouteReq.setReplicationLagSampleTimeMap(routeBalancer.getReplicationLagSampleTimeMap());
+    regionRouteReq.setReplicationLagMap(routeBalancer.getReplicationLagMap());
     AsyncClientHandler<TRegionRouteReq, TSStatus> clientHandler =
         new AsyncClientHandler<>(
-            DataNodeRequestType.UPDATE_REGION_ROUTE_MAP,
-            new TRegionRouteReq(broadcastTime, latestRegionRouteMap),
-            dataNodeLocationMap);
+            DataNodeRequestType.UPDATE_REGION_ROUTE_MAP, regionRouteReq, dataNodeLocationMap);
     AsyncDataNodeClientPool.getInstance().sendAsyncRequestToDataNodeWithRetry(clientHandler);
     LOGGER.info("[UpdateLoadStatistics] Broadcast the latest RegionRouteMap finished.");
   }
@@ -21,10 +21,13 @@ package org.apache.iotdb.confignode.manager.load.balancer;
 import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
 import org.apache.iotdb.commons.partition.DataPartitionTable;
 import org.apache.iotdb.commons.partition.SchemaPartitionTable;
+import org.apache.iotdb.confignode.conf.ConfigNodeConfig;
+import org.apache.iotdb.confignode.conf.ConfigNodeDescriptor;
 import org.apache.iotdb.confignode.exception.NoAvailableRegionGroupException;
 import org.apache.iotdb.confignode.manager.IManager;
 import org.apache.iotdb.confignode.manager.load.balancer.partition.GreedyPartitionAllocator;
 import org.apache.iotdb.confignode.manager.load.balancer.partition.IPartitionAllocator;
+import org.apache.iotdb.confignode.manager.load.balancer.partition.LoadAwarePartitionAllocator;
 import org.apache.iotdb.confignode.rpc.thrift.TTimeSlotList;
 
 import java.util.List;
@@ -36,6 +39,8 @@ import java.util.Map;
  */
 public class PartitionBalancer {
 
+  private static final ConfigNodeConfig CONF = ConfigNodeDescriptor.getInstance().getConf();
+
   private final IManager configManager;
 
   public PartitionBalancer(IManager configManager) {
@@ -63,11 +68,21 @@ public class PartitionBalancer {
   public Map<String, DataPartitionTable> allocateDataPartition(
       Map<String, Map<TSeriesPartitionSlot, TTimeSlotList>> unassignedDataPartitionSlotsMap)
       throws NoAvailableRegionGroupException {
-    return genPartitionAllocator().allocateDataPartition(unassignedDataPartitionSlotsMap);
+    return genDataPartitionAllocator().allocateDataPartition(unassignedDataPartitionSlotsMap);
   }
 
   private IPartitionAllocator genPartitionAllocator() {
-    // TODO: The type of PartitionAllocator should be configurable
+    // TODO: The type of PartitionAllocator for SchemaPartitions should be configurable
     return new GreedyPartitionAllocator(configManager);
   }
+
+  private IPartitionAllocator genDataPartitionAllocator() {
+    switch (CONF.getDataPartitionAllocationPolicy()) {
+      case IPartitionAllocator.LOAD_AWARE_POLICY:
+        return new LoadAwarePartitionAllocator(configManager);
+      case IPartitionAllocator.GREEDY_POLICY:
+      default:
+        return new GreedyPartitionAllocator(configManager);
+    }
+  }
 }
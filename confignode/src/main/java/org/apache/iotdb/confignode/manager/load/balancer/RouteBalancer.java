@@ -36,6 +36,7 @@ import org.apache.iotdb.confignode.manager.IManager;
 import org.apache.iotdb.confignode.manager.load.balancer.router.RegionRouteMap;
 import org.apache.iotdb.confignode.manager.load.balancer.router.leader.GreedyLeaderBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.leader.ILeaderBalancer;
+import org.apache.iotdb.confignode.manager.load.balancer.router.leader.LoadAwareLeaderBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.leader.MinCostFlowLeaderBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.priority.GreedyPriorityBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.priority.IPriorityBalancer;
@@ -66,6 +67,9 @@ import java.util.stream.Collectors;
  * <p>1. regionLeaderMap, record the leader for each RegionGroup
  *
  * <p>2. regionPriorityMap, record the priority for read/write requests in each RegionGroup
+ *
+ * <p>It also maintains the replicationLagMap, which records the replication lag of each replica for
+ * the bounded staleness reads.
  */
 public class RouteBalancer {
 
@@ -91,6 +95,18 @@ public class RouteBalancer {
   private static final boolean IS_DATA_REGION_IOT_CONSENSUS =
       ConsensusFactory.IOT_CONSENSUS.equals(DATA_REGION_CONSENSUS_PROTOCOL_CLASS);
 
+  // The replication lag is rounded up to REPLICATION_LAG_PRECISION_IN_MS multiplied by a power of
+  // 2,
+  // so that the RegionRouteMap is not broadcast whenever the lag changes slightly
+  private static final long REPLICATION_LAG_PRECISION_IN_MS = 100;
+  // The samples older than this are outdated, e.g. the leader is down
+  private static final long REPLICATION_LAG_SAMPLE_TIMEOUT_IN_MS =
+      3 * CONF.getHeartbeatIntervalInMs();
+  // The DataNodes add the age of the samples to the lag, thus the sampling timestamps are broadcast
+  // again once they are older than this, even if the rounded lag is unchanged
+  private static final long REPLICATION_LAG_REFRESH_INTERVAL_IN_MS =
+      2 * CONF.getHeartbeatIntervalInMs();
+
   private final IManager configManager;
 
   // Key: RegionGroupId
@@ -99,6 +115,16 @@ public class RouteBalancer {
   // and the right value stands for the index of DataNode that leader resides.
   private final Map<TConsensusGroupId, Pair<Long, Integer>> leaderCache;
 
+  // Key: RegionGroupId
+  // Value: Pair<Timestamp, Map<DataNodeId, ReplicationLag>>, where
+  // the left value stands for sampling timestamp
+  // and the right value stands for the replication lag reported by the leader.
+  private final Map<TConsensusGroupId, Pair<Long, Map<Integer, Long>>> replicationLagCache;
+  // Key: RegionGroupId, Value: Map<DataNodeId, rounded ReplicationLag>
+  private volatile Map<TConsensusGroupId, Map<Integer, Long>> replicationLagMap;
+  // Key: RegionGroupId, Value: the sampling timestamp of the replication lag in replicationLagMap
+  private volatile Map<TConsensusGroupId, Long> replicationLagSampleTimeMap;
+
   /** RegionRouteMap */
   private final RegionRouteMap regionRouteMap;
   // For generating optimal RegionLeaderMap
@@ -117,12 +143,18 @@ public class RouteBalancer {
     this.configManager = configManager;
 
     this.leaderCache = new ConcurrentHashMap<>();
+    this.replicationLagCache = new ConcurrentHashMap<>();
+    this.replicationLagMap = new HashMap<>();
+    this.replicationLagSampleTimeMap = new HashMap<>();
     this.regionRouteMap = new RegionRouteMap();
 
     switch (CONF.getLeaderDistributionPolicy()) {
       case ILeaderBalancer.GREEDY_POLICY:
         this.leaderBalancer = new GreedyLeaderBalancer();
         break;
+      case ILeaderBalancer.LOAD_AWARE_POLICY:
+        this.leaderBalancer = new LoadAwareLeaderBalancer();
+        break;
       case ILeaderBalancer.MIN_COST_FLOW_POLICY:
       default:
         this.leaderBalancer = new MinCostFlowLeaderBalancer();
@@ -161,6 +193,88 @@ public class RouteBalancer {
     }
   }
 
+  /**
+   * Cache the newest replication lag sample
+   *
+   * @param regionGroupId Corresponding RegionGroup's index
+   * @param dataNodeId The DataNode that reports the sample
+   * @param lagSample <Sample timestamp, Map<DataNodeId, ReplicationLag>>
+   */
+  public void cacheReplicationLagSample(
+      TConsensusGroupId regionGroupId, int dataNodeId, Pair<Long, Map<Integer, Long>> lagSample) {
+    // Only the leader knows the replication lag, since the writes are accepted by it
+    if (regionRouteMap.getLeader(regionGroupId) != dataNodeId) {
+      return;
+    }
+    replicationLagCache.merge(
+        regionGroupId,
+        lagSample,
+        (oldSample, newSample) ->
+            oldSample.getLeft() < newSample.getLeft() ? newSample : oldSample);
+  }
+
+  /**
+   * Invoking periodically to update the replicationLagMap
+   *
+   * @return True if the rounded replication lag of some replica has changed or the sampling
+   *     timestamps need to be refreshed, false otherwise
+   */
+  public boolean updateReplicationLagMap() {
+    long currentTime = System.currentTimeMillis();
+    Map<TConsensusGroupId, Map<Integer, Long>> latestReplicationLagMap = new HashMap<>();
+    Map<TConsensusGroupId, Long> latestSampleTimeMap = new HashMap<>();
+    replicationLagCache.forEach(
+        (regionGroupId, lagSample) -> {
+          if (currentTime - lagSample.getLeft() > REPLICATION_LAG_SAMPLE_TIMEOUT_IN_MS) {
+            return;
+          }
+          Map<Integer, Long> roundedLag = new HashMap<>();
+          lagSample
+              .getRight()
+              .forEach((dataNodeId, lag) -> roundedLag.put(dataNodeId, roundUpReplicationLag(lag)));
+          latestReplicationLagMap.put(regionGroupId, roundedLag);
+          latestSampleTimeMap.put(regionGroupId, lagSample.getLeft());
+        });
+    boolean isSampleTimeOutdated =
+        replicationLagSampleTimeMap.values().stream()
+            .anyMatch(
+                sampleTime -> currentTime - sampleTime > REPLICATION_LAG_REFRESH_INTERVAL_IN_MS);
+    if (!latestReplicationLagMap.equals(replicationLagMap) || isSampleTimeOutdated) {
+      // The readers get the sampling timestamps before the lag, thus a lag is never broadcast with
+      // a sampling timestamp newer than its own
+      replicationLagMap = latestReplicationLagMap;
+      replicationLagSampleTimeMap = latestSampleTimeMap;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Round up the lag, which is then increased by the age of the sample on the DataNodes, thus a
+   * replica is never read with a lag beyond the bound
+   */
+  private static long roundUpReplicationLag(long lag) {
+    if (lag <= 0) {
+      return 0;
+    }
+    long roundedLag = REPLICATION_LAG_PRECISION_IN_MS;
+    while (roundedLag < lag) {
+      if (roundedLag > Long.MAX_VALUE / 2) {
+        return Long.MAX_VALUE;
+      }
+      roundedLag *= 2;
+    }
+    return roundedLag;
+  }
+
+  public Map<TConsensusGroupId, Map<Integer, Long>> getReplicationLagMap() {
+    return replicationLagMap;
+  }
+
+  public Map<TConsensusGroupId, Long> getReplicationLagSampleTimeMap() {
+    return replicationLagSampleTimeMap;
+  }
+
   /**
    * Invoking periodically to update the RegionRouteMap
    *
@@ -304,7 +418,8 @@ public class RouteBalancer {
                 .stream()
                 .map(TDataNodeConfiguration::getLocation)
                 .map(TDataNodeLocation::getDataNodeId)
-                .collect(Collectors.toSet()));
+                .collect(Collectors.toSet()),
+            getPartitionManager().getRegionGroupLoadMap(regionGroupType));
 
     // Transfer leader to the optimal distribution
     AtomicInteger requestId = new AtomicInteger(0);
@@ -377,6 +492,7 @@ public class RouteBalancer {
   public void initRegionRouteMap() {
     synchronized (regionRouteMap) {
       regionRouteMap.clear();
+      replicationLagCache.clear();
       if (IS_DATA_REGION_IOT_CONSENSUS) {
         // Greedily pick leader for all existed DataRegionGroups
         List<TRegionReplicaSet> dataRegionGroups =
@@ -47,7 +47,7 @@ public class GreedyPartitionAllocator implements IPartitionAllocator {
       CONF.isEnableDataPartitionInheritPolicy();
   private static final long TIME_PARTITION_INTERVAL = CONF.getTimePartitionInterval();
 
-  private final IManager configManager;
+  protected final IManager configManager;
 
   public GreedyPartitionAllocator(IManager configManager) {
     this.configManager = configManager;
@@ -97,8 +97,7 @@ public class GreedyPartitionAllocator implements IPartitionAllocator {
 
       // List<Pair<allocatedSlotsNum, TConsensusGroupId>>
       List<Pair<Long, TConsensusGroupId>> regionSlotsCounter =
-          getPartitionManager()
-              .getSortedRegionGroupSlotsCounter(storageGroup, TConsensusGroupType.DataRegion);
+          getSortedDataRegionGroupSlotsCounter(storageGroup);
 
       DataPartitionTable dataPartitionTable = new DataPartitionTable();
 
@@ -137,7 +136,7 @@ public class GreedyPartitionAllocator implements IPartitionAllocator {
                         seriesPartitionEntry.getKey(),
                         timePartitionSlot,
                         TIME_PARTITION_INTERVAL);
-            if (predecessor != null) {
+            if (predecessor != null && isInheritable(storageGroup, predecessor)) {
               seriesPartitionTable
                   .getSeriesPartitionMap()
                   .put(timePartitionSlot, Collections.singletonList(predecessor));
@@ -164,6 +163,26 @@ public class GreedyPartitionAllocator implements IPartitionAllocator {
     return result;
   }
 
+  /**
+   * @param storageGroup StorageGroupName
+   * @return List<Pair<allocatedSlotsNum, TConsensusGroupId>>, the available DataRegionGroups in
+   *     ascending order of their weights, and the weight of a DataRegionGroup increases by one when
+   *     a DataPartition is allocated to it
+   */
+  protected List<Pair<Long, TConsensusGroupId>> getSortedDataRegionGroupSlotsCounter(
+      String storageGroup) throws NoAvailableRegionGroupException {
+    return getPartitionManager()
+        .getSortedRegionGroupSlotsCounter(storageGroup, TConsensusGroupType.DataRegion);
+  }
+
+  /**
+   * Check whether a new DataPartition can inherit the DataRegionGroup of its predecessor allocated
+   * in the former Partition creation
+   */
+  protected boolean isInheritable(String storageGroup, TConsensusGroupId predecessor) {
+    return true;
+  }
+
   /**
    * Bubble sort the regionSlotsCounter from the specified consensus group
    *
@@ -194,7 +213,7 @@ public class GreedyPartitionAllocator implements IPartitionAllocator {
     }
   }
 
-  private PartitionManager getPartitionManager() {
+  protected PartitionManager getPartitionManager() {
     return configManager.getPartitionManager();
   }
 }
@@ -33,6 +33,9 @@ import java.util.Map;
  */
 public interface IPartitionAllocator {
 
+  String GREEDY_POLICY = "GREEDY";
+  String LOAD_AWARE_POLICY = "LOAD_AWARE";
+
   /**
    * Allocate SchemaPartitions
    *
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.confignode.manager.load.balancer.partition;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.confignode.exception.NoAvailableRegionGroupException;
+import org.apache.iotdb.confignode.manager.IManager;
+import org.apache.iotdb.confignode.manager.partition.heartbeat.RegionLoadStatistics;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allocating new DataPartitions by the load of DataRegionGroups besides the number of allocated
+ * DataPartitions.
+ *
+ * <p>1. The weight of a DataRegionGroup is raised by its write throughput and disk usage above the
+ * average ones, thus the new DataPartitions are allocated to the underloaded DataRegionGroups.
+ *
+ * <p>2. The new DataPartitions of the SeriesPartitionSlots in an overloaded DataRegionGroup don't
+ * inherit it, until the write throughput left in it is estimated to be under the limit.
+ */
+public class LoadAwarePartitionAllocator extends GreedyPartitionAllocator {
+
+  // A DataRegionGroup is overloaded if its write throughput exceeds the average by this ratio
+  private static final double OVERLOAD_RATIO = 2.0;
+
+  // Map<StorageGroupName, the limit of write throughput of its DataRegionGroups>
+  private final Map<String, Double> writeLimitMap = new HashMap<>();
+  // Map<DataRegionGroupId, the estimated write throughput>
+  private final Map<TConsensusGroupId, Double> writeLoadMap = new HashMap<>();
+  // Map<DataRegionGroupId, the estimated write throughput of each SeriesPartitionSlot>
+  private final Map<TConsensusGroupId, Double> seriesSlotWriteLoadMap = new HashMap<>();
+
+  public LoadAwarePartitionAllocator(IManager configManager) {
+    super(configManager);
+  }
+
+  @Override
+  protected List<Pair<Long, TConsensusGroupId>> getSortedDataRegionGroupSlotsCounter(
+      String storageGroup) throws NoAvailableRegionGroupException {
+    List<Pair<Long, TConsensusGroupId>> regionSlotsCounter =
+        super.getSortedDataRegionGroupSlotsCounter(storageGroup);
+    Map<TConsensusGroupId, RegionLoadStatistics> regionLoadMap =
+        getPartitionManager().getRegionGroupLoadMap(TConsensusGroupType.DataRegion);
+    Map<TConsensusGroupId, Integer> latestSeriesSlotsCounter =
+        getPartitionManager().getLatestSeriesSlotsCounter(storageGroup);
+
+    double avgSlotsNum = 0;
+    double avgWritePointsPerSec = 0;
+    double avgDiskSize = 0;
+    for (Pair<Long, TConsensusGroupId> slotsCounter : regionSlotsCounter) {
+      RegionLoadStatistics load =
+          regionLoadMap.getOrDefault(slotsCounter.getRight(), RegionLoadStatistics.EMPTY);
+      avgSlotsNum += slotsCounter.getLeft();
+      avgWritePointsPerSec += load.getWritePointsPerSec();
+      avgDiskSize += load.getDiskSize();
+    }
+    avgSlotsNum /= regionSlotsCounter.size();
+    avgWritePointsPerSec /= regionSlotsCounter.size();
+    avgDiskSize /= regionSlotsCounter.size();
+
+    for (Pair<Long, TConsensusGroupId> slotsCounter : regionSlotsCounter) {
+      TConsensusGroupId regionGroupId = slotsCounter.getRight();
+      RegionLoadStatistics load =
+          regionLoadMap.getOrDefault(regionGroupId, RegionLoadStatistics.EMPTY);
+
+      // Convert the load above the average into the equivalent number of DataPartitions
+      double relativeLoad = 0;
+      int loadTerms = 0;
+      if (avgWritePointsPerSec > 0) {
+        relativeLoad += load.getWritePointsPerSec() / avgWritePointsPerSec;
+        loadTerms++;
+      }
+      if (avgDiskSize > 0) {
+        relativeLoad += load.getDiskSize() / avgDiskSize;
+        loadTerms++;
+      }
+      if (loadTerms > 0) {
+        long extraSlotsNum = Math.round(avgSlotsNum * Math.max(0, relativeLoad / loadTerms - 1));
+        slotsCounter.setLeft(slotsCounter.getLeft() + extraSlotsNum);
+      }
+
+      writeLoadMap.put(regionGroupId, load.getWritePointsPerSec());
+      seriesSlotWriteLoadMap.put(
+          regionGroupId,
+          load.getWritePointsPerSec()
+              / Math.max(1, latestSeriesSlotsCounter.getOrDefault(regionGroupId, 0)));
+    }
+    writeLimitMap.put(storageGroup, avgWritePointsPerSec * OVERLOAD_RATIO);
+
+    regionSlotsCounter.sort(Comparator.comparingLong(Pair::getLeft));
+    return regionSlotsCounter;
+  }
+
+  @Override
+  protected boolean isInheritable(String storageGroup, TConsensusGroupId predecessor) {
+    double writeLimit = writeLimitMap.getOrDefault(storageGroup, 0.0);
+    double writeLoad = writeLoadMap.getOrDefault(predecessor, 0.0);
+    if (writeLimit <= 0 || writeLoad <= writeLimit) {
+      return true;
+    }
+    // The SeriesPartitionSlot is moved out of the overloaded DataRegionGroup with its share of
+    // the write throughput
+    writeLoadMap.put(predecessor, writeLoad - seriesSlotWriteLoadMap.get(predecessor));
+    return false;
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.iotdb.confignode.manager.load.balancer.router.leader;
 
 import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
 import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.confignode.manager.partition.heartbeat.RegionLoadStatistics;
 
 import java.util.Map;
 import java.util.Set;
@@ -28,6 +29,7 @@ public interface ILeaderBalancer {
 
   String GREEDY_POLICY = "GREEDY";
   String MIN_COST_FLOW_POLICY = "MIN_COST_FLOW";
+  String LOAD_AWARE_POLICY = "LOAD_AWARE";
 
   /**
    * Generate an optimal leader distribution.
@@ -42,4 +44,24 @@ public interface ILeaderBalancer {
       Map<TConsensusGroupId, TRegionReplicaSet> regionReplicaSetMap,
       Map<TConsensusGroupId, Integer> regionLeaderMap,
       Set<Integer> disabledDataNodeSet);
+
+  /**
+   * Generate an optimal leader distribution with the load of each RegionGroup. The load is ignored
+   * by default, i.e. the number of leaders is balanced.
+   *
+   * @param regionReplicaSetMap All RegionGroups the cluster currently have
+   * @param regionLeaderMap The current leader of each RegionGroup
+   * @param disabledDataNodeSet The DataNodes that currently unable to work(can't place
+   *     RegionGroup-leader)
+   * @param regionLoadMap The load of each RegionGroup, absent if unknown
+   * @return Map<TConsensusGroupId, Integer>, The optimal leader distribution
+   */
+  default Map<TConsensusGroupId, Integer> generateOptimalLeaderDistribution(
+      Map<TConsensusGroupId, TRegionReplicaSet> regionReplicaSetMap,
+      Map<TConsensusGroupId, Integer> regionLeaderMap,
+      Set<Integer> disabledDataNodeSet,
+      Map<TConsensusGroupId, RegionLoadStatistics> regionLoadMap) {
+    return generateOptimalLeaderDistribution(
+        regionReplicaSetMap, regionLeaderMap, disabledDataNodeSet);
+  }
 }
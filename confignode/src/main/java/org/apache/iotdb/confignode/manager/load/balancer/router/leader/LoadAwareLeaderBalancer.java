@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.confignode.manager.load.balancer.router.leader;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.confignode.manager.partition.heartbeat.RegionLoadStatistics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leader distribution balancer that balances the load of the leaders in each DataNode rather than
+ * their number. The cost of leading a RegionGroup is 1 plus its write throughput and query cpu
+ * usage relative to the average ones, thus it degenerates to balancing the number of leaders when
+ * the load is even or unknown.
+ */
+public class LoadAwareLeaderBalancer implements ILeaderBalancer {
+
+  // A leader is transferred only if the load of the DataNodes becomes closer by this ratio of its
+  // cost, which avoids transferring leaders back and forth with the fluctuation of the load
+  private static final double MIN_GAIN_RATIO = 0.1;
+  private static final int MAX_ROUNDS = 10;
+
+  @Override
+  public Map<TConsensusGroupId, Integer> generateOptimalLeaderDistribution(
+      Map<TConsensusGroupId, TRegionReplicaSet> regionReplicaSetMap,
+      Map<TConsensusGroupId, Integer> regionLeaderMap,
+      Set<Integer> disabledDataNodeSet) {
+    return generateOptimalLeaderDistribution(
+        regionReplicaSetMap, regionLeaderMap, disabledDataNodeSet, Collections.emptyMap());
+  }
+
+  @Override
+  public Map<TConsensusGroupId, Integer> generateOptimalLeaderDistribution(
+      Map<TConsensusGroupId, TRegionReplicaSet> regionReplicaSetMap,
+      Map<TConsensusGroupId, Integer> regionLeaderMap,
+      Set<Integer> disabledDataNodeSet,
+      Map<TConsensusGroupId, RegionLoadStatistics> regionLoadMap) {
+    Map<TConsensusGroupId, Integer> result = new ConcurrentHashMap<>(regionLeaderMap);
+    Map<TConsensusGroupId, Double> costMap = computeCost(regionReplicaSetMap, regionLoadMap);
+
+    /* Sum up the cost of the leaders in each DataNode */
+    // Map<DataNodeId, the cost of leaders>
+    Map<Integer, Double> dataNodeCostMap = new HashMap<>();
+    regionReplicaSetMap.forEach(
+        (regionGroupId, regionReplicaSet) ->
+            regionReplicaSet
+                .getDataNodeLocations()
+                .forEach(
+                    dataNodeLocation ->
+                        dataNodeCostMap.putIfAbsent(dataNodeLocation.getDataNodeId(), 0.0)));
+    List<TConsensusGroupId> regionGroupIds = new ArrayList<>();
+    regionReplicaSetMap.keySet().stream()
+        .filter(result::containsKey)
+        .forEach(
+            regionGroupId -> {
+              regionGroupIds.add(regionGroupId);
+              dataNodeCostMap.merge(
+                  result.get(regionGroupId), costMap.get(regionGroupId), Double::sum);
+            });
+
+    /* Ensure all RegionGroups' leader are not inside disabled DataNodes */
+    for (TConsensusGroupId regionGroupId : regionGroupIds) {
+      int leaderId = result.get(regionGroupId);
+      if (disabledDataNodeSet.contains(leaderId)) {
+        int newLeaderId =
+            selectLightestCandidate(
+                regionReplicaSetMap.get(regionGroupId),
+                leaderId,
+                disabledDataNodeSet,
+                dataNodeCostMap);
+        if (newLeaderId != -1) {
+          transfer(regionGroupId, leaderId, newLeaderId, costMap, dataNodeCostMap, result);
+        }
+      }
+    }
+
+    /* Transfer the most costly leaders first from the heavy DataNodes to the light ones */
+    regionGroupIds.sort((o1, o2) -> Double.compare(costMap.get(o2), costMap.get(o1)));
+    for (int round = 0; round < MAX_ROUNDS; round++) {
+      boolean transferred = false;
+      for (TConsensusGroupId regionGroupId : regionGroupIds) {
+        int leaderId = result.get(regionGroupId);
+        double cost = costMap.get(regionGroupId);
+        int newLeaderId =
+            selectLightestCandidate(
+                regionReplicaSetMap.get(regionGroupId),
+                leaderId,
+                disabledDataNodeSet,
+                dataNodeCostMap);
+        // The transfer takes effect only when it narrows the range of the DataNodes' load
+        if (newLeaderId != -1
+            && dataNodeCostMap.get(newLeaderId) + cost
+                < dataNodeCostMap.get(leaderId) - MIN_GAIN_RATIO * cost) {
+          transfer(regionGroupId, leaderId, newLeaderId, costMap, dataNodeCostMap, result);
+          transferred = true;
+        }
+      }
+      if (!transferred) {
+        break;
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * The cost of leading a RegionGroup is 1 plus its write throughput and query cpu usage divided by
+   * the average ones. The terms whose average is 0 are ignored.
+   */
+  private Map<TConsensusGroupId, Double> computeCost(
+      Map<TConsensusGroupId, TRegionReplicaSet> regionReplicaSetMap,
+      Map<TConsensusGroupId, RegionLoadStatistics> regionLoadMap) {
+    double totalWritePointsPerSec = 0;
+    double totalQueryCpuUsage = 0;
+    for (TConsensusGroupId regionGroupId : regionReplicaSetMap.keySet()) {
+      RegionLoadStatistics load =
+          regionLoadMap.getOrDefault(regionGroupId, RegionLoadStatistics.EMPTY);
+      totalWritePointsPerSec += load.getWritePointsPerSec();
+      totalQueryCpuUsage += load.getQueryCpuUsage();
+    }
+    int regionGroupNum = Math.max(1, regionReplicaSetMap.size());
+    double avgWritePointsPerSec = totalWritePointsPerSec / regionGroupNum;
+    double avgQueryCpuUsage = totalQueryCpuUsage / regionGroupNum;
+
+    Map<TConsensusGroupId, Double> costMap = new HashMap<>();
+    for (TConsensusGroupId regionGroupId : regionReplicaSetMap.keySet()) {
+      RegionLoadStatistics load =
+          regionLoadMap.getOrDefault(regionGroupId, RegionLoadStatistics.EMPTY);
+      double cost = 1;
+      if (avgWritePointsPerSec > 0) {
+        cost += load.getWritePointsPerSec() / avgWritePointsPerSec;
+      }
+      if (avgQueryCpuUsage > 0) {
+        cost += load.getQueryCpuUsage() / avgQueryCpuUsage;
+      }
+      costMap.put(regionGroupId, cost);
+    }
+    return costMap;
+  }
+
+  /** @return the available DataNode with the fewest cost except the leader, -1 if there is none */
+  private int selectLightestCandidate(
+      TRegionReplicaSet regionReplicaSet,
+      int leaderId,
+      Set<Integer> disabledDataNodeSet,
+      Map<Integer, Double> dataNodeCostMap) {
+    int candidateId = -1;
+    double candidateCost = Double.MAX_VALUE;
+    for (TDataNodeLocation dataNodeLocation : regionReplicaSet.getDataNodeLocations()) {
+      int dataNodeId = dataNodeLocation.getDataNodeId();
+      if (dataNodeId != leaderId
+          && !disabledDataNodeSet.contains(dataNodeId)
+          && dataNodeCostMap.get(dataNodeId) < candidateCost) {
+        candidateId = dataNodeId;
+        candidateCost = dataNodeCostMap.get(dataNodeId);
+      }
+    }
+    return candidateId;
+  }
+
+  private void transfer(
+      TConsensusGroupId regionGroupId,
+      int leaderId,
+      int newLeaderId,
+      Map<TConsensusGroupId, Double> costMap,
+      Map<Integer, Double> dataNodeCostMap,
+      Map<TConsensusGroupId, Integer> result) {
+    double cost = costMap.get(regionGroupId);
+    dataNodeCostMap.merge(leaderId, -cost, Double::sum);
+    dataNodeCostMap.merge(newLeaderId, cost, Double::sum);
+    result.put(regionGroupId, newLeaderId);
+  }
+}
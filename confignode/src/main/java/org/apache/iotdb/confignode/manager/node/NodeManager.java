@@ -78,8 +78,10 @@ import org.apache.iotdb.consensus.common.DataSet;
 import org.apache.iotdb.consensus.common.Peer;
 import org.apache.iotdb.consensus.common.response.ConsensusGenericResponse;
 import org.apache.iotdb.mpp.rpc.thrift.THeartbeatReq;
+import org.apache.iotdb.mpp.rpc.thrift.TPartitionTableDelta;
 import org.apache.iotdb.rpc.RpcUtils;
 import org.apache.iotdb.rpc.TSStatusCode;
+import org.apache.iotdb.tsfile.utils.Pair;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -217,6 +219,8 @@ public class NodeManager {
     ratisConfig.setSchemaRegionRatisLogMax(conf.getSchemaRegionRatisLogMax());
     ratisConfig.setDataRegionRatisLogMax(conf.getDataRegionRatisLogMax());
 
+    ratisConfig.setSchemaReadLeaderLeaseEnable(conf.isSchemaRegionRatisReadLeaderLeaseEnable());
+
     dataSet.setRatisConfig(ratisConfig);
   }
 
@@ -768,19 +772,41 @@ public class NodeManager {
       THeartbeatReq heartbeatReq, List<TDataNodeConfiguration> registeredDataNodes) {
     // Send heartbeat requests
     for (TDataNodeConfiguration dataNodeInfo : registeredDataNodes) {
+      DataNodeHeartbeatCache dataNodeHeartbeatCache =
+          (DataNodeHeartbeatCache)
+              nodeCacheMap.computeIfAbsent(
+                  dataNodeInfo.getLocation().getDataNodeId(),
+                  empty -> new DataNodeHeartbeatCache());
       DataNodeHeartbeatHandler handler =
           new DataNodeHeartbeatHandler(
               dataNodeInfo.getLocation(),
-              (DataNodeHeartbeatCache)
-                  nodeCacheMap.computeIfAbsent(
-                      dataNodeInfo.getLocation().getDataNodeId(),
-                      empty -> new DataNodeHeartbeatCache()),
+              dataNodeHeartbeatCache,
               getPartitionManager().getRegionGroupCacheMap(),
               getLoadManager().getRouteBalancer());
       AsyncDataNodeHeartbeatClientPool.getInstance()
           .getDataNodeHeartBeat(
-              dataNodeInfo.getLocation().getInternalEndPoint(), heartbeatReq, handler);
+              dataNodeInfo.getLocation().getInternalEndPoint(),
+              attachPartitionTableDelta(heartbeatReq, dataNodeHeartbeatCache),
+              handler);
+    }
+  }
+
+  /**
+   * Push the changes of the partition table that the DataNode has not cached, so that its
+   * PartitionCache is warmed up without fetching the partitions one by one
+   */
+  private THeartbeatReq attachPartitionTableDelta(
+      THeartbeatReq heartbeatReq, DataNodeHeartbeatCache dataNodeHeartbeatCache) {
+    Pair<Long, Long> partitionTableVersion = dataNodeHeartbeatCache.getPartitionTableVersion();
+    TPartitionTableDelta partitionTableDelta =
+        partitionTableVersion == null
+            ? getPartitionManager().getPartitionTableDelta(null, 0)
+            : getPartitionManager()
+                .getPartitionTableDelta(partitionTableVersion.left, partitionTableVersion.right);
+    if (partitionTableDelta == null) {
+      return heartbeatReq;
     }
+    return heartbeatReq.deepCopy().setPartitionTableDelta(partitionTableDelta);
   }
 
   /**
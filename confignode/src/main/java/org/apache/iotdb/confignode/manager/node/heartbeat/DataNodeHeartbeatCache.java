@@ -20,12 +20,16 @@ package org.apache.iotdb.confignode.manager.node.heartbeat;
 
 import org.apache.iotdb.commons.cluster.NodeStatus;
 import org.apache.iotdb.mpp.rpc.thrift.TLoadSample;
+import org.apache.iotdb.tsfile.utils.Pair;
 
 /** DataNodeHeartbeatCache caches and maintains all the heartbeat data */
 public class DataNodeHeartbeatCache extends BaseNodeCache {
 
   private volatile TLoadSample latestLoadSample;
 
+  // The epoch and version of the partition table cached by the DataNode, null if unknown
+  private volatile Pair<Long, Long> partitionTableVersion = null;
+
   /** Constructor for create DataNodeHeartbeatCache with default NodeStatistics */
   public DataNodeHeartbeatCache() {
     super();
@@ -73,4 +77,12 @@ public class DataNodeHeartbeatCache extends BaseNodeCache {
   public long getFreeDiskSpace() {
     return latestLoadSample.getFreeDiskSpace();
   }
+
+  public void cachePartitionTableVersion(long epoch, long version) {
+    partitionTableVersion = new Pair<>(epoch, version);
+  }
+
+  public Pair<Long, Long> getPartitionTableVersion() {
+    return partitionTableVersion;
+  }
 }
@@ -18,9 +18,12 @@
  */
 package org.apache.iotdb.confignode.manager.observer;
 
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
 import org.apache.iotdb.confignode.manager.node.heartbeat.NodeStatistics;
+import org.apache.iotdb.confignode.manager.partition.heartbeat.RegionLoadStatistics;
 import org.apache.iotdb.tsfile.utils.Pair;
 
+import java.util.Collections;
 import java.util.Map;
 
 public class NodeStatisticsEvent implements IEvent {
@@ -29,11 +32,25 @@ public class NodeStatisticsEvent implements IEvent {
   // the previous NodeStatistics
   private Map<Integer, Pair<NodeStatistics, NodeStatistics>> nodeStatisticsMap;
 
+  // The latest load of all RegionGroups, which is used for the load-aware balancing
+  private Map<TConsensusGroupId, RegionLoadStatistics> regionGroupLoadMap;
+
   public NodeStatisticsEvent(Map<Integer, Pair<NodeStatistics, NodeStatistics>> nodeStatisticsMap) {
+    this(nodeStatisticsMap, Collections.emptyMap());
+  }
+
+  public NodeStatisticsEvent(
+      Map<Integer, Pair<NodeStatistics, NodeStatistics>> nodeStatisticsMap,
+      Map<TConsensusGroupId, RegionLoadStatistics> regionGroupLoadMap) {
     this.nodeStatisticsMap = nodeStatisticsMap;
+    this.regionGroupLoadMap = regionGroupLoadMap;
   }
 
   public Map<Integer, Pair<NodeStatistics, NodeStatistics>> getNodeStatisticsMap() {
     return nodeStatisticsMap;
   }
+
+  public Map<TConsensusGroupId, RegionLoadStatistics> getRegionGroupLoadMap() {
+    return regionGroupLoadMap;
+  }
 }
@@ -68,6 +68,7 @@ import org.apache.iotdb.confignode.manager.IManager;
 import org.apache.iotdb.confignode.manager.ProcedureManager;
 import org.apache.iotdb.confignode.manager.load.LoadManager;
 import org.apache.iotdb.confignode.manager.partition.heartbeat.RegionGroupCache;
+import org.apache.iotdb.confignode.manager.partition.heartbeat.RegionLoadStatistics;
 import org.apache.iotdb.confignode.persistence.metric.PartitionInfoMetrics;
 import org.apache.iotdb.confignode.persistence.partition.PartitionInfo;
 import org.apache.iotdb.confignode.persistence.partition.maintainer.RegionCreateTask;
@@ -79,6 +80,7 @@ import org.apache.iotdb.consensus.common.DataSet;
 import org.apache.iotdb.consensus.common.response.ConsensusReadResponse;
 import org.apache.iotdb.mpp.rpc.thrift.TCreateDataRegionReq;
 import org.apache.iotdb.mpp.rpc.thrift.TCreateSchemaRegionReq;
+import org.apache.iotdb.mpp.rpc.thrift.TPartitionTableDelta;
 import org.apache.iotdb.rpc.RpcUtils;
 import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.tsfile.utils.Pair;
@@ -88,7 +90,9 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -153,7 +157,11 @@ public class PartitionManager {
    * @return SchemaPartitionDataSet that contains only existing SchemaPartition
    */
   public DataSet getSchemaPartition(GetSchemaPartitionPlan req) {
-    return getConsensusManager().read(req).getDataset();
+    ConsensusReadResponse response = getConsensusManager().linearizableRead(req);
+    if (!response.isSuccess()) {
+      return new SchemaPartitionResp(getFailedReadStatus(response), false, Collections.emptyMap());
+    }
+    return response.getDataset();
   }
 
   /**
@@ -164,7 +172,19 @@ public class PartitionManager {
    * @return DataPartitionDataSet that contains only existing DataPartition
    */
   public DataSet getDataPartition(GetDataPartitionPlan req) {
-    return getConsensusManager().read(req).getDataset();
+    ConsensusReadResponse response = getConsensusManager().linearizableRead(req);
+    if (!response.isSuccess()) {
+      return new DataPartitionResp(getFailedReadStatus(response), false, Collections.emptyMap());
+    }
+    return response.getDataset();
+  }
+
+  private TSStatus getFailedReadStatus(ConsensusReadResponse response) {
+    return RpcUtils.getStatus(
+        TSStatusCode.EXECUTE_STATEMENT_ERROR,
+        response.getException() == null
+            ? "Failed to read the partition table"
+            : response.getException().getMessage());
   }
 
   /**
@@ -504,6 +524,36 @@ public class PartitionManager {
         storageGroup, seriesPartitionSlot, timePartitionSlot, timePartitionInterval);
   }
 
+  /**
+   * Only leader use this interface.
+   *
+   * @param storageGroup StorageGroupName
+   * @return Map<DataRegionGroupId, the number of SeriesPartitionSlots whose latest
+   *     TimePartitionSlot is allocated to the DataRegionGroup>
+   */
+  public Map<TConsensusGroupId, Integer> getLatestSeriesSlotsCounter(String storageGroup) {
+    return partitionInfo.getLatestSeriesSlotsCounter(storageGroup);
+  }
+
+  /**
+   * Only leader use this interface.
+   *
+   * @param type SchemaRegion or DataRegion
+   * @return Map<RegionGroupId, RegionLoadStatistics>, the load of the RegionGroups estimated by the
+   *     heartbeats
+   */
+  public Map<TConsensusGroupId, RegionLoadStatistics> getRegionGroupLoadMap(
+      TConsensusGroupType type) {
+    Map<TConsensusGroupId, RegionLoadStatistics> result = new HashMap<>();
+    regionGroupCacheMap.forEach(
+        (regionGroupId, regionGroupCache) -> {
+          if (type.equals(regionGroupId.getType())) {
+            result.put(regionGroupId, regionGroupCache.getLoadStatistics());
+          }
+        });
+    return result;
+  }
+
   /**
    * Get the DataNodes who contain the specific StorageGroup's Schema or Data
    *
@@ -628,6 +678,22 @@ public class PartitionManager {
     return partitionInfo.generateNextRegionGroupId();
   }
 
+  /**
+   * Get the changes of the partition table to push to a DataNode through the heartbeat
+   *
+   * @param epoch The epoch of the partition table cached by the DataNode, null if unknown
+   * @param version The version of the partition table cached by the DataNode
+   * @return null if the DataNode is up to date
+   */
+  public TPartitionTableDelta getPartitionTableDelta(Long epoch, long version) {
+    return partitionInfo.getPartitionTableDelta(epoch, version);
+  }
+
+  /** Force all the DataNodes to resync the partition table, e.g. when becoming the leader */
+  public void renewPartitionTableEpoch() {
+    partitionInfo.renewPartitionTableEpoch();
+  }
+
   /**
    * GetNodePathsPartition
    *
@@ -19,6 +19,7 @@
 package org.apache.iotdb.confignode.manager.partition.heartbeat;
 
 import org.apache.iotdb.commons.cluster.RegionStatus;
+import org.apache.iotdb.mpp.rpc.thrift.TRegionLoadSample;
 
 import java.util.Collections;
 import java.util.LinkedList;
@@ -67,6 +68,43 @@ public class RegionCache {
     return new RegionStatistics(status);
   }
 
+  /**
+   * Estimate the load by the oldest and the latest load samples in the slidingWindow, which are
+   * cumulative counters reported by the DataNode.
+   *
+   * @return RegionLoadStatistics.EMPTY if there are less than two load samples
+   */
+  public RegionLoadStatistics getRegionLoadStatistics() {
+    RegionHeartbeatSample oldestSample = null;
+    RegionHeartbeatSample latestSample = null;
+    synchronized (slidingWindow) {
+      for (RegionHeartbeatSample sample : slidingWindow) {
+        if (sample.getLoadSample() != null) {
+          if (oldestSample == null) {
+            oldestSample = sample;
+          }
+          latestSample = sample;
+        }
+      }
+    }
+    if (oldestSample == null || oldestSample == latestSample) {
+      return latestSample == null
+          ? RegionLoadStatistics.EMPTY
+          : new RegionLoadStatistics(0, 0, latestSample.getLoadSample().getDiskSize());
+    }
+
+    long elapsedTimeInMs = latestSample.getSendTimestamp() - oldestSample.getSendTimestamp();
+    TRegionLoadSample oldest = oldestSample.getLoadSample();
+    TRegionLoadSample latest = latestSample.getLoadSample();
+    // The counters are reset when the DataNode restarts
+    long writtenPoints = Math.max(0, latest.getWrittenPoints() - oldest.getWrittenPoints());
+    long queryCpuTime = Math.max(0, latest.getQueryCpuTime() - oldest.getQueryCpuTime());
+    return new RegionLoadStatistics(
+        writtenPoints * 1000.0 / elapsedTimeInMs,
+        queryCpuTime / (elapsedTimeInMs * 1_000_000.0),
+        latest.getDiskSize());
+  }
+
   private RegionHeartbeatSample getLastSample() {
     return slidingWindow.get(slidingWindow.size() - 1);
   }
@@ -38,6 +38,9 @@ public class RegionGroupCache {
   protected volatile RegionGroupStatistics previousStatistics;
   // The current RegionGroupStatistics, used for providing statistics to other services
   private volatile RegionGroupStatistics currentStatistics;
+  // The current load of each Region, which is not a part of the RegionGroupStatistics since it
+  // changes in every load sampling
+  private volatile Map<Integer, RegionLoadStatistics> currentLoadStatisticsMap;
 
   /** Constructor for create RegionGroupCache with default RegionGroupStatistics */
   public RegionGroupCache(TConsensusGroupId consensusGroupId) {
@@ -46,6 +49,7 @@ public class RegionGroupCache {
 
     this.previousStatistics = RegionGroupStatistics.generateDefaultRegionGroupStatistics();
     this.currentStatistics = RegionGroupStatistics.generateDefaultRegionGroupStatistics();
+    this.currentLoadStatisticsMap = new HashMap<>();
   }
 
   /**
@@ -103,11 +107,14 @@ public class RegionGroupCache {
    */
   protected void updateCurrentStatistics() {
     Map<Integer, RegionStatistics> regionStatisticsMap = new HashMap<>();
+    Map<Integer, RegionLoadStatistics> loadStatisticsMap = new HashMap<>();
     for (Map.Entry<Integer, RegionCache> cacheEntry : regionCacheMap.entrySet()) {
       // Update RegionStatistics
       RegionStatistics regionStatistics = cacheEntry.getValue().getRegionStatistics();
       regionStatisticsMap.put(cacheEntry.getKey(), regionStatistics);
+      loadStatisticsMap.put(cacheEntry.getKey(), cacheEntry.getValue().getRegionLoadStatistics());
     }
+    currentLoadStatisticsMap = loadStatisticsMap;
 
     // Update RegionGroupStatus
     RegionGroupStatus status = updateRegionGroupStatus(regionStatisticsMap);
@@ -163,4 +170,10 @@ public class RegionGroupCache {
   public RegionGroupStatistics getStatistics() {
     return currentStatistics;
   }
+
+  /** @return the load of the RegionGroup, i.e. the maximum load of its Regions */
+  public RegionLoadStatistics getLoadStatistics() {
+    return currentLoadStatisticsMap.values().stream()
+        .reduce(RegionLoadStatistics.EMPTY, RegionLoadStatistics::max);
+  }
 }
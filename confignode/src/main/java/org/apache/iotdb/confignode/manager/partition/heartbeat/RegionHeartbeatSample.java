@@ -19,6 +19,7 @@
 package org.apache.iotdb.confignode.manager.partition.heartbeat;
 
 import org.apache.iotdb.commons.cluster.RegionStatus;
+import org.apache.iotdb.mpp.rpc.thrift.TRegionLoadSample;
 
 public class RegionHeartbeatSample {
 
@@ -27,12 +28,22 @@ public class RegionHeartbeatSample {
   private final long receiveTimestamp;
   private final RegionStatus status;
 
-  // TODO: Add load sample
+  // Null if the load is not sampled in this heartbeat
+  private final TRegionLoadSample loadSample;
 
   public RegionHeartbeatSample(long sendTimestamp, long receiveTimestamp, RegionStatus status) {
+    this(sendTimestamp, receiveTimestamp, status, null);
+  }
+
+  public RegionHeartbeatSample(
+      long sendTimestamp,
+      long receiveTimestamp,
+      RegionStatus status,
+      TRegionLoadSample loadSample) {
     this.sendTimestamp = sendTimestamp;
     this.receiveTimestamp = receiveTimestamp;
     this.status = status;
+    this.loadSample = loadSample;
   }
 
   public long getSendTimestamp() {
@@ -46,4 +57,8 @@ public class RegionHeartbeatSample {
   public RegionStatus getStatus() {
     return status;
   }
+
+  public TRegionLoadSample getLoadSample() {
+    return loadSample;
+  }
 }
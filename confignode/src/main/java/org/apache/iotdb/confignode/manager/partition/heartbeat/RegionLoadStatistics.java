@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.confignode.manager.partition.heartbeat;
+
+import java.util.Objects;
+
+/**
+ * The load of a Region estimated by the recent RegionHeartbeatSamples, which is used for balancing
+ * the RegionGroup-leaders and the DataPartitions.
+ */
+public class RegionLoadStatistics {
+
+  public static final RegionLoadStatistics EMPTY = new RegionLoadStatistics(0, 0, 0);
+
+  private final double writePointsPerSec;
+  // The number of cpu cores spent in querying the Region
+  private final double queryCpuUsage;
+  // Unit: Byte
+  private final long diskSize;
+
+  public RegionLoadStatistics(double writePointsPerSec, double queryCpuUsage, long diskSize) {
+    this.writePointsPerSec = writePointsPerSec;
+    this.queryCpuUsage = queryCpuUsage;
+    this.diskSize = diskSize;
+  }
+
+  /** @return the load of a RegionGroup, i.e. the maximum load of its Regions */
+  public static RegionLoadStatistics max(RegionLoadStatistics a, RegionLoadStatistics b) {
+    return new RegionLoadStatistics(
+        Math.max(a.writePointsPerSec, b.writePointsPerSec),
+        Math.max(a.queryCpuUsage, b.queryCpuUsage),
+        Math.max(a.diskSize, b.diskSize));
+  }
+
+  public double getWritePointsPerSec() {
+    return writePointsPerSec;
+  }
+
+  public double getQueryCpuUsage() {
+    return queryCpuUsage;
+  }
+
+  public long getDiskSize() {
+    return diskSize;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    RegionLoadStatistics that = (RegionLoadStatistics) o;
+    return Double.compare(that.writePointsPerSec, writePointsPerSec) == 0
+        && Double.compare(that.queryCpuUsage, queryCpuUsage) == 0
+        && diskSize == that.diskSize;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(writePointsPerSec, queryCpuUsage, diskSize);
+  }
+
+  @Override
+  public String toString() {
+    return "RegionLoadStatistics{"
+        + "writePointsPerSec="
+        + writePointsPerSec
+        + ", queryCpuUsage="
+        + queryCpuUsage
+        + ", diskSize="
+        + diskSize
+        + '}';
+  }
+}
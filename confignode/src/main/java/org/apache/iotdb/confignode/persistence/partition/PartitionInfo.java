@@ -61,6 +61,7 @@ import org.apache.iotdb.confignode.rpc.thrift.TShowRegionReq;
 import org.apache.iotdb.confignode.rpc.thrift.TTimeSlotList;
 import org.apache.iotdb.consensus.common.DataSet;
 import org.apache.iotdb.metrics.utils.MetricLevel;
+import org.apache.iotdb.mpp.rpc.thrift.TPartitionTableDelta;
 import org.apache.iotdb.rpc.RpcUtils;
 import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.tsfile.utils.Pair;
@@ -111,6 +112,11 @@ public class PartitionInfo implements SnapshotProcessor {
   // For RegionReplicas' asynchronous management
   private final List<RegionMaintainTask> regionMaintainTaskList;
 
+  /** For pushing the partition table to DataNodes */
+  private static final int DELTA_LOG_CAPACITY = 1024;
+
+  private final PartitionTableDeltaLog deltaLog;
+
   private static final String SNAPSHOT_FILENAME = "partition_info.bin";
 
   public PartitionInfo() {
@@ -118,6 +124,8 @@ public class PartitionInfo implements SnapshotProcessor {
     this.storageGroupPartitionTables = new ConcurrentHashMap<>();
 
     this.regionMaintainTaskList = Collections.synchronizedList(new ArrayList<>());
+
+    this.deltaLog = new PartitionTableDeltaLog(DELTA_LOG_CAPACITY);
   }
 
   public int generateNextRegionGroupId() {
@@ -233,6 +241,7 @@ public class PartitionInfo implements SnapshotProcessor {
     switch (preDeleteType) {
       case EXECUTE:
         storageGroupPartitionTable.setPredeleted(true);
+        deltaLog.appendRemovedStorageGroup(storageGroup);
         break;
       case ROLLBACK:
         storageGroupPartitionTable.setPredeleted(false);
@@ -251,6 +260,7 @@ public class PartitionInfo implements SnapshotProcessor {
   public void deleteStorageGroup(DeleteStorageGroupPlan plan) {
     // Clean the StorageGroupTable cache
     storageGroupPartitionTables.remove(plan.getName());
+    deltaLog.appendRemovedStorageGroup(plan.getName());
   }
 
   /**
@@ -371,6 +381,33 @@ public class PartitionInfo implements SnapshotProcessor {
     }
   }
 
+  /**
+   * Count the SeriesPartitionSlots whose latest TimePartitionSlot is allocated to each
+   * DataRegionGroup, i.e. the SeriesPartitionSlots that are most likely written in each
+   * DataRegionGroup
+   *
+   * @param storageGroup StorageGroupName
+   * @return Map<DataRegionGroupId, the number of SeriesPartitionSlots>
+   */
+  public Map<TConsensusGroupId, Integer> getLatestSeriesSlotsCounter(String storageGroup) {
+    Map<TConsensusGroupId, Integer> result = new HashMap<>();
+    if (storageGroupPartitionTables.containsKey(storageGroup)) {
+      storageGroupPartitionTables
+          .get(storageGroup)
+          .getLatestDataPartition()
+          .values()
+          .forEach(
+              timePartitionMap ->
+                  timePartitionMap
+                      .values()
+                      .forEach(
+                          regionGroupIds ->
+                              regionGroupIds.forEach(
+                                  regionGroupId -> result.merge(regionGroupId, 1, Integer::sum))));
+    }
+    return result;
+  }
+
   private boolean isStorageGroupExisted(String storageGroup) {
     final StorageGroupPartitionTable storageGroupPartitionTable =
         storageGroupPartitionTables.get(storageGroup);
@@ -384,6 +421,7 @@ public class PartitionInfo implements SnapshotProcessor {
    * @return TSStatusCode.SUCCESS_STATUS
    */
   public TSStatus createSchemaPartition(CreateSchemaPartitionPlan plan) {
+    Map<String, SchemaPartitionTable> createdSchemaPartition = new HashMap<>();
     plan.getAssignedSchemaPartition()
         .forEach(
             (storageGroup, schemaPartitionTable) -> {
@@ -391,8 +429,10 @@ public class PartitionInfo implements SnapshotProcessor {
                 storageGroupPartitionTables
                     .get(storageGroup)
                     .createSchemaPartition(schemaPartitionTable);
+                createdSchemaPartition.put(storageGroup, schemaPartitionTable);
               }
             });
+    deltaLog.appendSchemaPartition(createdSchemaPartition);
 
     return new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode());
   }
@@ -404,6 +444,7 @@ public class PartitionInfo implements SnapshotProcessor {
    * @return TSStatusCode.SUCCESS_STATUS
    */
   public TSStatus createDataPartition(CreateDataPartitionPlan plan) {
+    Map<String, DataPartitionTable> createdDataPartition = new HashMap<>();
     plan.getAssignedDataPartition()
         .forEach(
             (storageGroup, dataPartitionTable) -> {
@@ -411,12 +452,59 @@ public class PartitionInfo implements SnapshotProcessor {
                 storageGroupPartitionTables
                     .get(storageGroup)
                     .createDataPartition(dataPartitionTable);
+                createdDataPartition.put(storageGroup, dataPartitionTable);
               }
             });
+    deltaLog.appendDataPartition(createdDataPartition);
 
     return new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode());
   }
 
+  /**
+   * Get the changes of the partition table that a DataNode has not cached
+   *
+   * @param epoch The epoch of the partition table cached by the DataNode, null if unknown
+   * @param version The version of the partition table cached by the DataNode
+   * @return null if the DataNode is up to date. The changes since the version if they are all
+   *     retained, otherwise the whole SchemaPartitionTable and the DataPartitions of the latest
+   *     TimePartitionSlots for a full resync, with which the DataNode only drops the databases that
+   *     no longer exist, since the created partitions are never reassigned
+   */
+  public TPartitionTableDelta getPartitionTableDelta(Long epoch, long version) {
+    if (epoch != null && epoch == deltaLog.getEpoch()) {
+      if (version >= deltaLog.getVersion()) {
+        return null;
+      }
+      TPartitionTableDelta delta = deltaLog.getDeltaSince(version);
+      if (delta != null) {
+        return delta;
+      }
+    }
+
+    // Read the version before the table, so that the changes in between are pushed again later
+    long currentVersion = deltaLog.getVersion();
+    TPartitionTableDelta fullTable = deltaLog.newDelta(currentVersion, currentVersion, true);
+    storageGroupPartitionTables.forEach(
+        (storageGroup, storageGroupPartitionTable) -> {
+          if (!storageGroupPartitionTable.isPredeleted()) {
+            SchemaPartitionTable schemaPartitionTable = new SchemaPartitionTable();
+            storageGroupPartitionTable.getSchemaPartition(new ArrayList<>(), schemaPartitionTable);
+            fullTable
+                .getSchemaPartitionTable()
+                .put(storageGroup, schemaPartitionTable.getSchemaPartitionMap());
+            fullTable
+                .getDataPartitionTable()
+                .put(storageGroup, storageGroupPartitionTable.getLatestDataPartition());
+          }
+        });
+    return fullTable;
+  }
+
+  /** Start a new epoch of the partition table changes, so that all the DataNodes will resync */
+  public void renewPartitionTableEpoch() {
+    deltaLog.renewEpoch();
+  }
+
   /** Get SchemaNodeManagementPartition through matched storageGroup */
   public DataSet getSchemaNodeManagementPartition(List<String> matchedStorageGroups) {
     SchemaNodeManagementResp schemaNodeManagementResp = new SchemaNodeManagementResp();
@@ -842,6 +930,7 @@ public class PartitionInfo implements SnapshotProcessor {
     nextRegionGroupId.set(-1);
     storageGroupPartitionTables.clear();
     regionMaintainTaskList.clear();
+    deltaLog.renewEpoch();
   }
 
   @Override
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.confignode.persistence.partition;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
+import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
+import org.apache.iotdb.commons.partition.DataPartitionTable;
+import org.apache.iotdb.commons.partition.SchemaPartitionTable;
+import org.apache.iotdb.mpp.rpc.thrift.TPartitionTableDelta;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * PartitionTableDeltaLog keeps the recent changes of the partition table in memory, which are
+ * pushed to the DataNodes through the heartbeat, so that their PartitionCaches are warmed up before
+ * the new partitions are queried.
+ *
+ * <p>The version increases by one with each change. The log is neither persisted nor replicated,
+ * thus the versions are only comparable within an epoch, which is regenerated when the ConfigNode
+ * starts, becomes the leader or restores a snapshot. A DataNode knowing another epoch, or a version
+ * whose following changes are no longer retained, has to resync the whole partition table.
+ *
+ * <p>Besides the created partitions, a change may remove all the partitions of a database when it
+ * is deleted. The removal applies before the partitions created in the same change.
+ */
+public class PartitionTableDeltaLog {
+
+  private final int capacity;
+
+  private long epoch = ThreadLocalRandom.current().nextLong();
+  private long version = 0;
+  // The changes after this version are all retained
+  private long oldestVersion = 0;
+  private final Deque<TPartitionTableDelta> deltas = new ArrayDeque<>();
+
+  public PartitionTableDeltaLog(int capacity) {
+    this.capacity = capacity;
+  }
+
+  public synchronized long getEpoch() {
+    return epoch;
+  }
+
+  public synchronized long getVersion() {
+    return version;
+  }
+
+  public synchronized void appendSchemaPartition(
+      Map<String, SchemaPartitionTable> assignedSchemaPartition) {
+    TPartitionTableDelta delta = newDelta(version, version + 1, false);
+    assignedSchemaPartition.forEach(
+        (storageGroup, schemaPartitionTable) ->
+            delta
+                .getSchemaPartitionTable()
+                .put(storageGroup, new HashMap<>(schemaPartitionTable.getSchemaPartitionMap())));
+    append(delta);
+  }
+
+  public synchronized void appendDataPartition(
+      Map<String, DataPartitionTable> assignedDataPartition) {
+    TPartitionTableDelta delta = newDelta(version, version + 1, false);
+    assignedDataPartition.forEach(
+        (storageGroup, dataPartitionTable) -> {
+          Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>
+              seriesPartitionSlotMap = new HashMap<>();
+          dataPartitionTable
+              .getDataPartitionMap()
+              .forEach(
+                  (seriesPartitionSlot, seriesPartitionTable) ->
+                      seriesPartitionSlotMap.put(
+                          seriesPartitionSlot,
+                          new HashMap<>(seriesPartitionTable.getSeriesPartitionMap())));
+          delta.getDataPartitionTable().put(storageGroup, seriesPartitionSlotMap);
+        });
+    append(delta);
+  }
+
+  private void append(TPartitionTableDelta delta) {
+    version = delta.getToVersion();
+    deltas.addLast(delta);
+    if (deltas.size() > capacity) {
+      oldestVersion = deltas.removeFirst().getToVersion();
+    }
+  }
+
+  /** Record that all the partitions of the database are removed, e.g. it is being deleted */
+  public synchronized void appendRemovedStorageGroup(String storageGroup) {
+    TPartitionTableDelta delta = newDelta(version, version + 1, false);
+    delta.addToRemovedStorageGroups(storageGroup);
+    append(delta);
+  }
+
+  /**
+   * Start a new epoch and drop all the retained changes, since the log may have missed some changes
+   * of the partition table, e.g. when it is replaced by a snapshot
+   */
+  public synchronized void renewEpoch() {
+    long newEpoch = ThreadLocalRandom.current().nextLong();
+    while (newEpoch == epoch) {
+      newEpoch = ThreadLocalRandom.current().nextLong();
+    }
+    epoch = newEpoch;
+    version = 0;
+    oldestVersion = 0;
+    deltas.clear();
+  }
+
+  /**
+   * @return the merged changes after the given version, or null if some of them are no longer
+   *     retained
+   */
+  public synchronized TPartitionTableDelta getDeltaSince(long fromVersion) {
+    if (fromVersion < oldestVersion || fromVersion > version) {
+      return null;
+    }
+    TPartitionTableDelta result = newDelta(fromVersion, version, false);
+    for (TPartitionTableDelta delta : deltas) {
+      if (delta.getFromVersion() < fromVersion) {
+        continue;
+      }
+      if (delta.isSetRemovedStorageGroups()) {
+        // The partitions created before the removal are dropped
+        for (String storageGroup : delta.getRemovedStorageGroups()) {
+          result.getSchemaPartitionTable().remove(storageGroup);
+          result.getDataPartitionTable().remove(storageGroup);
+          result.addToRemovedStorageGroups(storageGroup);
+        }
+      }
+      delta
+          .getSchemaPartitionTable()
+          .forEach(
+              (storageGroup, schemaPartitionMap) ->
+                  result
+                      .getSchemaPartitionTable()
+                      .computeIfAbsent(storageGroup, empty -> new HashMap<>())
+                      .putAll(schemaPartitionMap));
+      delta
+          .getDataPartitionTable()
+          .forEach(
+              (storageGroup, seriesPartitionSlotMap) -> {
+                Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>
+                    resultSeriesPartitionSlotMap =
+                        result
+                            .getDataPartitionTable()
+                            .computeIfAbsent(storageGroup, empty -> new HashMap<>());
+                seriesPartitionSlotMap.forEach(
+                    (seriesPartitionSlot, timePartitionSlotMap) ->
+                        resultSeriesPartitionSlotMap
+                            .computeIfAbsent(seriesPartitionSlot, empty -> new HashMap<>())
+                            .putAll(timePartitionSlotMap));
+              });
+    }
+    return result;
+  }
+
+  public synchronized TPartitionTableDelta newDelta(
+      long fromVersion, long toVersion, boolean fullSync) {
+    return new TPartitionTableDelta(
+        epoch, fromVersion, toVersion, fullSync, new HashMap<>(), new HashMap<>());
+  }
+}
@@ -42,7 +42,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -200,6 +202,30 @@ public class StorageGroupPartitionTable {
     return dataPartitionTable.getDataPartition(partitionSlots, dataPartition);
   }
 
+  /**
+   * Get the DataPartitions of the latest TimePartitionSlot of each SeriesPartitionSlot, which are
+   * the most likely to be written
+   *
+   * @return Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>
+   */
+  public Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>
+      getLatestDataPartition() {
+    Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>> result =
+        new HashMap<>();
+    dataPartitionTable
+        .getDataPartitionMap()
+        .forEach(
+            (seriesPartitionSlot, seriesPartitionTable) ->
+                seriesPartitionTable.getSeriesPartitionMap().entrySet().stream()
+                    .max(Comparator.comparingLong(entry -> entry.getKey().getStartTime()))
+                    .ifPresent(
+                        entry ->
+                            result.put(
+                                seriesPartitionSlot,
+                                Collections.singletonMap(entry.getKey(), entry.getValue()))));
+    return result;
+  }
+
   /**
    * Checks whether the specified DataPartition has a predecessor and returns if it does
    *
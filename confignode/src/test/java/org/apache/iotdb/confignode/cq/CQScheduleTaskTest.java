@@ -41,4 +41,16 @@ public class CQScheduleTaskTest {
     long everyInterval = 30L;
     assertEquals(110L, CQScheduleTask.getFirstExecutionTime(boundaryTime, everyInterval, now));
   }
+
+  @Test
+  public void testGetIncrementalStartTime() {
+    long startTime = 0L;
+    long gracePeriod = 20L;
+    // unknown watermark
+    assertEquals(
+        0L, CQScheduleTask.getIncrementalStartTime(startTime, Long.MIN_VALUE, gracePeriod));
+    // the grace period covers the whole time range
+    assertEquals(0L, CQScheduleTask.getIncrementalStartTime(startTime, 15L, gracePeriod));
+    assertEquals(80L, CQScheduleTask.getIncrementalStartTime(startTime, 100L, gracePeriod));
+  }
 }
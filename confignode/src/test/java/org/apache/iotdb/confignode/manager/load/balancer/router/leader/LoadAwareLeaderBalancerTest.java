@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.confignode.manager.load.balancer.router.leader;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.confignode.manager.partition.heartbeat.RegionLoadStatistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoadAwareLeaderBalancerTest {
+
+  private static final LoadAwareLeaderBalancer BALANCER = new LoadAwareLeaderBalancer();
+
+  @Test
+  public void evenLoadTest() {
+    Map<TConsensusGroupId, TRegionReplicaSet> regionReplicaSetMap = new HashMap<>();
+    Map<TConsensusGroupId, Integer> regionLeaderMap = new HashMap<>();
+
+    // Build 9 RegionGroups in DataNodes 0~2, whose leaders are all 0
+    for (int i = 0; i < 9; i++) {
+      TConsensusGroupId regionGroupId = new TConsensusGroupId(TConsensusGroupType.DataRegion, i);
+      regionReplicaSetMap.put(regionGroupId, buildRegionReplicaSet(regionGroupId, 0, 1, 2));
+      regionLeaderMap.put(regionGroupId, 0);
+    }
+
+    // The number of leaders is balanced when the load is unknown
+    Map<TConsensusGroupId, Integer> leaderDistribution =
+        BALANCER.generateOptimalLeaderDistribution(
+            regionReplicaSetMap, regionLeaderMap, new HashSet<>(), Collections.emptyMap());
+    Map<Integer, AtomicInteger> leaderCounter = countLeaders(leaderDistribution);
+    for (int i = 0; i < 3; i++) {
+      Assert.assertEquals(3, leaderCounter.get(i).get());
+    }
+  }
+
+  @Test
+  public void hotRegionGroupTest() {
+    Map<TConsensusGroupId, TRegionReplicaSet> regionReplicaSetMap = new HashMap<>();
+    Map<TConsensusGroupId, Integer> regionLeaderMap = new HashMap<>();
+    Map<TConsensusGroupId, RegionLoadStatistics> regionLoadMap = new HashMap<>();
+    Set<Integer> disabledDataNodeSet = new HashSet<>();
+
+    // Build 6 RegionGroups in DataNodes 0~2, and the RegionGroup 0 writes 100x more than the
+    // others
+    for (int i = 0; i < 6; i++) {
+      TConsensusGroupId regionGroupId = new TConsensusGroupId(TConsensusGroupType.DataRegion, i);
+      regionReplicaSetMap.put(regionGroupId, buildRegionReplicaSet(regionGroupId, 0, 1, 2));
+      regionLeaderMap.put(regionGroupId, i % 3);
+      regionLoadMap.put(regionGroupId, new RegionLoadStatistics(i == 0 ? 100_000 : 1_000, 0, 0));
+    }
+
+    Map<TConsensusGroupId, Integer> leaderDistribution =
+        BALANCER.generateOptimalLeaderDistribution(
+            regionReplicaSetMap, regionLeaderMap, disabledDataNodeSet, regionLoadMap);
+
+    // The DataNode leading the hot RegionGroup leads nothing else
+    int hotLeaderId =
+        leaderDistribution.get(new TConsensusGroupId(TConsensusGroupType.DataRegion, 0));
+    leaderDistribution.forEach(
+        (regionGroupId, leaderId) -> {
+          if (regionGroupId.getId() != 0) {
+            Assert.assertNotEquals(hotLeaderId, (int) leaderId);
+          }
+        });
+
+    // No leader is placed in the disabled DataNode
+    disabledDataNodeSet.add(hotLeaderId);
+    leaderDistribution =
+        BALANCER.generateOptimalLeaderDistribution(
+            regionReplicaSetMap, leaderDistribution, disabledDataNodeSet, regionLoadMap);
+    Assert.assertFalse(leaderDistribution.containsValue(hotLeaderId));
+  }
+
+  private TRegionReplicaSet buildRegionReplicaSet(
+      TConsensusGroupId regionGroupId, int... dataNodeIds) {
+    TDataNodeLocation[] dataNodeLocations = new TDataNodeLocation[dataNodeIds.length];
+    for (int i = 0; i < dataNodeIds.length; i++) {
+      dataNodeLocations[i] = new TDataNodeLocation().setDataNodeId(dataNodeIds[i]);
+    }
+    return new TRegionReplicaSet(regionGroupId, Arrays.asList(dataNodeLocations));
+  }
+
+  private Map<Integer, AtomicInteger> countLeaders(
+      Map<TConsensusGroupId, Integer> leaderDistribution) {
+    Map<Integer, AtomicInteger> leaderCounter = new ConcurrentHashMap<>();
+    leaderDistribution.forEach(
+        (regionGroupId, leaderId) ->
+            leaderCounter
+                .computeIfAbsent(leaderId, empty -> new AtomicInteger(0))
+                .getAndIncrement());
+    return leaderCounter;
+  }
+}
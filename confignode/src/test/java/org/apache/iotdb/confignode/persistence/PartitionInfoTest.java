@@ -36,12 +36,14 @@ import org.apache.iotdb.confignode.consensus.request.write.partition.CreateSchem
 import org.apache.iotdb.confignode.consensus.request.write.region.CreateRegionGroupsPlan;
 import org.apache.iotdb.confignode.consensus.request.write.region.OfferRegionMaintainTasksPlan;
 import org.apache.iotdb.confignode.consensus.request.write.storagegroup.DatabaseSchemaPlan;
+import org.apache.iotdb.confignode.consensus.request.write.storagegroup.PreDeleteStorageGroupPlan;
 import org.apache.iotdb.confignode.consensus.response.RegionInfoListResp;
 import org.apache.iotdb.confignode.persistence.partition.PartitionInfo;
 import org.apache.iotdb.confignode.persistence.partition.maintainer.RegionCreateTask;
 import org.apache.iotdb.confignode.persistence.partition.maintainer.RegionDeleteTask;
 import org.apache.iotdb.confignode.rpc.thrift.TShowRegionReq;
 import org.apache.iotdb.confignode.rpc.thrift.TStorageGroupSchema;
+import org.apache.iotdb.mpp.rpc.thrift.TPartitionTableDelta;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.thrift.TException;
@@ -227,6 +229,70 @@ public class PartitionInfoTest {
             });
   }
 
+  @Test
+  public void testPartitionTableDelta() throws TException, IOException {
+    PartitionInfo deltaPartitionInfo = new PartitionInfo();
+    deltaPartitionInfo.createDatabase(
+        new DatabaseSchemaPlan(
+            ConfigPhysicalPlanType.CreateDatabase, new TStorageGroupSchema("root.test")));
+    deltaPartitionInfo.createSchemaPartition(
+        generateCreateSchemaPartitionReq(
+            testFlag.SchemaPartition.getFlag(),
+            generateTConsensusGroupId(
+                testFlag.SchemaPartition.getFlag(), TConsensusGroupType.SchemaRegion)));
+
+    // a DataNode knowing nothing resyncs the whole partition table
+    TPartitionTableDelta fullSync = deltaPartitionInfo.getPartitionTableDelta(null, 0);
+    Assert.assertTrue(fullSync.isFullSync());
+    Assert.assertEquals(1, fullSync.getToVersion());
+    Assert.assertTrue(fullSync.getSchemaPartitionTable().containsKey("root.test"));
+    Assert.assertNull(
+        deltaPartitionInfo.getPartitionTableDelta(fullSync.getEpoch(), fullSync.getToVersion()));
+
+    // the following changes are pushed incrementally
+    deltaPartitionInfo.createDataPartition(
+        generateCreateDataPartitionReq(
+            testFlag.DataPartition.getFlag(),
+            generateTConsensusGroupId(
+                testFlag.DataPartition.getFlag(), TConsensusGroupType.DataRegion)));
+    TPartitionTableDelta delta =
+        deltaPartitionInfo.getPartitionTableDelta(fullSync.getEpoch(), fullSync.getToVersion());
+    Assert.assertFalse(delta.isFullSync());
+    Assert.assertEquals(1, delta.getFromVersion());
+    Assert.assertEquals(2, delta.getToVersion());
+    Assert.assertTrue(delta.getSchemaPartitionTable().isEmpty());
+    Assert.assertTrue(delta.getDataPartitionTable().containsKey("root.test"));
+
+    // pre-deleting the database is pushed incrementally, without a full resync
+    deltaPartitionInfo.preDeleteStorageGroup(
+        new PreDeleteStorageGroupPlan(
+            "root.test", PreDeleteStorageGroupPlan.PreDeleteType.EXECUTE));
+    delta = deltaPartitionInfo.getPartitionTableDelta(fullSync.getEpoch(), fullSync.getToVersion());
+    Assert.assertFalse(delta.isFullSync());
+    Assert.assertEquals(3, delta.getToVersion());
+    Assert.assertEquals(Collections.singleton("root.test"), delta.getRemovedStorageGroups());
+    Assert.assertTrue(delta.getDataPartitionTable().isEmpty());
+    deltaPartitionInfo.preDeleteStorageGroup(
+        new PreDeleteStorageGroupPlan(
+            "root.test", PreDeleteStorageGroupPlan.PreDeleteType.ROLLBACK));
+
+    // restoring a snapshot or becoming the leader starts a new epoch
+    File deltaSnapshotDir = new File(snapshotDir, "delta");
+    Assert.assertTrue(deltaSnapshotDir.mkdirs());
+    deltaPartitionInfo.processTakeSnapshot(deltaSnapshotDir);
+    PartitionInfo restoredPartitionInfo = new PartitionInfo();
+    long epoch = restoredPartitionInfo.getPartitionTableDelta(null, 0).getEpoch();
+    restoredPartitionInfo.processLoadSnapshot(deltaSnapshotDir);
+    fullSync = restoredPartitionInfo.getPartitionTableDelta(epoch, 0);
+    Assert.assertTrue(fullSync.isFullSync());
+    Assert.assertNotEquals(epoch, fullSync.getEpoch());
+
+    deltaPartitionInfo.renewPartitionTableEpoch();
+    fullSync = deltaPartitionInfo.getPartitionTableDelta(delta.getEpoch(), delta.getToVersion());
+    Assert.assertTrue(fullSync.isFullSync());
+    Assert.assertNotEquals(delta.getEpoch(), fullSync.getEpoch());
+  }
+
   private TRegionReplicaSet generateTRegionReplicaSet(
       int startFlag, TConsensusGroupId tConsensusGroupId) {
     TRegionReplicaSet tRegionReplicaSet = new TRegionReplicaSet();
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.confignode.persistence.partition;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
+import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
+import org.apache.iotdb.commons.partition.DataPartitionTable;
+import org.apache.iotdb.commons.partition.SchemaPartitionTable;
+import org.apache.iotdb.commons.partition.SeriesPartitionTable;
+import org.apache.iotdb.mpp.rpc.thrift.TPartitionTableDelta;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PartitionTableDeltaLogTest {
+
+  private static final String STORAGE_GROUP = "root.sg";
+
+  @Test
+  public void testGetDeltaSince() {
+    PartitionTableDeltaLog deltaLog = new PartitionTableDeltaLog(10);
+    deltaLog.appendSchemaPartition(schemaPartition(1, 1));
+    deltaLog.appendDataPartition(dataPartition(1, 0, 1));
+    deltaLog.appendSchemaPartition(schemaPartition(2, 2));
+    deltaLog.appendDataPartition(dataPartition(1, 1, 2));
+    deltaLog.appendSchemaPartition(schemaPartition(1, 3));
+    Assert.assertEquals(5, deltaLog.getVersion());
+
+    // the changes after version 1 are merged, and the later ones override the earlier ones
+    TPartitionTableDelta delta = deltaLog.getDeltaSince(1);
+    Assert.assertNotNull(delta);
+    Assert.assertEquals(deltaLog.getEpoch(), delta.getEpoch());
+    Assert.assertEquals(1, delta.getFromVersion());
+    Assert.assertEquals(5, delta.getToVersion());
+    Assert.assertFalse(delta.isFullSync());
+
+    Map<TSeriesPartitionSlot, TConsensusGroupId> schemaPartitionMap =
+        delta.getSchemaPartitionTable().get(STORAGE_GROUP);
+    Assert.assertEquals(2, schemaPartitionMap.size());
+    Assert.assertEquals(schemaRegion(3), schemaPartitionMap.get(new TSeriesPartitionSlot(1)));
+    Assert.assertEquals(schemaRegion(2), schemaPartitionMap.get(new TSeriesPartitionSlot(2)));
+
+    Map<TTimePartitionSlot, ?> timePartitionMap =
+        delta.getDataPartitionTable().get(STORAGE_GROUP).get(new TSeriesPartitionSlot(1));
+    Assert.assertEquals(2, timePartitionMap.size());
+    Assert.assertTrue(timePartitionMap.containsKey(new TTimePartitionSlot(0)));
+    Assert.assertTrue(timePartitionMap.containsKey(new TTimePartitionSlot(1)));
+
+    // up to date
+    delta = deltaLog.getDeltaSince(5);
+    Assert.assertNotNull(delta);
+    Assert.assertTrue(delta.getSchemaPartitionTable().isEmpty());
+    Assert.assertTrue(delta.getDataPartitionTable().isEmpty());
+    // unknown version
+    Assert.assertNull(deltaLog.getDeltaSince(6));
+  }
+
+  @Test
+  public void testCapacity() {
+    PartitionTableDeltaLog deltaLog = new PartitionTableDeltaLog(2);
+    for (int i = 1; i <= 4; i++) {
+      deltaLog.appendSchemaPartition(schemaPartition(i, i));
+    }
+
+    // only the changes after version 2 are retained
+    Assert.assertNull(deltaLog.getDeltaSince(0));
+    Assert.assertNull(deltaLog.getDeltaSince(1));
+    TPartitionTableDelta delta = deltaLog.getDeltaSince(2);
+    Assert.assertNotNull(delta);
+    Map<TSeriesPartitionSlot, TConsensusGroupId> schemaPartitionMap =
+        delta.getSchemaPartitionTable().get(STORAGE_GROUP);
+    Assert.assertEquals(2, schemaPartitionMap.size());
+    Assert.assertTrue(schemaPartitionMap.containsKey(new TSeriesPartitionSlot(3)));
+    Assert.assertTrue(schemaPartitionMap.containsKey(new TSeriesPartitionSlot(4)));
+  }
+
+  @Test
+  public void testRemoveStorageGroup() {
+    PartitionTableDeltaLog deltaLog = new PartitionTableDeltaLog(10);
+    long epoch = deltaLog.getEpoch();
+    deltaLog.appendSchemaPartition(schemaPartition(1, 1));
+    deltaLog.appendDataPartition(dataPartition(1, 0, 1));
+    deltaLog.appendRemovedStorageGroup(STORAGE_GROUP);
+
+    // the removal is pushed incrementally, and drops the partitions created before it
+    Assert.assertEquals(epoch, deltaLog.getEpoch());
+    Assert.assertEquals(3, deltaLog.getVersion());
+    TPartitionTableDelta delta = deltaLog.getDeltaSince(0);
+    Assert.assertNotNull(delta);
+    Assert.assertEquals(Collections.singleton(STORAGE_GROUP), delta.getRemovedStorageGroups());
+    Assert.assertTrue(delta.getSchemaPartitionTable().isEmpty());
+    Assert.assertTrue(delta.getDataPartitionTable().isEmpty());
+
+    // the partitions created after the removal are kept
+    deltaLog.appendSchemaPartition(schemaPartition(2, 2));
+    delta = deltaLog.getDeltaSince(1);
+    Assert.assertNotNull(delta);
+    Assert.assertEquals(Collections.singleton(STORAGE_GROUP), delta.getRemovedStorageGroups());
+    Assert.assertEquals(
+        Collections.singleton(new TSeriesPartitionSlot(2)),
+        delta.getSchemaPartitionTable().get(STORAGE_GROUP).keySet());
+    Assert.assertFalse(deltaLog.getDeltaSince(3).isSetRemovedStorageGroups());
+  }
+
+  @Test
+  public void testRenewEpoch() {
+    PartitionTableDeltaLog deltaLog = new PartitionTableDeltaLog(10);
+    long epoch = deltaLog.getEpoch();
+    deltaLog.appendSchemaPartition(schemaPartition(1, 1));
+    deltaLog.renewEpoch();
+
+    Assert.assertNotEquals(epoch, deltaLog.getEpoch());
+    Assert.assertEquals(0, deltaLog.getVersion());
+    deltaLog.appendSchemaPartition(schemaPartition(2, 2));
+    TPartitionTableDelta delta = deltaLog.getDeltaSince(0);
+    Assert.assertNotNull(delta);
+    Assert.assertEquals(deltaLog.getEpoch(), delta.getEpoch());
+    Assert.assertEquals(
+        Collections.singleton(new TSeriesPartitionSlot(2)),
+        delta.getSchemaPartitionTable().get(STORAGE_GROUP).keySet());
+  }
+
+  private Map<String, SchemaPartitionTable> schemaPartition(int seriesSlot, int regionId) {
+    Map<TSeriesPartitionSlot, TConsensusGroupId> schemaPartitionMap = new HashMap<>();
+    schemaPartitionMap.put(new TSeriesPartitionSlot(seriesSlot), schemaRegion(regionId));
+    return Collections.singletonMap(STORAGE_GROUP, new SchemaPartitionTable(schemaPartitionMap));
+  }
+
+  private Map<String, DataPartitionTable> dataPartition(
+      int seriesSlot, long timeSlot, int regionId) {
+    Map<TTimePartitionSlot, List<TConsensusGroupId>> seriesPartitionMap = new HashMap<>();
+    seriesPartitionMap.put(
+        new TTimePartitionSlot(timeSlot),
+        Collections.singletonList(new TConsensusGroupId(TConsensusGroupType.DataRegion, regionId)));
+    Map<TSeriesPartitionSlot, SeriesPartitionTable> dataPartitionMap = new HashMap<>();
+    dataPartitionMap.put(
+        new TSeriesPartitionSlot(seriesSlot), new SeriesPartitionTable(seriesPartitionMap));
+    return Collections.singletonMap(STORAGE_GROUP, new DataPartitionTable(dataPartitionMap));
+  }
+
+  private TConsensusGroupId schemaRegion(int regionId) {
+    return new TConsensusGroupId(TConsensusGroupType.SchemaRegion, regionId);
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.iotdb.consensus;
 import org.apache.iotdb.commons.consensus.ConsensusGroupId;
 import org.apache.iotdb.consensus.common.Peer;
 import org.apache.iotdb.consensus.common.request.IConsensusRequest;
+import org.apache.iotdb.consensus.common.request.ReadOption;
 import org.apache.iotdb.consensus.common.response.ConsensusGenericResponse;
 import org.apache.iotdb.consensus.common.response.ConsensusReadResponse;
 import org.apache.iotdb.consensus.common.response.ConsensusWriteResponse;
@@ -29,7 +30,9 @@ import org.apache.iotdb.consensus.exception.ConsensusException;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /** Consensus module base class. */
 @ThreadSafe
@@ -44,6 +47,15 @@ public interface IConsensus {
   // read API
   ConsensusReadResponse read(ConsensusGroupId groupId, IConsensusRequest IConsensusRequest);
 
+  /**
+   * Read with the given consistency. The consensus protocols without linearizable read serve all
+   * the reads from the local copy.
+   */
+  default ConsensusReadResponse read(
+      ConsensusGroupId groupId, IConsensusRequest IConsensusRequest, ReadOption option) {
+    return read(groupId, IConsensusRequest);
+  }
+
   // multi consensus group API
 
   /**
@@ -150,4 +162,15 @@ public interface IConsensus {
   Peer getLeader(ConsensusGroupId groupId);
 
   List<ConsensusGroupId> getAllConsensusGroupIds();
+
+  /**
+   * Estimate how long each replica of the group lags behind this node. Only meaningful on the node
+   * that accepts the writes of the group.
+   *
+   * @return the replication lag in milliseconds keyed by the node id of the replicas, including
+   *     this node itself, or an empty map if the lag is not tracked by the consensus protocol
+   */
+  default Map<Integer, Long> getReplicationLagInMs(ConsensusGroupId groupId) {
+    return Collections.emptyMap();
+  }
 }
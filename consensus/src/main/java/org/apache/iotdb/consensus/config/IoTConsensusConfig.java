@@ -244,6 +244,10 @@ public class IoTConsensusConfig {
     private final long checkpointGap;
     private final long allocateMemoryForConsensus;
     private final long allocateMemoryForQueue;
+    private final int logDispatcherThreadNum;
+    private final long snapshotCatchUpLagThreshold;
+    private final int snapshotTransferThreadNum;
+    private final long snapshotTransferBytesPerSec;
 
     private Replication(
         int maxLogEntriesNumPerBatch,
@@ -257,7 +261,11 @@ public class IoTConsensusConfig {
         long throttleTimeOutMs,
         long checkpointGap,
         long allocateMemoryForConsensus,
-        double maxMemoryRatioForQueue) {
+        double maxMemoryRatioForQueue,
+        int logDispatcherThreadNum,
+        long snapshotCatchUpLagThreshold,
+        int snapshotTransferThreadNum,
+        long snapshotTransferBytesPerSec) {
       this.maxLogEntriesNumPerBatch = maxLogEntriesNumPerBatch;
       this.maxSizePerBatch = maxSizePerBatch;
       this.maxPendingBatchesNum = maxPendingBatchesNum;
@@ -270,6 +278,10 @@ public class IoTConsensusConfig {
       this.checkpointGap = checkpointGap;
       this.allocateMemoryForConsensus = allocateMemoryForConsensus;
       this.allocateMemoryForQueue = (long) (allocateMemoryForConsensus * maxMemoryRatioForQueue);
+      this.logDispatcherThreadNum = logDispatcherThreadNum;
+      this.snapshotCatchUpLagThreshold = snapshotCatchUpLagThreshold;
+      this.snapshotTransferThreadNum = snapshotTransferThreadNum;
+      this.snapshotTransferBytesPerSec = snapshotTransferBytesPerSec;
     }
 
     public int getMaxLogEntriesNumPerBatch() {
@@ -320,6 +332,32 @@ public class IoTConsensusConfig {
       return allocateMemoryForQueue;
     }
 
+    /**
+     * @return the number of threads shared by the log dispatchers of all the consensus groups, or 0
+     *     if each dispatcher occupies a thread for each peer
+     */
+    public int getLogDispatcherThreadNum() {
+      return logDispatcherThreadNum;
+    }
+
+    /**
+     * @return the number of requests that a peer lags behind, beyond which the peer catches up by
+     *     loading a snapshot instead of replaying the requests, or 0 if it always replays
+     */
+    public long getSnapshotCatchUpLagThreshold() {
+      return snapshotCatchUpLagThreshold;
+    }
+
+    /** @return the number of snapshot files transferred concurrently by all the consensus groups */
+    public int getSnapshotTransferThreadNum() {
+      return snapshotTransferThreadNum;
+    }
+
+    /** @return the max total bandwidth of transferring snapshots, or 0 if it is unlimited */
+    public long getSnapshotTransferBytesPerSec() {
+      return snapshotTransferBytesPerSec;
+    }
+
     public static Replication.Builder newBuilder() {
       return new Replication.Builder();
     }
@@ -340,6 +378,10 @@ public class IoTConsensusConfig {
       private long checkpointGap = 500;
       private long allocateMemoryForConsensus = Runtime.getRuntime().maxMemory() / 10;
       private double maxMemoryRatioForQueue = 0.6;
+      private int logDispatcherThreadNum = 0;
+      private long snapshotCatchUpLagThreshold = 0;
+      private int snapshotTransferThreadNum = 4;
+      private long snapshotTransferBytesPerSec = 0;
 
       public Replication.Builder setMaxLogEntriesNumPerBatch(int maxLogEntriesNumPerBatch) {
         this.maxLogEntriesNumPerBatch = maxLogEntriesNumPerBatch;
@@ -403,6 +445,26 @@ public class IoTConsensusConfig {
         return this;
       }
 
+      public Builder setLogDispatcherThreadNum(int logDispatcherThreadNum) {
+        this.logDispatcherThreadNum = logDispatcherThreadNum;
+        return this;
+      }
+
+      public Builder setSnapshotCatchUpLagThreshold(long snapshotCatchUpLagThreshold) {
+        this.snapshotCatchUpLagThreshold = snapshotCatchUpLagThreshold;
+        return this;
+      }
+
+      public Builder setSnapshotTransferThreadNum(int snapshotTransferThreadNum) {
+        this.snapshotTransferThreadNum = snapshotTransferThreadNum;
+        return this;
+      }
+
+      public Builder setSnapshotTransferBytesPerSec(long snapshotTransferBytesPerSec) {
+        this.snapshotTransferBytesPerSec = snapshotTransferBytesPerSec;
+        return this;
+      }
+
       public Replication build() {
         return new Replication(
             maxLogEntriesNumPerBatch,
@@ -416,7 +478,11 @@ public class IoTConsensusConfig {
             throttleTimeOutMs,
             checkpointGap,
             allocateMemoryForConsensus,
-            maxMemoryRatioForQueue);
+            maxMemoryRatioForQueue,
+            logDispatcherThreadNum,
+            snapshotCatchUpLagThreshold,
+            snapshotTransferThreadNum,
+            snapshotTransferBytesPerSec);
       }
     }
   }
@@ -40,6 +40,7 @@ public class RatisConfig {
   private final Client client;
   private final Impl impl;
   private final LeaderLogAppender leaderLogAppender;
+  private final Read read;
 
   private RatisConfig(
       Rpc rpc,
@@ -50,7 +51,8 @@ public class RatisConfig {
       Grpc grpc,
       Client client,
       Impl impl,
-      LeaderLogAppender leaderLogAppender) {
+      LeaderLogAppender leaderLogAppender,
+      Read read) {
     this.rpc = rpc;
     this.leaderElection = leaderElection;
     this.snapshot = snapshot;
@@ -60,6 +62,7 @@ public class RatisConfig {
     this.client = client;
     this.impl = impl;
     this.leaderLogAppender = leaderLogAppender;
+    this.read = read;
   }
 
   public Rpc getRpc() {
@@ -98,6 +101,10 @@ public class RatisConfig {
     return leaderLogAppender;
   }
 
+  public Read getRead() {
+    return read;
+  }
+
   public static Builder newBuilder() {
     return new Builder();
   }
@@ -114,6 +121,7 @@ public class RatisConfig {
     private Client client;
     private Impl impl;
     private LeaderLogAppender leaderLogAppender;
+    private Read read;
 
     public RatisConfig build() {
       return new RatisConfig(
@@ -126,7 +134,8 @@ public class RatisConfig {
           Optional.ofNullable(client).orElseGet(() -> Client.newBuilder().build()),
           Optional.ofNullable(impl).orElseGet(() -> Impl.newBuilder().build()),
           Optional.ofNullable(leaderLogAppender)
-              .orElseGet(() -> LeaderLogAppender.newBuilder().build()));
+              .orElseGet(() -> LeaderLogAppender.newBuilder().build()),
+          Optional.ofNullable(read).orElseGet(() -> Read.newBuilder().build()));
     }
 
     public Builder setRpc(Rpc rpc) {
@@ -173,6 +182,11 @@ public class RatisConfig {
       this.leaderLogAppender = leaderLogAppender;
       return this;
     }
+
+    public Builder setRead(Read read) {
+      this.read = read;
+      return this;
+    }
   }
 
   /** server rpc timeout related */
@@ -1044,4 +1058,70 @@ public class RatisConfig {
       }
     }
   }
+
+  /** linearizable read related */
+  public static class Read {
+
+    private final boolean leaderLeaseEnabled;
+    private final double leaderLeaseTimeoutRatio;
+    private final TimeDuration readIndexTimeout;
+
+    private Read(
+        boolean leaderLeaseEnabled, double leaderLeaseTimeoutRatio, TimeDuration readIndexTimeout) {
+      this.leaderLeaseEnabled = leaderLeaseEnabled;
+      this.leaderLeaseTimeoutRatio = leaderLeaseTimeoutRatio;
+      this.readIndexTimeout = readIndexTimeout;
+    }
+
+    /**
+     * @return whether the leader serves the linearizable reads locally while its lease holds, i.e.
+     *     a majority has responded to it recently
+     */
+    public boolean isLeaderLeaseEnabled() {
+      return leaderLeaseEnabled;
+    }
+
+    /**
+     * @return the ratio of the lease to the min election timeout, which should be less than 1 to
+     *     leave a margin for the clock drift and the network delay
+     */
+    public double getLeaderLeaseTimeoutRatio() {
+      return leaderLeaseTimeoutRatio;
+    }
+
+    /** @return the max time to wait for the leadership to be confirmed when the lease expires */
+    public TimeDuration getReadIndexTimeout() {
+      return readIndexTimeout;
+    }
+
+    public static Read.Builder newBuilder() {
+      return new Read.Builder();
+    }
+
+    public static class Builder {
+
+      private boolean leaderLeaseEnabled = true;
+      private double leaderLeaseTimeoutRatio = 0.9;
+      private TimeDuration readIndexTimeout = TimeDuration.valueOf(10, TimeUnit.SECONDS);
+
+      public Read build() {
+        return new Read(leaderLeaseEnabled, leaderLeaseTimeoutRatio, readIndexTimeout);
+      }
+
+      public Read.Builder setLeaderLeaseEnabled(boolean leaderLeaseEnabled) {
+        this.leaderLeaseEnabled = leaderLeaseEnabled;
+        return this;
+      }
+
+      public Read.Builder setLeaderLeaseTimeoutRatio(double leaderLeaseTimeoutRatio) {
+        this.leaderLeaseTimeoutRatio = leaderLeaseTimeoutRatio;
+        return this;
+      }
+
+      public Read.Builder setReadIndexTimeout(TimeDuration readIndexTimeout) {
+        this.readIndexTimeout = readIndexTimeout;
+        return this;
+      }
+    }
+  }
 }
@@ -22,6 +22,8 @@ package org.apache.iotdb.consensus.iot;
 import org.apache.iotdb.common.rpc.thrift.TEndPoint;
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.client.IClientManager;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
 import org.apache.iotdb.commons.consensus.ConsensusGroupId;
 import org.apache.iotdb.commons.exception.StartupException;
 import org.apache.iotdb.commons.service.RegisterManager;
@@ -49,6 +51,7 @@ import org.apache.iotdb.consensus.iot.client.SyncIoTConsensusServiceClient;
 import org.apache.iotdb.consensus.iot.logdispatcher.IoTConsensusMemoryManager;
 import org.apache.iotdb.consensus.iot.service.IoTConsensusRPCService;
 import org.apache.iotdb.consensus.iot.service.IoTConsensusRPCServiceProcessor;
+import org.apache.iotdb.consensus.iot.snapshot.SnapshotTransmitter;
 import org.apache.iotdb.rpc.RpcUtils;
 import org.apache.iotdb.rpc.TSStatusCode;
 
@@ -61,9 +64,11 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class IoTConsensus implements IConsensus {
@@ -81,6 +86,10 @@ public class IoTConsensus implements IConsensus {
   private final IoTConsensusConfig config;
   private final IClientManager<TEndPoint, AsyncIoTConsensusServiceClient> clientManager;
   private final IClientManager<TEndPoint, SyncIoTConsensusServiceClient> syncClientManager;
+  // shared by the log dispatchers of all the consensus groups, or null if each dispatcher occupies
+  // a thread for each peer
+  private final ScheduledExecutorService logDispatcherExecutor;
+  private final SnapshotTransmitter snapshotTransmitter;
 
   public IoTConsensus(ConsensusConfig config, Registry registry) {
     this.thisNode = config.getThisNodeEndPoint();
@@ -97,6 +106,15 @@ public class IoTConsensus implements IConsensus {
         new IClientManager.Factory<TEndPoint, SyncIoTConsensusServiceClient>()
             .createClientManager(
                 new SyncIoTConsensusServiceClientPoolFactory(config.getIoTConsensusConfig()));
+    int logDispatcherThreadNum =
+        config.getIoTConsensusConfig().getReplication().getLogDispatcherThreadNum();
+    this.logDispatcherExecutor =
+        logDispatcherThreadNum > 0
+            ? IoTDBThreadPoolFactory.newScheduledThreadPool(
+                logDispatcherThreadNum, ThreadName.IOT_CONSENSUS_LOG_DISPATCHER.getName())
+            : null;
+    this.snapshotTransmitter =
+        new SnapshotTransmitter(syncClientManager, config.getIoTConsensusConfig());
     // init IoTConsensus memory manager
     IoTConsensusMemoryManager.getInstance()
         .init(
@@ -135,7 +153,9 @@ public class IoTConsensus implements IConsensus {
                   registry.apply(consensusGroupId),
                   clientManager,
                   syncClientManager,
-                  config);
+                  config,
+                  logDispatcherExecutor,
+                  snapshotTransmitter);
           stateMachineMap.put(consensusGroupId, consensus);
           consensus.start();
         }
@@ -147,6 +167,10 @@ public class IoTConsensus implements IConsensus {
   public void stop() {
     clientManager.close();
     stateMachineMap.values().parallelStream().forEach(IoTConsensusServerImpl::stop);
+    if (logDispatcherExecutor != null) {
+      logDispatcherExecutor.shutdownNow();
+    }
+    snapshotTransmitter.stop();
     registerManager.deregisterAll();
   }
 
@@ -215,7 +239,9 @@ public class IoTConsensus implements IConsensus {
                   registry.apply(groupId),
                   clientManager,
                   syncClientManager,
-                  config);
+                  config,
+                  logDispatcherExecutor,
+                  snapshotTransmitter);
           impl.start();
           return impl;
         });
@@ -265,25 +291,28 @@ public class IoTConsensus implements IConsensus {
       impl.checkAndLockSafeDeletedSearchIndex();
       impl.notifyPeersToBuildSyncLogChannel(peer);
 
-      // step 3: take snapshot
-      logger.info("[IoTConsensus] start to take snapshot...");
-      impl.takeSnapshot();
+      // the snapshot may be taken for a lagging peer to catch up meanwhile
+      synchronized (impl.getSnapshotLock()) {
+        // step 3: take snapshot
+        logger.info("[IoTConsensus] start to take snapshot...");
+        impl.takeSnapshot();
 
-      // step 4: transit snapshot
-      logger.info("[IoTConsensus] start to transit snapshot...");
-      impl.transitSnapshot(peer);
+        // step 4: transit snapshot
+        logger.info("[IoTConsensus] start to transit snapshot...");
+        impl.transitSnapshot(peer);
 
-      // step 5: let the new peer load snapshot
-      logger.info("[IoTConsensus] trigger new peer to load snapshot...");
-      impl.triggerSnapshotLoad(peer);
+        // step 5: let the new peer load snapshot
+        logger.info("[IoTConsensus] trigger new peer to load snapshot...");
+        impl.triggerSnapshotLoad(peer);
 
-      // step 6: active new Peer
-      logger.info("[IoTConsensus] activate new peer...");
-      impl.activePeer(peer);
+        // step 6: active new Peer
+        logger.info("[IoTConsensus] activate new peer...");
+        impl.activePeer(peer);
 
-      // step 7: spot clean
-      logger.info("[IoTConsensus] do spot clean...");
-      doSpotClean(peer, impl);
+        // step 7: spot clean
+        logger.info("[IoTConsensus] do spot clean...");
+        doSpotClean(peer, impl);
+      }
 
     } catch (ConsensusGroupModifyPeerException e) {
       logger.error("cannot execute addPeer() for {}", peer, e);
@@ -387,6 +416,17 @@ public class IoTConsensus implements IConsensus {
     return new ArrayList<>(stateMachineMap.keySet());
   }
 
+  @Override
+  public Map<Integer, Long> getReplicationLagInMs(ConsensusGroupId groupId) {
+    IoTConsensusServerImpl impl = stateMachineMap.get(groupId);
+    if (impl == null) {
+      return Collections.emptyMap();
+    }
+    Map<Integer, Long> result = impl.getReplicationLagInMs();
+    result.put(thisNodeId, 0L);
+    return result;
+  }
+
   public IoTConsensusServerImpl getImpl(ConsensusGroupId groupId) {
     return stateMachineMap.get(groupId);
   }
@@ -37,7 +37,8 @@ import org.apache.iotdb.consensus.exception.ConsensusGroupModifyPeerException;
 import org.apache.iotdb.consensus.iot.client.AsyncIoTConsensusServiceClient;
 import org.apache.iotdb.consensus.iot.client.SyncIoTConsensusServiceClient;
 import org.apache.iotdb.consensus.iot.logdispatcher.LogDispatcher;
-import org.apache.iotdb.consensus.iot.snapshot.SnapshotFragmentReader;
+import org.apache.iotdb.consensus.iot.snapshot.SnapshotFragmentWriter;
+import org.apache.iotdb.consensus.iot.snapshot.SnapshotTransmitter;
 import org.apache.iotdb.consensus.iot.thrift.TActivatePeerReq;
 import org.apache.iotdb.consensus.iot.thrift.TActivatePeerRes;
 import org.apache.iotdb.consensus.iot.thrift.TBuildSyncLogChannelReq;
@@ -48,8 +49,6 @@ import org.apache.iotdb.consensus.iot.thrift.TInactivatePeerReq;
 import org.apache.iotdb.consensus.iot.thrift.TInactivatePeerRes;
 import org.apache.iotdb.consensus.iot.thrift.TRemoveSyncLogChannelReq;
 import org.apache.iotdb.consensus.iot.thrift.TRemoveSyncLogChannelRes;
-import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentReq;
-import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentRes;
 import org.apache.iotdb.consensus.iot.thrift.TTriggerSnapshotLoadReq;
 import org.apache.iotdb.consensus.iot.thrift.TTriggerSnapshotLoadRes;
 import org.apache.iotdb.consensus.iot.thrift.TWaitSyncLogCompleteReq;
@@ -73,13 +72,14 @@ import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
@@ -108,6 +108,12 @@ public class IoTConsensusServerImpl {
   private final ConsensusReqReader reader;
   private volatile boolean active;
   private String newSnapshotDirName;
+  // serializes taking and transferring the snapshots, which share newSnapshotDirName
+  private final Object snapshotLock = new Object();
+  private final SnapshotTransmitter snapshotTransmitter;
+  // the progress of the latest snapshot sent by this peer
+  private final SnapshotTransmitter.Progress snapshotTransferProgress =
+      new SnapshotTransmitter.Progress();
   private static final Pattern snapshotIndexPatten = Pattern.compile(".*[^\\d](?=(\\d+))");
   private final IClientManager<TEndPoint, SyncIoTConsensusServiceClient> syncClientManager;
   private final IoTConsensusServerMetrics metrics;
@@ -121,13 +127,16 @@ public class IoTConsensusServerImpl {
       IStateMachine stateMachine,
       IClientManager<TEndPoint, AsyncIoTConsensusServiceClient> clientManager,
       IClientManager<TEndPoint, SyncIoTConsensusServiceClient> syncClientManager,
-      IoTConsensusConfig config) {
+      IoTConsensusConfig config,
+      ScheduledExecutorService logDispatcherExecutor,
+      SnapshotTransmitter snapshotTransmitter) {
     this.active = true;
     this.storageDir = storageDir;
     this.thisNode = thisNode;
     this.stateMachine = stateMachine;
     this.cacheQueueMap = new ConcurrentHashMap<>();
     this.syncClientManager = syncClientManager;
+    this.snapshotTransmitter = snapshotTransmitter;
     this.configuration = configuration;
     if (configuration.isEmpty()) {
       recoverConfiguration();
@@ -135,7 +144,7 @@ public class IoTConsensusServerImpl {
       persistConfiguration();
     }
     this.config = config;
-    this.logDispatcher = new LogDispatcher(this, clientManager);
+    this.logDispatcher = new LogDispatcher(this, clientManager, logDispatcherExecutor);
     reader = (ConsensusReqReader) stateMachine.read(new GetConsensusReqReaderPlan());
     long currentSearchIndex = reader.getCurrentSearchIndex();
     checkAndUpdateSafeDeletedSearchIndex();
@@ -317,45 +326,20 @@ public class IoTConsensusServerImpl {
     File snapshotDir = new File(storageDir, newSnapshotDirName);
     List<Path> snapshotPaths = stateMachine.getSnapshotFiles(snapshotDir);
     logger.info("transit snapshots: {}", snapshotPaths);
-    try (SyncIoTConsensusServiceClient client =
-        syncClientManager.borrowClient(targetPeer.getEndpoint())) {
-      for (Path path : snapshotPaths) {
-        SnapshotFragmentReader reader = new SnapshotFragmentReader(newSnapshotDirName, path);
-        try {
-          while (reader.hasNext()) {
-            TSendSnapshotFragmentReq req = reader.next().toTSendSnapshotFragmentReq();
-            req.setConsensusGroupId(targetPeer.getGroupId().convertToTConsensusGroupId());
-            TSendSnapshotFragmentRes res = client.sendSnapshotFragment(req);
-            if (!isSuccess(res.getStatus())) {
-              throw new ConsensusGroupModifyPeerException(
-                  String.format("error when sending snapshot fragment to %s", targetPeer));
-            }
-          }
-        } finally {
-          reader.close();
-        }
-      }
-    } catch (Exception e) {
-      throw new ConsensusGroupModifyPeerException(
-          String.format("error when send snapshot file to %s", targetPeer), e);
-    }
+    snapshotTransmitter.transmit(
+        targetPeer, newSnapshotDirName, snapshotPaths, snapshotTransferProgress);
   }
 
+  /**
+   * Write the fragment of a snapshot file at the offset, or append it to the file if the offset is
+   * negative, which is sent by the old versions.
+   */
   public void receiveSnapshotFragment(
-      String snapshotId, String originalFilePath, ByteBuffer fileChunk)
+      String snapshotId, String originalFilePath, ByteBuffer fileChunk, long offset)
       throws ConsensusGroupModifyPeerException {
     try {
       String targetFilePath = calculateSnapshotPath(snapshotId, originalFilePath);
-      File targetFile = new File(storageDir, targetFilePath);
-      Path parentDir = Paths.get(targetFile.getParent());
-      if (!Files.exists(parentDir)) {
-        Files.createDirectories(parentDir);
-      }
-      Files.write(
-          Paths.get(targetFile.getAbsolutePath()),
-          fileChunk.array(),
-          StandardOpenOption.CREATE,
-          StandardOpenOption.APPEND);
+      SnapshotFragmentWriter.write(new File(storageDir, targetFilePath), fileChunk, offset);
     } catch (IOException e) {
       throw new ConsensusGroupModifyPeerException(
           String.format("error when receiving snapshot %s", snapshotId), e);
@@ -411,6 +395,43 @@ public class IoTConsensusServerImpl {
   public void loadSnapshot(String snapshotId) {
     // TODO: (xingtanzjr) throw exception if the snapshot load failed
     stateMachine.loadSnapshot(new File(storageDir, snapshotId));
+    // the leader continues syncing from the index of the snapshot, which may be far beyond the
+    // index expected by the sync log queues if this peer catches up by the snapshot
+    cacheQueueMap.clear();
+  }
+
+  /**
+   * Let the lagging peer catch up by loading a snapshot of this peer, which transfers the sealed
+   * TsFiles instead of replaying the requests one by one.
+   *
+   * @return the search index until which all the requests are included in the snapshot
+   */
+  public long catchUpBySnapshot(Peer targetPeer) throws ConsensusGroupModifyPeerException {
+    synchronized (snapshotLock) {
+      // the requests are written into the state machine before the search index is increased, and
+      // the memtables are flushed when taking snapshot
+      long snapshotIndex = getSearchIndex();
+      takeSnapshot();
+      try {
+        transitSnapshot(targetPeer);
+        triggerSnapshotLoad(targetPeer);
+      } finally {
+        try {
+          cleanupRemoteSnapshot(targetPeer);
+        } catch (ConsensusGroupModifyPeerException e) {
+          logger.warn("failed to cleanup remote snapshot of {}", targetPeer, e);
+        }
+      }
+      return snapshotIndex;
+    }
+  }
+
+  public Object getSnapshotLock() {
+    return snapshotLock;
+  }
+
+  public SnapshotTransmitter.Progress getSnapshotTransferProgress() {
+    return snapshotTransferProgress;
   }
 
   public void inactivePeer(Peer peer) throws ConsensusGroupModifyPeerException {
@@ -734,6 +755,10 @@ public class IoTConsensusServerImpl {
     return logDispatcher.getLogEntriesFromQueue();
   }
 
+  public Map<Integer, Long> getReplicationLagInMs() {
+    return logDispatcher.getReplicationLagInMs();
+  }
+
   public boolean needBlockWrite() {
     return reader.getTotalSize() > config.getReplication().getWalThrottleThreshold();
   }
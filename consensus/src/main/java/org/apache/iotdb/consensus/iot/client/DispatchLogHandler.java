@@ -116,6 +116,12 @@ public class DispatchLogHandler implements AsyncMethodCallback<TSyncLogEntriesRe
                 thread.getPeer(),
                 batch,
                 retryCount);
+          } else if (!thread.getSyncStatus().isPending(batch)) {
+            logger.info(
+                "Batch {} has been dropped since peer {} caught up by snapshot, we will not retry it after {} times",
+                batch,
+                thread.getPeer(),
+                retryCount);
           } else {
             thread.sendBatchAsync(batch, this);
           }
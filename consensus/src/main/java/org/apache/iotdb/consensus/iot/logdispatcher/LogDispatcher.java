@@ -41,46 +41,83 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.OptionalLong;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
-/** Manage all asynchronous replication threads and corresponding async clients */
+/**
+ * Manage all asynchronous replication threads and corresponding async clients.
+ *
+ * <p>If a shared executor is given, the dispatchers of all the consensus groups run on it instead
+ * of occupying a thread for each peer. A dispatcher is scheduled only when it is ready, i.e. new
+ * requests are offered or a pending batch is synced, and it gives the thread back once there is
+ * nothing to send or the synchronization pipeline is full.
+ *
+ * <p>If a peer lags behind more than the snapshot catch-up threshold, e.g. it has been down for a
+ * long time, it catches up by loading a snapshot of this peer, which transfers the sealed TsFiles
+ * instead of replaying the requests one by one. Only the requests written after the snapshot are
+ * replayed, and the WAL pinned by the peer is released.
+ */
 public class LogDispatcher {
 
   private static final Logger logger = LoggerFactory.getLogger(LogDispatcher.class);
   private static final long DEFAULT_INITIAL_SYNC_INDEX = 0L;
+  private static final long WRITE_TIME_SAMPLE_INTERVAL_IN_MS = 10L;
   private final IoTConsensusServerImpl impl;
   private final List<LogDispatcherThread> threads;
   private final String selfPeerId;
   private final IClientManager<TEndPoint, AsyncIoTConsensusServiceClient> clientManager;
   private ExecutorService executorService;
+  // the executor shared by the dispatchers of all the consensus groups, or null if each
+  // LogDispatcherThread occupies a thread
+  private final ScheduledExecutorService sharedExecutor;
+  // the executor running the snapshot catch-up of the lagging peers, which is created lazily
+  private ExecutorService catchUpExecutorService;
 
   private boolean stopped = false;
 
   private final AtomicLong logEntriesFromWAL = new AtomicLong(0);
   private final AtomicLong logEntriesFromQueue = new AtomicLong(0);
 
+  // Samples of <searchIndex, write time> of the offered requests. A sample is taken when a request
+  // is offered WRITE_TIME_SAMPLE_INTERVAL_IN_MS after the last sample, thus the requests between
+  // two
+  // samples are written within the interval after the former one. The replication lag of a peer is
+  // the time since the first request not synced to it is written, which is estimated with the last
+  // sample before that request. The samples no longer needed by any peer are dropped.
+  private final Deque<long[]> writeTimeSamples = new ArrayDeque<>();
+  private long lastSampleTime = 0;
+
   public LogDispatcher(
       IoTConsensusServerImpl impl,
-      IClientManager<TEndPoint, AsyncIoTConsensusServiceClient> clientManager) {
+      IClientManager<TEndPoint, AsyncIoTConsensusServiceClient> clientManager,
+      ScheduledExecutorService sharedExecutor) {
     this.impl = impl;
     this.selfPeerId = impl.getThisNode().getEndpoint().toString();
     this.clientManager = clientManager;
+    this.sharedExecutor = sharedExecutor;
     this.threads =
         impl.getConfiguration().stream()
             .filter(x -> !Objects.equals(x, impl.getThisNode()))
             .map(x -> new LogDispatcherThread(x, impl.getConfig(), DEFAULT_INITIAL_SYNC_INDEX))
             .collect(Collectors.toList());
-    if (!threads.isEmpty()) {
+    if (!threads.isEmpty() && sharedExecutor == null) {
       initLogSyncThreadPool();
     }
   }
@@ -96,7 +133,12 @@ public class LogDispatcher {
   }
 
   public synchronized void start() {
-    if (!threads.isEmpty()) {
+    if (threads.isEmpty()) {
+      return;
+    }
+    if (sharedExecutor != null) {
+      threads.forEach(LogDispatcherThread::startDispatching);
+    } else {
       threads.forEach(executorService::submit);
     }
   }
@@ -104,6 +146,9 @@ public class LogDispatcher {
   public synchronized void stop() {
     if (!threads.isEmpty()) {
       threads.forEach(LogDispatcherThread::stop);
+    }
+    // the shared executor is shut down by its owner
+    if (executorService != null) {
       executorService.shutdownNow();
       int timeout = 10;
       try {
@@ -115,6 +160,9 @@ public class LogDispatcher {
         logger.error("Unexpected Interruption when closing LogDispatcher service ");
       }
     }
+    if (catchUpExecutorService != null) {
+      catchUpExecutorService.shutdownNow();
+    }
     stopped = true;
   }
 
@@ -124,6 +172,10 @@ public class LogDispatcher {
     }
     LogDispatcherThread thread = new LogDispatcherThread(peer, impl.getConfig(), initialSyncIndex);
     threads.add(thread);
+    if (sharedExecutor != null) {
+      thread.startDispatching();
+      return;
+    }
     // If the initial replica is 1, the executorService won't be initialized. And when adding
     // dispatcher thread, the executorService should be initialized manually
     if (this.executorService == null) {
@@ -157,6 +209,7 @@ public class LogDispatcher {
 
   public void offer(IndexedConsensusRequest request) {
     synchronized (this) {
+      sampleWriteTime(request.getSearchIndex());
       threads.forEach(
           thread -> {
             logger.debug(
@@ -175,6 +228,70 @@ public class LogDispatcher {
     }
   }
 
+  private void sampleWriteTime(long searchIndex) {
+    if (threads.isEmpty()) {
+      return;
+    }
+    long currentTime = System.currentTimeMillis();
+    if (currentTime - lastSampleTime < WRITE_TIME_SAMPLE_INTERVAL_IN_MS) {
+      return;
+    }
+    lastSampleTime = currentTime;
+    writeTimeSamples.addLast(new long[] {searchIndex, currentTime});
+    // the first sample is needed as long as the second one is after the first request not synced
+    // to some peer
+    long minSyncIndex = getMinSyncIndex().orElse(searchIndex);
+    while (writeTimeSamples.size() > 1) {
+      long[] firstSample = writeTimeSamples.pollFirst();
+      if (writeTimeSamples.peekFirst()[0] > minSyncIndex + 1) {
+        writeTimeSamples.addFirst(firstSample);
+        break;
+      }
+    }
+  }
+
+  /**
+   * Estimate how long each peer lags behind this node.
+   *
+   * @return the replication lag in milliseconds keyed by the node id of the peers, which is
+   *     Long.MAX_VALUE if it is unknown, e.g. the peer is catching up with the requests written
+   *     before restart
+   */
+  public synchronized Map<Integer, Long> getReplicationLagInMs() {
+    Map<Integer, Long> result = new HashMap<>();
+    long currentTime = System.currentTimeMillis();
+    long searchIndex = impl.getSearchIndex();
+    for (LogDispatcherThread thread : threads) {
+      long syncIndex = thread.getCurrentSyncIndex();
+      // the lag is unknown if the first request not synced is written before all the samples
+      long lag = syncIndex >= searchIndex ? 0 : Long.MAX_VALUE;
+      if (lag != 0) {
+        for (long[] sample : writeTimeSamples) {
+          if (sample[0] > syncIndex + 1) {
+            break;
+          }
+          lag = Math.max(0, currentTime - sample[1]);
+        }
+      }
+      result.put(thread.getPeer().getNodeId(), lag);
+    }
+    return result;
+  }
+
+  private synchronized ExecutorService getCatchUpExecutorService() {
+    if (stopped) {
+      throw new RejectedExecutionException("LogDispatcher has been stopped");
+    }
+    if (catchUpExecutorService == null) {
+      // the threads of cached thread pool exit after being idle for a while, thus no thread is
+      // occupied unless some peer is catching up
+      catchUpExecutorService =
+          IoTDBThreadPoolFactory.newCachedThreadPool(
+              "LogDispatcher-CatchUp-" + impl.getThisNode().getGroupId());
+    }
+    return catchUpExecutorService;
+  }
+
   public long getLogEntriesFromWAL() {
     return logEntriesFromWAL.get();
   }
@@ -187,6 +304,8 @@ public class LogDispatcher {
 
     private static final long PENDING_REQUEST_TAKING_TIME_OUT_IN_SEC = 10;
     private static final long START_INDEX = 1;
+    private static final long MIN_CATCH_UP_RETRY_INTERVAL_IN_MS = 10_000L;
+    private static final long MAX_CATCH_UP_RETRY_INTERVAL_IN_MS = 600_000L;
     private final IoTConsensusConfig config;
     private final Peer peer;
     private final IndexController controller;
@@ -207,6 +326,23 @@ public class LogDispatcher {
 
     private final LogDispatcherThreadMetrics metrics;
 
+    // whether dispatch() is scheduled or running on the shared executor, which makes sure that at
+    // most one dispatch() of this peer runs at the same time
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    // the batch that is built but not admitted by syncStatus yet, which is sent before any new one
+    private Batch unadmittedBatch;
+    // the periodical check of WAL when there is nothing to send
+    private ScheduledFuture<?> idleCheckFuture;
+
+    // whether the peer is catching up by loading a snapshot, during which no batch is built for it.
+    // It is set with the lock of search index, thus the batches built before contain only the
+    // requests included in the snapshot
+    private final AtomicBoolean catchingUp = new AtomicBoolean(false);
+    // the snapshot catch-up is retried with exponential backoff if it fails, e.g. the peer is down,
+    // since taking a snapshot flushes the memtables
+    private volatile long nextCatchUpTime = 0;
+    private long catchUpRetryIntervalInMs = MIN_CATCH_UP_RETRY_INTERVAL_IN_MS;
+
     public LogDispatcherThread(Peer peer, IoTConsensusConfig config, long initialSyncIndex) {
       this.peer = peer;
       this.config = config;
@@ -248,6 +384,7 @@ public class LogDispatcher {
 
     /** try to offer a request into queue with memory control. */
     public boolean offer(IndexedConsensusRequest indexedConsensusRequest) {
+      checkAndCatchUpBySnapshot();
       if (!iotConsensusMemoryManager.reserve(indexedConsensusRequest.getSerializedSize(), true)) {
         return false;
       }
@@ -262,6 +399,13 @@ public class LogDispatcher {
       if (!success) {
         // If offer failed, the reserved memory should be released
         iotConsensusMemoryManager.free(indexedConsensusRequest.getSerializedSize(), true);
+      } else if (sharedExecutor != null) {
+        // If write pressure is low, we wait a little to accumulate a batch to reduce the number of
+        // RPC
+        wakeUp(
+            pendingEntries.size() > config.getReplication().getMaxLogEntriesNumPerBatch()
+                ? 0
+                : config.getReplication().getMaxWaitingTimeForAccumulatingBatchInMs());
       }
       return success;
     }
@@ -273,6 +417,11 @@ public class LogDispatcher {
 
     public void stop() {
       stopped = true;
+      synchronized (this) {
+        if (idleCheckFuture != null) {
+          idleCheckFuture.cancel(false);
+        }
+      }
       long requestSize = 0;
       for (IndexedConsensusRequest indexedConsensusRequest : pendingEntries) {
         requestSize += indexedConsensusRequest.getSerializedSize();
@@ -328,12 +477,9 @@ public class LogDispatcher {
                   peer.getGroupId().toString())
               .update((System.currentTimeMillis() - startTime) / batch.getLogEntries().size());
           // we may block here if the synchronization pipeline is full
-          syncStatus.addNextBatch(batch);
-          logEntriesFromWAL.addAndGet(batch.getLogEntriesNumFromWAL());
-          logEntriesFromQueue.addAndGet(
-              batch.getLogEntries().size() - batch.getLogEntriesNumFromWAL());
-          // sends batch asynchronously and migrates the retry logic into the callback handler
-          sendBatchAsync(batch, new DispatchLogHandler(this, batch));
+          if (syncStatus.addNextBatch(batch)) {
+            sendAdmittedBatch(batch);
+          }
         }
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
@@ -343,6 +489,170 @@ public class LogDispatcher {
       logger.info("{}: Dispatcher for {} exits", impl.getThisNode(), peer);
     }
 
+    /** Start dispatching on the shared executor, which is driven by the readiness of this peer. */
+    private void startDispatching() {
+      logger.info("{}: Dispatcher for {} starts on the shared executor", impl.getThisNode(), peer);
+      MetricService.getInstance().addMetricSet(metrics);
+      syncStatus.setBatchRemovedListener(() -> wakeUp(0));
+      // the requests left in WAL are sent first, e.g. after restart
+      wakeUp(0);
+    }
+
+    /** Schedule dispatch() on the shared executor if it is not scheduled yet. */
+    private void wakeUp(long delayInMs) {
+      if (stopped || !scheduled.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        sharedExecutor.schedule(this::dispatch, delayInMs, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        // the shared executor is shut down
+        scheduled.set(false);
+      }
+    }
+
+    /**
+     * Send the batches until there is nothing to send or the synchronization pipeline is full. It
+     * never blocks on the pipeline, thus the thread can serve other dispatchers meanwhile.
+     */
+    private void dispatch() {
+      try {
+        while (!stopped) {
+          if (catchingUp.get()) {
+            // woken up by syncStatus once the peer loads the snapshot
+            scheduled.set(false);
+            return;
+          }
+          Batch batch = unadmittedBatch != null ? unadmittedBatch : getBatch();
+          if (batch.isEmpty()) {
+            scheduled.set(false);
+            // the request offered after getBatch() may find this dispatcher scheduled and skip
+            // waking it up, so check it again
+            if (!pendingEntries.isEmpty()) {
+              wakeUp(0);
+            } else {
+              scheduleIdleCheck();
+            }
+            return;
+          }
+          if (syncStatus.isCovered(batch)) {
+            // the peer has caught up by snapshot after the batch is built
+            unadmittedBatch = null;
+            continue;
+          }
+          if (!syncStatus.tryAddNextBatch(batch)) {
+            unadmittedBatch = batch;
+            scheduled.set(false);
+            // woken up by syncStatus once a pending batch is synced if the pipeline is full,
+            // otherwise the memory is not enough and we retry later
+            if (!syncStatus.isFull()) {
+              wakeUp(config.getReplication().getBasicRetryWaitTimeMs());
+            }
+            return;
+          }
+          unadmittedBatch = null;
+          sendAdmittedBatch(batch);
+        }
+      } catch (Exception e) {
+        logger.error("Unexpected error in logDispatcher for peer {}", peer, e);
+      }
+      scheduled.set(false);
+    }
+
+    /**
+     * Check WAL periodically when there is nothing to send, since some requests may be written into
+     * WAL without being offered into the queue, which is the same as polling the queue with a
+     * timeout in the thread mode.
+     */
+    private synchronized void scheduleIdleCheck() {
+      if (stopped) {
+        return;
+      }
+      if (idleCheckFuture != null) {
+        idleCheckFuture.cancel(false);
+      }
+      try {
+        idleCheckFuture =
+            sharedExecutor.schedule(
+                () -> wakeUp(0), PENDING_REQUEST_TAKING_TIME_OUT_IN_SEC, TimeUnit.SECONDS);
+      } catch (RejectedExecutionException e) {
+        // the shared executor is shut down
+        idleCheckFuture = null;
+      }
+    }
+
+    /**
+     * Start catching up by snapshot asynchronously if the peer lags behind more than the threshold.
+     * It is checked when a request is offered with the lock of search index held by the caller,
+     * since the dispatcher may be blocked by the full synchronization pipeline when the peer is
+     * down.
+     */
+    private void checkAndCatchUpBySnapshot() {
+      long threshold = config.getReplication().getSnapshotCatchUpLagThreshold();
+      if (threshold <= 0
+          || stopped
+          || catchingUp.get()
+          || System.currentTimeMillis() < nextCatchUpTime
+          || impl.getSearchIndex() - controller.getCurrentIndex() <= threshold
+          || !catchingUp.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        getCatchUpExecutorService().submit(this::catchUpBySnapshot);
+      } catch (RejectedExecutionException e) {
+        // the LogDispatcher is stopped
+        catchingUp.set(false);
+      }
+    }
+
+    private void catchUpBySnapshot() {
+      try {
+        logger.info(
+            "{}: peer {} lags behind from index {} to {}, start to catch up by snapshot",
+            impl.getThisNode(),
+            peer,
+            controller.getCurrentIndex(),
+            impl.getSearchIndex());
+        long snapshotIndex = impl.catchUpBySnapshot(peer);
+        if (stopped) {
+          return;
+        }
+        // the requests until snapshotIndex are not sent any more, and the retrying batches are
+        // dropped. The requests written after the snapshot is taken may be replayed again, which is
+        // the same as retrying them
+        syncStatus.reset(snapshotIndex);
+        updateSafelyDeletedSearchIndex();
+        catchUpRetryIntervalInMs = MIN_CATCH_UP_RETRY_INTERVAL_IN_MS;
+        logger.info(
+            "{}: peer {} caught up by snapshot until index {}",
+            impl.getThisNode(),
+            peer,
+            snapshotIndex);
+      } catch (Exception e) {
+        logger.warn(
+            "{}: peer {} failed to catch up by snapshot, retry after {}ms",
+            impl.getThisNode(),
+            peer,
+            catchUpRetryIntervalInMs,
+            e);
+        nextCatchUpTime = System.currentTimeMillis() + catchUpRetryIntervalInMs;
+        catchUpRetryIntervalInMs =
+            Math.min(catchUpRetryIntervalInMs * 2, MAX_CATCH_UP_RETRY_INTERVAL_IN_MS);
+      } finally {
+        catchingUp.set(false);
+        if (sharedExecutor != null) {
+          wakeUp(0);
+        }
+      }
+    }
+
+    private void sendAdmittedBatch(Batch batch) {
+      logEntriesFromWAL.addAndGet(batch.getLogEntriesNumFromWAL());
+      logEntriesFromQueue.addAndGet(batch.getLogEntries().size() - batch.getLogEntriesNumFromWAL());
+      // sends batch asynchronously and migrates the retry logic into the callback handler
+      sendBatchAsync(batch, new DispatchLogHandler(this, batch));
+    }
+
     public void updateSafelyDeletedSearchIndex() {
       // update safely deleted search index to delete outdated info,
       // indicating that insert nodes whose search index are before this value can be deleted
@@ -367,6 +677,13 @@ public class LogDispatcher {
             maxIndex,
             getPendingEntriesSize(),
             bufferedEntries.size());
+        // drop the requests that have been synced by snapshot before draining, otherwise they are
+        // drained batch by batch only to be dropped
+        IndexedConsensusRequest head;
+        while ((head = pendingEntries.peek()) != null && head.getSearchIndex() < startIndex) {
+          pendingEntries.poll();
+          releaseReservedMemory(head);
+        }
         // Use drainTo instead of poll to reduce lock overhead
         pendingEntries.drainTo(
             bufferedEntries,
@@ -385,6 +702,10 @@ public class LogDispatcher {
       }
 
       Batch batches = new Batch(config);
+      if (catchingUp.get()) {
+        // the requests are sent after the peer loads the snapshot
+        return batches;
+      }
       // This condition will be executed in several scenarios:
       // 1. restart
       // 2. The getBatch() is invoked immediately at the moment the PendingEntries are consumed
@@ -33,29 +33,73 @@ public class SyncStatus {
   private final LinkedList<Batch> pendingBatches = new LinkedList<>();
   private final IoTConsensusMemoryManager iotConsensusMemoryManager =
       IoTConsensusMemoryManager.getInstance();
+  // called when some batches are removed, which wakes up the dispatcher waiting for free slots
+  private volatile Runnable batchRemovedListener;
+  // the index until which the requests are included in the snapshot loaded by the peer, or -1 if
+  // the peer never catches up by snapshot
+  private volatile long caughtUpIndex = -1;
 
   public SyncStatus(IndexController controller, IoTConsensusConfig config) {
     this.controller = controller;
     this.config = config;
   }
 
-  /** we may block here if the synchronization pipeline is full. */
-  public void addNextBatch(Batch batch) throws InterruptedException {
+  /**
+   * we may block here if the synchronization pipeline is full.
+   *
+   * @return false if the batch is covered by a snapshot loaded by the peer meanwhile, which should
+   *     not be sent any more
+   */
+  public boolean addNextBatch(Batch batch) throws InterruptedException {
     synchronized (this) {
       while (pendingBatches.size() >= config.getReplication().getMaxPendingBatchesNum()
           || !iotConsensusMemoryManager.reserve(batch.getSerializedSize(), false)) {
+        if (isCovered(batch)) {
+          return false;
+        }
         wait();
       }
+      if (isCovered(batch)) {
+        iotConsensusMemoryManager.free(batch.getSerializedSize(), false);
+        return false;
+      }
+      pendingBatches.add(batch);
+      return true;
+    }
+  }
+
+  /**
+   * Add the batch without blocking.
+   *
+   * @return false if the synchronization pipeline is full or the memory cannot be reserved
+   */
+  public boolean tryAddNextBatch(Batch batch) {
+    synchronized (this) {
+      if (isFull() || !iotConsensusMemoryManager.reserve(batch.getSerializedSize(), false)) {
+        return false;
+      }
       pendingBatches.add(batch);
+      return true;
+    }
+  }
+
+  public boolean isFull() {
+    synchronized (this) {
+      return pendingBatches.size() >= config.getReplication().getMaxPendingBatchesNum();
     }
   }
 
+  public void setBatchRemovedListener(Runnable batchRemovedListener) {
+    this.batchRemovedListener = batchRemovedListener;
+  }
+
   /**
    * We only set a flag if this batch is not the first one. Notice, We need to confirm that the
    * batch in the parameter is actually in pendingBatches, rather than a reference to a different
    * object with equal data, so we do not inherit method equals for Batch
    */
   public void removeBatch(Batch batch) {
+    boolean removed = false;
     synchronized (this) {
       batch.setSynced(true);
       if (!pendingBatches.isEmpty() && pendingBatches.get(0).equals(batch)) {
@@ -73,8 +117,44 @@ public class SyncStatus {
         }
         // wake up logDispatcherThread that might be blocked
         notifyAll();
+        removed = true;
       }
     }
+    Runnable listener = batchRemovedListener;
+    if (removed && listener != null) {
+      listener.run();
+    }
+  }
+
+  /**
+   * Drop all the pending batches and skip to the index after the peer catches up by loading a
+   * snapshot, which contains all the requests until the index.
+   */
+  public void reset(long syncIndex) {
+    synchronized (this) {
+      free();
+      caughtUpIndex = syncIndex;
+      controller.updateAndGet(syncIndex);
+      // wake up logDispatcherThread that might be blocked
+      notifyAll();
+    }
+    Runnable listener = batchRemovedListener;
+    if (listener != null) {
+      listener.run();
+    }
+  }
+
+  /** @return true if the batch is built before the peer catches up by snapshot */
+  public boolean isCovered(Batch batch) {
+    return batch.getStartIndex() <= caughtUpIndex;
+  }
+
+  /** @return false if the batch is synced or dropped, which should not be retried any more */
+  public boolean isPending(Batch batch) {
+    synchronized (this) {
+      // compare by reference like removeBatch
+      return pendingBatches.contains(batch) && !batch.isSynced();
+    }
   }
 
   public void free() {
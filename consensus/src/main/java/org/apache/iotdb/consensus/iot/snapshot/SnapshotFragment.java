@@ -22,6 +22,7 @@ package org.apache.iotdb.consensus.iot.snapshot;
 import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentReq;
 
 import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
 
 public class SnapshotFragment {
   private final String snapshotId;
@@ -46,15 +47,25 @@ public class SnapshotFragment {
     this.fileChunk = fileChunk;
   }
 
+  /** The file chunk is copied into the request by thrift, thus the fragment can be reused. */
   public TSendSnapshotFragmentReq toTSendSnapshotFragmentReq() {
     TSendSnapshotFragmentReq req = new TSendSnapshotFragmentReq();
     req.setSnapshotId(snapshotId);
     req.setFilePath(filePath);
     req.setChunkLength(fragmentSize);
     req.setFileChunk(fileChunk);
+    req.setOffset(startOffset);
+    req.setChecksum(checksum(fileChunk));
     return req;
   }
 
+  /** @return the CRC32 of the remaining bytes of the buffer, which is left unchanged */
+  public static long checksum(ByteBuffer buffer) {
+    CRC32 crc32 = new CRC32();
+    crc32.update(buffer.duplicate());
+    return crc32.getValue();
+  }
+
   public String getSnapshotId() {
     return snapshotId;
   }
@@ -21,32 +21,51 @@ package org.apache.iotdb.consensus.iot.snapshot;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
+/**
+ * Read a snapshot file fragment by fragment with positional reads. All the fragments share one read
+ * buffer, which is overwritten by the next fragment, thus a fragment must be consumed before
+ * reading the next one. Note that the thrift request built from a fragment copies the buffer.
+ */
 public class SnapshotFragmentReader {
 
   private static final int DEFAULT_FILE_FRAGMENT_SIZE = 10 * 1024 * 1024;
   private final String snapshotId;
   private final String filePath;
-  private final SeekableByteChannel fileChannel;
+  private final FileChannel fileChannel;
   private final long fileSize;
   private final ByteBuffer buf;
   private long totalReadSize;
   private SnapshotFragment cachedSnapshotFragment;
 
   public SnapshotFragmentReader(String snapshotId, Path path) throws IOException {
+    this(snapshotId, path, DEFAULT_FILE_FRAGMENT_SIZE);
+  }
+
+  public SnapshotFragmentReader(String snapshotId, Path path, int fragmentSize) throws IOException {
     this.snapshotId = snapshotId;
     this.filePath = path.toAbsolutePath().toString();
     this.fileSize = Files.size(path);
-    this.fileChannel = Files.newByteChannel(path);
-    this.buf = ByteBuffer.allocate(DEFAULT_FILE_FRAGMENT_SIZE);
+    this.fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+    this.buf = ByteBuffer.allocate((int) Math.min(fragmentSize, fileSize));
   }
 
   public boolean hasNext() throws IOException {
     buf.clear();
-    int actualReadSize = fileChannel.read(buf);
+    int actualReadSize = 0;
+    // a positional read may return fewer bytes than requested, fill the buffer unless reaching the
+    // end of the file
+    while (buf.hasRemaining() && totalReadSize + actualReadSize < fileSize) {
+      int readSize = fileChannel.read(buf, totalReadSize + actualReadSize);
+      if (readSize < 0) {
+        break;
+      }
+      actualReadSize += readSize;
+    }
     buf.flip();
     if (actualReadSize > 0) {
       cachedSnapshotFragment =
@@ -61,6 +80,10 @@ public class SnapshotFragmentReader {
     return cachedSnapshotFragment;
   }
 
+  public long getFileSize() {
+    return fileSize;
+  }
+
   public void close() throws IOException {
     if (fileChannel != null) {
       fileChannel.close();
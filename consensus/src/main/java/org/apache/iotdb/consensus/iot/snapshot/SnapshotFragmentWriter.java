@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** Write the received snapshot fragments into the snapshot files. */
+public class SnapshotFragmentWriter {
+
+  private SnapshotFragmentWriter() {}
+
+  /**
+   * Write the remaining bytes of the file chunk into the target file at the offset, thus the
+   * fragments can be written in any order and a resent fragment overwrites itself. A fragment
+   * without offset, which is sent by older versions in order, is appended.
+   *
+   * @param offset the offset of the fragment in the file, or negative if unknown
+   */
+  public static void write(File targetFile, ByteBuffer fileChunk, long offset) throws IOException {
+    Path parentDir = targetFile.getAbsoluteFile().toPath().getParent();
+    if (parentDir != null && !Files.exists(parentDir)) {
+      Files.createDirectories(parentDir);
+    }
+    try (FileChannel channel =
+        FileChannel.open(
+            targetFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = fileChunk.duplicate();
+      long position = offset >= 0 ? offset : channel.size();
+      while (buffer.hasRemaining()) {
+        position += channel.write(buffer, position);
+      }
+    }
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.snapshot;
+
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.client.IClientManager;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.consensus.common.Peer;
+import org.apache.iotdb.consensus.config.IoTConsensusConfig;
+import org.apache.iotdb.consensus.exception.ConsensusGroupModifyPeerException;
+import org.apache.iotdb.consensus.iot.client.SyncIoTConsensusServiceClient;
+import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentReq;
+import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentRes;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SnapshotTransmitter transfers the snapshot files of all the consensus groups. The files of a
+ * snapshot are sent concurrently, the largest first, by the threads shared by all the transfers,
+ * and the total bandwidth is limited by a global rate limiter.
+ *
+ * <p>Each fragment carries its offset and checksum, and the receiver writes it at the offset after
+ * verifying the checksum. Thus a failed fragment is resent alone, and the transfer of the file goes
+ * on from it instead of restarting the whole snapshot.
+ */
+public class SnapshotTransmitter {
+
+  private static final Logger logger = LoggerFactory.getLogger(SnapshotTransmitter.class);
+  private static final int MAX_RETRY_NUM_PER_FRAGMENT = 5;
+  private static final long RETRY_WAIT_TIME_IN_MS = 1000L;
+
+  private final IClientManager<TEndPoint, SyncIoTConsensusServiceClient> syncClientManager;
+  private final int threadNum;
+  private final ExecutorService executorService;
+  // null if the bandwidth is unlimited
+  private final RateLimiter rateLimiter;
+
+  public SnapshotTransmitter(
+      IClientManager<TEndPoint, SyncIoTConsensusServiceClient> syncClientManager,
+      IoTConsensusConfig config) {
+    this.syncClientManager = syncClientManager;
+    this.threadNum = Math.max(1, config.getReplication().getSnapshotTransferThreadNum());
+    this.executorService =
+        IoTDBThreadPoolFactory.newFixedThreadPool(
+            threadNum, ThreadName.IOT_CONSENSUS_SNAPSHOT_TRANSMITTER.getName());
+    long bytesPerSec = config.getReplication().getSnapshotTransferBytesPerSec();
+    this.rateLimiter = bytesPerSec > 0 ? RateLimiter.create(bytesPerSec) : null;
+  }
+
+  /**
+   * Send the snapshot files to the target peer, and return after all of them are sent.
+   *
+   * @param progress updated with the size of the fragments sent
+   */
+  public void transmit(Peer targetPeer, String snapshotId, List<Path> files, Progress progress)
+      throws ConsensusGroupModifyPeerException {
+    Map<Path, Long> fileSizes = new HashMap<>();
+    try {
+      for (Path file : files) {
+        fileSizes.put(file, Files.size(file));
+      }
+    } catch (IOException e) {
+      throw new ConsensusGroupModifyPeerException(
+          String.format("error when listing snapshot files for %s", targetPeer), e);
+    }
+    // send the large files first, otherwise a large file sent at last may be the only one in
+    // transfer for a long time
+    List<Path> sortedFiles = new ArrayList<>(files);
+    sortedFiles.sort(Comparator.comparing((Path file) -> fileSizes.get(file)).reversed());
+    progress.start(fileSizes.values().stream().mapToLong(Long::longValue).sum());
+
+    Queue<Path> remainingFiles = new ConcurrentLinkedQueue<>(sortedFiles);
+    AtomicBoolean failed = new AtomicBoolean(false);
+    List<Future<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < Math.min(threadNum, sortedFiles.size()); i++) {
+      futures.add(
+          executorService.submit(
+              () -> {
+                Path file;
+                while (!failed.get() && (file = remainingFiles.poll()) != null) {
+                  try {
+                    transmitFile(targetPeer, snapshotId, file, progress);
+                  } catch (Exception e) {
+                    failed.set(true);
+                    throw e;
+                  }
+                }
+                return null;
+              }));
+    }
+
+    ConsensusGroupModifyPeerException exception = null;
+    for (Future<Void> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failed.set(true);
+        exception =
+            new ConsensusGroupModifyPeerException(
+                String.format("interrupted when sending snapshot to %s", targetPeer), e);
+      } catch (ExecutionException e) {
+        if (exception == null) {
+          exception =
+              new ConsensusGroupModifyPeerException(
+                  String.format("error when send snapshot file to %s", targetPeer), e.getCause());
+        }
+      }
+    }
+    if (exception != null) {
+      throw exception;
+    }
+    logger.info(
+        "Sent snapshot {} of {} bytes to {} in {}ms, {} bytes/s",
+        snapshotId,
+        progress.getTotalSize(),
+        targetPeer,
+        progress.getElapsedTimeInMs(),
+        progress.getThroughputInBytesPerSec());
+  }
+
+  private void transmitFile(Peer targetPeer, String snapshotId, Path file, Progress progress)
+      throws IOException, ConsensusGroupModifyPeerException {
+    SnapshotFragmentReader reader = new SnapshotFragmentReader(snapshotId, file);
+    try {
+      while (reader.hasNext()) {
+        SnapshotFragment fragment = reader.next();
+        acquire(fragment.getFragmentSize());
+        TSendSnapshotFragmentReq req = fragment.toTSendSnapshotFragmentReq();
+        req.setConsensusGroupId(targetPeer.getGroupId().convertToTConsensusGroupId());
+        sendFragment(targetPeer, req);
+        progress.addTransferredSize(fragment.getFragmentSize());
+      }
+    } finally {
+      reader.close();
+    }
+  }
+
+  /** The fragment is written at its offset by the receiver, thus resending it is harmless. */
+  private void sendFragment(Peer targetPeer, TSendSnapshotFragmentReq req)
+      throws ConsensusGroupModifyPeerException {
+    Exception lastException = null;
+    TSStatus lastStatus = null;
+    for (int retry = 0; retry < MAX_RETRY_NUM_PER_FRAGMENT; retry++) {
+      if (retry > 0) {
+        try {
+          TimeUnit.MILLISECONDS.sleep(RETRY_WAIT_TIME_IN_MS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new ConsensusGroupModifyPeerException(
+              String.format("interrupted when sending snapshot fragment to %s", targetPeer), e);
+        }
+      }
+      try (SyncIoTConsensusServiceClient client =
+          syncClientManager.borrowClient(targetPeer.getEndpoint())) {
+        TSendSnapshotFragmentRes res = client.sendSnapshotFragment(req);
+        if (res.getStatus().getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+          return;
+        }
+        lastStatus = res.getStatus();
+      } catch (Exception e) {
+        lastException = e;
+      }
+      logger.warn(
+          "Can not send fragment of {} at {} to {} for {} times, status: {}",
+          req.getFilePath(),
+          req.getOffset(),
+          targetPeer,
+          retry + 1,
+          lastStatus,
+          lastException);
+    }
+    throw new ConsensusGroupModifyPeerException(
+        String.format(
+            "error when sending snapshot fragment to %s, status: %s", targetPeer, lastStatus),
+        lastException);
+  }
+
+  private void acquire(long bytes) {
+    if (rateLimiter == null) {
+      return;
+    }
+    while (bytes >= Integer.MAX_VALUE) {
+      rateLimiter.acquire(Integer.MAX_VALUE);
+      bytes -= Integer.MAX_VALUE;
+    }
+    if (bytes > 0) {
+      rateLimiter.acquire((int) bytes);
+    }
+  }
+
+  public void stop() {
+    executorService.shutdownNow();
+  }
+
+  /** The progress of transferring a snapshot, which is shown by the metrics. */
+  public static class Progress {
+    private volatile long totalSize = 0;
+    private final AtomicLong transferredSize = new AtomicLong(0);
+    private volatile long startTime = 0;
+
+    private void start(long totalSize) {
+      this.totalSize = totalSize;
+      this.transferredSize.set(0);
+      this.startTime = System.currentTimeMillis();
+    }
+
+    private void addTransferredSize(long size) {
+      transferredSize.addAndGet(size);
+    }
+
+    public long getTotalSize() {
+      return totalSize;
+    }
+
+    public long getTransferredSize() {
+      return transferredSize.get();
+    }
+
+    public long getElapsedTimeInMs() {
+      return startTime == 0 ? 0 : System.currentTimeMillis() - startTime;
+    }
+
+    public long getThroughputInBytesPerSec() {
+      long elapsedTimeInMs = getElapsedTimeInMs();
+      return elapsedTimeInMs == 0 ? 0 : transferredSize.get() * 1000 / elapsedTimeInMs;
+    }
+  }
+}
@@ -59,6 +59,11 @@ public class ApplicationStateMachineProxy extends BaseStateMachine {
   private final SnapshotStorage snapshotStorage;
   private final RaftGroupId groupId;
 
+  // index of the latest log whose effect is visible to reads, guarded by itself and notified
+  // whenever it advances so that linearizable reads need not poll for it
+  private final Object appliedIndexMonitor = new Object();
+  private long appliedIndex = RaftLog.INVALID_LOG_INDEX;
+
   public ApplicationStateMachineProxy(IStateMachine stateMachine, RaftGroupId id) {
     applicationStateMachine = stateMachine;
     groupId = id;
@@ -165,9 +170,51 @@ public class ApplicationStateMachineProxy extends BaseStateMachine {
       }
     } while (shouldRetry);
 
+    notifyApplied(log.getIndex());
     return CompletableFuture.completedFuture(ret);
   }
 
+  @Override
+  public void notifyTermIndexUpdated(long term, long index) {
+    // conf and leader no-op entries are not passed to applyTransaction
+    super.notifyTermIndexUpdated(term, index);
+    notifyApplied(index);
+  }
+
+  private void notifyApplied(long index) {
+    synchronized (appliedIndexMonitor) {
+      if (index > appliedIndex) {
+        appliedIndex = index;
+        appliedIndexMonitor.notifyAll();
+      }
+    }
+  }
+
+  long getAppliedIndex() {
+    synchronized (appliedIndexMonitor) {
+      return appliedIndex;
+    }
+  }
+
+  /**
+   * Wait until the log at the given index has been applied or the timeout elapses.
+   *
+   * @return whether the log has been applied
+   */
+  boolean waitUntilApplied(long index, long timeoutMs) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    synchronized (appliedIndexMonitor) {
+      while (appliedIndex < index) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return false;
+        }
+        TimeUnit.NANOSECONDS.timedWait(appliedIndexMonitor, remaining);
+      }
+      return true;
+    }
+  }
+
   private void waitUntilSystemNotReadOnly() {
     while (applicationStateMachine.isReadOnly()) {
       try {
@@ -259,6 +306,7 @@ public class ApplicationStateMachineProxy extends BaseStateMachine {
     applicationStateMachine.loadSnapshot(latestSnapshotDir);
     TermIndex snapshotTermIndex = Utils.getTermIndexFromDir(latestSnapshotDir);
     updateLastAppliedTermIndex(snapshotTermIndex.getTerm(), snapshotTermIndex.getIndex());
+    notifyApplied(snapshotTermIndex.getIndex());
   }
 
   @Override
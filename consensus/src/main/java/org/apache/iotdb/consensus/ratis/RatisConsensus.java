@@ -37,6 +37,7 @@ import org.apache.iotdb.consensus.common.DataSet;
 import org.apache.iotdb.consensus.common.Peer;
 import org.apache.iotdb.consensus.common.Utils.MemorizedFileSizeCalc;
 import org.apache.iotdb.consensus.common.request.IConsensusRequest;
+import org.apache.iotdb.consensus.common.request.ReadOption;
 import org.apache.iotdb.consensus.common.response.ConsensusGenericResponse;
 import org.apache.iotdb.consensus.common.response.ConsensusReadResponse;
 import org.apache.iotdb.consensus.common.response.ConsensusWriteResponse;
@@ -56,6 +57,7 @@ import org.apache.ratis.conf.Parameters;
 import org.apache.ratis.conf.RaftProperties;
 import org.apache.ratis.grpc.GrpcConfigKeys;
 import org.apache.ratis.grpc.GrpcFactory;
+import org.apache.ratis.proto.RaftProtos;
 import org.apache.ratis.protocol.ClientId;
 import org.apache.ratis.protocol.GroupManagementRequest;
 import org.apache.ratis.protocol.Message;
@@ -68,7 +70,9 @@ import org.apache.ratis.protocol.RaftPeerId;
 import org.apache.ratis.protocol.SnapshotManagementRequest;
 import org.apache.ratis.protocol.exceptions.NotLeaderException;
 import org.apache.ratis.protocol.exceptions.ResourceUnavailableException;
+import org.apache.ratis.protocol.exceptions.TimeoutIOException;
 import org.apache.ratis.server.DivisionInfo;
+import org.apache.ratis.server.RaftConfiguration;
 import org.apache.ratis.server.RaftServer;
 import org.apache.ratis.server.RaftServerConfigKeys;
 import org.apache.ratis.util.function.CheckedSupplier;
@@ -78,7 +82,9 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -116,6 +122,8 @@ class RatisConsensus implements IConsensus {
 
   // TODO make it configurable
   private static final int DEFAULT_WAIT_LEADER_READY_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(20);
+  // how many times a linearizable read checks the responses of followers in a heartbeat interval
+  private static final int LEADERSHIP_CHECKS_PER_HEARTBEAT = 10;
 
   private final ExecutorService addExecutor;
   private final ScheduledExecutorService diskGuardian;
@@ -303,12 +311,40 @@ class RatisConsensus implements IConsensus {
   @Override
   public ConsensusReadResponse read(
       ConsensusGroupId consensusGroupId, IConsensusRequest IConsensusRequest) {
+    return read(consensusGroupId, IConsensusRequest, ReadOption.LOCAL);
+  }
+
+  /**
+   * A linearizable read is served by the leader from its local copy without appending any log. The
+   * leader makes sure it is still the leader in one of the two ways:
+   *
+   * <p>1. lease, a majority has responded to the leader within the lease, which is shorter than the
+   * min election timeout, thus no other leader can be elected in the meantime
+   *
+   * <p>2. ReadIndex, used when the lease expires, the leader waits until a majority responds to it
+   * after the read starts
+   *
+   * <p>Ratis only exposes when a response was received, so both assume that a round trip takes no
+   * longer than a heartbeat interval (half the min rpc timeout) and deduct it. Then the read waits
+   * until the commit index at the start of the read is applied.
+   */
+  @Override
+  public ConsensusReadResponse read(
+      ConsensusGroupId consensusGroupId, IConsensusRequest IConsensusRequest, ReadOption option) {
     RaftGroupId groupId = Utils.fromConsensusGroupIdToRaftGroupId(consensusGroupId);
     RaftGroup group = getGroupInfo(groupId);
     if (group == null || !group.getPeers().contains(myself)) {
       return failedRead(new ConsensusGroupNotExistException(consensusGroupId));
     }
 
+    if (option == ReadOption.LINEARIZABLE) {
+      try {
+        waitUntilLinearizable(groupId);
+      } catch (IOException e) {
+        return failedRead(new RatisRequestFailedException(e));
+      }
+    }
+
     RaftClientReply reply;
     try {
       RequestMessage message = new RequestMessage(IConsensusRequest);
@@ -624,6 +660,98 @@ class RatisConsensus implements IConsensus {
     return divisionInfo.isLeader();
   }
 
+  private void waitUntilLinearizable(RaftGroupId groupId) throws IOException {
+    RaftServer.Division division = server.getDivision(groupId);
+    if (!waitUntilLeaderReady(groupId)) {
+      RaftPeerId leaderId = division.getInfo().getLeaderId();
+      throw new NotLeaderException(
+          division.getMemberId(),
+          leaderId == null ? null : division.getRaftConf().getPeer(leaderId),
+          division.getGroup().getPeers());
+    }
+    ApplicationStateMachineProxy stateMachine =
+        (ApplicationStateMachineProxy) division.getStateMachine();
+    long startTime = System.currentTimeMillis();
+    long readIndex = division.getRaftLog().getLastCommittedIndex();
+    // ratis sends a heartbeat when a follower has not been contacted for half the min timeout
+    long heartbeatIntervalInMs = config.getRpc().getTimeoutMin().toLong(TimeUnit.MILLISECONDS) / 2;
+    long leaseInMs =
+        config.getRead().isLeaderLeaseEnabled()
+            ? (long)
+                (config.getRpc().getTimeoutMin().toLong(TimeUnit.MILLISECONDS)
+                    * config.getRead().getLeaderLeaseTimeoutRatio())
+            : -1;
+    long timeoutInMs = config.getRead().getReadIndexTimeout().toLong(TimeUnit.MILLISECONDS);
+    try {
+      // the elapsed time of a follower is counted from when its response was received, while the
+      // follower only acknowledged us when the request was sent, so one heartbeat interval, which
+      // is assumed to bound the round trip, is taken off both the lease and the ReadIndex window
+      while (!hasMajorityRespondedWithin(
+          division,
+          Math.max(leaseInMs, System.currentTimeMillis() - startTime - 1)
+              - heartbeatIntervalInMs)) {
+        checkLinearizableReadTimeout(division, startTime, timeoutInMs);
+        // acknowledgements are not signalled, but an applied log implies a majority has just
+        // responded, so wake up on either of them
+        stateMachine.waitUntilApplied(
+            stateMachine.getAppliedIndex() + 1,
+            Math.max(1, heartbeatIntervalInMs / LEADERSHIP_CHECKS_PER_HEARTBEAT));
+      }
+      while (!stateMachine.waitUntilApplied(readIndex, heartbeatIntervalInMs)) {
+        checkLinearizableReadTimeout(division, startTime, timeoutInMs);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted when waiting for a linearizable read", e);
+    }
+  }
+
+  private void checkLinearizableReadTimeout(
+      RaftServer.Division division, long startTime, long timeoutInMs) throws IOException {
+    if (!division.getInfo().isLeader()) {
+      throw new NotLeaderException(division.getMemberId(), null, division.getGroup().getPeers());
+    }
+    if (System.currentTimeMillis() - startTime >= timeoutInMs) {
+      throw new TimeoutIOException(
+          String.format(
+              "%s: linearizable read is not ready in %dms", division.getMemberId(), timeoutInMs));
+    }
+  }
+
+  /**
+   * @return true if a majority of both the current and the previous configuration, including
+   *     myself, have responded to me within the given time
+   */
+  private boolean hasMajorityRespondedWithin(RaftServer.Division division, long timeInMs) {
+    if (timeInMs < 0) {
+      return false;
+    }
+    Map<RaftPeerId, Long> elapsedTimes = new HashMap<>();
+    for (RaftProtos.ServerRpcProto follower :
+        division.getInfo().getRoleInfoProto().getLeaderInfo().getFollowerInfoList()) {
+      elapsedTimes.put(
+          RaftPeerId.valueOf(follower.getId().getId()), follower.getLastRpcElapsedTimeMs());
+    }
+    RaftConfiguration conf = division.getRaftConf();
+    return hasMajorityRespondedWithin(conf.getCurrentPeers(), elapsedTimes, timeInMs)
+        && hasMajorityRespondedWithin(conf.getPreviousPeers(), elapsedTimes, timeInMs);
+  }
+
+  private boolean hasMajorityRespondedWithin(
+      Collection<RaftPeer> peers, Map<RaftPeerId, Long> elapsedTimes, long timeInMs) {
+    if (peers.isEmpty()) {
+      return true;
+    }
+    long respondedNum =
+        peers.stream()
+            .filter(
+                peer ->
+                    peer.getId().equals(myself.getId())
+                        || elapsedTimes.getOrDefault(peer.getId(), Long.MAX_VALUE) <= timeInMs)
+            .count();
+    return respondedNum * 2 > peers.size();
+  }
+
   /**
    * returns the known leader to the given group. NOTICE: if the local peer isn't a member of given
    * group, getLeader will return null.
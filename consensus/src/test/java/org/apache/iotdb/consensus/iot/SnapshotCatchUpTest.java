@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.consensus.iot;
+
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.consensus.ConsensusGroupId;
+import org.apache.iotdb.commons.consensus.DataRegionId;
+import org.apache.iotdb.consensus.ConsensusFactory;
+import org.apache.iotdb.consensus.common.Peer;
+import org.apache.iotdb.consensus.common.request.IConsensusRequest;
+import org.apache.iotdb.consensus.config.ConsensusConfig;
+import org.apache.iotdb.consensus.config.IoTConsensusConfig;
+import org.apache.iotdb.consensus.iot.util.TestEntry;
+import org.apache.iotdb.consensus.iot.util.TestStateMachine;
+
+import org.apache.ratis.util.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/** Test that a lagging follower catches up by loading a snapshot of the leader */
+public class SnapshotCatchUpTest {
+  private static final long CATCH_UP_LAG_THRESHOLD = 50;
+  private static final long WAIT_TIME_OUT_IN_MS = 60 * 1000L;
+
+  private final ConsensusGroupId gid = new DataRegionId(1);
+
+  private final List<Peer> peers =
+      Arrays.asList(
+          new Peer(gid, 1, new TEndPoint("127.0.0.1", 6100)),
+          new Peer(gid, 2, new TEndPoint("127.0.0.1", 6101)));
+
+  private final List<File> peersStorage =
+      Arrays.asList(
+          new File("target" + File.separator + "catchup1"),
+          new File("target" + File.separator + "catchup2"));
+
+  private final List<IoTConsensus> servers = new ArrayList<>();
+  private final TestStateMachine leaderStateMachine = new TestStateMachine();
+  private final BlockingStateMachine followerStateMachine = new BlockingStateMachine();
+
+  @Before
+  public void setUp() throws Exception {
+    for (File file : peersStorage) {
+      file.mkdirs();
+    }
+    servers.add(createServer(0, leaderStateMachine));
+    servers.add(createServer(1, followerStateMachine));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    followerStateMachine.unblock();
+    servers.parallelStream().forEach(IoTConsensus::stop);
+    servers.clear();
+    for (File file : peersStorage) {
+      FileUtils.deleteFully(file);
+    }
+  }
+
+  private IoTConsensus createServer(int index, TestStateMachine stateMachine) throws IOException {
+    IoTConsensus server =
+        (IoTConsensus)
+            ConsensusFactory.getConsensusImpl(
+                    ConsensusFactory.IOT_CONSENSUS,
+                    ConsensusConfig.newBuilder()
+                        .setThisNodeId(peers.get(index).getNodeId())
+                        .setThisNode(peers.get(index).getEndpoint())
+                        .setStorageDir(peersStorage.get(index).getAbsolutePath())
+                        .setIoTConsensusConfig(
+                            IoTConsensusConfig.newBuilder()
+                                .setReplication(
+                                    IoTConsensusConfig.Replication.newBuilder()
+                                        .setSnapshotCatchUpLagThreshold(CATCH_UP_LAG_THRESHOLD)
+                                        .build())
+                                .build())
+                        .build(),
+                    groupId -> stateMachine)
+                .orElseThrow(
+                    () ->
+                        new IllegalArgumentException(
+                            String.format(
+                                ConsensusFactory.CONSTRUCT_FAILED_MSG,
+                                ConsensusFactory.IOT_CONSENSUS)));
+    server.start();
+    return server;
+  }
+
+  /**
+   * The follower blocks the replicated requests, thus its sync index stays behind until the lag
+   * exceeds the threshold. Then the leader transfers a snapshot to it, skips to the index of the
+   * snapshot and continues dispatching the following requests.
+   */
+  @Test
+  public void catchUpBySnapshotTest() throws Exception {
+    servers.get(0).createPeer(gid, peers);
+    servers.get(1).createPeer(gid, peers);
+    IoTConsensusServerImpl leader = servers.get(0).getImpl(gid);
+
+    followerStateMachine.block();
+    long requestNum = CATCH_UP_LAG_THRESHOLD * 2;
+    for (int i = 0; i < requestNum; i++) {
+      servers.get(0).write(gid, new TestEntry(i, peers.get(0)));
+    }
+    Assert.assertEquals(requestNum, leader.getSearchIndex());
+
+    // the follower loads the snapshot although the replicated requests are still blocked
+    waitUntil(() -> followerStateMachine.getLoadedSnapshotNum() > 0, "load snapshot");
+    // the sync index is reset to the index of the snapshot, which is taken once the lag exceeds the
+    // threshold
+    waitUntil(
+        () -> leader.getCurrentSafelyDeletedSearchIndex() >= CATCH_UP_LAG_THRESHOLD,
+        "reset the sync index");
+    Assert.assertEquals(1, followerStateMachine.getLoadedSnapshotNum());
+
+    // the requests after the snapshot are dispatched as usual
+    followerStateMachine.unblock();
+    for (long i = requestNum; i < requestNum * 2; i++) {
+      servers.get(0).write(gid, new TestEntry((int) i, peers.get(0)));
+    }
+    long lastSearchIndex = requestNum * 2;
+    waitUntil(
+        () -> leader.getCurrentSafelyDeletedSearchIndex() == lastSearchIndex,
+        "dispatch the following requests");
+    Assert.assertTrue(
+        followerStateMachine.getRequestSet().stream()
+            .anyMatch(request -> request.getSearchIndex() == lastSearchIndex));
+  }
+
+  private void waitUntil(BooleanSupplier condition, String action) throws InterruptedException {
+    long start = System.currentTimeMillis();
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() - start > WAIT_TIME_OUT_IN_MS) {
+        Assert.fail("Unable to " + action);
+      }
+      Thread.sleep(100);
+    }
+  }
+
+  /** Blocks the replicated requests on demand, and counts the loaded snapshots */
+  private static class BlockingStateMachine extends TestStateMachine {
+
+    private volatile CountDownLatch blocker = new CountDownLatch(0);
+    private final AtomicInteger loadedSnapshotNum = new AtomicInteger(0);
+
+    void block() {
+      blocker = new CountDownLatch(1);
+    }
+
+    void unblock() {
+      blocker.countDown();
+    }
+
+    int getLoadedSnapshotNum() {
+      return loadedSnapshotNum.get();
+    }
+
+    @Override
+    public TSStatus write(IConsensusRequest request) {
+      try {
+        blocker.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return super.write(request);
+    }
+
+    @Override
+    public void loadSnapshot(File latestSnapshotRootDir) {
+      loadedSnapshotNum.incrementAndGet();
+      super.loadSnapshot(latestSnapshotRootDir);
+    }
+  }
+}
@@ -37,6 +37,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SyncStatusTest {
 
@@ -242,4 +243,86 @@ public class SyncStatusTest {
     Assert.assertEquals(
         config.getReplication().getMaxPendingBatchesNum() + 1, status.getNextSendingIndex());
   }
+
+  /** Test tryAddNextBatch without blocking and the listener of removing batches */
+  @Test
+  public void tryAddTest() {
+    IndexController controller =
+        new IndexController(storageDir.getAbsolutePath(), peer, 0, CHECK_POINT_GAP);
+    SyncStatus status = new SyncStatus(controller, config);
+    AtomicInteger removedCount = new AtomicInteger(0);
+    status.setBatchRemovedListener(removedCount::incrementAndGet);
+    List<Batch> batchList = new ArrayList<>();
+
+    for (long i = 0; i < config.getReplication().getMaxPendingBatchesNum(); i++) {
+      TLogEntry logEntry = new TLogEntry();
+      logEntry.setSearchIndex(i);
+      Batch batch = new Batch(IoTConsensusConfig.newBuilder().build());
+      batch.addTLogEntry(logEntry);
+      batch.buildIndex();
+      batchList.add(batch);
+      Assert.assertTrue(status.tryAddNextBatch(batch));
+    }
+    Assert.assertTrue(status.isFull());
+
+    TLogEntry logEntry = new TLogEntry();
+    logEntry.setSearchIndex(config.getReplication().getMaxPendingBatchesNum());
+    Batch batch = new Batch(IoTConsensusConfig.newBuilder().build());
+    batch.addTLogEntry(logEntry);
+    batch.buildIndex();
+    Assert.assertFalse(status.tryAddNextBatch(batch));
+
+    // the listener is not called if no batch is removed from the pipeline
+    status.removeBatch(batchList.get(1));
+    Assert.assertEquals(0, removedCount.get());
+    status.removeBatch(batchList.get(0));
+    Assert.assertEquals(1, removedCount.get());
+    Assert.assertFalse(status.isFull());
+    Assert.assertTrue(status.tryAddNextBatch(batch));
+    Assert.assertEquals(
+        config.getReplication().getMaxPendingBatchesNum() - 1, status.getPendingBatches().size());
+    status.free();
+  }
+
+  @Test
+  public void resetTest() throws InterruptedException {
+    IndexController controller =
+        new IndexController(storageDir.getAbsolutePath(), peer, 0, CHECK_POINT_GAP);
+    SyncStatus status = new SyncStatus(controller, config);
+    List<Batch> batchList = new ArrayList<>();
+
+    for (long i = 0; i < config.getReplication().getMaxPendingBatchesNum(); i++) {
+      TLogEntry logEntry = new TLogEntry();
+      logEntry.setSearchIndex(i);
+      Batch batch = new Batch(IoTConsensusConfig.newBuilder().build());
+      batch.addTLogEntry(logEntry);
+      batch.buildIndex();
+      batchList.add(batch);
+      Assert.assertTrue(status.addNextBatch(batch));
+    }
+    Assert.assertTrue(status.isPending(batchList.get(0)));
+
+    // the peer catches up by a snapshot containing the requests until 100
+    status.reset(100);
+    Assert.assertEquals(100, controller.getCurrentIndex());
+    Assert.assertEquals(101, status.getNextSendingIndex());
+    Assert.assertTrue(status.getPendingBatches().isEmpty());
+    // the retrying batches are dropped
+    Assert.assertFalse(status.isPending(batchList.get(0)));
+    status.removeBatch(batchList.get(0));
+    Assert.assertEquals(100, controller.getCurrentIndex());
+
+    // the batches built before catching up are not sent any more
+    Assert.assertFalse(status.addNextBatch(batchList.get(1)));
+    TLogEntry logEntry = new TLogEntry();
+    logEntry.setSearchIndex(101);
+    Batch batch = new Batch(IoTConsensusConfig.newBuilder().build());
+    batch.addTLogEntry(logEntry);
+    batch.buildIndex();
+    Assert.assertFalse(status.isCovered(batch));
+    Assert.assertTrue(status.addNextBatch(batch));
+    status.removeBatch(batch);
+    Assert.assertEquals(101, controller.getCurrentIndex());
+    status.free();
+  }
 }
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.snapshot;
+
+import org.apache.ratis.util.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class SnapshotFragmentTest {
+
+  private static final File storageDir = new File("target" + File.separator + "snapshot-test");
+  private static final int FRAGMENT_SIZE = 1024;
+
+  private final File sourceFile = new File(storageDir, "source");
+  private final File targetFile = new File(storageDir, "target" + File.separator + "source");
+  private byte[] content;
+
+  @Before
+  public void setUp() throws IOException {
+    FileUtils.createDirectories(storageDir);
+    // the last fragment is not full
+    content = new byte[FRAGMENT_SIZE * 3 + FRAGMENT_SIZE / 2];
+    new Random(42).nextBytes(content);
+    Files.write(sourceFile.toPath(), content);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    FileUtils.deleteFully(storageDir);
+  }
+
+  @Test
+  public void testOutOfOrderFragments() throws IOException {
+    List<SnapshotFragment> fragments = readFragments();
+    Assert.assertEquals(4, fragments.size());
+    Collections.reverse(fragments);
+    for (SnapshotFragment fragment : fragments) {
+      SnapshotFragmentWriter.write(targetFile, fragment.getFileChunk(), fragment.getStartOffset());
+    }
+    Assert.assertArrayEquals(content, Files.readAllBytes(targetFile.toPath()));
+  }
+
+  @Test
+  public void testResendAfterChecksumMismatch() throws IOException {
+    List<SnapshotFragment> fragments = readFragments();
+    for (SnapshotFragment fragment : fragments) {
+      long checksum = SnapshotFragment.checksum(fragment.getFileChunk());
+      if (fragment.getStartOffset() == FRAGMENT_SIZE) {
+        // the fragment is corrupted during transfer, and the receiver rejects it
+        ByteBuffer corruptedChunk = copy(fragment.getFileChunk());
+        corruptedChunk.put(10, (byte) (corruptedChunk.get(10) + 1));
+        Assert.assertNotEquals(checksum, SnapshotFragment.checksum(corruptedChunk));
+        continue;
+      }
+      SnapshotFragmentWriter.write(targetFile, fragment.getFileChunk(), fragment.getStartOffset());
+    }
+    Assert.assertFalse(Arrays.equals(content, Files.readAllBytes(targetFile.toPath())));
+
+    // only the rejected fragment is resent
+    SnapshotFragment resent = fragments.get(1);
+    Assert.assertEquals(FRAGMENT_SIZE, resent.getStartOffset());
+    SnapshotFragmentWriter.write(targetFile, resent.getFileChunk(), resent.getStartOffset());
+    Assert.assertArrayEquals(content, Files.readAllBytes(targetFile.toPath()));
+
+    // resending a written fragment is harmless
+    SnapshotFragmentWriter.write(targetFile, resent.getFileChunk(), resent.getStartOffset());
+    Assert.assertArrayEquals(content, Files.readAllBytes(targetFile.toPath()));
+  }
+
+  @Test
+  public void testFragmentsWithoutOffset() throws IOException {
+    for (SnapshotFragment fragment : readFragments()) {
+      SnapshotFragmentWriter.write(targetFile, fragment.getFileChunk(), -1);
+    }
+    Assert.assertArrayEquals(content, Files.readAllBytes(targetFile.toPath()));
+  }
+
+  /** The fragments share the read buffer of the reader, thus each of them is copied. */
+  private List<SnapshotFragment> readFragments() throws IOException {
+    List<SnapshotFragment> fragments = new ArrayList<>();
+    SnapshotFragmentReader reader =
+        new SnapshotFragmentReader("snapshot", sourceFile.toPath(), FRAGMENT_SIZE);
+    try {
+      long offset = 0;
+      while (reader.hasNext()) {
+        SnapshotFragment fragment = reader.next();
+        Assert.assertEquals(offset, fragment.getStartOffset());
+        Assert.assertEquals(content.length, fragment.getTotalSize());
+        offset += fragment.getFragmentSize();
+        fragments.add(
+            new SnapshotFragment(
+                fragment.getSnapshotId(),
+                fragment.getFilePath(),
+                fragment.getTotalSize(),
+                fragment.getStartOffset(),
+                fragment.getFragmentSize(),
+                copy(fragment.getFileChunk())));
+      }
+      Assert.assertEquals(content.length, offset);
+    } finally {
+      reader.close();
+    }
+    return fragments;
+  }
+
+  private ByteBuffer copy(ByteBuffer buffer) {
+    ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+    copy.put(buffer.duplicate());
+    copy.flip();
+    return copy;
+  }
+}
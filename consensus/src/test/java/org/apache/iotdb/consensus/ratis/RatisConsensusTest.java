@@ -26,6 +26,7 @@ import org.apache.iotdb.consensus.IConsensus;
 import org.apache.iotdb.consensus.common.ConsensusGroup;
 import org.apache.iotdb.consensus.common.Peer;
 import org.apache.iotdb.consensus.common.request.ByteBufferConsensusRequest;
+import org.apache.iotdb.consensus.common.request.ReadOption;
 import org.apache.iotdb.consensus.common.response.ConsensusGenericResponse;
 import org.apache.iotdb.consensus.common.response.ConsensusReadResponse;
 import org.apache.iotdb.consensus.common.response.ConsensusWriteResponse;
@@ -150,6 +151,31 @@ public class RatisConsensusTest {
     doConsensus(servers.get(0), group.getGroupId(), 10, 10);
   }
 
+  @Test
+  public void linearizableRead() throws Exception {
+    servers.get(0).createPeer(group.getGroupId(), group.getPeers());
+    servers.get(1).createPeer(group.getGroupId(), group.getPeers());
+    servers.get(2).createPeer(group.getGroupId(), group.getPeers());
+
+    doConsensus(servers.get(0), group.getGroupId(), 10, 10);
+
+    ByteBuffer get = ByteBuffer.allocate(4);
+    get.putInt(2);
+    get.flip();
+    ByteBufferConsensusRequest getReq = new ByteBufferConsensusRequest(get);
+    for (int i = 0; i < 3; i++) {
+      ConsensusReadResponse response =
+          servers.get(i).read(group.getGroupId(), getReq, ReadOption.LINEARIZABLE);
+      if (servers.get(i).isLeader(group.getGroupId())) {
+        Assert.assertTrue(response.isSuccess());
+        Assert.assertEquals(10, ((TestUtils.TestDataSet) response.getDataset()).getNumber());
+      } else {
+        // only the leader serves the linearizable reads
+        Assert.assertFalse(response.isSuccess());
+      }
+    }
+  }
+
   @Test
   public void addMemberToGroup() throws Exception {
     List<Peer> original = peers.subList(0, 1);
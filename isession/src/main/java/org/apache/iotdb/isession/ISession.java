@@ -38,6 +38,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface ISession extends AutoCloseable {
 
@@ -339,6 +340,14 @@ public interface ISession extends AutoCloseable {
   void insertAlignedTablets(Map<String, Tablet> tablets, boolean sorted)
       throws IoTDBConnectionException, StatementExecutionException;
 
+  CompletableFuture<Void> insertTabletAsync(Tablet tablet);
+
+  CompletableFuture<Void> insertAlignedTabletAsync(Tablet tablet);
+
+  CompletableFuture<Void> insertTabletsAsync(Map<String, Tablet> tablets);
+
+  CompletableFuture<Void> insertAlignedTabletsAsync(Map<String, Tablet> tablets);
+
   void testInsertTablet(Tablet tablet) throws IoTDBConnectionException, StatementExecutionException;
 
   void testInsertTablet(Tablet tablet, boolean sorted)
@@ -47,5 +47,17 @@ public class SessionConfig {
 
   public static final int DEFAULT_SESSION_POOL_MAX_SIZE = 5;
 
+  /** the max total size of the tablets inserted asynchronously but not sent, 64MB by default */
+  public static final long DEFAULT_ASYNC_INSERT_MAX_PENDING_BYTES = 64L * 1024 * 1024;
+
+  /** the max size of the tablets coalesced into one asynchronous request, 4MB by default */
+  public static final long DEFAULT_ASYNC_INSERT_MAX_BATCH_BYTES = 4L * 1024 * 1024;
+
+  /** the max number of asynchronous requests in flight to one DataNode */
+  public static final int DEFAULT_ASYNC_INSERT_MAX_IN_FLIGHT_REQUESTS = 2;
+
+  /** the max total size of the buffers cached to serialize the tablets into, 64MB */
+  public static final long TABLET_BUFFER_POOL_MAX_BYTES = 64L * 1024 * 1024;
+
   public static final Version DEFAULT_VERSION = Version.V_1_0;
 }
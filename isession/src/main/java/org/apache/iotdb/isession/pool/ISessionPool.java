@@ -36,6 +36,7 @@ import java.nio.ByteBuffer;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface ISessionPool {
 
@@ -70,6 +71,14 @@ public interface ISessionPool {
   void insertAlignedTablets(Map<String, Tablet> tablets, boolean sorted)
       throws IoTDBConnectionException, StatementExecutionException;
 
+  CompletableFuture<Void> insertTabletAsync(Tablet tablet);
+
+  CompletableFuture<Void> insertAlignedTabletAsync(Tablet tablet);
+
+  CompletableFuture<Void> insertTabletsAsync(Map<String, Tablet> tablets);
+
+  CompletableFuture<Void> insertAlignedTabletsAsync(Map<String, Tablet> tablets);
+
   void insertRecords(
       List<String> deviceIds,
       List<Long> times,
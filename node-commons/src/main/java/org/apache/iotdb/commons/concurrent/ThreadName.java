@@ -25,6 +25,9 @@ public enum ThreadName {
   CONFIGNODE_RPC_PROCESSOR("ConfigNodeRPC-Processor"),
   IOT_CONSENSUS_RPC_SERVICE("IoTConsensusRPC-Service"),
   IOT_CONSENSUS_RPC_PROCESSOR("IoTConsensusRPC-Processor"),
+  IOT_CONSENSUS_LOG_DISPATCHER("IoTConsensus-LogDispatcher"),
+  IOT_CONSENSUS_SNAPSHOT_TRANSMITTER("IoTConsensus-SnapshotTransmitter"),
+  IOT_CONSENSUS_SYNC_LOG_DESERIALIZER("IoTConsensus-SyncLogDeserializer"),
   MPP_DATA_EXCHANGE_RPC_SERVICE("MPPDataExchangeRPC-Service"),
   MPP_DATA_EXCHANGE_RPC_PROCESSOR("MPPDataExchangeRPC-Processor"),
   DATANODE_INTERNAL_RPC_SERVICE("DataNodeInternalRPC-Service"),
@@ -38,6 +41,8 @@ public enum ThreadName {
   COMPACTION_SERVICE("Compaction"),
   COMPACTION_SUB_SERVICE("Sub-Compaction"),
   COMPACTION_SCHEDULE("Compaction_Schedule"),
+  COMPACTION_IO_THROTTLE("Compaction-IO-Throttle"),
+  COMPACTION_MEMORY_SAMPLE("Compaction-Memory-Sample"),
   WAL_SERIALIZE("WAL-Serialize"),
   WAL_SYNC("WAL-Sync"),
   WAL_DELETE("WAL-Delete"),
@@ -48,6 +53,7 @@ public enum ThreadName {
   INSERTION_SERVICE("MultithreadingInsertionPool"),
   WINDOW_EVALUATION_SERVICE("WindowEvaluationTaskPoolManager"),
   TTL_CHECK_SERVICE("TTL-CHECK"),
+  TIER_MIGRATION_SERVICE("Tier-Migration"),
   TIMED_FLUSH_SEQ_MEMTABLE("Timed-Flush-Seq-Memtable"),
   TIMED_FLUSH_UNSEQ_MEMTABLE("Timed-Flush-Unseq-Memtable"),
   SETTLE_SERVICE("Settle"),
@@ -63,7 +69,9 @@ public enum ThreadName {
   ASYNC_DATANODE_MPP_DATA_EXCHANGE_CLIENT_POOL("AsyncDataNodeMPPDataExchangeServiceClientPool"),
   ASYNC_DATANODE_IOT_CONSENSUS_CLIENT_POOL("AsyncDataNodeMPPDataExchangeServiceClientPool"),
   SCHEMA_REGION_RELEASE_POOL("SchemaRegion-Release-Task"),
-  SCHEMA_REGION_FLUSH_POOL("SchemaRegion-Flush-Task");
+  SCHEMA_REGION_FLUSH_POOL("SchemaRegion-Flush-Task"),
+  SCHEMA_REGION_SNAPSHOT_POOL("SchemaRegion-Snapshot-Task"),
+  SCHEMA_REGION_TRAVERSAL_POOL("SchemaRegion-Traversal-Task");
 
   private final String name;
 
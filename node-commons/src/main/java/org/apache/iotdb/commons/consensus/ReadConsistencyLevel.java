@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.commons.consensus;
+
+import java.util.Objects;
+
+/**
+ * The consistency level of reading a RegionGroup, which decides the replicas that a query can be
+ * routed to:
+ *
+ * <p>1. strong, read from the replica with the highest priority, i.e. the leader by default
+ *
+ * <p>2. bounded(ms), read from any replica whose replication lag is known to be within the bound
+ *
+ * <p>3. any, read from any replica. "weak" is an alias of it
+ */
+public class ReadConsistencyLevel {
+
+  public enum Type {
+    STRONG,
+    BOUNDED,
+    ANY
+  }
+
+  public static final ReadConsistencyLevel STRONG = new ReadConsistencyLevel(Type.STRONG, 0);
+  public static final ReadConsistencyLevel ANY = new ReadConsistencyLevel(Type.ANY, Long.MAX_VALUE);
+
+  private static final String BOUNDED_PREFIX = "bounded(";
+  private static final String BOUNDED_SUFFIX = ")";
+
+  private final Type type;
+  // the max replication lag of the replicas that can be read, only used by BOUNDED
+  private final long maxStalenessInMs;
+
+  private ReadConsistencyLevel(Type type, long maxStalenessInMs) {
+    this.type = type;
+    this.maxStalenessInMs = maxStalenessInMs;
+  }
+
+  public static ReadConsistencyLevel bounded(long maxStalenessInMs) {
+    if (maxStalenessInMs < 0) {
+      throw new IllegalArgumentException(
+          String.format("The bound of staleness should not be negative: %d", maxStalenessInMs));
+    }
+    return new ReadConsistencyLevel(Type.BOUNDED, maxStalenessInMs);
+  }
+
+  /**
+   * Parse the read consistency level, which is one of "strong", "weak", "any" and "bounded(ms)".
+   *
+   * @throws IllegalArgumentException if the level is unknown
+   */
+  public static ReadConsistencyLevel parse(String level) {
+    String trimmedLevel = level.trim().toLowerCase();
+    switch (trimmedLevel) {
+      case "strong":
+        return STRONG;
+      case "weak":
+      case "any":
+        return ANY;
+      default:
+        if (trimmedLevel.startsWith(BOUNDED_PREFIX) && trimmedLevel.endsWith(BOUNDED_SUFFIX)) {
+          String bound =
+              trimmedLevel.substring(
+                  BOUNDED_PREFIX.length(), trimmedLevel.length() - BOUNDED_SUFFIX.length());
+          try {
+            return bounded(Long.parseLong(bound.trim()));
+          } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                String.format("Illegal bound of staleness in read consistency level: %s", level));
+          }
+        }
+        throw new IllegalArgumentException(
+            String.format(
+                "Unknown read consistency level: %s, please set to \"strong\", \"weak\", \"any\" or \"bounded(ms)\"",
+                level));
+    }
+  }
+
+  public static boolean isValid(String level) {
+    try {
+      parse(level);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public long getMaxStalenessInMs() {
+    return maxStalenessInMs;
+  }
+
+  /** @return true if the replica with the replication lag can be read in this level */
+  public boolean isSatisfiedBy(long replicationLagInMs) {
+    switch (type) {
+      case ANY:
+        return true;
+      case BOUNDED:
+        return replicationLagInMs <= maxStalenessInMs;
+      case STRONG:
+      default:
+        return replicationLagInMs == 0;
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ReadConsistencyLevel that = (ReadConsistencyLevel) o;
+    return maxStalenessInMs == that.maxStalenessInMs && type == that.type;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(type, maxStalenessInMs);
+  }
+
+  @Override
+  public String toString() {
+    switch (type) {
+      case ANY:
+        return "any";
+      case BOUNDED:
+        return BOUNDED_PREFIX + maxStalenessInMs + BOUNDED_SUFFIX;
+      case STRONG:
+      default:
+        return "strong";
+    }
+  }
+}
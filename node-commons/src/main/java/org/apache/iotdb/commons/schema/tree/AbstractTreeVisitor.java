@@ -186,6 +186,21 @@ public abstract class AbstractTreeVisitor<N extends ITreeNode, R>
     return result;
   }
 
+  /**
+   * Skip the next matched node without generating its result, which is used to skip the results
+   * before offset cheaply.
+   */
+  public void skip() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    if (!shouldVisitSubtree) {
+      // release nextMatchedNode
+      releaseNode(nextMatchedNode);
+    }
+    nextMatchedNode = null;
+  }
+
   private void getNext() {
     nextMatchedNode = null;
     VisitorStackEntry stackEntry;
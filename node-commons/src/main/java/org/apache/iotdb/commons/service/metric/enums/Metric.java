@@ -33,6 +33,9 @@ public enum Metric {
   DATA_WRITTEN,
   DATA_READ,
   COMPACTION_TASK_COUNT,
+  COMPACTION_WRITE_AMPLIFICATION,
+  TIER_SPACE,
+  TIER_MIGRATION,
   CLUSTER_NODE_STATUS,
   CLUSTER_NODE_LEADER_COUNT,
   PROCESS_CPU_LOAD,
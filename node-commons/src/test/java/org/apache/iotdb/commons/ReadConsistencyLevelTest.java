@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.commons;
+
+import org.apache.iotdb.commons.consensus.ReadConsistencyLevel;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReadConsistencyLevelTest {
+
+  @Test
+  public void testParse() {
+    Assert.assertEquals(ReadConsistencyLevel.STRONG, ReadConsistencyLevel.parse("strong"));
+    Assert.assertEquals(ReadConsistencyLevel.ANY, ReadConsistencyLevel.parse("weak"));
+    Assert.assertEquals(ReadConsistencyLevel.ANY, ReadConsistencyLevel.parse(" ANY "));
+
+    ReadConsistencyLevel bounded = ReadConsistencyLevel.parse("bounded(500)");
+    Assert.assertEquals(ReadConsistencyLevel.Type.BOUNDED, bounded.getType());
+    Assert.assertEquals(500, bounded.getMaxStalenessInMs());
+    Assert.assertEquals("bounded(500)", bounded.toString());
+    Assert.assertEquals(bounded, ReadConsistencyLevel.parse(bounded.toString()));
+
+    Assert.assertFalse(ReadConsistencyLevel.isValid("bounded(abc)"));
+    Assert.assertFalse(ReadConsistencyLevel.isValid("bounded(-1)"));
+    Assert.assertFalse(ReadConsistencyLevel.isValid("eventual"));
+  }
+
+  @Test
+  public void testIsSatisfiedBy() {
+    Assert.assertTrue(ReadConsistencyLevel.STRONG.isSatisfiedBy(0));
+    Assert.assertFalse(ReadConsistencyLevel.STRONG.isSatisfiedBy(1));
+    Assert.assertTrue(ReadConsistencyLevel.bounded(100).isSatisfiedBy(100));
+    Assert.assertFalse(ReadConsistencyLevel.bounded(100).isSatisfiedBy(101));
+    Assert.assertTrue(ReadConsistencyLevel.ANY.isSatisfiedBy(Long.MAX_VALUE));
+  }
+}
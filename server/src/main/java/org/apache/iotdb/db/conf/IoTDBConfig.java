@@ -52,6 +52,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -286,6 +287,24 @@ public class IoTDBConfig {
     IoTDBConstant.DEFAULT_BASE_DIR + File.separator + IoTDBConstant.DATA_FOLDER_NAME
   };
 
+  /**
+   * The number of data dirs in each storage tier, and the tiers are ordered from the fastest one.
+   * The tiers are separated by ";" in data_dirs, e.g. "data1,data2;data3" has two tiers.
+   */
+  private int[] tierDataDirNums = {1};
+
+  /**
+   * The age in ms after which the TsFiles are migrated out of each tier, -1 means never. The
+   * threshold of the last tier is ignored.
+   */
+  private long[] tierTTLInMs = {-1};
+
+  /** The disk usage ratio of each tier above which its oldest TsFiles are migrated out. */
+  private double[] tierMaxDiskUsageRatios = {1.0};
+
+  /** The interval in ms to check the TsFiles to be migrated to slower tiers. */
+  private long tierMigrationCheckIntervalInMs = 600_000L;
+
   private String loadTsFileDir =
       dataDirs[0] + File.separator + IoTDBConstant.LOAD_TSFILE_FOLDER_NAME;
 
@@ -433,6 +452,33 @@ public class IoTDBConfig {
   /** The target tsfile size in compaction, 1 GB by default */
   private long targetCompactionFileSize = 1073741824L;
 
+  /** The length of time windows used by the time window inner sequence selector, in ms. */
+  private long compactionTimeWindow = 3_600_000L;
+
+  /**
+   * The time window inner sequence selector leaves a window alone once its end is older than this
+   * threshold, in ms.
+   */
+  private long compactionTimeWindowFreezeThreshold = 86_400_000L;
+
+  /** Whether to rewrite the files in which the data deleted or expired by ttl is too much. */
+  private boolean enableInvalidDataCompaction = false;
+
+  /**
+   * A file is rewritten once the estimated ratio of the data deleted or expired by ttl in it
+   * exceeds this threshold.
+   */
+  private double invalidDataCompactionRatioThreshold = 0.3;
+
+  /**
+   * Whether the inner compaction writers select the smallest encoding for each non-aligned series
+   * by its sampled points instead of keeping the encoding of the source files.
+   */
+  private boolean enableCompactionAdaptiveEncoding = false;
+
+  /** The number of points sampled to select the encoding of a series in compaction. */
+  private int compactionAdaptiveEncodingSamplePointNum = 1024;
+
   /** The target chunk size in compaction. */
   private long targetChunkSize = 1048576L;
 
@@ -518,6 +564,9 @@ public class IoTDBConfig {
   /** Whether to enable Last cache */
   private boolean lastCacheEnable = true;
 
+  /** Whether to rewrite the GROUP BY TIME queries to read the results of the CQs */
+  private boolean enableMaterializedViewRewrite = false;
+
   /** Cache size of {@code checkAndGetDataTypeCache}. */
   private int mRemoteSchemaCacheSize = 100000;
 
@@ -644,6 +693,27 @@ public class IoTDBConfig {
   /** The limit of compaction merge can reach per second */
   private int compactionWriteThroughputMbPerSec = 16;
 
+  /**
+   * The limit of the read and write throughput of compaction together per second, which is the max
+   * io budget of compaction. Set to 0 to disable the limit.
+   */
+  private int compactionIoThroughputMbPerSec = 0;
+
+  /**
+   * Whether to adapt the io budget of compaction to the query latency and disk utilization, which
+   * backs off while queries are slow or queueing and speeds up when idle.
+   */
+  private boolean enableCompactionIoAdaptiveThrottle = false;
+
+  /** The min io budget of compaction when it is adaptively throttled */
+  private int compactionIoMinThroughputMbPerSec = 4;
+
+  /** The io budget of compaction backs off when the average query latency exceeds it. Unit: ms */
+  private long compactionIoThrottleQueryLatencyThresholdInMs = 1000L;
+
+  /** The io budget of compaction backs off when the disk utilization exceeds it */
+  private double compactionIoThrottleDiskUtilizationThreshold = 0.9;
+
   /**
    * How many thread will be set up to perform compaction, 10 by default. Set to 1 when less than or
    * equal to 0.
@@ -827,9 +897,40 @@ public class IoTDBConfig {
   /** cache size for pages in one schema file */
   private int pageCacheSizeInSchemaFile = 1024;
 
+  /** maximum number of dirty pages buffered in one schema file before written out */
+  private int dirtyPageLimitInSchemaFile = 256;
+
   /** maximum number of logged pages before log erased */
   private int schemaFileLogSize = 16384;
 
+  /**
+   * whether to take schema region snapshots incrementally, which reuses the last serialized MTree
+   * and only appends the schema plans applied since then
+   */
+  private boolean enableSchemaRegionIncrementalSnapshot = false;
+
+  /** number of logged schema plans after which a new MTree is serialized in background */
+  private int schemaRegionSnapshotRebaseThreshold = 100000;
+
+  /**
+   * whether to traverse the subtrees of a wildcard schema query in parallel, which only works for
+   * path patterns ending with a multi-level wildcard
+   */
+  private boolean enableParallelSchemaTraversal = false;
+
+  /** minimum number of children of the traversed node to split the traversal into subtrees */
+  private int parallelSchemaTraversalThreshold = 1000;
+
+  /** number of threads traversing the subtrees of schema queries */
+  private int parallelSchemaTraversalThreadNum =
+      Math.max(Runtime.getRuntime().availableProcessors() / 2, 1);
+
+  /**
+   * whether to cache the devices activated with schema template as (device, template id) instead of
+   * caching each of their measurements
+   */
+  private boolean enableTemplateDeviceSchemaCache = true;
+
   /**
    * Maximum number of measurement in one create timeseries plan node. If the number of measurement
    * in user request exceeds this limit, the request will be split.
@@ -979,6 +1080,33 @@ public class IoTDBConfig {
   /** Maximum wait time of write cache in IoTConsensus. Unit: ms */
   private long cacheWindowTimeInMs = 10 * 1000L;
 
+  /**
+   * Number of threads shared by the log dispatchers of all the regions in IoTConsensus. If it is 0,
+   * each dispatcher occupies a thread for each peer.
+   */
+  private int iotConsensusLogDispatcherThreadNum = 0;
+
+  /**
+   * Number of requests that a replica lags behind in IoTConsensus, beyond which the replica catches
+   * up by loading a snapshot of the leader instead of replaying the requests. 0 means disabled.
+   */
+  private long iotConsensusSnapshotCatchUpLagThreshold = 0;
+
+  /** Number of snapshot files transferred concurrently in IoTConsensus, e.g. migrating regions */
+  private int iotConsensusSnapshotTransferThreadNum = 4;
+
+  /**
+   * Max total throughput of transferring snapshots in IoTConsensus. 0 means unlimited. Unit: MB/s
+   */
+  private int iotConsensusSnapshotTransferThroughputMbPerSec = 0;
+
+  /**
+   * Number of threads deserializing a batch of requests synced from the leader in IoTConsensus,
+   * including the RPC thread. 1 means the batch is deserialized by the RPC thread alone.
+   */
+  private int iotConsensusSyncLogDeserializeThreadNum =
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+
   private long dataRatisConsensusLogAppenderBufferSizeMax = 4 * 1024 * 1024L;
   private long schemaRatisConsensusLogAppenderBufferSizeMax = 4 * 1024 * 1024L;
 
@@ -1022,6 +1150,9 @@ public class IoTDBConfig {
   private long dataRatisLogMax = 20L * 1024 * 1024 * 1024; // 20G
   private long schemaRatisLogMax = 2L * 1024 * 1024 * 1024; // 2G
 
+  /** Serve the linearizable reads of the schema regions by the leader lease in RatisConsensus */
+  private boolean schemaRatisReadLeaderLeaseEnable = true;
+
   /** whether to enable the audit log * */
   private boolean enableAuditLog = false;
 
@@ -1152,7 +1283,14 @@ public class IoTDBConfig {
     }
   }
 
-  void reloadDataDirs(String[] dataDirs) throws LoadConfigurationException {
+  void reloadDataDirs(String[][] tierDataDirs) throws LoadConfigurationException {
+    int[] tierDataDirNums = new int[tierDataDirs.length];
+    List<String> dataDirList = new ArrayList<>();
+    for (int i = 0; i < tierDataDirs.length; i++) {
+      tierDataDirNums[i] = tierDataDirs[i].length;
+      dataDirList.addAll(Arrays.asList(tierDataDirs[i]));
+    }
+    String[] dataDirs = dataDirList.toArray(new String[0]);
     // format data directories
     if (TSFileDescriptor.getInstance().getConfig().getTSFileStorageFs().equals(FSType.HDFS)) {
       String hdfsDir = getHdfsDir();
@@ -1175,6 +1313,7 @@ public class IoTDBConfig {
       }
     }
     this.dataDirs = dataDirs;
+    this.tierDataDirNums = tierDataDirNums;
     DirectoryManager.getInstance().updateFileFolders();
   }
 
@@ -1245,6 +1384,59 @@ public class IoTDBConfig {
     setLoadTsFileDir(dataDirs[0] + File.separator + IoTDBConstant.LOAD_TSFILE_FOLDER_NAME);
   }
 
+  /** Get the data dirs of each tier, all data dirs are in one tier if the tiers are not set. */
+  public String[][] getTierDataDirs() {
+    int dirNum = 0;
+    for (int tierDataDirNum : tierDataDirNums) {
+      dirNum += tierDataDirNum;
+    }
+    if (dirNum != dataDirs.length) {
+      return new String[][] {dataDirs.clone()};
+    }
+    String[][] tierDataDirs = new String[tierDataDirNums.length][];
+    int start = 0;
+    for (int i = 0; i < tierDataDirNums.length; i++) {
+      tierDataDirs[i] = Arrays.copyOfRange(dataDirs, start, start + tierDataDirNums[i]);
+      start += tierDataDirNums[i];
+    }
+    return tierDataDirs;
+  }
+
+  public void setTierDataDirs(String[][] tierDataDirs) {
+    int[] tierDataDirNums = new int[tierDataDirs.length];
+    List<String> dataDirList = new ArrayList<>();
+    for (int i = 0; i < tierDataDirs.length; i++) {
+      tierDataDirNums[i] = tierDataDirs[i].length;
+      dataDirList.addAll(Arrays.asList(tierDataDirs[i]));
+    }
+    setDataDirs(dataDirList.toArray(new String[0]));
+    this.tierDataDirNums = tierDataDirNums;
+  }
+
+  public long[] getTierTTLInMs() {
+    return tierTTLInMs;
+  }
+
+  public void setTierTTLInMs(long[] tierTTLInMs) {
+    this.tierTTLInMs = tierTTLInMs;
+  }
+
+  public double[] getTierMaxDiskUsageRatios() {
+    return tierMaxDiskUsageRatios;
+  }
+
+  public void setTierMaxDiskUsageRatios(double[] tierMaxDiskUsageRatios) {
+    this.tierMaxDiskUsageRatios = tierMaxDiskUsageRatios;
+  }
+
+  public long getTierMigrationCheckIntervalInMs() {
+    return tierMigrationCheckIntervalInMs;
+  }
+
+  public void setTierMigrationCheckIntervalInMs(long tierMigrationCheckIntervalInMs) {
+    this.tierMigrationCheckIntervalInMs = tierMigrationCheckIntervalInMs;
+  }
+
   public String getRpcAddress() {
     return rpcAddress;
   }
@@ -1870,6 +2062,50 @@ public class IoTDBConfig {
     this.compactionWriteThroughputMbPerSec = compactionWriteThroughputMbPerSec;
   }
 
+  public int getCompactionIoThroughputMbPerSec() {
+    return compactionIoThroughputMbPerSec;
+  }
+
+  public void setCompactionIoThroughputMbPerSec(int compactionIoThroughputMbPerSec) {
+    this.compactionIoThroughputMbPerSec = compactionIoThroughputMbPerSec;
+  }
+
+  public boolean isEnableCompactionIoAdaptiveThrottle() {
+    return enableCompactionIoAdaptiveThrottle;
+  }
+
+  public void setEnableCompactionIoAdaptiveThrottle(boolean enableCompactionIoAdaptiveThrottle) {
+    this.enableCompactionIoAdaptiveThrottle = enableCompactionIoAdaptiveThrottle;
+  }
+
+  public int getCompactionIoMinThroughputMbPerSec() {
+    return compactionIoMinThroughputMbPerSec;
+  }
+
+  public void setCompactionIoMinThroughputMbPerSec(int compactionIoMinThroughputMbPerSec) {
+    this.compactionIoMinThroughputMbPerSec = compactionIoMinThroughputMbPerSec;
+  }
+
+  public long getCompactionIoThrottleQueryLatencyThresholdInMs() {
+    return compactionIoThrottleQueryLatencyThresholdInMs;
+  }
+
+  public void setCompactionIoThrottleQueryLatencyThresholdInMs(
+      long compactionIoThrottleQueryLatencyThresholdInMs) {
+    this.compactionIoThrottleQueryLatencyThresholdInMs =
+        compactionIoThrottleQueryLatencyThresholdInMs;
+  }
+
+  public double getCompactionIoThrottleDiskUtilizationThreshold() {
+    return compactionIoThrottleDiskUtilizationThreshold;
+  }
+
+  public void setCompactionIoThrottleDiskUtilizationThreshold(
+      double compactionIoThrottleDiskUtilizationThreshold) {
+    this.compactionIoThrottleDiskUtilizationThreshold =
+        compactionIoThrottleDiskUtilizationThreshold;
+  }
+
   public boolean isEnableMemControl() {
     return enableMemControl;
   }
@@ -2055,6 +2291,14 @@ public class IoTDBConfig {
     this.lastCacheEnable = lastCacheEnable;
   }
 
+  public boolean isEnableMaterializedViewRewrite() {
+    return enableMaterializedViewRewrite;
+  }
+
+  public void setEnableMaterializedViewRewrite(boolean enableMaterializedViewRewrite) {
+    this.enableMaterializedViewRewrite = enableMaterializedViewRewrite;
+  }
+
   public boolean isEnableWatermark() {
     return enableWatermark;
   }
@@ -2707,6 +2951,55 @@ public class IoTDBConfig {
     this.targetCompactionFileSize = targetCompactionFileSize;
   }
 
+  public long getCompactionTimeWindow() {
+    return compactionTimeWindow;
+  }
+
+  public void setCompactionTimeWindow(long compactionTimeWindow) {
+    this.compactionTimeWindow = compactionTimeWindow;
+  }
+
+  public long getCompactionTimeWindowFreezeThreshold() {
+    return compactionTimeWindowFreezeThreshold;
+  }
+
+  public void setCompactionTimeWindowFreezeThreshold(long compactionTimeWindowFreezeThreshold) {
+    this.compactionTimeWindowFreezeThreshold = compactionTimeWindowFreezeThreshold;
+  }
+
+  public boolean isEnableInvalidDataCompaction() {
+    return enableInvalidDataCompaction;
+  }
+
+  public void setEnableInvalidDataCompaction(boolean enableInvalidDataCompaction) {
+    this.enableInvalidDataCompaction = enableInvalidDataCompaction;
+  }
+
+  public double getInvalidDataCompactionRatioThreshold() {
+    return invalidDataCompactionRatioThreshold;
+  }
+
+  public void setInvalidDataCompactionRatioThreshold(double invalidDataCompactionRatioThreshold) {
+    this.invalidDataCompactionRatioThreshold = invalidDataCompactionRatioThreshold;
+  }
+
+  public boolean isEnableCompactionAdaptiveEncoding() {
+    return enableCompactionAdaptiveEncoding;
+  }
+
+  public void setEnableCompactionAdaptiveEncoding(boolean enableCompactionAdaptiveEncoding) {
+    this.enableCompactionAdaptiveEncoding = enableCompactionAdaptiveEncoding;
+  }
+
+  public int getCompactionAdaptiveEncodingSamplePointNum() {
+    return compactionAdaptiveEncodingSamplePointNum;
+  }
+
+  public void setCompactionAdaptiveEncodingSamplePointNum(
+      int compactionAdaptiveEncodingSamplePointNum) {
+    this.compactionAdaptiveEncodingSamplePointNum = compactionAdaptiveEncodingSamplePointNum;
+  }
+
   public long getTargetChunkSize() {
     return targetChunkSize;
   }
@@ -2852,6 +3145,14 @@ public class IoTDBConfig {
     this.pageCacheSizeInSchemaFile = pageCacheSizeInSchemaFile;
   }
 
+  public int getDirtyPageLimitInSchemaFile() {
+    return dirtyPageLimitInSchemaFile;
+  }
+
+  public void setDirtyPageLimitInSchemaFile(int dirtyPageLimitInSchemaFile) {
+    this.dirtyPageLimitInSchemaFile = dirtyPageLimitInSchemaFile;
+  }
+
   public int getSchemaFileLogSize() {
     return schemaFileLogSize;
   }
@@ -2860,6 +3161,55 @@ public class IoTDBConfig {
     this.schemaFileLogSize = schemaFileLogSize;
   }
 
+  public boolean isEnableSchemaRegionIncrementalSnapshot() {
+    return enableSchemaRegionIncrementalSnapshot;
+  }
+
+  public void setEnableSchemaRegionIncrementalSnapshot(
+      boolean enableSchemaRegionIncrementalSnapshot) {
+    this.enableSchemaRegionIncrementalSnapshot = enableSchemaRegionIncrementalSnapshot;
+  }
+
+  public int getSchemaRegionSnapshotRebaseThreshold() {
+    return schemaRegionSnapshotRebaseThreshold;
+  }
+
+  public void setSchemaRegionSnapshotRebaseThreshold(int schemaRegionSnapshotRebaseThreshold) {
+    this.schemaRegionSnapshotRebaseThreshold = schemaRegionSnapshotRebaseThreshold;
+  }
+
+  public boolean isEnableParallelSchemaTraversal() {
+    return enableParallelSchemaTraversal;
+  }
+
+  public void setEnableParallelSchemaTraversal(boolean enableParallelSchemaTraversal) {
+    this.enableParallelSchemaTraversal = enableParallelSchemaTraversal;
+  }
+
+  public int getParallelSchemaTraversalThreshold() {
+    return parallelSchemaTraversalThreshold;
+  }
+
+  public void setParallelSchemaTraversalThreshold(int parallelSchemaTraversalThreshold) {
+    this.parallelSchemaTraversalThreshold = parallelSchemaTraversalThreshold;
+  }
+
+  public int getParallelSchemaTraversalThreadNum() {
+    return parallelSchemaTraversalThreadNum;
+  }
+
+  public void setParallelSchemaTraversalThreadNum(int parallelSchemaTraversalThreadNum) {
+    this.parallelSchemaTraversalThreadNum = parallelSchemaTraversalThreadNum;
+  }
+
+  public boolean isEnableTemplateDeviceSchemaCache() {
+    return enableTemplateDeviceSchemaCache;
+  }
+
+  public void setEnableTemplateDeviceSchemaCache(boolean enableTemplateDeviceSchemaCache) {
+    this.enableTemplateDeviceSchemaCache = enableTemplateDeviceSchemaCache;
+  }
+
   public int getMaxMeasurementNumOfInternalRequest() {
     return maxMeasurementNumOfInternalRequest;
   }
@@ -3255,6 +3605,50 @@ public class IoTDBConfig {
     this.cacheWindowTimeInMs = cacheWindowTimeInMs;
   }
 
+  public int getIotConsensusLogDispatcherThreadNum() {
+    return iotConsensusLogDispatcherThreadNum;
+  }
+
+  public void setIotConsensusLogDispatcherThreadNum(int iotConsensusLogDispatcherThreadNum) {
+    this.iotConsensusLogDispatcherThreadNum = iotConsensusLogDispatcherThreadNum;
+  }
+
+  public long getIotConsensusSnapshotCatchUpLagThreshold() {
+    return iotConsensusSnapshotCatchUpLagThreshold;
+  }
+
+  public void setIotConsensusSnapshotCatchUpLagThreshold(
+      long iotConsensusSnapshotCatchUpLagThreshold) {
+    this.iotConsensusSnapshotCatchUpLagThreshold = iotConsensusSnapshotCatchUpLagThreshold;
+  }
+
+  public int getIotConsensusSnapshotTransferThreadNum() {
+    return iotConsensusSnapshotTransferThreadNum;
+  }
+
+  public void setIotConsensusSnapshotTransferThreadNum(int iotConsensusSnapshotTransferThreadNum) {
+    this.iotConsensusSnapshotTransferThreadNum = iotConsensusSnapshotTransferThreadNum;
+  }
+
+  public int getIotConsensusSnapshotTransferThroughputMbPerSec() {
+    return iotConsensusSnapshotTransferThroughputMbPerSec;
+  }
+
+  public void setIotConsensusSnapshotTransferThroughputMbPerSec(
+      int iotConsensusSnapshotTransferThroughputMbPerSec) {
+    this.iotConsensusSnapshotTransferThroughputMbPerSec =
+        iotConsensusSnapshotTransferThroughputMbPerSec;
+  }
+
+  public int getIotConsensusSyncLogDeserializeThreadNum() {
+    return iotConsensusSyncLogDeserializeThreadNum;
+  }
+
+  public void setIotConsensusSyncLogDeserializeThreadNum(
+      int iotConsensusSyncLogDeserializeThreadNum) {
+    this.iotConsensusSyncLogDeserializeThreadNum = iotConsensusSyncLogDeserializeThreadNum;
+  }
+
   public long getDataRatisConsensusLogAppenderBufferSizeMax() {
     return dataRatisConsensusLogAppenderBufferSizeMax;
   }
@@ -3564,6 +3958,14 @@ public class IoTDBConfig {
     this.schemaRatisLogMax = schemaRatisLogMax;
   }
 
+  public boolean isSchemaRatisReadLeaderLeaseEnable() {
+    return schemaRatisReadLeaderLeaseEnable;
+  }
+
+  public void setSchemaRatisReadLeaderLeaseEnable(boolean schemaRatisReadLeaderLeaseEnable) {
+    this.schemaRatisReadLeaderLeaseEnable = schemaRatisReadLeaderLeaseEnable;
+  }
+
   public boolean isEnableCompactionValidation() {
     return enableCompactionValidation;
   }
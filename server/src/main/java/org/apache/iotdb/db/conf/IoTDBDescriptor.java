@@ -65,6 +65,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Properties;
 import java.util.ServiceLoader;
 
@@ -331,7 +332,9 @@ public class IoTDBDescriptor {
     conf.setQueryDir(
         FilePathUtils.regularizePath(conf.getSystemDir() + IoTDBConstant.QUERY_FOLDER_NAME));
 
-    conf.setDataDirs(properties.getProperty("dn_data_dirs", conf.getDataDirs()[0]).split(","));
+    conf.setTierDataDirs(
+        parseTierDataDirs(properties.getProperty("dn_data_dirs", conf.getDataDirs()[0])));
+    loadTierProps(properties);
 
     conf.setConsensusDir(properties.getProperty("dn_consensus_dir", conf.getConsensusDir()));
 
@@ -592,6 +595,55 @@ public class IoTDBDescriptor {
         Long.parseLong(
             properties.getProperty(
                 "target_compaction_file_size", Long.toString(conf.getTargetCompactionFileSize()))));
+    long compactionTimeWindow =
+        Long.parseLong(
+            properties
+                .getProperty(
+                    "compaction_time_window", Long.toString(conf.getCompactionTimeWindow()))
+                .trim());
+    if (compactionTimeWindow > 0) {
+      conf.setCompactionTimeWindow(compactionTimeWindow);
+    } else {
+      logger.warn(
+          "compaction_time_window should be positive but is {}, keep {} instead",
+          compactionTimeWindow,
+          conf.getCompactionTimeWindow());
+    }
+    conf.setCompactionTimeWindowFreezeThreshold(
+        Long.parseLong(
+            properties
+                .getProperty(
+                    "compaction_time_window_freeze_threshold",
+                    Long.toString(conf.getCompactionTimeWindowFreezeThreshold()))
+                .trim()));
+    conf.setEnableInvalidDataCompaction(
+        Boolean.parseBoolean(
+            properties
+                .getProperty(
+                    "enable_invalid_data_compaction",
+                    Boolean.toString(conf.isEnableInvalidDataCompaction()))
+                .trim()));
+    conf.setInvalidDataCompactionRatioThreshold(
+        Double.parseDouble(
+            properties
+                .getProperty(
+                    "invalid_data_compaction_ratio_threshold",
+                    Double.toString(conf.getInvalidDataCompactionRatioThreshold()))
+                .trim()));
+    conf.setEnableCompactionAdaptiveEncoding(
+        Boolean.parseBoolean(
+            properties
+                .getProperty(
+                    "enable_compaction_adaptive_encoding",
+                    Boolean.toString(conf.isEnableCompactionAdaptiveEncoding()))
+                .trim()));
+    conf.setCompactionAdaptiveEncodingSamplePointNum(
+        Integer.parseInt(
+            properties
+                .getProperty(
+                    "compaction_adaptive_encoding_sample_point_num",
+                    Integer.toString(conf.getCompactionAdaptiveEncodingSamplePointNum()))
+                .trim()));
     conf.setTargetChunkSize(
         Long.parseLong(
             properties.getProperty("target_chunk_size", Long.toString(conf.getTargetChunkSize()))));
@@ -631,6 +683,36 @@ public class IoTDBDescriptor {
                 "compaction_write_throughput_mb_per_sec",
                 Integer.toString(conf.getCompactionWriteThroughputMbPerSec()))));
 
+    conf.setCompactionIoThroughputMbPerSec(
+        Integer.parseInt(
+            properties.getProperty(
+                "compaction_io_throughput_mb_per_sec",
+                Integer.toString(conf.getCompactionIoThroughputMbPerSec()))));
+
+    conf.setEnableCompactionIoAdaptiveThrottle(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_compaction_io_adaptive_throttle",
+                Boolean.toString(conf.isEnableCompactionIoAdaptiveThrottle()))));
+
+    conf.setCompactionIoMinThroughputMbPerSec(
+        Integer.parseInt(
+            properties.getProperty(
+                "compaction_io_min_throughput_mb_per_sec",
+                Integer.toString(conf.getCompactionIoMinThroughputMbPerSec()))));
+
+    conf.setCompactionIoThrottleQueryLatencyThresholdInMs(
+        Long.parseLong(
+            properties.getProperty(
+                "compaction_io_throttle_query_latency_threshold_in_ms",
+                Long.toString(conf.getCompactionIoThrottleQueryLatencyThresholdInMs()))));
+
+    conf.setCompactionIoThrottleDiskUtilizationThreshold(
+        Double.parseDouble(
+            properties.getProperty(
+                "compaction_io_throttle_disk_utilization_threshold",
+                Double.toString(conf.getCompactionIoThrottleDiskUtilizationThreshold()))));
+
     conf.setEnableCompactionValidation(
         Boolean.parseBoolean(
             properties.getProperty(
@@ -825,6 +907,12 @@ public class IoTDBDescriptor {
       conf.setEnableLastCache(false);
     }
 
+    conf.setEnableMaterializedViewRewrite(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_materialized_view_rewrite",
+                Boolean.toString(conf.isEnableMaterializedViewRewrite()))));
+
     conf.setCachedMNodeSizeInSchemaFileMode(
         Integer.parseInt(
             properties.getProperty(
@@ -842,11 +930,62 @@ public class IoTDBDescriptor {
             properties.getProperty(
                 "page_cache_in_schema_file", String.valueOf(conf.getPageCacheSizeInSchemaFile()))));
 
+    conf.setDirtyPageLimitInSchemaFile(
+        Integer.parseInt(
+            properties.getProperty(
+                "dirty_page_limit_in_schema_file",
+                String.valueOf(conf.getDirtyPageLimitInSchemaFile()))));
+
     conf.setSchemaFileLogSize(
         Integer.parseInt(
             properties.getProperty(
                 "schema_file_log_size", String.valueOf(conf.getSchemaFileLogSize()))));
 
+    conf.setEnableSchemaRegionIncrementalSnapshot(
+        Boolean.parseBoolean(
+            properties
+                .getProperty(
+                    "enable_schema_region_incremental_snapshot",
+                    String.valueOf(conf.isEnableSchemaRegionIncrementalSnapshot()))
+                .trim()));
+
+    conf.setSchemaRegionSnapshotRebaseThreshold(
+        Integer.parseInt(
+            properties.getProperty(
+                "schema_region_snapshot_rebase_threshold",
+                String.valueOf(conf.getSchemaRegionSnapshotRebaseThreshold()))));
+
+    conf.setEnableParallelSchemaTraversal(
+        Boolean.parseBoolean(
+            properties
+                .getProperty(
+                    "enable_parallel_schema_traversal",
+                    String.valueOf(conf.isEnableParallelSchemaTraversal()))
+                .trim()));
+
+    conf.setParallelSchemaTraversalThreshold(
+        Integer.parseInt(
+            properties.getProperty(
+                "parallel_schema_traversal_threshold",
+                String.valueOf(conf.getParallelSchemaTraversalThreshold()))));
+
+    int parallelSchemaTraversalThreadNum =
+        Integer.parseInt(
+            properties.getProperty(
+                "parallel_schema_traversal_thread_num",
+                String.valueOf(conf.getParallelSchemaTraversalThreadNum())));
+    if (parallelSchemaTraversalThreadNum > 0) {
+      conf.setParallelSchemaTraversalThreadNum(parallelSchemaTraversalThreadNum);
+    }
+
+    conf.setEnableTemplateDeviceSchemaCache(
+        Boolean.parseBoolean(
+            properties
+                .getProperty(
+                    "enable_template_device_schema_cache",
+                    String.valueOf(conf.isEnableTemplateDeviceSchemaCache()))
+                .trim()));
+
     conf.setMaxMeasurementNumOfInternalRequest(
         Integer.parseInt(
             properties.getProperty(
@@ -976,6 +1115,48 @@ public class IoTDBDescriptor {
     conf.setTimePartitionInterval(
         DateTimeUtils.convertMilliTimeWithPrecision(
             conf.getTimePartitionInterval(), conf.getTimestampPrecision()));
+    conf.setCompactionTimeWindow(
+        DateTimeUtils.convertMilliTimeWithPrecision(
+            conf.getCompactionTimeWindow(), conf.getTimestampPrecision()));
+    conf.setCompactionTimeWindowFreezeThreshold(
+        DateTimeUtils.convertMilliTimeWithPrecision(
+            conf.getCompactionTimeWindowFreezeThreshold(), conf.getTimestampPrecision()));
+  }
+
+  /** The tiers are separated by ";", and the dirs in each tier are separated by ",". */
+  private String[][] parseTierDataDirs(String dataDirs) {
+    String[] tiers = dataDirs.split(";");
+    String[][] tierDataDirs = new String[tiers.length][];
+    for (int i = 0; i < tiers.length; i++) {
+      tierDataDirs[i] = tiers[i].split(",");
+    }
+    return tierDataDirs;
+  }
+
+  private void loadTierProps(Properties properties) {
+    String tierTTLInMs = properties.getProperty("dn_tier_ttl_in_ms", null);
+    if (tierTTLInMs != null) {
+      conf.setTierTTLInMs(
+          Arrays.stream(tierTTLInMs.split(";"))
+              .map(String::trim)
+              .mapToLong(Long::parseLong)
+              .toArray());
+    }
+    String tierMaxDiskUsageRatios = properties.getProperty("dn_tier_max_disk_usage_ratio", null);
+    if (tierMaxDiskUsageRatios != null) {
+      conf.setTierMaxDiskUsageRatios(
+          Arrays.stream(tierMaxDiskUsageRatios.split(";"))
+              .map(String::trim)
+              .mapToDouble(Double::parseDouble)
+              .toArray());
+    }
+    conf.setTierMigrationCheckIntervalInMs(
+        Long.parseLong(
+            properties
+                .getProperty(
+                    "dn_tier_migration_check_interval_in_ms",
+                    String.valueOf(conf.getTierMigrationCheckIntervalInMs()))
+                .trim()));
   }
 
   private void loadAuthorCache(Properties properties) {
@@ -1099,6 +1280,60 @@ public class IoTDBDescriptor {
     if (cacheWindowInMs > 0) {
       conf.setCacheWindowTimeInMs(cacheWindowInMs);
     }
+
+    int logDispatcherThreadNum =
+        Integer.parseInt(
+            properties
+                .getProperty(
+                    "iot_consensus_log_dispatcher_thread_num",
+                    Integer.toString(conf.getIotConsensusLogDispatcherThreadNum()))
+                .trim());
+    if (logDispatcherThreadNum >= 0) {
+      conf.setIotConsensusLogDispatcherThreadNum(logDispatcherThreadNum);
+    }
+
+    long snapshotCatchUpLagThreshold =
+        Long.parseLong(
+            properties
+                .getProperty(
+                    "iot_consensus_snapshot_catch_up_lag_threshold",
+                    Long.toString(conf.getIotConsensusSnapshotCatchUpLagThreshold()))
+                .trim());
+    if (snapshotCatchUpLagThreshold >= 0) {
+      conf.setIotConsensusSnapshotCatchUpLagThreshold(snapshotCatchUpLagThreshold);
+    }
+
+    int snapshotTransferThreadNum =
+        Integer.parseInt(
+            properties
+                .getProperty(
+                    "iot_consensus_snapshot_transfer_thread_num",
+                    Integer.toString(conf.getIotConsensusSnapshotTransferThreadNum()))
+                .trim());
+    if (snapshotTransferThreadNum > 0) {
+      conf.setIotConsensusSnapshotTransferThreadNum(snapshotTransferThreadNum);
+    }
+
+    int snapshotTransferThroughput =
+        Integer.parseInt(
+            properties
+                .getProperty(
+                    "iot_consensus_snapshot_transfer_throughput_mb_per_sec",
+                    Integer.toString(conf.getIotConsensusSnapshotTransferThroughputMbPerSec()))
+                .trim());
+    if (snapshotTransferThroughput >= 0) {
+      conf.setIotConsensusSnapshotTransferThroughputMbPerSec(snapshotTransferThroughput);
+    }
+    int syncLogDeserializeThreadNum =
+        Integer.parseInt(
+            properties
+                .getProperty(
+                    "iot_consensus_sync_log_deserialize_thread_num",
+                    Integer.toString(conf.getIotConsensusSyncLogDeserializeThreadNum()))
+                .trim());
+    if (syncLogDeserializeThreadNum > 0) {
+      conf.setIotConsensusSyncLogDeserializeThreadNum(syncLogDeserializeThreadNum);
+    }
   }
 
   private void loadAutoCreateSchemaProps(Properties properties) {
@@ -1360,7 +1595,7 @@ public class IoTDBDescriptor {
       // update data dirs
       String dataDirs = properties.getProperty("dn_data_dirs", null);
       if (dataDirs != null) {
-        conf.reloadDataDirs(dataDirs.split(","));
+        conf.reloadDataDirs(parseTierDataDirs(dataDirs));
       }
 
       // update dir strategy, must update after data dirs
@@ -1415,6 +1650,12 @@ public class IoTDBDescriptor {
               properties.getProperty(
                   "merge_write_throughput_mb_per_sec",
                   Integer.toString(conf.getCompactionWriteThroughputMbPerSec()))));
+      // update compaction_io_throughput_mb_per_sec
+      conf.setCompactionIoThroughputMbPerSec(
+          Integer.parseInt(
+              properties.getProperty(
+                  "compaction_io_throughput_mb_per_sec",
+                  Integer.toString(conf.getCompactionIoThroughputMbPerSec()))));
       // update insert-tablet-plan's row limit for select-into
       conf.setSelectIntoInsertTabletPlanRowLimit(
           Integer.parseInt(
@@ -1918,6 +2159,10 @@ public class IoTDBDescriptor {
 
     conf.setSchemaRatisLogMax(ratisConfig.getSchemaRegionRatisLogMax());
     conf.setDataRatisLogMax(ratisConfig.getDataRegionRatisLogMax());
+
+    if (ratisConfig.isSetSchemaReadLeaderLeaseEnable()) {
+      conf.setSchemaRatisReadLeaderLeaseEnable(ratisConfig.isSchemaReadLeaderLeaseEnable());
+    }
   }
 
   public void loadCQConfig(TCQConfig cqConfig) {
@@ -33,44 +33,42 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
-/** The main class of multiple directories. Used to allocate folders to data files. */
+/**
+ * The main class of multiple directories. Used to allocate folders to data files.
+ *
+ * <p>The data dirs are organized into storage tiers ordered from the fastest one, and each tier has
+ * its own directory strategy. New data files are allocated in the fastest tier with usable space,
+ * and sealed files are migrated to slower tiers by {@link
+ * org.apache.iotdb.db.engine.tier.TierMigrationService}.
+ */
 public class DirectoryManager {
 
   private static final Logger logger = LoggerFactory.getLogger(DirectoryManager.class);
 
   private List<String> sequenceFileFolders;
   private List<String> unsequenceFileFolders;
-  private DirectoryStrategy sequenceStrategy;
-  private DirectoryStrategy unsequenceStrategy;
+  private List<List<String>> sequenceTierFolders;
+  private List<List<String>> unsequenceTierFolders;
+  private List<DirectoryStrategy> sequenceStrategies;
+  private List<DirectoryStrategy> unsequenceStrategies;
 
   private DirectoryManager() {
-    sequenceFileFolders =
-        new ArrayList<>(Arrays.asList(IoTDBDescriptor.getInstance().getConfig().getDataDirs()));
-    for (int i = 0; i < sequenceFileFolders.size(); i++) {
-      sequenceFileFolders.set(
-          i, sequenceFileFolders.get(i) + File.separator + IoTDBConstant.SEQUENCE_FLODER_NAME);
-    }
+    sequenceTierFolders = getTierFolders(IoTDBConstant.SEQUENCE_FLODER_NAME);
+    sequenceFileFolders = flatten(sequenceTierFolders);
     mkDataDirs(sequenceFileFolders);
 
-    unsequenceFileFolders =
-        new ArrayList<>(Arrays.asList(IoTDBDescriptor.getInstance().getConfig().getDataDirs()));
-    for (int i = 0; i < unsequenceFileFolders.size(); i++) {
-      unsequenceFileFolders.set(
-          i, unsequenceFileFolders.get(i) + File.separator + IoTDBConstant.UNSEQUENCE_FLODER_NAME);
-    }
+    unsequenceTierFolders = getTierFolders(IoTDBConstant.UNSEQUENCE_FLODER_NAME);
+    unsequenceFileFolders = flatten(unsequenceTierFolders);
     mkDataDirs(unsequenceFileFolders);
 
     String strategyName = "";
     try {
       strategyName = IoTDBDescriptor.getInstance().getConfig().getMultiDirStrategyClassName();
       Class<?> clazz = Class.forName(strategyName);
-      sequenceStrategy = (DirectoryStrategy) clazz.newInstance();
-      sequenceStrategy.setFolders(sequenceFileFolders);
-      unsequenceStrategy = (DirectoryStrategy) clazz.newInstance();
-      unsequenceStrategy.setFolders(unsequenceFileFolders);
+      sequenceStrategies = createStrategies(clazz, sequenceTierFolders);
+      unsequenceStrategies = createStrategies(clazz, unsequenceTierFolders);
     } catch (DiskSpaceInsufficientException e) {
       logger.error("All disks of folders are full.", e);
     } catch (Exception e) {
@@ -80,24 +78,23 @@ public class DirectoryManager {
 
   public void updateFileFolders() throws LoadConfigurationException {
     try {
-      List<String> sequenceFileFolders =
-          new ArrayList<>(Arrays.asList(IoTDBDescriptor.getInstance().getConfig().getDataDirs()));
-      for (int i = 0; i < sequenceFileFolders.size(); i++) {
-        sequenceFileFolders.set(
-            i, sequenceFileFolders.get(i) + File.separator + IoTDBConstant.SEQUENCE_FLODER_NAME);
-      }
+      List<List<String>> sequenceTierFolders = getTierFolders(IoTDBConstant.SEQUENCE_FLODER_NAME);
+      List<String> sequenceFileFolders = flatten(sequenceTierFolders);
       mkDataDirs(sequenceFileFolders);
 
-      List<String> unsequenceFileFolders =
-          new ArrayList<>(Arrays.asList(IoTDBDescriptor.getInstance().getConfig().getDataDirs()));
-      for (int i = 0; i < unsequenceFileFolders.size(); i++) {
-        unsequenceFileFolders.set(
-            i,
-            unsequenceFileFolders.get(i) + File.separator + IoTDBConstant.UNSEQUENCE_FLODER_NAME);
-      }
+      List<List<String>> unsequenceTierFolders =
+          getTierFolders(IoTDBConstant.UNSEQUENCE_FLODER_NAME);
+      List<String> unsequenceFileFolders = flatten(unsequenceTierFolders);
       mkDataDirs(unsequenceFileFolders);
-      sequenceStrategy.setFolders(sequenceFileFolders);
-      unsequenceStrategy.setFolders(unsequenceFileFolders);
+
+      Class<?> clazz =
+          Class.forName(IoTDBDescriptor.getInstance().getConfig().getMultiDirStrategyClassName());
+      List<DirectoryStrategy> sequenceStrategies = createStrategies(clazz, sequenceTierFolders);
+      List<DirectoryStrategy> unsequenceStrategies = createStrategies(clazz, unsequenceTierFolders);
+      this.sequenceTierFolders = sequenceTierFolders;
+      this.unsequenceTierFolders = unsequenceTierFolders;
+      this.sequenceStrategies = sequenceStrategies;
+      this.unsequenceStrategies = unsequenceStrategies;
       this.sequenceFileFolders = sequenceFileFolders;
       this.unsequenceFileFolders = unsequenceFileFolders;
       logger.info("Success to update file folders.");
@@ -105,6 +102,10 @@ public class DirectoryManager {
       logger.error("Fail to update file folders, use previous folders.", e);
       throw new LoadConfigurationException(
           "Fail to update file folders because all disks of folders are full, use previous folders.");
+    } catch (ReflectiveOperationException e) {
+      logger.error("Fail to update file folders, use previous folders.", e);
+      throw new LoadConfigurationException(
+          "Fail to update file folders because the directory strategy can't be created, use previous folders.");
     }
   }
 
@@ -113,10 +114,8 @@ public class DirectoryManager {
     try {
       strategyName = IoTDBDescriptor.getInstance().getConfig().getMultiDirStrategyClassName();
       Class<?> clazz = Class.forName(strategyName);
-      sequenceStrategy = (DirectoryStrategy) clazz.newInstance();
-      sequenceStrategy.setFolders(sequenceFileFolders);
-      unsequenceStrategy = (DirectoryStrategy) clazz.newInstance();
-      unsequenceStrategy.setFolders(unsequenceFileFolders);
+      sequenceStrategies = createStrategies(clazz, sequenceTierFolders);
+      unsequenceStrategies = createStrategies(clazz, unsequenceTierFolders);
       logger.info("Success to update directory strategy.");
     } catch (Exception e) {
       logger.error("Fail to update directory strategy {}, use previous strategy", strategyName, e);
@@ -131,6 +130,53 @@ public class DirectoryManager {
     return DirectoriesHolder.INSTANCE;
   }
 
+  private static List<List<String>> getTierFolders(String subFolderName) {
+    List<List<String>> tierFolders = new ArrayList<>();
+    for (String[] tierDirs : IoTDBDescriptor.getInstance().getConfig().getTierDataDirs()) {
+      List<String> folders = new ArrayList<>();
+      for (String dir : tierDirs) {
+        folders.add(dir + File.separator + subFolderName);
+      }
+      tierFolders.add(folders);
+    }
+    return tierFolders;
+  }
+
+  private static List<String> flatten(List<List<String>> tierFolders) {
+    List<String> folders = new ArrayList<>();
+    for (List<String> tier : tierFolders) {
+      folders.addAll(tier);
+    }
+    return folders;
+  }
+
+  /**
+   * Create the strategy of each tier. A tier whose disks are full is tolerated as long as some
+   * other tier has usable space, in which case the strategy of the full tier is null.
+   */
+  private static List<DirectoryStrategy> createStrategies(
+      Class<?> clazz, List<List<String>> tierFolders)
+      throws ReflectiveOperationException, DiskSpaceInsufficientException {
+    List<DirectoryStrategy> strategies = new ArrayList<>();
+    DiskSpaceInsufficientException exception = null;
+    boolean hasUsableTier = false;
+    for (List<String> folders : tierFolders) {
+      DirectoryStrategy strategy = (DirectoryStrategy) clazz.newInstance();
+      try {
+        strategy.setFolders(folders);
+        hasUsableTier = true;
+      } catch (DiskSpaceInsufficientException e) {
+        exception = e;
+        strategy = null;
+      }
+      strategies.add(strategy);
+    }
+    if (!hasUsableTier) {
+      throw exception;
+    }
+    return strategies;
+  }
+
   private void mkDataDirs(List<String> folders) {
     for (String folder : folders) {
       File file = FSFactoryProducer.getFSFactory().getFile(folder);
@@ -144,13 +190,12 @@ public class DirectoryManager {
   }
 
   public String getNextFolderForSequenceFile() throws DiskSpaceInsufficientException {
-    try {
-      return sequenceFileFolders.get(sequenceStrategy.nextFolderIndex());
-    } catch (DiskSpaceInsufficientException e) {
-      logger.error("All disks of wal folders are full, change system mode to read-only.", e);
-      CommonDescriptor.getInstance().getConfig().setNodeStatus(NodeStatus.ReadOnly);
-      throw e;
-    }
+    return getNextFolderForSequenceFile(0);
+  }
+
+  /** Get the next folder in the given tier, or a slower tier if the given one is full. */
+  public String getNextFolderForSequenceFile(int tier) throws DiskSpaceInsufficientException {
+    return getNextFolder(sequenceTierFolders, sequenceStrategies, tier);
   }
 
   public List<String> getAllSequenceFileFolders() {
@@ -158,13 +203,42 @@ public class DirectoryManager {
   }
 
   public String getNextFolderForUnSequenceFile() throws DiskSpaceInsufficientException {
-    try {
-      return unsequenceFileFolders.get(unsequenceStrategy.nextFolderIndex());
-    } catch (DiskSpaceInsufficientException e) {
-      logger.error("All disks of wal folders are full, change system mode to read-only.", e);
+    return getNextFolderForUnSequenceFile(0);
+  }
+
+  /** Get the next folder in the given tier, or a slower tier if the given one is full. */
+  public String getNextFolderForUnSequenceFile(int tier) throws DiskSpaceInsufficientException {
+    return getNextFolder(unsequenceTierFolders, unsequenceStrategies, tier);
+  }
+
+  private String getNextFolder(
+      List<List<String>> tierFolders, List<DirectoryStrategy> strategies, int tier)
+      throws DiskSpaceInsufficientException {
+    DiskSpaceInsufficientException exception = null;
+    for (int i = tier; i < tierFolders.size(); i++) {
+      DirectoryStrategy strategy = strategies.get(i);
+      if (strategy == null) {
+        continue;
+      }
+      try {
+        return tierFolders.get(i).get(strategy.nextFolderIndex());
+      } catch (DiskSpaceInsufficientException e) {
+        exception = e;
+      }
+    }
+    if (exception == null) {
+      exception =
+          new DiskSpaceInsufficientException(
+              flatten(tierFolders.subList(tier, tierFolders.size())));
+    }
+    // only new data files are allocated from the fastest tier, while the slower tiers being full
+    // just stops the migration
+    if (tier == 0) {
+      logger.error(
+          "All disks of wal folders are full, change system mode to read-only.", exception);
       CommonDescriptor.getInstance().getConfig().setNodeStatus(NodeStatus.ReadOnly);
-      throw e;
     }
+    throw exception;
   }
 
   public List<String> getAllUnSequenceFileFolders() {
@@ -177,19 +251,44 @@ public class DirectoryManager {
     return folders;
   }
 
+  public int getTierNum() {
+    return sequenceTierFolders.size();
+  }
+
+  /** Get the data dirs of the given tier, including both sequence and unsequence folders. */
+  public List<String> getTierFilesFolders(int tier) {
+    List<String> folders = new ArrayList<>(sequenceTierFolders.get(tier));
+    folders.addAll(unsequenceTierFolders.get(tier));
+    return folders;
+  }
+
+  /** Get the tier the given data file belongs to, or -1 if it is not in any data dir. */
+  public int getTierOfFile(File file) {
+    String path = file.getAbsolutePath();
+    for (int tier = 0; tier < sequenceTierFolders.size(); tier++) {
+      for (String folder : getTierFilesFolders(tier)) {
+        String folderPath = new File(folder).getAbsolutePath() + File.separator;
+        if (path.startsWith(folderPath)) {
+          return tier;
+        }
+      }
+    }
+    return -1;
+  }
+
   @TestOnly
   public void resetFolders() {
-    sequenceFileFolders =
-        new ArrayList<>(Arrays.asList(IoTDBDescriptor.getInstance().getConfig().getDataDirs()));
-    for (int i = 0; i < sequenceFileFolders.size(); i++) {
-      sequenceFileFolders.set(
-          i, sequenceFileFolders.get(i) + File.separator + IoTDBConstant.SEQUENCE_FLODER_NAME);
-    }
-    unsequenceFileFolders =
-        new ArrayList<>(Arrays.asList(IoTDBDescriptor.getInstance().getConfig().getDataDirs()));
-    for (int i = 0; i < unsequenceFileFolders.size(); i++) {
-      unsequenceFileFolders.set(
-          i, unsequenceFileFolders.get(i) + File.separator + IoTDBConstant.UNSEQUENCE_FLODER_NAME);
+    sequenceTierFolders = getTierFolders(IoTDBConstant.SEQUENCE_FLODER_NAME);
+    sequenceFileFolders = flatten(sequenceTierFolders);
+    unsequenceTierFolders = getTierFolders(IoTDBConstant.UNSEQUENCE_FLODER_NAME);
+    unsequenceFileFolders = flatten(unsequenceTierFolders);
+    try {
+      Class<?> clazz =
+          Class.forName(IoTDBDescriptor.getInstance().getConfig().getMultiDirStrategyClassName());
+      sequenceStrategies = createStrategies(clazz, sequenceTierFolders);
+      unsequenceStrategies = createStrategies(clazz, unsequenceTierFolders);
+    } catch (Exception e) {
+      logger.error("Fail to reset directory strategy.", e);
     }
   }
 
@@ -97,6 +97,16 @@ public class DataRegionConsensusImpl {
                                       .setWalThrottleThreshold(conf.getThrottleThreshold())
                                       .setAllocateMemoryForConsensus(
                                           conf.getAllocateMemoryForConsensus())
+                                      .setLogDispatcherThreadNum(
+                                          conf.getIotConsensusLogDispatcherThreadNum())
+                                      .setSnapshotCatchUpLagThreshold(
+                                          conf.getIotConsensusSnapshotCatchUpLagThreshold())
+                                      .setSnapshotTransferThreadNum(
+                                          conf.getIotConsensusSnapshotTransferThreadNum())
+                                      .setSnapshotTransferBytesPerSec(
+                                          conf.getIotConsensusSnapshotTransferThroughputMbPerSec()
+                                              * 1024L
+                                              * 1024L)
                                       .build())
                               .build())
                       .setRatisConfig(
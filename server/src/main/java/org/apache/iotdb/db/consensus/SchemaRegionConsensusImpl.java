@@ -133,6 +133,11 @@ public class SchemaRegionConsensusImpl {
                                       .setBufferByteLimit(
                                           conf.getSchemaRatisConsensusLogAppenderBufferSizeMax())
                                       .build())
+                              .setRead(
+                                  RatisConfig.Read.newBuilder()
+                                      .setLeaderLeaseEnabled(
+                                          conf.isSchemaRatisReadLeaderLeaseEnable())
+                                      .build())
                               .build())
                       .setStorageDir(conf.getSchemaRegionConsensusDir())
                       .build(),
@@ -20,12 +20,15 @@
 package org.apache.iotdb.db.consensus.statemachine;
 
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
 import org.apache.iotdb.consensus.common.request.BatchIndexedConsensusRequest;
 import org.apache.iotdb.consensus.common.request.ByteBufferConsensusRequest;
 import org.apache.iotdb.consensus.common.request.DeserializedBatchIndexedConsensusRequest;
 import org.apache.iotdb.consensus.common.request.IConsensusRequest;
 import org.apache.iotdb.consensus.common.request.IndexedConsensusRequest;
 import org.apache.iotdb.consensus.common.request.IoTConsensusRequest;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.storagegroup.DataRegion;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeType;
@@ -35,13 +38,24 @@ import org.apache.iotdb.rpc.TSStatusCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
 public class IoTConsensusDataRegionStateMachine extends DataRegionStateMachine {
 
   public Logger logger = LoggerFactory.getLogger(IoTConsensusDataRegionStateMachine.class);
 
+  // the batches with fewer requests are deserialized by the RPC thread alone, since the tasks cost
+  // more than the deserialization
+  private static final int MIN_REQUESTS_PER_SLICE = 64;
+
   public IoTConsensusDataRegionStateMachine(DataRegion region) {
     super(region);
   }
@@ -83,8 +97,8 @@ public class IoTConsensusDataRegionStateMachine extends DataRegionStateMachine {
               batchRequest.getStartSyncIndex(),
               batchRequest.getEndSyncIndex(),
               batchRequest.getRequests().size());
-      for (IndexedConsensusRequest indexedRequest : batchRequest.getRequests()) {
-        deserializedRequest.add(grabInsertNode(indexedRequest));
+      for (PlanNode planNode : grabInsertNodes(batchRequest.getRequests())) {
+        deserializedRequest.add(planNode);
       }
       result = deserializedRequest;
     } else {
@@ -93,6 +107,72 @@ public class IoTConsensusDataRegionStateMachine extends DataRegionStateMachine {
     return result;
   }
 
+  /**
+   * Deserialize the requests of a batch synced from the leader. A large batch is split into slices
+   * deserialized concurrently, while the requests are still written in the order of search index,
+   * which is relied on by WAL.
+   */
+  private List<PlanNode> grabInsertNodes(List<IndexedConsensusRequest> requests) {
+    return deserializeInSlices(
+        requests, this::grabInsertNode, DeserializerHolder.EXECUTOR, DeserializerHolder.THREAD_NUM);
+  }
+
+  /**
+   * Deserialize the requests in at most threadNum slices. The first slice is deserialized by the
+   * current thread and the others by the executor, or by the current thread as well if the executor
+   * rejects them. The results are in the order of the requests, and the exception thrown by any
+   * slice is rethrown.
+   *
+   * @param executor the executor for the slices except the first one, null if there is none
+   */
+  static <R, T> List<T> deserializeInSlices(
+      List<R> requests, Function<R, T> deserializer, ExecutorService executor, int threadNum) {
+    int sliceNum =
+        executor == null ? 1 : Math.min(threadNum, requests.size() / MIN_REQUESTS_PER_SLICE);
+    List<T> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+    if (sliceNum <= 1) {
+      deserializeSlice(requests, deserializer, results, 0, requests.size());
+      return results;
+    }
+    int sliceSize = (requests.size() + sliceNum - 1) / sliceNum;
+    List<Future<?>> futures = new ArrayList<>(sliceNum - 1);
+    try {
+      // the first slice is deserialized by the current thread
+      for (int start = sliceSize; start < requests.size(); start += sliceSize) {
+        int from = start;
+        int to = Math.min(start + sliceSize, requests.size());
+        futures.add(
+            executor.submit(() -> deserializeSlice(requests, deserializer, results, from, to)));
+      }
+    } catch (RejectedExecutionException e) {
+      // the executor is shut down, deserialize the rest slices by the current thread
+      int from = sliceSize * (futures.size() + 1);
+      deserializeSlice(requests, deserializer, results, from, requests.size());
+    }
+    deserializeSlice(requests, deserializer, results, 0, Math.min(sliceSize, requests.size()));
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted when deserializing synced requests", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+    return results;
+  }
+
+  private static <R, T> void deserializeSlice(
+      List<R> requests, Function<R, T> deserializer, List<T> results, int from, int to) {
+    for (int i = from; i < to; i++) {
+      results.set(i, deserializer.apply(requests.get(i)));
+    }
+  }
+
   @Override
   protected PlanNode getPlanNode(IConsensusRequest request) {
     PlanNode node;
@@ -108,4 +188,20 @@ public class IoTConsensusDataRegionStateMachine extends DataRegionStateMachine {
     }
     return node;
   }
+
+  /**
+   * The threads deserializing the synced requests, which are shared by all the DataRegions. They
+   * are daemon threads, since they only serve the RPC threads and hold no state to be cleaned up.
+   */
+  private static class DeserializerHolder {
+    private static final int THREAD_NUM =
+        IoTDBDescriptor.getInstance().getConfig().getIotConsensusSyncLogDeserializeThreadNum();
+    private static final ExecutorService EXECUTOR =
+        THREAD_NUM > 1
+            ? IoTDBThreadPoolFactory.newFixedThreadPoolWithDaemonThread(
+                THREAD_NUM - 1, ThreadName.IOT_CONSENSUS_SYNC_LOG_DESERIALIZER.getName())
+            : null;
+
+    private DeserializerHolder() {}
+  }
 }
@@ -46,6 +46,7 @@ import org.apache.iotdb.db.engine.flush.TsFileFlushPolicy.DirectFlushPolicy;
 import org.apache.iotdb.db.engine.load.LoadTsFileManager;
 import org.apache.iotdb.db.engine.storagegroup.DataRegion;
 import org.apache.iotdb.db.engine.storagegroup.TsFileProcessor;
+import org.apache.iotdb.db.engine.tier.TierMigrationService;
 import org.apache.iotdb.db.exception.DataRegionException;
 import org.apache.iotdb.db.exception.LoadFileException;
 import org.apache.iotdb.db.exception.StorageEngineException;
@@ -129,6 +130,7 @@ public class StorageEngine implements IService {
   private AtomicBoolean isAllSgReady = new AtomicBoolean(false);
 
   private ScheduledExecutorService ttlCheckThread;
+  private ScheduledExecutorService tierMigrationCheckThread;
   private ScheduledExecutorService seqMemtableTimedFlushCheckThread;
   private ScheduledExecutorService unseqMemtableTimedFlushCheckThread;
 
@@ -322,6 +324,19 @@ public class StorageEngine implements IService {
         TimeUnit.MILLISECONDS);
     logger.info("start ttl check thread successfully.");
 
+    if (TierMigrationService.getInstance().getTierNum() > 1) {
+      tierMigrationCheckThread =
+          IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+              ThreadName.TIER_MIGRATION_SERVICE.getName());
+      ScheduledExecutorUtil.safelyScheduleAtFixedRate(
+          tierMigrationCheckThread,
+          this::checkTierMigration,
+          config.getTierMigrationCheckIntervalInMs(),
+          config.getTierMigrationCheckIntervalInMs(),
+          TimeUnit.MILLISECONDS);
+      logger.info("start tier migration check thread successfully.");
+    }
+
     startTimedService();
   }
 
@@ -339,6 +354,20 @@ public class StorageEngine implements IService {
     }
   }
 
+  private void checkTierMigration() {
+    try {
+      for (DataRegion dataRegion : dataRegionMap.values()) {
+        if (dataRegion != null) {
+          dataRegion.checkTierMigration();
+        }
+      }
+    } catch (ConcurrentModificationException e) {
+      // ignore
+    } catch (Exception e) {
+      logger.error("An error occurred when checking tier migration", e);
+    }
+  }
+
   private void startTimedService() {
     // timed flush sequence memtable
     if (config.isEnableTimedFlushSeqMemtable()) {
@@ -394,6 +423,7 @@ public class StorageEngine implements IService {
     }
     syncCloseAllProcessor();
     ThreadUtils.stopThreadPool(ttlCheckThread, ThreadName.TTL_CHECK_SERVICE);
+    ThreadUtils.stopThreadPool(tierMigrationCheckThread, ThreadName.TIER_MIGRATION_SERVICE);
     ThreadUtils.stopThreadPool(
         seqMemtableTimedFlushCheckThread, ThreadName.TIMED_FLUSH_SEQ_MEMTABLE);
     ThreadUtils.stopThreadPool(
@@ -416,6 +446,7 @@ public class StorageEngine implements IService {
       throw new ShutdownException(e);
     }
     shutdownTimedService(ttlCheckThread, "TTlCheckThread");
+    shutdownTimedService(tierMigrationCheckThread, "TierMigrationCheckThread");
     shutdownTimedService(seqMemtableTimedFlushCheckThread, "SeqMemtableTimedFlushCheckThread");
     shutdownTimedService(unseqMemtableTimedFlushCheckThread, "UnseqMemtableTimedFlushCheckThread");
     cachedThreadPool.shutdownNow();
@@ -37,6 +37,9 @@ public interface ICompactionPerformer {
 
   void setSummary(CompactionTaskSummary summary);
 
+  /** Set the ttl of the data region, the data expired by which is dropped from the target files. */
+  void setDataTTL(long dataTTL);
+
   default void setSourceFiles(List<TsFileResource> files) {
     throw new RuntimeException("Cannot set single type of source files to this kind of performer");
   }
@@ -35,6 +35,7 @@ import org.apache.iotdb.db.engine.compaction.execute.utils.writer.AbstractCompac
 import org.apache.iotdb.db.engine.compaction.execute.utils.writer.FastCrossCompactionWriter;
 import org.apache.iotdb.db.engine.compaction.execute.utils.writer.FastInnerCompactionWriter;
 import org.apache.iotdb.db.engine.compaction.schedule.CompactionTaskManager;
+import org.apache.iotdb.db.engine.modification.Deletion;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.exception.StorageEngineException;
@@ -85,6 +86,8 @@ public class FastCompactionPerformer
 
   private long tempFileSize = 0L;
 
+  private long dataTTL = Long.MAX_VALUE;
+
   public FastCompactionPerformer(
       List<TsFileResource> seqFiles,
       List<TsFileResource> unseqFiles,
@@ -115,6 +118,7 @@ public class FastCompactionPerformer
             isCrossCompaction
                 ? new FastCrossCompactionWriter(targetFiles, seqFiles, readerCacheMap)
                 : new FastInnerCompactionWriter(targetFiles.get(0))) {
+      cacheTTLDeletions();
       while (deviceIterator.hasNextDevice()) {
         checkThreadInterrupted();
         Pair<String, Boolean> deviceInfo = deviceIterator.nextDevice();
@@ -165,6 +169,25 @@ public class FastCompactionPerformer
     }
   }
 
+  /**
+   * Add the deletion of the expired data to the cached modifications of each source file that
+   * contains expired data, so that it is dropped the same way as the deleted data.
+   */
+  private void cacheTTLDeletions() {
+    long ttlLowerBound = CompactionUtils.getTTLLowerBound(dataTTL);
+    List<TsFileResource> sourceFiles = new ArrayList<>(seqFiles);
+    sourceFiles.addAll(unseqFiles);
+    for (TsFileResource resource : sourceFiles) {
+      Deletion ttlDeletion = CompactionUtils.getTTLDeletion(resource, ttlLowerBound);
+      if (ttlDeletion != null) {
+        List<Modification> modifications =
+            new ArrayList<>(resource.getModFile().getModifications());
+        modifications.add(ttlDeletion);
+        modificationCache.put(resource, modifications);
+      }
+    }
+  }
+
   private void compactAlignedSeries(
       String deviceId,
       MultiTsFileDeviceIterator deviceIterator,
@@ -278,6 +301,11 @@ public class FastCompactionPerformer
     this.subTaskSummary = (FastCompactionTaskSummary) summary;
   }
 
+  @Override
+  public void setDataTTL(long dataTTL) {
+    this.dataTTL = dataTTL;
+  }
+
   @Override
   public void setSourceFiles(List<TsFileResource> seqFiles, List<TsFileResource> unseqFiles) {
     this.seqFiles = seqFiles;
@@ -25,10 +25,12 @@ import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.TsFileMetricManager;
 import org.apache.iotdb.db.engine.compaction.execute.performer.ISeqCompactionPerformer;
 import org.apache.iotdb.db.engine.compaction.execute.task.CompactionTaskSummary;
+import org.apache.iotdb.db.engine.compaction.execute.utils.CompactionUtils;
 import org.apache.iotdb.db.engine.compaction.execute.utils.MultiTsFileDeviceIterator;
 import org.apache.iotdb.db.engine.compaction.execute.utils.executor.readchunk.AlignedSeriesCompactionExecutor;
 import org.apache.iotdb.db.engine.compaction.execute.utils.executor.readchunk.SingleSeriesCompactionExecutor;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResourceStatus;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.rescon.SystemInfo;
 import org.apache.iotdb.tsfile.file.metadata.AlignedChunkMetadata;
@@ -51,6 +53,7 @@ public class ReadChunkCompactionPerformer implements ISeqCompactionPerformer {
   private List<TsFileResource> seqFiles;
   private CompactionTaskSummary summary;
   private long tempFileSize = 0L;
+  private long dataTTL = Long.MAX_VALUE;
 
   public ReadChunkCompactionPerformer(List<TsFileResource> sourceFiles, TsFileResource targetFile) {
     this.seqFiles = sourceFiles;
@@ -76,6 +79,7 @@ public class ReadChunkCompactionPerformer implements ISeqCompactionPerformer {
     try (MultiTsFileDeviceIterator deviceIterator = new MultiTsFileDeviceIterator(seqFiles);
         TsFileIOWriter writer =
             new TsFileIOWriter(targetResource.getTsFile(), true, sizeForFileWriter)) {
+      deviceIterator.setTTLLowerBound(CompactionUtils.getTTLLowerBound(dataTTL));
       while (deviceIterator.hasNextDevice()) {
         Pair<String, Boolean> deviceInfo = deviceIterator.nextDevice();
         String device = deviceInfo.left;
@@ -97,6 +101,10 @@ public class ReadChunkCompactionPerformer implements ISeqCompactionPerformer {
         targetResource.updatePlanIndexes(tsFileResource);
       }
       writer.endFile();
+      if (targetResource.getDevices().isEmpty()) {
+        // all the data in source files is deleted or expired
+        targetResource.setStatus(TsFileResourceStatus.DELETED);
+      }
     } finally {
       TsFileMetricManager.getInstance().addCompactionTempFileSize(true, true, -tempFileSize);
       TsFileMetricManager.getInstance().addCompactionTempFileNum(true, true, -1);
@@ -119,6 +127,11 @@ public class ReadChunkCompactionPerformer implements ISeqCompactionPerformer {
     this.summary = summary;
   }
 
+  @Override
+  public void setDataTTL(long dataTTL) {
+    this.dataTTL = dataTTL;
+  }
+
   private void compactAlignedSeries(
       String device,
       TsFileResource targetResource,
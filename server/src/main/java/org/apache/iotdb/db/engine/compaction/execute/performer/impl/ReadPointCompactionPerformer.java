@@ -76,6 +76,7 @@ public class ReadPointCompactionPerformer
 
   private List<TsFileResource> targetFiles = Collections.emptyList();
   private long tempFileSize = 0L;
+  private long dataTTL = Long.MAX_VALUE;
 
   public ReadPointCompactionPerformer(
       List<TsFileResource> seqFiles,
@@ -100,6 +101,7 @@ public class ReadPointCompactionPerformer
     FragmentInstanceContext fragmentInstanceContext =
         FragmentInstanceContext.createFragmentInstanceContextForCompaction(queryId);
     QueryDataSource queryDataSource = new QueryDataSource(seqFiles, unseqFiles);
+    queryDataSource.setDataTTL(dataTTL);
     QueryResourceManager.getInstance()
         .getQueryFileManager()
         .addUsedFilesForQuery(queryId, queryDataSource);
@@ -148,6 +150,11 @@ public class ReadPointCompactionPerformer
     this.summary = summary;
   }
 
+  @Override
+  public void setDataTTL(long dataTTL) {
+    this.dataTTL = dataTTL;
+  }
+
   private void compactAlignedSeries(
       String device,
       MultiTsFileDeviceIterator deviceIterator,
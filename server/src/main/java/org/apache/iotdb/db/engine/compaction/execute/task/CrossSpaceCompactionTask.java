@@ -28,6 +28,8 @@ import org.apache.iotdb.db.engine.compaction.execute.performer.impl.FastCompacti
 import org.apache.iotdb.db.engine.compaction.execute.task.subtask.FastCompactionTaskSummary;
 import org.apache.iotdb.db.engine.compaction.execute.utils.CompactionUtils;
 import org.apache.iotdb.db.engine.compaction.execute.utils.log.CompactionLogger;
+import org.apache.iotdb.db.engine.compaction.selector.estimator.CompactionMemoryCorrector;
+import org.apache.iotdb.db.engine.compaction.selector.utils.CrossCompactionTaskResource;
 import org.apache.iotdb.db.engine.storagegroup.TsFileManager;
 import org.apache.iotdb.db.engine.storagegroup.TsFileNameGenerator;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
@@ -64,6 +66,9 @@ public class CrossSpaceCompactionTask extends AbstractCompactionTask {
   protected double selectedSeqFileSize = 0;
   protected double selectedUnseqFileSize = 0;
   protected long memoryCost = 0L;
+  // the selected task resource, which is shrunk if there is not enough memory for the task
+  protected CrossCompactionTaskResource taskResource;
+  private boolean memoryReserved = false;
 
   public CrossSpaceCompactionTask(
       long timePartition,
@@ -95,14 +100,27 @@ public class CrossSpaceCompactionTask extends AbstractCompactionTask {
     createSummary();
   }
 
+  public CrossSpaceCompactionTask(
+      long timePartition,
+      TsFileManager tsFileManager,
+      CrossCompactionTaskResource taskResource,
+      ICrossCompactionPerformer performer,
+      AtomicInteger currentTaskNum,
+      long serialId) {
+    this(
+        timePartition,
+        tsFileManager,
+        taskResource.getSeqFiles(),
+        taskResource.getUnseqFiles(),
+        performer,
+        currentTaskNum,
+        taskResource.getTotalMemoryCost(),
+        serialId);
+    this.taskResource = taskResource;
+  }
+
   @Override
   public void doCompaction() {
-    try {
-      SystemInfo.getInstance().addCompactionMemoryCost(memoryCost);
-    } catch (InterruptedException e) {
-      LOGGER.error("Interrupted when allocating memory for compaction", e);
-      return;
-    }
     try {
       if (!tsFileManager.isAllowCompaction()) {
         return;
@@ -157,7 +175,16 @@ public class CrossSpaceCompactionTask extends AbstractCompactionTask {
         performer.setSourceFiles(selectedSequenceFiles, selectedUnsequenceFiles);
         performer.setTargetFiles(targetTsfileResourceList);
         performer.setSummary(summary);
-        performer.perform();
+        performer.setDataTTL(tsFileManager.getDataTTL());
+        CompactionMemoryCorrector.Observation observation =
+            CompactionMemoryCorrector.getInstance().startObserving(memoryCost);
+        boolean performed = false;
+        try {
+          performer.perform();
+          performed = true;
+        } finally {
+          CompactionMemoryCorrector.getInstance().finishObserving(observation, performed);
+        }
 
         CompactionUtils.moveTargetFile(
             targetTsfileResourceList, false, storageGroupName + "-" + dataRegionId);
@@ -221,6 +248,8 @@ public class CrossSpaceCompactionTask extends AbstractCompactionTask {
         for (TsFileResource targetResource : targetTsfileResourceList) {
           if (!targetResource.isDeleted()) {
             TsFileMetricManager.getInstance().addFile(targetResource.getTsFileSize(), true);
+            CompactionMetricsManager.getInstance()
+                .reportCompactedFile(true, true, targetResource.getTsFileSize());
 
             // set target resources to CLOSED, so that they can be selected to compact
             targetResource.setStatus(TsFileResourceStatus.CLOSED);
@@ -272,7 +301,7 @@ public class CrossSpaceCompactionTask extends AbstractCompactionTask {
           false,
           true);
     } finally {
-      SystemInfo.getInstance().resetCompactionMemoryCost(memoryCost);
+      releaseMemory();
       releaseAllLock();
     }
   }
@@ -374,7 +403,86 @@ public class CrossSpaceCompactionTask extends AbstractCompactionTask {
 
   @Override
   public boolean checkValidAndSetMerging() {
-    return addReadLock(selectedSequenceFiles) && addReadLock(selectedUnsequenceFiles);
+    if (!reserveMemory()) {
+      resetCompactionCandidateStatusForAllSourceFiles();
+      return false;
+    }
+    if (addReadLock(selectedSequenceFiles) && addReadLock(selectedUnsequenceFiles)) {
+      return true;
+    }
+    releaseMemory();
+    return false;
+  }
+
+  /**
+   * Reserve the memory of this task before it starts. If there is not enough memory, the task is
+   * shrunk to the source files whose memory cost is within the available memory rather than waiting
+   * for the memory of all the source files. The task only waits if even the smallest task cannot be
+   * admitted, and it never reserves more than the memory for compaction, otherwise it will wait
+   * forever.
+   */
+  private boolean reserveMemory() {
+    SystemInfo systemInfo = SystemInfo.getInstance();
+    memoryCost = Math.min(memoryCost, systemInfo.getMemorySizeForCompaction());
+    if (systemInfo.tryAddCompactionMemoryCost(memoryCost)) {
+      memoryReserved = true;
+      return true;
+    }
+    if (taskResource != null) {
+      CrossCompactionTaskResource shrunkResource =
+          taskResource.shrink(systemInfo.getAvailableCompactionMemory());
+      if (shrunkResource != taskResource && shrunkResource.isValid()) {
+        shrink(shrunkResource);
+      }
+    }
+    try {
+      systemInfo.addCompactionMemoryCost(memoryCost);
+    } catch (InterruptedException e) {
+      LOGGER.warn(
+          "{}-{} [Compaction] Interrupted when allocating memory for compaction",
+          storageGroupName,
+          dataRegionId);
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    memoryReserved = true;
+    return true;
+  }
+
+  private void shrink(CrossCompactionTaskResource shrunkResource) {
+    LOGGER.info(
+        "{}-{} [Compaction] Not enough memory for cross space compaction task with {} seq files and {} unseq files, "
+            + "shrink it to {} seq files and {} unseq files, memory cost from {} to {}",
+        storageGroupName,
+        dataRegionId,
+        selectedSequenceFiles.size(),
+        selectedUnsequenceFiles.size(),
+        shrunkResource.getSeqFiles().size(),
+        shrunkResource.getUnseqFiles().size(),
+        memoryCost,
+        shrunkResource.getTotalMemoryCost());
+    // the dropped files can be selected by other tasks again
+    selectedSequenceFiles.stream()
+        .filter(x -> !shrunkResource.getSeqFiles().contains(x))
+        .forEach(x -> x.setStatus(TsFileResourceStatus.CLOSED));
+    selectedUnsequenceFiles.stream()
+        .filter(x -> !shrunkResource.getUnseqFiles().contains(x))
+        .forEach(x -> x.setStatus(TsFileResourceStatus.CLOSED));
+    taskResource = shrunkResource;
+    selectedSequenceFiles = shrunkResource.getSeqFiles();
+    selectedUnsequenceFiles = shrunkResource.getUnseqFiles();
+    memoryCost =
+        Math.min(
+            shrunkResource.getTotalMemoryCost(),
+            SystemInfo.getInstance().getMemorySizeForCompaction());
+    hashCode = this.toString().hashCode();
+  }
+
+  private void releaseMemory() {
+    if (memoryReserved) {
+      SystemInfo.getInstance().resetCompactionMemoryCost(memoryCost);
+      memoryReserved = false;
+    }
   }
 
   private boolean addReadLock(List<TsFileResource> tsFileResourceList) {
@@ -146,6 +146,7 @@ public class InnerSpaceCompactionTask extends AbstractCompactionTask {
       // mutable list instead of Collections.singletonList()
       performer.setTargetFiles(targetTsFileList);
       performer.setSummary(summary);
+      performer.setDataTTL(tsFileManager.getDataTTL());
       performer.perform();
 
       CompactionUtils.moveTargetFile(targetTsFileList, true, storageGroupName + "-" + dataRegionId);
@@ -238,6 +239,8 @@ public class InnerSpaceCompactionTask extends AbstractCompactionTask {
       if (!targetTsFileResource.isDeleted()) {
         TsFileMetricManager.getInstance()
             .addFile(targetTsFileResource.getTsFile().length(), sequence);
+        CompactionMetricsManager.getInstance()
+            .reportCompactedFile(false, sequence, targetTsFileResource.getTsFile().length());
 
         // set target resource to CLOSED, so that it can be selected to compact
         targetTsFileResource.setStatus(TsFileResourceStatus.CLOSED);
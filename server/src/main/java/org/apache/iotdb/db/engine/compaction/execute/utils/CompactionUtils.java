@@ -19,11 +19,14 @@
 package org.apache.iotdb.db.engine.compaction.execute.utils;
 
 import org.apache.iotdb.commons.conf.IoTDBConstant;
+import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.db.engine.TsFileMetricManager;
+import org.apache.iotdb.db.engine.modification.Deletion;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.storagegroup.TsFileManager;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.utils.DateTimeUtils;
 import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
@@ -297,4 +300,33 @@ public class CompactionUtils {
     }
     return true;
   }
+
+  /**
+   * Get the lower bound of the time alive under the ttl, the data before which is expired and
+   * dropped by compaction.
+   */
+  public static long getTTLLowerBound(long dataTTL) {
+    if (dataTTL == Long.MAX_VALUE) {
+      return Long.MIN_VALUE;
+    }
+    long currentTime = DateTimeUtils.currentTime();
+    return currentTime < Long.MIN_VALUE + dataTTL ? Long.MIN_VALUE : currentTime - dataTTL;
+  }
+
+  /**
+   * Get the deletion covering the data expired in the file, so that the performers drop the expired
+   * data the same way as the deleted data.
+   *
+   * @return the deletion of all series, or null if there is no expired data in the file
+   */
+  public static Deletion getTTLDeletion(TsFileResource resource, long ttlLowerBound) {
+    if (ttlLowerBound == Long.MIN_VALUE || resource.getFileStartTime() >= ttlLowerBound) {
+      return null;
+    }
+    return new Deletion(
+        new PartialPath(
+            new String[] {IoTDBConstant.PATH_ROOT, IoTDBConstant.MULTI_LEVEL_PATH_WILDCARD}),
+        Long.MAX_VALUE,
+        ttlLowerBound - 1);
+  }
 }
@@ -20,6 +20,7 @@ package org.apache.iotdb.db.engine.compaction.execute.utils;
 
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.engine.modification.Deletion;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
@@ -57,6 +58,8 @@ public class MultiTsFileDeviceIterator implements AutoCloseable {
   private final Map<TsFileResource, TsFileDeviceIterator> deviceIteratorMap = new HashMap<>();
   private final Map<TsFileResource, List<Modification>> modificationCache = new HashMap<>();
   private Pair<String, Boolean> currentDevice = null;
+  // the data before it is expired, which is dropped as deleted
+  private long ttlLowerBound = Long.MIN_VALUE;
 
   /** Used for inner space compaction. */
   public MultiTsFileDeviceIterator(List<TsFileResource> tsFileResources) throws IOException {
@@ -115,6 +118,25 @@ public class MultiTsFileDeviceIterator implements AutoCloseable {
     }
   }
 
+  public void setTTLLowerBound(long ttlLowerBound) {
+    this.ttlLowerBound = ttlLowerBound;
+  }
+
+  /** Get the normal modifications of the file together with the deletion of the expired data. */
+  private List<Modification> getModifications(TsFileResource tsFileResource) {
+    return modificationCache.computeIfAbsent(
+        tsFileResource,
+        r -> {
+          List<Modification> modifications =
+              new ArrayList<>(ModificationFile.getNormalMods(r).getModifications());
+          Deletion ttlDeletion = CompactionUtils.getTTLDeletion(r, ttlLowerBound);
+          if (ttlDeletion != null) {
+            modifications.add(ttlDeletion);
+          }
+          return modifications;
+        });
+  }
+
   public boolean hasNextDevice() {
     boolean hasNext = false;
     for (TsFileDeviceIterator iterator : deviceIteratorMap.values()) {
@@ -339,13 +361,11 @@ public class MultiTsFileDeviceIterator implements AutoCloseable {
    */
   private void applyModificationForAlignedChunkMetadataList(
       TsFileResource tsFileResource, List<AlignedChunkMetadata> alignedChunkMetadataList) {
-    ModificationFile modificationFile = ModificationFile.getNormalMods(tsFileResource);
-    if (!modificationFile.exists()) {
+    if (!ModificationFile.getNormalMods(tsFileResource).exists()
+        && CompactionUtils.getTTLDeletion(tsFileResource, ttlLowerBound) == null) {
       return;
     }
-    List<Modification> modifications =
-        modificationCache.computeIfAbsent(
-            tsFileResource, r -> new ArrayList<>(modificationFile.getModifications()));
+    List<Modification> modifications = getModifications(tsFileResource);
 
     // construct the input params List<List<Modification>> for QueryUtils.modifyAlignedChunkMetaData
     AlignedChunkMetadata alignedChunkMetadata = alignedChunkMetadataList.get(0);
@@ -356,12 +376,10 @@ public class MultiTsFileDeviceIterator implements AutoCloseable {
     }
 
     for (Modification modification : modifications) {
-      if (modification.getDevice().equals(currentDevice.left)) {
-        for (int i = 0; i < valueChunkMetadataList.size(); ++i) {
-          IChunkMetadata chunkMetadata = valueChunkMetadataList.get(i);
-          if (modification.getMeasurement().equals(chunkMetadata.getMeasurementUid())) {
-            modificationForCurDevice.get(i).add(modification);
-          }
+      for (int i = 0; i < valueChunkMetadataList.size(); ++i) {
+        IChunkMetadata chunkMetadata = valueChunkMetadataList.get(i);
+        if (matchSeries(modification, chunkMetadata.getMeasurementUid())) {
+          modificationForCurDevice.get(i).add(modification);
         }
       }
     }
@@ -370,6 +388,19 @@ public class MultiTsFileDeviceIterator implements AutoCloseable {
         alignedChunkMetadataList, modificationForCurDevice);
   }
 
+  private boolean matchSeries(Modification modification, String measurement) {
+    if (!modification.getPath().hasWildcard()) {
+      return modification.getDevice().equals(currentDevice.left)
+          && modification.getMeasurement().equals(measurement);
+    }
+    try {
+      // the deletion of the expired data is a path pattern
+      return modification.getPath().matchFullPath(new PartialPath(currentDevice.left, measurement));
+    } catch (IllegalPathException e) {
+      return false;
+    }
+  }
+
   @Override
   public void close() throws IOException {
     for (TsFileSequenceReader reader : readerMap.values()) {
@@ -516,10 +547,7 @@ public class MultiTsFileDeviceIterator implements AutoCloseable {
               chunkMetadataListMap.get(currentCompactingSeries);
           chunkMetadataListMap.remove(currentCompactingSeries);
 
-          List<Modification> modificationsInThisResource =
-              modificationCache.computeIfAbsent(
-                  resource,
-                  r -> new LinkedList<>(ModificationFile.getNormalMods(r).getModifications()));
+          List<Modification> modificationsInThisResource = getModifications(resource);
           LinkedList<Modification> modificationForCurrentSeries = new LinkedList<>();
           // collect the modifications for current series
           for (Modification modification : modificationsInThisResource) {
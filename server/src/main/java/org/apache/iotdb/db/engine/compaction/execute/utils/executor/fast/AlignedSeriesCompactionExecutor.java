@@ -25,6 +25,7 @@ import org.apache.iotdb.db.engine.compaction.execute.utils.executor.fast.element
 import org.apache.iotdb.db.engine.compaction.execute.utils.executor.fast.element.FileElement;
 import org.apache.iotdb.db.engine.compaction.execute.utils.executor.fast.element.PageElement;
 import org.apache.iotdb.db.engine.compaction.execute.utils.writer.AbstractCompactionWriter;
+import org.apache.iotdb.db.engine.compaction.schedule.CompactionIOThrottler;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.exception.WriteProcessException;
@@ -301,6 +302,18 @@ public class AlignedSeriesCompactionExecutor extends SeriesCompactionExecutor {
               .readMemChunk((ChunkMetadata) valueChunkMetadata));
     }
     chunkMetadataElement.valueChunks = valueChunks;
+
+    long chunkSize = getChunkSize(chunkMetadataElement.chunk);
+    for (Chunk valueChunk : valueChunks) {
+      if (valueChunk != null) {
+        chunkSize += getChunkSize(valueChunk);
+      }
+    }
+    CompactionIOThrottler.getInstance().acquireRead(chunkSize);
+  }
+
+  private long getChunkSize(Chunk chunk) {
+    return (long) chunk.getHeader().getSerializedSize() + chunk.getHeader().getDataSize();
   }
 
   /**
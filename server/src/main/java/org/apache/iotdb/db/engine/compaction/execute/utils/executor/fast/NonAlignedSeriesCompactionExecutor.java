@@ -25,6 +25,7 @@ import org.apache.iotdb.db.engine.compaction.execute.utils.executor.fast.element
 import org.apache.iotdb.db.engine.compaction.execute.utils.executor.fast.element.FileElement;
 import org.apache.iotdb.db.engine.compaction.execute.utils.executor.fast.element.PageElement;
 import org.apache.iotdb.db.engine.compaction.execute.utils.writer.AbstractCompactionWriter;
+import org.apache.iotdb.db.engine.compaction.schedule.CompactionIOThrottler;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.exception.WriteProcessException;
@@ -178,6 +179,9 @@ public class NonAlignedSeriesCompactionExecutor extends SeriesCompactionExecutor
         readerCacheMap
             .get(chunkMetadataElement.fileElement.resource)
             .readMemChunk((ChunkMetadata) chunkMetadataElement.chunkMetadata);
+    ChunkHeader chunkHeader = chunkMetadataElement.chunk.getHeader();
+    CompactionIOThrottler.getInstance()
+        .acquireRead((long) chunkHeader.getSerializedSize() + chunkHeader.getDataSize());
 
     if (!hasStartMeasurement) {
       // for nonAligned sensors, only after getting chunkMetadatas can we create schema to start
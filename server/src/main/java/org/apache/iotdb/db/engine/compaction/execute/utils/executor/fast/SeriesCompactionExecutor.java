@@ -253,7 +253,7 @@ public abstract class SeriesCompactionExecutor {
     } else {
       success =
           compactionWriter.flushNonAlignedPage(
-              pageElement.pageData, pageElement.pageHeader, subTaskId);
+              pageElement.pageData, pageElement.pageHeader, pageElement.encoding, subTaskId);
     }
     if (success) {
       // flush the page successfully, then remove this page
@@ -19,6 +19,7 @@
 package org.apache.iotdb.db.engine.compaction.execute.utils.executor.fast.element;
 
 import org.apache.iotdb.tsfile.file.header.PageHeader;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.reader.IChunkReader;
 import org.apache.iotdb.tsfile.read.reader.chunk.AlignedChunkReader;
@@ -53,6 +54,9 @@ public class PageElement {
 
   public ChunkMetadataElement chunkMetadataElement;
 
+  // the encoding of the nonAligned page, which may differ between the chunks of the same series
+  public TSEncoding encoding;
+
   public PageElement(
       PageHeader pageHeader,
       ByteBuffer pageData,
@@ -66,6 +70,7 @@ public class PageElement {
     this.iChunkReader = chunkReader;
     this.startTime = pageHeader.getStartTime();
     this.chunkMetadataElement = chunkMetadataElement;
+    this.encoding = chunkMetadataElement.chunk.getHeader().getEncodingType();
     this.isLastPage = isLastPage;
   }
 
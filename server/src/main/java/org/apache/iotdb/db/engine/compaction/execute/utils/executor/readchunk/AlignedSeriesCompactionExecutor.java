@@ -22,15 +22,21 @@ import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.TsFileMetricManager;
 import org.apache.iotdb.db.engine.cache.ChunkCache;
 import org.apache.iotdb.db.engine.compaction.execute.task.CompactionTaskSummary;
+import org.apache.iotdb.db.engine.compaction.schedule.CompactionIOThrottler;
 import org.apache.iotdb.db.engine.compaction.schedule.CompactionTaskManager;
 import org.apache.iotdb.db.engine.compaction.schedule.constant.CompactionType;
 import org.apache.iotdb.db.engine.compaction.schedule.constant.ProcessChunkType;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.service.metrics.recorder.CompactionMetricsManager;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.exception.write.PageException;
+import org.apache.iotdb.tsfile.file.MetaMarker;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
+import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.AlignedChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.TsFileAlignedSeriesReaderIterator;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Chunk;
@@ -46,6 +52,7 @@ import org.apache.iotdb.tsfile.write.writer.TsFileIOWriter;
 import com.google.common.util.concurrent.RateLimiter;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -72,6 +79,17 @@ public class AlignedSeriesCompactionExecutor {
   private final long chunkPointNumThreshold =
       IoTDBDescriptor.getInstance().getConfig().getTargetChunkPointNum();
 
+  // the page smaller than these is deserialized to be merged with its neighbours rather than copied
+  private final long pageSizeLowerBound =
+      IoTDBDescriptor.getInstance().getConfig().getChunkSizeLowerBoundInCompaction() / 10;
+  private final long pagePointNumLowerBound =
+      IoTDBDescriptor.getInstance().getConfig().getChunkPointNumLowerBoundInCompaction() / 10;
+  private final TSEncoding timeEncoding =
+      TSEncoding.valueOf(TSFileDescriptor.getInstance().getConfig().getTimeEncoder());
+
+  // the end time of the data written into the chunk writer
+  private long lastTime = Long.MIN_VALUE;
+
   public AlignedSeriesCompactionExecutor(
       String device,
       TsFileResource targetResource,
@@ -146,8 +164,12 @@ public class AlignedSeriesCompactionExecutor {
         summary.increaseProcessChunkNum(nextAlignedChunkInfo.getNotNullChunkNum());
         summary.increaseProcessPointNum(nextAlignedChunkInfo.getTotalPointNum());
         CompactionMetricsManager.getInstance().recordReadInfo(nextAlignedChunkInfo.getTotalSize());
-        compactOneAlignedChunk(
-            nextAlignedChunkInfo.getReader(), nextAlignedChunkInfo.getNotNullChunkNum());
+        CompactionIOThrottler.getInstance().acquireRead(nextAlignedChunkInfo.getTotalSize());
+        if (!compactOneAlignedChunkByPage(
+            nextAlignedChunkInfo.getTimeChunk(), nextAlignedChunkInfo.getValueChunks())) {
+          compactOneAlignedChunk(
+              nextAlignedChunkInfo.getReader(), nextAlignedChunkInfo.getNotNullChunkNum());
+        }
       }
     }
 
@@ -182,6 +204,7 @@ public class AlignedSeriesCompactionExecutor {
 
         targetResource.updateStartTime(device, time);
         targetResource.updateEndTime(device, time);
+        lastTime = time;
 
         batchDataIterator.next();
       }
@@ -189,6 +212,132 @@ public class AlignedSeriesCompactionExecutor {
     flushChunkWriterIfLargeEnough();
   }
 
+  /**
+   * Append the compressed pages of the time chunk and the value chunks into the chunk writer
+   * directly without decoding them, and the chunk writer only merges the statistics of the pages
+   * into the statistics of the chunk. The chunk is not appended by page if it has deletions,
+   * overlaps with the data written, is encoded or compressed differently from the chunk writer, or
+   * has any small page, and there must be no small unsealed page in the chunk writer.
+   *
+   * @return true if the chunk is appended by page, else the chunk should be deserialized
+   */
+  private boolean compactOneAlignedChunkByPage(Chunk timeChunk, Chunk[] valueChunks)
+      throws IOException {
+    if (!isChunkAppendableByPage(timeChunk, valueChunks)
+        || !chunkWriter.checkIsUnsealedPageOverThreshold(
+            pageSizeLowerBound, pagePointNumLowerBound, true)) {
+      return false;
+    }
+    List<PageHeader> timePageHeaders = new ArrayList<>();
+    List<ByteBuffer> timePageDatas = new ArrayList<>();
+    readPagesWithoutUncompressing(timeChunk, timePageHeaders, timePageDatas);
+    List<List<PageHeader>> valuePageHeaders = new ArrayList<>();
+    List<List<ByteBuffer>> valuePageDatas = new ArrayList<>();
+    for (Chunk valueChunk : valueChunks) {
+      if (valueChunk == null || valueChunk.getHeader().getDataSize() == 0) {
+        // the series does not exist in this chunk or all of its values are null
+        valuePageHeaders.add(null);
+        valuePageDatas.add(null);
+        continue;
+      }
+      List<PageHeader> pageHeaders = new ArrayList<>();
+      List<ByteBuffer> pageDatas = new ArrayList<>();
+      readPagesWithoutUncompressing(valueChunk, pageHeaders, pageDatas);
+      if (pageHeaders.size() != timePageHeaders.size()) {
+        return false;
+      }
+      valuePageHeaders.add(pageHeaders);
+      valuePageDatas.add(pageDatas);
+    }
+    for (PageHeader timePageHeader : timePageHeaders) {
+      if (timePageHeader.getStatistics().getCount() < pagePointNumLowerBound
+          && timePageHeader.getSerializedPageSize() < pageSizeLowerBound) {
+        return false;
+      }
+    }
+
+    chunkWriter.sealCurrentPage();
+    try {
+      for (int i = 0; i < timePageHeaders.size(); i++) {
+        PageHeader timePageHeader = timePageHeaders.get(i);
+        chunkWriter.writePageHeaderAndDataIntoTimeBuff(timePageDatas.get(i), timePageHeader);
+        for (int j = 0; j < valuePageHeaders.size(); j++) {
+          if (valuePageHeaders.get(j) == null
+              || valuePageHeaders.get(j).get(i).getUncompressedSize() == 0) {
+            // an empty page has no statistics, whose values are all null
+            chunkWriter.getValueChunkWriterByIndex(j).writeEmptyPageToPageBuffer();
+          } else {
+            chunkWriter.writePageHeaderAndDataIntoValueBuff(
+                valuePageDatas.get(j).get(i), valuePageHeaders.get(j).get(i), j);
+          }
+        }
+        remainingPointInChunkWriter += timePageHeader.getStatistics().getCount();
+        targetResource.updateStartTime(device, timePageHeader.getStartTime());
+        targetResource.updateEndTime(device, timePageHeader.getEndTime());
+        lastTime = timePageHeader.getEndTime();
+      }
+    } catch (PageException e) {
+      throw new IOException(e);
+    }
+    flushChunkWriterIfLargeEnough();
+    return true;
+  }
+
+  private boolean isChunkAppendableByPage(Chunk timeChunk, Chunk[] valueChunks) {
+    ChunkHeader timeChunkHeader = timeChunk.getHeader();
+    if (hasDeletion(timeChunk)
+        || timeChunk.getChunkStatistic().getStartTime() <= lastTime
+        || timeChunkHeader.getEncodingType() != timeEncoding
+        || timeChunkHeader.getCompressionType() != schemaList.get(0).getCompressor()) {
+      return false;
+    }
+    for (int i = 0; i < valueChunks.length; i++) {
+      if (valueChunks[i] == null) {
+        continue;
+      }
+      ChunkHeader valueChunkHeader = valueChunks[i].getHeader();
+      IMeasurementSchema schema = schemaList.get(i);
+      if (hasDeletion(valueChunks[i])
+          || valueChunkHeader.getDataType() != schema.getType()
+          || valueChunkHeader.getEncodingType() != schema.getEncodingType()
+          || valueChunkHeader.getCompressionType() != schema.getCompressor()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean hasDeletion(Chunk chunk) {
+    return chunk.getDeleteIntervalList() != null && !chunk.getDeleteIntervalList().isEmpty();
+  }
+
+  /** Read the pages of the chunk, whose data is not consumed. */
+  private void readPagesWithoutUncompressing(
+      Chunk chunk, List<PageHeader> pageHeaders, List<ByteBuffer> pageDatas) throws IOException {
+    ByteBuffer chunkDataBuffer = chunk.getData().duplicate();
+    ChunkHeader chunkHeader = chunk.getHeader();
+    while (chunkDataBuffer.remaining() > 0) {
+      PageHeader pageHeader;
+      if (((byte) (chunkHeader.getChunkType() & 0x3F)) == MetaMarker.ONLY_ONE_PAGE_CHUNK_HEADER) {
+        pageHeader = PageHeader.deserializeFrom(chunkDataBuffer, chunk.getChunkStatistic());
+      } else {
+        pageHeader = PageHeader.deserializeFrom(chunkDataBuffer, chunkHeader.getDataType());
+      }
+      if (pageHeader.getCompressedSize() > chunkDataBuffer.remaining()) {
+        throw new IOException(
+            "do not has a complete page body. Expected:"
+                + pageHeader.getCompressedSize()
+                + ". Actual:"
+                + chunkDataBuffer.remaining());
+      }
+      ByteBuffer pageData = chunkDataBuffer.slice();
+      pageData.limit(pageHeader.getCompressedSize());
+      chunkDataBuffer.position(chunkDataBuffer.position() + pageHeader.getCompressedSize());
+      pageHeaders.add(pageHeader);
+      pageDatas.add(pageData);
+    }
+  }
+
   /**
    * if the avg size of each chunk is larger than the threshold, or the chunk point num is larger
    * than the threshold, flush it
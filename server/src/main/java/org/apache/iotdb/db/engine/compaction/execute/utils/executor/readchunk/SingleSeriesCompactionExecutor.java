@@ -21,6 +21,7 @@ package org.apache.iotdb.db.engine.compaction.execute.utils.executor.readchunk;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.compaction.execute.task.CompactionTaskSummary;
+import org.apache.iotdb.db.engine.compaction.schedule.CompactionIOThrottler;
 import org.apache.iotdb.db.engine.compaction.schedule.CompactionTaskManager;
 import org.apache.iotdb.db.engine.compaction.schedule.constant.CompactionType;
 import org.apache.iotdb.db.engine.compaction.schedule.constant.ProcessChunkType;
@@ -128,10 +129,11 @@ public class SingleSeriesCompactionExecutor {
         if (this.chunkWriter == null) {
           constructChunkWriterFromReadChunk(currentChunk);
         }
-        CompactionMetricsManager.getInstance()
-            .recordReadInfo(
-                (long) currentChunk.getHeader().getSerializedSize()
-                    + currentChunk.getHeader().getDataSize());
+        long readSize =
+            (long) currentChunk.getHeader().getSerializedSize()
+                + currentChunk.getHeader().getDataSize();
+        CompactionMetricsManager.getInstance().recordReadInfo(readSize);
+        CompactionIOThrottler.getInstance().acquireRead(readSize);
 
         // if this chunk is modified, deserialize it into points
         if (chunkMetadata.getDeleteIntervalList() != null) {
@@ -192,6 +194,10 @@ public class SingleSeriesCompactionExecutor {
   }
 
   private void processLargeChunk(Chunk chunk, ChunkMetadata chunkMetadata) throws IOException {
+    if (cachedChunk != null && !isEncodingMatched(cachedChunk, chunk)) {
+      // the pages encoded differently cannot be appended into one chunk
+      writeCachedChunkIntoChunkWriter();
+    }
     if (pointCountInChunkWriter != 0L) {
       // if there are points remaining in ChunkWriter
       // deserialize current chunk and write to ChunkWriter, then flush the ChunkWriter
@@ -212,6 +218,10 @@ public class SingleSeriesCompactionExecutor {
   }
 
   private void processMiddleChunk(Chunk chunk, ChunkMetadata chunkMetadata) throws IOException {
+    if (cachedChunk != null && !isEncodingMatched(cachedChunk, chunk)) {
+      // the pages encoded differently cannot be appended into one chunk
+      writeCachedChunkIntoChunkWriter();
+    }
     // the chunk is not too large either too small
     if (pointCountInChunkWriter != 0L) {
       // if there are points remaining in ChunkWriter
@@ -279,6 +289,10 @@ public class SingleSeriesCompactionExecutor {
     cachedChunkMetadata = null;
   }
 
+  private boolean isEncodingMatched(Chunk cachedChunk, Chunk currentChunk) {
+    return cachedChunk.getHeader().getEncodingType() == currentChunk.getHeader().getEncodingType();
+  }
+
   private void mergeWithCachedChunk(Chunk currentChunk, ChunkMetadata currentChunkMetadata)
       throws IOException {
     // Notice!!!
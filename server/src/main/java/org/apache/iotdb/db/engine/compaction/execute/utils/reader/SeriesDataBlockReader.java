@@ -22,6 +22,7 @@ import org.apache.iotdb.commons.path.AlignedPath;
 import org.apache.iotdb.commons.path.MeasurementPath;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.engine.compaction.schedule.CompactionIOThrottler;
 import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
@@ -29,6 +30,7 @@ import org.apache.iotdb.db.mpp.execution.operator.source.AlignedSeriesScanUtil;
 import org.apache.iotdb.db.mpp.execution.operator.source.SeriesScanUtil;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 
 import java.io.IOException;
 import java.util.HashSet;
@@ -50,12 +52,15 @@ public class SeriesDataBlockReader implements IDataBlockReader {
       FragmentInstanceContext context,
       QueryDataSource dataSource,
       boolean ascending) {
+    // the data expired by the ttl is dropped
+    Filter timeFilter = dataSource.updateFilterUsingTTL(null);
     if (seriesPath instanceof AlignedPath) {
       this.seriesScanUtil =
-          new AlignedSeriesScanUtil(seriesPath, allSensors, context, null, null, ascending);
+          new AlignedSeriesScanUtil(seriesPath, allSensors, context, timeFilter, null, ascending);
     } else if (seriesPath instanceof MeasurementPath) {
       this.seriesScanUtil =
-          new SeriesScanUtil(seriesPath, allSensors, dataType, context, null, null, ascending);
+          new SeriesScanUtil(
+              seriesPath, allSensors, dataType, context, timeFilter, null, ascending);
     } else {
       throw new IllegalArgumentException("Should call exact sub class!");
     }
@@ -144,6 +149,8 @@ public class SeriesDataBlockReader implements IDataBlockReader {
     while (seriesScanUtil.hasNextPage()) {
       tsBlock = seriesScanUtil.nextPage();
       if (!isEmpty(tsBlock)) {
+        // the chunks are read inside the scan util, thus the decoded size of pages is charged
+        CompactionIOThrottler.getInstance().acquireRead(tsBlock.getRetainedSizeInBytes());
         return true;
       }
     }
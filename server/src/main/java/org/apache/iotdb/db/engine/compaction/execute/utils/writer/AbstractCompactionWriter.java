@@ -27,6 +27,7 @@ import org.apache.iotdb.tsfile.exception.write.PageException;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.block.column.Column;
@@ -234,10 +235,19 @@ public abstract class AbstractCompactionWriter implements AutoCloseable {
     }
   }
 
+  /**
+   * @param encoding the encoding of the page, which must be the same as the chunk writer to flush
+   *     the page into it directly
+   */
   public abstract boolean flushNonAlignedPage(
-      ByteBuffer compressedPageData, PageHeader pageHeader, int subTaskId)
+      ByteBuffer compressedPageData, PageHeader pageHeader, TSEncoding encoding, int subTaskId)
       throws IOException, PageException;
 
+  /** The pages of the same chunk must be encoded by the same encoding. */
+  protected boolean isEncodingMatched(TSEncoding pageEncoding, int subTaskId) {
+    return ((ChunkWriterImpl) chunkWriters[subTaskId]).getEncodingType() == pageEncoding;
+  }
+
   protected void flushNonAlignedPageToChunkWriter(
       ChunkWriterImpl chunkWriter,
       ByteBuffer compressedPageData,
@@ -24,12 +24,19 @@ import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResourceStatus;
 import org.apache.iotdb.db.rescon.SystemInfo;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.read.common.block.column.Column;
 import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
+import org.apache.iotdb.tsfile.write.chunk.ChunkWriterImpl;
+import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 import org.apache.iotdb.tsfile.write.writer.TsFileIOWriter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public abstract class AbstractInnerCompactionWriter extends AbstractCompactionWriter {
   protected TsFileIOWriter fileWriter;
@@ -43,6 +50,17 @@ public abstract class AbstractInnerCompactionWriter extends AbstractCompactionWr
   protected long targetPagePointNum =
       TSFileDescriptor.getInstance().getConfig().getMaxNumberOfPointsInPage();
 
+  private final boolean enableAdaptiveEncoding =
+      IoTDBDescriptor.getInstance().getConfig().isEnableCompactionAdaptiveEncoding();
+
+  private final int samplePointNum =
+      IoTDBDescriptor.getInstance().getConfig().getCompactionAdaptiveEncodingSamplePointNum();
+
+  // Each sub task buffers the points of current non-aligned series to select its encoding, which is
+  // null once the encoding is selected.
+  private final List<List<TimeValuePair>> sampledPoints =
+      new ArrayList<>(Collections.nCopies(subTaskNum, null));
+
   protected AbstractInnerCompactionWriter(TsFileResource targetFileResource) throws IOException {
     long sizeForFileWriter =
         (long)
@@ -69,19 +87,64 @@ public abstract class AbstractInnerCompactionWriter extends AbstractCompactionWr
     fileWriter.endChunkGroup();
   }
 
+  @Override
+  public void startMeasurement(List<IMeasurementSchema> measurementSchemaList, int subTaskId) {
+    super.startMeasurement(measurementSchemaList, subTaskId);
+    sampledPoints.set(subTaskId, enableAdaptiveEncoding && !isAlign ? new ArrayList<>() : null);
+  }
+
   @Override
   public void endMeasurement(int subTaskId) throws IOException {
+    selectEncodingAndWriteSampledPoints(subTaskId);
     sealChunk(fileWriter, chunkWriters[subTaskId], subTaskId);
   }
 
   @Override
   public void write(TimeValuePair timeValuePair, int subTaskId) throws IOException {
+    List<TimeValuePair> points = sampledPoints.get(subTaskId);
+    if (points != null) {
+      points.add(timeValuePair);
+      if (points.size() >= samplePointNum) {
+        selectEncodingAndWriteSampledPoints(subTaskId);
+      }
+      return;
+    }
     writeDataPoint(timeValuePair.getTimestamp(), timeValuePair.getValue(), chunkWriters[subTaskId]);
     chunkPointNumArray[subTaskId]++;
     checkChunkSizeAndMayOpenANewChunk(fileWriter, chunkWriters[subTaskId], subTaskId, false);
     isEmptyFile = false;
   }
 
+  /**
+   * Select the encoding of current non-aligned series by its sampled points, and write them with
+   * the selected encoding. This must be called before the chunk writer is used by any other way.
+   */
+  protected void selectEncodingAndWriteSampledPoints(int subTaskId) throws IOException {
+    List<TimeValuePair> points = sampledPoints.get(subTaskId);
+    if (points == null) {
+      return;
+    }
+    sampledPoints.set(subTaskId, null);
+    ChunkWriterImpl chunkWriter = (ChunkWriterImpl) chunkWriters[subTaskId];
+    TSEncoding encoding =
+        CompactionEncodingSelector.selectEncoding(
+            chunkWriter.getDataType(), chunkWriter.getEncodingType(), points);
+    if (encoding != chunkWriter.getEncodingType()) {
+      // nothing has been written to the chunk writer yet, so it can be replaced
+      chunkWriters[subTaskId] =
+          new ChunkWriterImpl(
+              new MeasurementSchema(
+                  measurementId[subTaskId],
+                  chunkWriter.getDataType(),
+                  encoding,
+                  chunkWriter.getCompressionType()),
+              true);
+    }
+    for (TimeValuePair point : points) {
+      write(point, subTaskId);
+    }
+  }
+
   @Override
   public abstract void write(TimeColumn timestamps, Column[] columns, int subTaskId, int batchSize)
       throws IOException;
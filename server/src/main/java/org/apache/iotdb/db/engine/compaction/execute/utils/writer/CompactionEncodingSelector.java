@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.execute.utils.writer;
+
+import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.encoding.encoder.TSEncodingBuilder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
+import org.apache.iotdb.tsfile.utils.TsPrimitiveType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CompactionEncodingSelector selects the value encoding of a series in the target file by encoding
+ * the sampled points with each candidate encoding of its data type and choosing the smallest one.
+ * The encoding is recorded in the chunk header, thus the readers decode each chunk by its own
+ * encoding and the schema is left unchanged.
+ *
+ * <p>Only the lossless encodings are candidates. RLE and TS_2DIFF are not candidates of FLOAT and
+ * DOUBLE, since they round the values by the float precision, and FREQ is lossy for all types.
+ */
+public class CompactionEncodingSelector {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CompactionEncodingSelector.class);
+
+  private static final Map<TSDataType, List<TSEncoding>> candidateEncodings =
+      new EnumMap<>(TSDataType.class);
+
+  static {
+    candidateEncodings.put(TSDataType.BOOLEAN, Arrays.asList(TSEncoding.PLAIN, TSEncoding.RLE));
+    List<TSEncoding> integerEncodings =
+        Arrays.asList(
+            TSEncoding.PLAIN,
+            TSEncoding.RLE,
+            TSEncoding.TS_2DIFF,
+            TSEncoding.GORILLA,
+            TSEncoding.ZIGZAG,
+            TSEncoding.CHIMP);
+    candidateEncodings.put(TSDataType.INT32, integerEncodings);
+    candidateEncodings.put(TSDataType.INT64, integerEncodings);
+    List<TSEncoding> floatEncodings =
+        Arrays.asList(TSEncoding.PLAIN, TSEncoding.GORILLA, TSEncoding.CHIMP);
+    candidateEncodings.put(TSDataType.FLOAT, floatEncodings);
+    candidateEncodings.put(TSDataType.DOUBLE, floatEncodings);
+    candidateEncodings.put(TSDataType.TEXT, Arrays.asList(TSEncoding.PLAIN, TSEncoding.DICTIONARY));
+  }
+
+  private CompactionEncodingSelector() {}
+
+  /**
+   * Select the encoding with which the sampled points are encoded into the fewest bytes.
+   *
+   * @param currentEncoding the encoding of the series now, which is kept unless another encoding is
+   *     strictly smaller
+   * @return the selected encoding
+   */
+  public static TSEncoding selectEncoding(
+      TSDataType dataType, TSEncoding currentEncoding, List<TimeValuePair> sampledPoints) {
+    if (sampledPoints.isEmpty()) {
+      return currentEncoding;
+    }
+    List<TSEncoding> candidates =
+        candidateEncodings.getOrDefault(dataType, Collections.emptyList());
+    TSEncoding selectedEncoding = currentEncoding;
+    long selectedSize =
+        candidates.contains(currentEncoding)
+            ? getEncodedSize(dataType, currentEncoding, sampledPoints)
+            : Long.MAX_VALUE;
+    for (TSEncoding encoding : candidates) {
+      if (encoding == currentEncoding) {
+        continue;
+      }
+      long size = getEncodedSize(dataType, encoding, sampledPoints);
+      if (size < selectedSize) {
+        selectedSize = size;
+        selectedEncoding = encoding;
+      }
+    }
+    return selectedEncoding;
+  }
+
+  /** @return the size of the encoded values, or Long.MAX_VALUE if they cannot be encoded */
+  private static long getEncodedSize(
+      TSDataType dataType, TSEncoding encoding, List<TimeValuePair> sampledPoints) {
+    PublicBAOS out = new PublicBAOS();
+    try {
+      Encoder encoder = TSEncodingBuilder.getEncodingBuilder(encoding).getEncoder(dataType);
+      for (TimeValuePair point : sampledPoints) {
+        encode(encoder, dataType, point.getValue(), out);
+      }
+      encoder.flush(out);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("[Compaction] Failed to encode {} values by {}", dataType, encoding, e);
+      return Long.MAX_VALUE;
+    }
+    return out.size();
+  }
+
+  private static void encode(
+      Encoder encoder, TSDataType dataType, TsPrimitiveType value, PublicBAOS out) {
+    switch (dataType) {
+      case BOOLEAN:
+        encoder.encode(value.getBoolean(), out);
+        break;
+      case INT32:
+        encoder.encode(value.getInt(), out);
+        break;
+      case INT64:
+        encoder.encode(value.getLong(), out);
+        break;
+      case FLOAT:
+        encoder.encode(value.getFloat(), out);
+        break;
+      case DOUBLE:
+        encoder.encode(value.getDouble(), out);
+        break;
+      case TEXT:
+        encoder.encode(value.getBinary(), out);
+        break;
+      default:
+        throw new UnsupportedOperationException("Unknown data type " + dataType);
+    }
+  }
+}
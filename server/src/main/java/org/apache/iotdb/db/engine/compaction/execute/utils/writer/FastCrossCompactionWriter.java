@@ -23,6 +23,7 @@ import org.apache.iotdb.tsfile.exception.write.PageException;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.block.column.Column;
@@ -164,8 +165,12 @@ public class FastCrossCompactionWriter extends AbstractCrossCompactionWriter {
    * exceeds the end time of file, else return true.
    */
   public boolean flushNonAlignedPage(
-      ByteBuffer compressedPageData, PageHeader pageHeader, int subTaskId)
+      ByteBuffer compressedPageData, PageHeader pageHeader, TSEncoding encoding, int subTaskId)
       throws IOException, PageException {
+    if (!isEncodingMatched(encoding, subTaskId)) {
+      // the page encoded differently cannot be put into current chunk, then deserialize the page
+      return false;
+    }
     checkTimeAndMayFlushChunkToCurrentFile(pageHeader.getStartTime(), subTaskId);
     int fileIndex = seqFileIndexArray[subTaskId];
     if (!checkIsPageSatisfied(pageHeader, fileIndex, subTaskId)) {
@@ -23,6 +23,7 @@ import org.apache.iotdb.tsfile.exception.write.PageException;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.block.column.Column;
 import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
@@ -53,6 +54,7 @@ public class FastInnerCompactionWriter extends AbstractInnerCompactionWriter {
   @Override
   public boolean flushNonAlignedChunk(Chunk chunk, ChunkMetadata chunkMetadata, int subTaskId)
       throws IOException {
+    selectEncodingAndWriteSampledPoints(subTaskId);
     if (chunkPointNumArray[subTaskId] != 0
         && chunkWriters[subTaskId].checkIsChunkSizeOverThreshold(
             targetChunkSize, targetChunkPointNum, false)) {
@@ -144,11 +146,18 @@ public class FastInnerCompactionWriter extends AbstractInnerCompactionWriter {
 
   /**
    * Flush nonAligned page to tsfile directly. Return whether the page is flushed to tsfile
-   * successfully or not. Return false if the unsealed page is too small or the end time of page
-   * exceeds the end time of file, else return true.
+   * successfully or not. Return false if the unsealed page is too small, the end time of page
+   * exceeds the end time of file or the page is encoded differently, else return true.
    */
+  @Override
   public boolean flushNonAlignedPage(
-      ByteBuffer compressedPageData, PageHeader pageHeader, int subTaskId) throws PageException {
+      ByteBuffer compressedPageData, PageHeader pageHeader, TSEncoding encoding, int subTaskId)
+      throws IOException, PageException {
+    selectEncodingAndWriteSampledPoints(subTaskId);
+    if (!isEncodingMatched(encoding, subTaskId)) {
+      // the page encoded differently cannot be put into current chunk, then deserialize the page
+      return false;
+    }
     boolean isUnsealedPageOverThreshold =
         chunkWriters[subTaskId].checkIsUnsealedPageOverThreshold(
             pageSizeLowerBoundInCompaction, pagePointNumLowerBoundInCompaction, true);
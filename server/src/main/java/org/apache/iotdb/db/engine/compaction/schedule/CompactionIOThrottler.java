@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.schedule;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
+import org.apache.iotdb.commons.conf.IoTDBConstant;
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.mpp.execution.schedule.DriverScheduler;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CompactionIOThrottler limits the bytes read and written by all the compaction performers with a
+ * unified io budget. The budget is adjusted periodically by the observed query pressure: it backs
+ * off multiplicatively while queries are slow, queueing or meet a saturated disk, recovers
+ * additively while queries run smoothly, and speeds up quickly when there is no query at all. The
+ * budget is always kept between the configured min and max throughput.
+ */
+public class CompactionIOThrottler {
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(IoTDBConstant.COMPACTION_LOGGER_NAME);
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private static final long ADJUST_INTERVAL_IN_MS = 1000L;
+  private static final double BACK_OFF_FACTOR = 0.5;
+  private static final double SPEED_UP_FACTOR = 2.0;
+  // the budget recovers by 1/RECOVER_STEP_NUM of the max budget in each interval
+  private static final int RECOVER_STEP_NUM = 10;
+  private static final String DISK_STATS_FILE = "/proc/diskstats";
+  // the index of the milliseconds spent doing I/Os in each line of the disk stats
+  private static final int DISK_IO_TICKS_INDEX = 12;
+
+  public enum ThrottleState {
+    // the budget is not limited
+    UNLIMITED,
+    // the budget is fixed to the max throughput
+    FIXED,
+    // the budget backs off because of the query pressure
+    BACK_OFF,
+    // the budget recovers while queries run smoothly
+    RECOVER,
+    // the budget speeds up since there is no query
+    IDLE
+  }
+
+  private final RateLimiter ioRateLimiter = RateLimiter.create(Double.MAX_VALUE);
+  private volatile double budgetMbPerSec = 0;
+  private volatile ThrottleState state = ThrottleState.UNLIMITED;
+
+  private final AtomicLong readBytes = new AtomicLong(0);
+  private final AtomicLong writtenBytes = new AtomicLong(0);
+
+  // the queries finished in current interval
+  private final AtomicLong finishedQueryNum = new AtomicLong(0);
+  private final AtomicLong totalQueryLatency = new AtomicLong(0);
+
+  // the pressure observed in last interval
+  private volatile long avgQueryLatency = 0;
+  private volatile long queuedQueryTaskNum = 0;
+  private volatile double diskUtilization = -1;
+
+  private final Map<String, Long> lastDiskIoTicks = new HashMap<>();
+  private long lastDiskStatsTime = 0;
+
+  private ScheduledExecutorService adjustThread;
+
+  public static CompactionIOThrottler getInstance() {
+    return CompactionIOThrottlerHolder.INSTANCE;
+  }
+
+  public synchronized void start() {
+    adjust();
+    if (adjustThread == null) {
+      adjustThread =
+          IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+              ThreadName.COMPACTION_IO_THROTTLE.getName());
+      ScheduledExecutorUtil.safelyScheduleAtFixedRate(
+          adjustThread,
+          this::adjust,
+          ADJUST_INTERVAL_IN_MS,
+          ADJUST_INTERVAL_IN_MS,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  public synchronized void stop() {
+    if (adjustThread != null) {
+      adjustThread.shutdownNow();
+      adjustThread = null;
+    }
+  }
+
+  /** Wait until the bytes read from the source files are allowed by the budget. */
+  public void acquireRead(long bytesLength) {
+    readBytes.addAndGet(bytesLength);
+    acquire(bytesLength);
+  }
+
+  /** Wait until the bytes written to the target files are allowed by the budget. */
+  public void acquireWrite(long bytesLength) {
+    writtenBytes.addAndGet(bytesLength);
+    acquire(bytesLength);
+  }
+
+  private void acquire(long bytesLength) {
+    if (budgetMbPerSec > 0) {
+      CompactionTaskManager.rateLimiterAcquire(ioRateLimiter, bytesLength);
+    }
+  }
+
+  /** Record the latency of a finished query, which is the signal of the query pressure. */
+  public void recordQueryLatency(long latencyInMs) {
+    finishedQueryNum.incrementAndGet();
+    totalQueryLatency.addAndGet(latencyInMs);
+  }
+
+  /** Adjust the budget by the query pressure observed since last adjustment. */
+  synchronized void adjust() {
+    long queryNum = finishedQueryNum.getAndSet(0);
+    long queryLatency = totalQueryLatency.getAndSet(0);
+    avgQueryLatency = queryNum == 0 ? 0 : queryLatency / queryNum;
+    queuedQueryTaskNum = DriverScheduler.getInstance().getReadyQueueTaskCount();
+    diskUtilization = readDiskUtilization();
+
+    double maxBudget = config.getCompactionIoThroughputMbPerSec();
+    if (maxBudget <= 0) {
+      setBudget(0, ThrottleState.UNLIMITED);
+      return;
+    }
+    if (!config.isEnableCompactionIoAdaptiveThrottle()) {
+      setBudget(maxBudget, ThrottleState.FIXED);
+      return;
+    }
+    double minBudget =
+        Math.max(1, Math.min(maxBudget, config.getCompactionIoMinThroughputMbPerSec()));
+    double budget = budgetMbPerSec <= 0 ? maxBudget : Math.min(budgetMbPerSec, maxBudget);
+
+    boolean hasQuery = queryNum > 0 || queuedQueryTaskNum > 0;
+    // the disk saturated by compaction alone is not a problem while there is no query
+    boolean underPressure =
+        hasQuery
+            && (avgQueryLatency > config.getCompactionIoThrottleQueryLatencyThresholdInMs()
+                || queuedQueryTaskNum > 0
+                || diskUtilization > config.getCompactionIoThrottleDiskUtilizationThreshold());
+    if (underPressure) {
+      setBudget(Math.max(minBudget, budget * BACK_OFF_FACTOR), ThrottleState.BACK_OFF);
+    } else if (!hasQuery) {
+      setBudget(Math.min(maxBudget, budget * SPEED_UP_FACTOR), ThrottleState.IDLE);
+    } else {
+      setBudget(Math.min(maxBudget, budget + maxBudget / RECOVER_STEP_NUM), ThrottleState.RECOVER);
+    }
+  }
+
+  private void setBudget(double budgetMbPerSec, ThrottleState state) {
+    if (state != this.state) {
+      LOGGER.debug(
+          "[Compaction] IO budget turns to {} MB/s in state {}, avg query latency {} ms, "
+              + "queued query task num {}, disk utilization {}",
+          budgetMbPerSec,
+          state,
+          avgQueryLatency,
+          queuedQueryTaskNum,
+          diskUtilization);
+    }
+    this.state = state;
+    if (this.budgetMbPerSec != budgetMbPerSec) {
+      this.budgetMbPerSec = budgetMbPerSec;
+      ioRateLimiter.setRate(
+          budgetMbPerSec > 0 ? budgetMbPerSec * 1024.0 * 1024.0 : Double.MAX_VALUE);
+    }
+  }
+
+  /**
+   * Read the max utilization of all the disks since last read, which only works on Linux.
+   *
+   * @return the utilization between 0 and 1, or -1 if it is unknown
+   */
+  private double readDiskUtilization() {
+    File diskStatsFile = new File(DISK_STATS_FILE);
+    if (!diskStatsFile.exists()) {
+      return -1;
+    }
+    List<String> lines;
+    try {
+      lines = Files.readAllLines(diskStatsFile.toPath());
+    } catch (IOException e) {
+      LOGGER.debug("[Compaction] Failed to read disk stats", e);
+      return -1;
+    }
+    long currentTime = System.currentTimeMillis();
+    long interval = currentTime - lastDiskStatsTime;
+    double maxUtilization = -1;
+    for (String line : lines) {
+      String[] fields = line.trim().split("\\s+");
+      if (fields.length <= DISK_IO_TICKS_INDEX
+          || fields[2].startsWith("loop")
+          || fields[2].startsWith("ram")) {
+        continue;
+      }
+      long ioTicks;
+      try {
+        ioTicks = Long.parseLong(fields[DISK_IO_TICKS_INDEX]);
+      } catch (NumberFormatException e) {
+        continue;
+      }
+      Long lastIoTicks = lastDiskIoTicks.put(fields[2], ioTicks);
+      if (lastIoTicks != null && interval > 0) {
+        maxUtilization =
+            Math.max(maxUtilization, Math.min(1.0, (double) (ioTicks - lastIoTicks) / interval));
+      }
+    }
+    lastDiskStatsTime = currentTime;
+    return maxUtilization;
+  }
+
+  public double getBudgetMbPerSec() {
+    return budgetMbPerSec;
+  }
+
+  public ThrottleState getState() {
+    return state;
+  }
+
+  public long getReadBytes() {
+    return readBytes.get();
+  }
+
+  public long getWrittenBytes() {
+    return writtenBytes.get();
+  }
+
+  public long getAvgQueryLatency() {
+    return avgQueryLatency;
+  }
+
+  public long getQueuedQueryTaskNum() {
+    return queuedQueryTaskNum;
+  }
+
+  public double getDiskUtilization() {
+    return diskUtilization;
+  }
+
+  @TestOnly
+  public void reset() {
+    finishedQueryNum.set(0);
+    totalQueryLatency.set(0);
+    setBudget(0, ThrottleState.UNLIMITED);
+  }
+
+  private static class CompactionIOThrottlerHolder {
+
+    private static final CompactionIOThrottler INSTANCE = new CompactionIOThrottler();
+
+    private CompactionIOThrottlerHolder() {}
+  }
+}
@@ -27,6 +27,7 @@ import org.apache.iotdb.db.engine.compaction.execute.task.CrossSpaceCompactionTa
 import org.apache.iotdb.db.engine.compaction.execute.task.InnerSpaceCompactionTask;
 import org.apache.iotdb.db.engine.compaction.selector.ICompactionSelector;
 import org.apache.iotdb.db.engine.compaction.selector.ICrossSpaceSelector;
+import org.apache.iotdb.db.engine.compaction.selector.impl.InvalidDataCompactionSelector;
 import org.apache.iotdb.db.engine.compaction.selector.utils.CrossCompactionTaskResource;
 import org.apache.iotdb.db.engine.storagegroup.TsFileManager;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
@@ -73,6 +74,8 @@ public class CompactionScheduler {
           timePartition,
           tsFileManager,
           false);
+      tryToSubmitInvalidDataCompactionTask(timePartition, tsFileManager, true);
+      tryToSubmitInvalidDataCompactionTask(timePartition, tsFileManager, false);
     } catch (InterruptedException e) {
       LOGGER.error("Exception occurs when selecting compaction tasks", e);
       Thread.currentThread().interrupt();
@@ -132,6 +135,47 @@ public class CompactionScheduler {
     }
   }
 
+  /**
+   * Submit the files in which too much data is deleted or expired, each of which is rewritten alone
+   * by an inner space compaction task to drop the invalid data.
+   */
+  private static void tryToSubmitInvalidDataCompactionTask(
+      long timePartition, TsFileManager tsFileManager, boolean sequence)
+      throws InterruptedException {
+    if (!config.isEnableInvalidDataCompaction()
+        || (!config.isEnableSeqSpaceCompaction() && sequence)
+        || (!config.isEnableUnseqSpaceCompaction() && !sequence)) {
+      return;
+    }
+    ICompactionSelector invalidDataCompactionSelector =
+        new InvalidDataCompactionSelector(
+            tsFileManager.getStorageGroupName(),
+            tsFileManager.getDataRegionId(),
+            timePartition,
+            tsFileManager);
+    List<List<TsFileResource>> taskList =
+        invalidDataCompactionSelector.selectInnerSpaceTask(
+            sequence
+                ? tsFileManager.getOrCreateSequenceListByTimePartition(timePartition)
+                : tsFileManager.getOrCreateUnsequenceListByTimePartition(timePartition));
+    for (List<TsFileResource> task : taskList) {
+      ICompactionPerformer performer =
+          sequence
+              ? config.getInnerSeqCompactionPerformer().createInstance()
+              : config.getInnerUnseqCompactionPerformer().createInstance();
+      CompactionTaskManager.getInstance()
+          .addTaskToWaitingQueue(
+              new InnerSpaceCompactionTask(
+                  timePartition,
+                  tsFileManager,
+                  task,
+                  sequence,
+                  performer,
+                  CompactionTaskManager.currentTaskNum,
+                  tsFileManager.getNextCompactionTaskId()));
+    }
+  }
+
   private static void tryToSubmitCrossSpaceCompactionTask(
       String logicalStorageGroupName,
       String dataRegionId,
@@ -149,21 +193,18 @@ public class CompactionScheduler {
         crossSpaceCompactionSelector.selectCrossSpaceTask(
             tsFileManager.getOrCreateSequenceListByTimePartition(timePartition),
             tsFileManager.getOrCreateUnsequenceListByTimePartition(timePartition));
-    List<Long> memoryCost = crossSpaceCompactionSelector.getCompactionMemoryCost();
     for (int i = 0, size = taskList.size(); i < size; ++i) {
       CompactionTaskManager.getInstance()
           .addTaskToWaitingQueue(
               new CrossSpaceCompactionTask(
                   timePartition,
                   tsFileManager,
-                  taskList.get(i).getSeqFiles(),
-                  taskList.get(i).getUnseqFiles(),
+                  taskList.get(i),
                   IoTDBDescriptor.getInstance()
                       .getConfig()
                       .getCrossCompactionPerformer()
                       .createInstance(),
                   CompactionTaskManager.currentTaskNum,
-                  memoryCost.get(i),
                   tsFileManager.getNextCompactionTaskId()));
     }
   }
@@ -31,6 +31,7 @@ import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.compaction.execute.task.AbstractCompactionTask;
 import org.apache.iotdb.db.engine.compaction.execute.task.CompactionTaskSummary;
 import org.apache.iotdb.db.engine.compaction.schedule.comparator.DefaultCompactionTaskComparatorImpl;
+import org.apache.iotdb.db.engine.compaction.selector.estimator.CompactionMemoryCorrector;
 import org.apache.iotdb.db.service.metrics.recorder.CompactionMetricsManager;
 import org.apache.iotdb.db.utils.datastructure.FixedPriorityBlockingQueue;
 
@@ -98,6 +99,8 @@ public class CompactionTaskManager implements IService {
           x ->
               CompactionMetricsManager.getInstance()
                   .reportPollTaskFromWaitingQueue(x.isCrossTask(), x.isInnerSeqTask()));
+      CompactionIOThrottler.getInstance().start();
+      CompactionMemoryCorrector.getInstance().start();
       init = true;
     }
     logger.info("Compaction task manager started.");
@@ -123,6 +126,8 @@ public class CompactionTaskManager implements IService {
   @Override
   public void stop() {
     if (taskExecutionPool != null) {
+      CompactionIOThrottler.getInstance().stop();
+      CompactionMemoryCorrector.getInstance().stop();
       subCompactionTaskExecutionPool.shutdownNow();
       taskExecutionPool.shutdownNow();
       logger.info("Waiting for task taskExecutionPool to shut down");
@@ -135,6 +140,8 @@ public class CompactionTaskManager implements IService {
   @Override
   public void waitAndStop(long milliseconds) {
     if (taskExecutionPool != null) {
+      CompactionIOThrottler.getInstance().stop();
+      CompactionMemoryCorrector.getInstance().stop();
       awaitTermination(subCompactionTaskExecutionPool, milliseconds);
       awaitTermination(taskExecutionPool, milliseconds);
       logger.info("Waiting for task taskExecutionPool to shut down in {} ms", milliseconds);
@@ -256,8 +263,16 @@ public class CompactionTaskManager implements IService {
       mergeWriteRateLimiter.setRate(throughout);
     }
   }
-  /** wait by throughoutMbPerSec limit to avoid continuous Write Or Read */
+  /**
+   * wait by throughoutMbPerSec limit to avoid continuous Write, the written bytes are also charged
+   * to the io budget of compaction
+   */
   public static void mergeRateLimiterAcquire(RateLimiter limiter, long bytesLength) {
+    rateLimiterAcquire(limiter, bytesLength);
+    CompactionIOThrottler.getInstance().acquireWrite(bytesLength);
+  }
+
+  static void rateLimiterAcquire(RateLimiter limiter, long bytesLength) {
     while (bytesLength >= Integer.MAX_VALUE) {
       limiter.acquire(Integer.MAX_VALUE);
       bytesLength -= Integer.MAX_VALUE;
@@ -320,6 +335,10 @@ public class CompactionTaskManager implements IService {
     return runningTaskCnt;
   }
 
+  public int getWaitingTaskCount() {
+    return candidateCompactionTaskQueue.size();
+  }
+
   public int getTotalTaskCount() {
     return getExecutingTaskCount() + candidateCompactionTaskQueue.size();
   }
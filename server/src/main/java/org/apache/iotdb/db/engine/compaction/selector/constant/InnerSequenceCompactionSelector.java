@@ -21,14 +21,18 @@ package org.apache.iotdb.db.engine.compaction.selector.constant;
 
 import org.apache.iotdb.db.engine.compaction.selector.IInnerSeqSpaceSelector;
 import org.apache.iotdb.db.engine.compaction.selector.impl.SizeTieredCompactionSelector;
+import org.apache.iotdb.db.engine.compaction.selector.impl.TimeWindowCompactionSelector;
 import org.apache.iotdb.db.engine.storagegroup.TsFileManager;
 
 public enum InnerSequenceCompactionSelector {
-  SIZE_TIERED;
+  SIZE_TIERED,
+  TIME_WINDOW;
 
   public static InnerSequenceCompactionSelector getInnerSequenceCompactionSelector(String name) {
     if (SIZE_TIERED.toString().equalsIgnoreCase(name)) {
       return SIZE_TIERED;
+    } else if (TIME_WINDOW.toString().equalsIgnoreCase(name)) {
+      return TIME_WINDOW;
     }
     throw new RuntimeException("Illegal Compaction Selector " + name);
   }
@@ -39,6 +43,9 @@ public enum InnerSequenceCompactionSelector {
       long timePartition,
       TsFileManager tsFileManager) {
     switch (this) {
+      case TIME_WINDOW:
+        return new TimeWindowCompactionSelector(
+            storageGroupName, dataRegionId, timePartition, tsFileManager);
       case SIZE_TIERED:
       default:
         return new SizeTieredCompactionSelector(
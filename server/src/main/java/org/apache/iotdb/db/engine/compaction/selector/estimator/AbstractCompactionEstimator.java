@@ -18,6 +18,7 @@
  */
 package org.apache.iotdb.db.engine.compaction.selector.estimator;
 
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 
@@ -34,6 +35,12 @@ public abstract class AbstractCompactionEstimator {
 
   protected Map<TsFileResource, TsFileSequenceReader> fileReaderCache = new HashMap<>();
 
+  protected Map<TsFileResource, FileInfo> fileInfoCache = new HashMap<>();
+
+  // the number of timeseries being compacted at the same time
+  protected final int subCompactionTaskNum =
+      IoTDBDescriptor.getInstance().getConfig().getSubCompactionTaskNum();
+
   /**
    * Estimate the memory cost of compacting the unseq file and its corresponding overlapped seq
    * files in cross space compaction task.
@@ -54,10 +61,21 @@ public abstract class AbstractCompactionEstimator {
     return reader;
   }
 
+  /** Calculate or get the cached series and chunk statistics of a TsFile. */
+  protected FileInfo getFileInfo(TsFileResource tsFileResource) throws IOException {
+    FileInfo fileInfo = fileInfoCache.get(tsFileResource);
+    if (fileInfo == null) {
+      fileInfo = FileInfo.calculate(getFileReader(tsFileResource), subCompactionTaskNum);
+      fileInfoCache.put(tsFileResource, fileInfo);
+    }
+    return fileInfo;
+  }
+
   public void clear() throws IOException {
     for (TsFileSequenceReader sequenceReader : fileReaderCache.values()) {
       sequenceReader.close();
     }
     fileReaderCache.clear();
+    fileInfoCache.clear();
   }
 }
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.selector.estimator;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
+import org.apache.iotdb.commons.conf.IoTDBConstant;
+import org.apache.iotdb.commons.utils.TestOnly;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CompactionMemoryCorrector corrects the memory cost predicted by the estimators with the memory
+ * measured in the past cross space compaction tasks. The heap usage is sampled periodically while
+ * the tasks are running, and the peak usage above the usage when a task starts is taken as the
+ * memory of the task. Only the tasks running alone are measured, since the memory of the concurrent
+ * tasks cannot be told apart. The measured memory includes the garbage not collected yet, thus the
+ * correction errs on the safe side.
+ *
+ * <p>The correction factor moves towards the ratio of the measured memory to the predicted one by a
+ * fraction in the log space after each measurement, and is kept between MIN_FACTOR and MAX_FACTOR.
+ * The cross space performer is fixed by the configuration, thus one factor is kept.
+ */
+public class CompactionMemoryCorrector {
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(IoTDBConstant.COMPACTION_LOGGER_NAME);
+
+  private static final long SAMPLE_INTERVAL_IN_MS = 100L;
+  private static final double MIN_FACTOR = 0.5;
+  private static final double MAX_FACTOR = 4.0;
+  private static final double LEARNING_RATE = 0.3;
+  // the tasks predicted to cost less memory are not measured, which are dominated by the noise
+  private static final long MIN_MEASURED_MEMORY_COST = 4L * 1024 * 1024;
+
+  private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+  private final Set<Observation> runningObservations = ConcurrentHashMap.newKeySet();
+  private volatile double factor = 1.0;
+
+  private ScheduledExecutorService sampleThread;
+
+  public static CompactionMemoryCorrector getInstance() {
+    return CompactionMemoryCorrectorHolder.INSTANCE;
+  }
+
+  public synchronized void start() {
+    if (sampleThread == null) {
+      sampleThread =
+          IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+              ThreadName.COMPACTION_MEMORY_SAMPLE.getName());
+      ScheduledExecutorUtil.safelyScheduleAtFixedRate(
+          sampleThread,
+          this::sample,
+          SAMPLE_INTERVAL_IN_MS,
+          SAMPLE_INTERVAL_IN_MS,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  public synchronized void stop() {
+    if (sampleThread != null) {
+      sampleThread.shutdownNow();
+      sampleThread = null;
+    }
+  }
+
+  /** @return the predicted memory cost corrected by the measurements of the past tasks */
+  public long correct(long estimatedMemoryCost) {
+    return (long) (estimatedMemoryCost * factor);
+  }
+
+  public double getFactor() {
+    return factor;
+  }
+
+  /**
+   * Start measuring the memory of a task before it reads any file.
+   *
+   * @param memoryCost the corrected memory cost of the task
+   */
+  public synchronized Observation startObserving(long memoryCost) {
+    Observation observation = new Observation(memoryCost, getHeapUsage());
+    if (!runningObservations.isEmpty()) {
+      runningObservations.forEach(x -> x.concurrent = true);
+      observation.concurrent = true;
+    }
+    runningObservations.add(observation);
+    return observation;
+  }
+
+  /**
+   * Stop measuring the memory of a task, and update the correction factor if the task finishes
+   * successfully and runs alone.
+   */
+  public synchronized void finishObserving(Observation observation, boolean success) {
+    observation.update(getHeapUsage());
+    runningObservations.remove(observation);
+    if (!success || observation.concurrent || observation.memoryCost < MIN_MEASURED_MEMORY_COST) {
+      return;
+    }
+    long measuredMemory = observation.peakHeapUsage - observation.baselineHeapUsage;
+    if (measuredMemory <= 0) {
+      // the garbage is collected during the task, which tells nothing about its memory
+      return;
+    }
+    updateFactor((double) measuredMemory / observation.memoryCost);
+  }
+
+  void updateFactor(double measuredRatio) {
+    double oldFactor = factor;
+    factor =
+        Math.max(
+            MIN_FACTOR, Math.min(MAX_FACTOR, oldFactor * Math.pow(measuredRatio, LEARNING_RATE)));
+    LOGGER.debug(
+        "[Compaction] Measured memory is {} of the predicted one, correction factor turns from {} to {}",
+        measuredRatio,
+        oldFactor,
+        factor);
+  }
+
+  private void sample() {
+    if (runningObservations.isEmpty()) {
+      return;
+    }
+    long heapUsage = getHeapUsage();
+    runningObservations.forEach(x -> x.update(heapUsage));
+  }
+
+  private long getHeapUsage() {
+    return memoryMXBean.getHeapMemoryUsage().getUsed();
+  }
+
+  @TestOnly
+  public void reset() {
+    runningObservations.clear();
+    factor = 1.0;
+  }
+
+  public static class Observation {
+    private final long memoryCost;
+    private final long baselineHeapUsage;
+    private volatile long peakHeapUsage;
+    private volatile boolean concurrent = false;
+
+    private Observation(long memoryCost, long baselineHeapUsage) {
+      this.memoryCost = memoryCost;
+      this.baselineHeapUsage = baselineHeapUsage;
+      this.peakHeapUsage = baselineHeapUsage;
+    }
+
+    private void update(long heapUsage) {
+      if (heapUsage > peakHeapUsage) {
+        peakHeapUsage = heapUsage;
+      }
+    }
+  }
+
+  private static class CompactionMemoryCorrectorHolder {
+    private static final CompactionMemoryCorrector INSTANCE = new CompactionMemoryCorrector();
+
+    private CompactionMemoryCorrectorHolder() {}
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.selector.estimator;
+
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Estimate the memory cost of the cross space compaction task executed by the fast performer with
+ * the series and chunk statistics of the source files. The fast performer reads the chunks lazily:
+ * all the chunks of the series being compacted may be loaded from the unseq file since they overlap
+ * with the seq files, while only the current chunk of each series is loaded from the seq files one
+ * by one. The chunks are decompressed and deserialized into pages, so the cost of reading is
+ * doubled like the read point estimator.
+ */
+public class FastCrossSpaceCompactionEstimator extends AbstractCrossSpaceEstimator {
+  private final long targetChunkSize =
+      IoTDBDescriptor.getInstance().getConfig().getTargetChunkSize();
+
+  @Override
+  public long estimateCrossCompactionMemory(
+      List<TsFileResource> seqResources, TsFileResource unseqResource) throws IOException {
+    FileInfo unseqFileInfo = getFileInfo(unseqResource);
+    int concurrentSeriesNum = unseqFileInfo.getConcurrentSeriesNum(subCompactionTaskNum);
+    long cost = 2 * unseqFileInfo.getMaxConcurrentSeriesSize();
+
+    long maxCostOfReadingSeqFile = 0;
+    long maxSeqConcurrentSeriesSize = 0;
+    for (TsFileResource seqResource : seqResources) {
+      FileInfo seqFileInfo = getFileInfo(seqResource);
+      int seqConcurrentSeriesNum = seqFileInfo.getConcurrentSeriesNum(subCompactionTaskNum);
+      concurrentSeriesNum = Math.max(concurrentSeriesNum, seqConcurrentSeriesNum);
+      maxSeqConcurrentSeriesSize =
+          Math.max(maxSeqConcurrentSeriesSize, seqFileInfo.getMaxConcurrentSeriesSize());
+      maxCostOfReadingSeqFile =
+          Math.max(maxCostOfReadingSeqFile, seqConcurrentSeriesNum * seqFileInfo.getMaxChunkSize());
+      // the chunk metadata of the target file is held in memory until the file is sealed
+      cost += seqFileInfo.getMetadataSize();
+    }
+    cost += 2 * maxCostOfReadingSeqFile;
+
+    // the chunk writers buffer at most a target chunk of each series, or the whole series if it is
+    // smaller than a target chunk
+    cost +=
+        Math.min(
+            concurrentSeriesNum * targetChunkSize,
+            unseqFileInfo.getMaxConcurrentSeriesSize() + maxSeqConcurrentSeriesSize);
+    return cost;
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.selector.estimator;
+
+import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.TimeseriesMetadata;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FileInfo is the series and chunk statistics of a TsFile used by the compaction estimators. The
+ * size of each chunk is the distance between its offset and the offset of the next chunk, thus the
+ * sizes are taken from the metadata only and no chunk is read.
+ */
+public class FileInfo {
+  // total chunk num in this tsfile
+  private int totalChunkNum = 0;
+  // max chunk num of one timeseries in this tsfile
+  private int maxSeriesChunkNum = 0;
+  // max aligned series num in one device, or -1 if there is no aligned series in this tsfile
+  private int maxAlignedSeriesNumInDevice = -1;
+  // max chunk num of one device in this tsfile
+  private int maxDeviceChunkNum = 0;
+  // max size of one chunk in this tsfile
+  private long maxChunkSize = 0;
+  // max size of all the chunks of the series compacted at the same time, which are the largest
+  // subTaskNum series of a not aligned device, or all the series of an aligned device
+  private long maxConcurrentSeriesSize = 0;
+  // size of the metadata, which is held in memory by the target file before it is sealed
+  private long metadataSize = 0;
+
+  private FileInfo() {}
+
+  /**
+   * Calculate the statistics of the tsfile read by the reader.
+   *
+   * @param subTaskNum the number of not aligned series compacted at the same time
+   */
+  public static FileInfo calculate(TsFileSequenceReader reader, int subTaskNum) throws IOException {
+    FileInfo fileInfo = new FileInfo();
+    fileInfo.metadataSize = reader.getFileMetadataSize();
+    Map<String, List<TimeseriesMetadata>> deviceMetadata = reader.getAllTimeseriesMetadata(true);
+
+    List<Long> chunkOffsets = new ArrayList<>();
+    for (List<TimeseriesMetadata> timeseriesMetadataList : deviceMetadata.values()) {
+      for (TimeseriesMetadata timeseriesMetadata : timeseriesMetadataList) {
+        for (IChunkMetadata chunkMetadata : timeseriesMetadata.getChunkMetadataList()) {
+          chunkOffsets.add(chunkMetadata.getOffsetOfChunkHeader());
+        }
+      }
+    }
+    long[] sortedOffsets = chunkOffsets.stream().mapToLong(Long::longValue).sorted().toArray();
+    long dataEndOffset = reader.readFileMetadata().getMetaOffset();
+
+    for (List<TimeseriesMetadata> timeseriesMetadataList : deviceMetadata.values()) {
+      if (timeseriesMetadataList.isEmpty()) {
+        continue;
+      }
+      boolean aligned = "".equals(timeseriesMetadataList.get(0).getMeasurementId());
+      if (aligned) {
+        fileInfo.maxAlignedSeriesNumInDevice =
+            Math.max(fileInfo.maxAlignedSeriesNumInDevice, timeseriesMetadataList.size());
+      }
+      int deviceChunkNum = 0;
+      long deviceSize = 0;
+      List<Long> seriesSizes = new ArrayList<>();
+      for (TimeseriesMetadata timeseriesMetadata : timeseriesMetadataList) {
+        List<IChunkMetadata> chunkMetadataList = timeseriesMetadata.getChunkMetadataList();
+        long seriesSize = 0;
+        for (IChunkMetadata chunkMetadata : chunkMetadataList) {
+          long chunkSize =
+              getChunkSize(sortedOffsets, chunkMetadata.getOffsetOfChunkHeader(), dataEndOffset);
+          fileInfo.maxChunkSize = Math.max(fileInfo.maxChunkSize, chunkSize);
+          seriesSize += chunkSize;
+        }
+        seriesSizes.add(seriesSize);
+        deviceSize += seriesSize;
+        deviceChunkNum += chunkMetadataList.size();
+        fileInfo.totalChunkNum += chunkMetadataList.size();
+        fileInfo.maxSeriesChunkNum = Math.max(fileInfo.maxSeriesChunkNum, chunkMetadataList.size());
+      }
+      fileInfo.maxDeviceChunkNum = Math.max(fileInfo.maxDeviceChunkNum, deviceChunkNum);
+
+      long concurrentSeriesSize = 0;
+      if (aligned) {
+        concurrentSeriesSize = deviceSize;
+      } else {
+        seriesSizes.sort(Collections.reverseOrder());
+        for (int i = 0; i < Math.min(subTaskNum, seriesSizes.size()); i++) {
+          concurrentSeriesSize += seriesSizes.get(i);
+        }
+      }
+      fileInfo.maxConcurrentSeriesSize =
+          Math.max(fileInfo.maxConcurrentSeriesSize, concurrentSeriesSize);
+    }
+    return fileInfo;
+  }
+
+  /** The chunk ends at the offset of the next chunk, or at the end of the data of the file. */
+  private static long getChunkSize(long[] sortedOffsets, long offset, long dataEndOffset) {
+    int index = Arrays.binarySearch(sortedOffsets, offset);
+    long endOffset =
+        index >= 0 && index + 1 < sortedOffsets.length ? sortedOffsets[index + 1] : dataEndOffset;
+    return Math.max(0, endOffset - offset);
+  }
+
+  /**
+   * @return the number of series compacted at the same time, which is the max aligned series num of
+   *     a device if there are aligned series, else the subTaskNum
+   */
+  public int getConcurrentSeriesNum(int subTaskNum) {
+    return maxAlignedSeriesNumInDevice == -1 ? subTaskNum : maxAlignedSeriesNumInDevice;
+  }
+
+  public int getTotalChunkNum() {
+    return totalChunkNum;
+  }
+
+  public int getMaxSeriesChunkNum() {
+    return maxSeriesChunkNum;
+  }
+
+  public int getMaxAlignedSeriesNumInDevice() {
+    return maxAlignedSeriesNumInDevice;
+  }
+
+  public int getMaxDeviceChunkNum() {
+    return maxDeviceChunkNum;
+  }
+
+  public long getMaxChunkSize() {
+    return maxChunkSize;
+  }
+
+  public long getMaxConcurrentSeriesSize() {
+    return maxConcurrentSeriesSize;
+  }
+
+  public long getMetadataSize() {
+    return metadataSize;
+  }
+}
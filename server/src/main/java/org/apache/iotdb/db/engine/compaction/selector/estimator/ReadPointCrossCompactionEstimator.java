@@ -19,10 +19,7 @@
 package org.apache.iotdb.db.engine.compaction.selector.estimator;
 
 import org.apache.iotdb.commons.conf.IoTDBConstant;
-import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
-import org.apache.iotdb.tsfile.file.metadata.TimeseriesMetadata;
-import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.utils.Pair;
 
 import org.slf4j.Logger;
@@ -31,7 +28,6 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 public class ReadPointCrossCompactionEstimator extends AbstractCrossSpaceEstimator {
   private static final Logger logger =
@@ -49,10 +45,6 @@ public class ReadPointCrossCompactionEstimator extends AbstractCrossSpaceEstimat
   // right is the total chunk num of seq file.
   private final List<Pair<Integer, Integer>> maxSeqChunkNumInDeviceList;
 
-  // the number of timeseries being compacted at the same time
-  private final int subCompactionTaskNum =
-      IoTDBDescriptor.getInstance().getConfig().getSubCompactionTaskNum();
-
   public ReadPointCrossCompactionEstimator() {
     this.maxCostOfReadingSeqFile = 0;
     this.maxSeqChunkNumInDeviceList = new ArrayList<>();
@@ -74,22 +66,27 @@ public class ReadPointCrossCompactionEstimator extends AbstractCrossSpaceEstimat
    * total size of the timeseries to be compacted at the same time in all unseq files.
    */
   private long calculateReadingUnseqFile(TsFileResource unseqResource) throws IOException {
-    TsFileSequenceReader reader = getFileReader(unseqResource);
-    int[] fileInfo = getSeriesAndDeviceChunkNum(reader);
+    FileInfo fileInfo = getFileInfo(unseqResource);
     // it is max aligned series num of one device when tsfile contains aligned series,
     // else is sub compaction task num.
-    int concurrentSeriesNum = fileInfo[2] == -1 ? subCompactionTaskNum : fileInfo[2];
-    maxUnseqChunkNumInDevice = new Pair<>(fileInfo[3], fileInfo[0]);
+    int concurrentSeriesNum = fileInfo.getConcurrentSeriesNum(subCompactionTaskNum);
+    maxUnseqChunkNumInDevice =
+        new Pair<>(fileInfo.getMaxDeviceChunkNum(), fileInfo.getTotalChunkNum());
     // it means the max size of a timeseries in this file when reading all of its chunk into memory.
     // Not only reading chunk into chunk cache, but also need to deserialize data point into merge
     // reader, so we have to double the cost here.
-    if (fileInfo[0] == 0) { // If totalChunkNum ==0, i.e. this unSeq tsFile has no chunk.
+    if (fileInfo.getTotalChunkNum() == 0) {
+      // If totalChunkNum ==0, i.e. this unSeq tsFile has no chunk.
       logger.warn(
           "calculateReadingUnseqFile(), find 1 empty unSeq tsFile: {}.",
           unseqResource.getTsFilePath());
       return 0;
     }
-    return 2 * concurrentSeriesNum * (unseqResource.getTsFileSize() * fileInfo[1] / fileInfo[0]);
+    return 2
+        * concurrentSeriesNum
+        * (unseqResource.getTsFileSize()
+            * fileInfo.getMaxSeriesChunkNum()
+            / fileInfo.getTotalChunkNum());
   }
 
   /**
@@ -100,20 +97,23 @@ public class ReadPointCrossCompactionEstimator extends AbstractCrossSpaceEstimat
   private long calculateReadingSeqFiles(List<TsFileResource> seqResources) throws IOException {
     long cost = 0;
     for (TsFileResource seqResource : seqResources) {
-      TsFileSequenceReader reader = getFileReader(seqResource);
-      int[] fileInfo = getSeriesAndDeviceChunkNum(reader);
+      FileInfo fileInfo = getFileInfo(seqResource);
       // it is max aligned series num of one device when tsfile contains aligned series,
       // else is sub compaction task num.
-      int concurrentSeriesNum = fileInfo[2] == -1 ? subCompactionTaskNum : fileInfo[2];
+      int concurrentSeriesNum = fileInfo.getConcurrentSeriesNum(subCompactionTaskNum);
       long seqFileCost = 0;
-      if (fileInfo[0] == 0) { // If totalChunkNum ==0, i.e. this seq tsFile has no chunk.
+      if (fileInfo.getTotalChunkNum() == 0) {
+        // If totalChunkNum ==0, i.e. this seq tsFile has no chunk.
         logger.warn(
             "calculateReadingSeqFiles(), find 1 empty seq tsFile: {}.",
             seqResource.getTsFilePath());
         seqFileCost = 0;
       } else {
         seqFileCost =
-            concurrentSeriesNum * (seqResource.getTsFileSize() * fileInfo[1] / fileInfo[0]);
+            concurrentSeriesNum
+                * (seqResource.getTsFileSize()
+                    * fileInfo.getMaxSeriesChunkNum()
+                    / fileInfo.getTotalChunkNum());
       }
 
       if (seqFileCost > maxCostOfReadingSeqFile) {
@@ -124,7 +124,8 @@ public class ReadPointCrossCompactionEstimator extends AbstractCrossSpaceEstimat
         cost += 2 * seqFileCost;
         maxCostOfReadingSeqFile = seqFileCost;
       }
-      maxSeqChunkNumInDeviceList.add(new Pair<>(fileInfo[3], fileInfo[0]));
+      maxSeqChunkNumInDeviceList.add(
+          new Pair<>(fileInfo.getMaxDeviceChunkNum(), fileInfo.getTotalChunkNum()));
     }
     return cost;
   }
@@ -138,9 +139,8 @@ public class ReadPointCrossCompactionEstimator extends AbstractCrossSpaceEstimat
       List<TsFileResource> seqResources, TsFileResource unseqResource) throws IOException {
     long cost = 0;
     for (TsFileResource seqResource : seqResources) {
-      TsFileSequenceReader reader = getFileReader(seqResource);
       // add seq file metadata size
-      cost += reader.getFileMetadataSize();
+      cost += getFileInfo(seqResource).getMetadataSize();
       // add max chunk group size of this seq tsfile
       int totalSeqChunkNum = maxSeqChunkNumInDeviceList.get(0).right;
       if (totalSeqChunkNum > 0) {
@@ -156,40 +156,4 @@ public class ReadPointCrossCompactionEstimator extends AbstractCrossSpaceEstimat
 
     return cost;
   }
-
-  /**
-   * Get the details of the tsfile, the returned array contains the following elements in sequence:
-   *
-   * <p>total chunk num in this tsfile
-   *
-   * <p>max chunk num of one timeseries in this tsfile
-   *
-   * <p>max aligned series num in one device. If there is no aligned series in this file, then it
-   * turns to be -1.
-   *
-   * <p>max chunk num of one device in this tsfile
-   */
-  private int[] getSeriesAndDeviceChunkNum(TsFileSequenceReader reader) throws IOException {
-    int totalChunkNum = 0;
-    int maxChunkNum = 0;
-    int maxAlignedSeriesNumInDevice = -1;
-    int maxDeviceChunkNum = 0;
-    Map<String, List<TimeseriesMetadata>> deviceMetadata = reader.getAllTimeseriesMetadata(true);
-    for (Map.Entry<String, List<TimeseriesMetadata>> entry : deviceMetadata.entrySet()) {
-      int deviceChunkNum = 0;
-      List<TimeseriesMetadata> deviceTimeseriesMetadata = entry.getValue();
-      if (deviceTimeseriesMetadata.get(0).getMeasurementId().equals("")) {
-        // aligned device
-        maxAlignedSeriesNumInDevice =
-            Math.max(maxAlignedSeriesNumInDevice, deviceTimeseriesMetadata.size());
-      }
-      for (TimeseriesMetadata timeseriesMetadata : deviceTimeseriesMetadata) {
-        deviceChunkNum += timeseriesMetadata.getChunkMetadataList().size();
-        totalChunkNum += timeseriesMetadata.getChunkMetadataList().size();
-        maxChunkNum = Math.max(maxChunkNum, timeseriesMetadata.getChunkMetadataList().size());
-      }
-      maxDeviceChunkNum = Math.max(maxDeviceChunkNum, deviceChunkNum);
-    }
-    return new int[] {totalChunkNum, maxChunkNum, maxAlignedSeriesNumInDevice, maxDeviceChunkNum};
-  }
 }
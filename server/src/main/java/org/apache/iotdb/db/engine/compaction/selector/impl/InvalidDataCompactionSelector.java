@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.selector.impl;
+
+import org.apache.iotdb.commons.conf.IoTDBConstant;
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.compaction.execute.utils.CompactionUtils;
+import org.apache.iotdb.db.engine.compaction.selector.ICompactionSelector;
+import org.apache.iotdb.db.engine.modification.Deletion;
+import org.apache.iotdb.db.engine.modification.Modification;
+import org.apache.iotdb.db.engine.storagegroup.TsFileManager;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResourceStatus;
+import org.apache.iotdb.db.engine.storagegroup.timeindex.ITimeIndex;
+import org.apache.iotdb.tsfile.file.metadata.TimeseriesMetadata;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.TimeRange;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * InvalidDataCompactionSelector selects the files in which too much data is deleted or expired by
+ * the ttl, each of which is rewritten alone by an inner space compaction task to drop the invalid
+ * data from disk. Otherwise, the invalid data in a file that is never selected by the other
+ * selectors, e.g. an old file large enough, stays on disk and is filtered by every query.
+ *
+ * <p>The ratio of invalid data is estimated assuming the data of each series is evenly distributed
+ * in its time range. If the file has no deletions, only the expired data is counted by the time
+ * index. Otherwise, each deletion is counted for the series and the time range it covers, which are
+ * read from the metadata of the file, and each series is weighted by its number of points.
+ */
+public class InvalidDataCompactionSelector implements ICompactionSelector {
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(IoTDBConstant.COMPACTION_LOGGER_NAME);
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  protected String storageGroupName;
+  protected String dataRegionId;
+  protected long timePartition;
+  protected TsFileManager tsFileManager;
+
+  public InvalidDataCompactionSelector(
+      String storageGroupName,
+      String dataRegionId,
+      long timePartition,
+      TsFileManager tsFileManager) {
+    this.storageGroupName = storageGroupName;
+    this.dataRegionId = dataRegionId;
+    this.timePartition = timePartition;
+    this.tsFileManager = tsFileManager;
+  }
+
+  @Override
+  public List<List<TsFileResource>> selectInnerSpaceTask(List<TsFileResource> tsFileResources) {
+    List<List<TsFileResource>> taskList = new LinkedList<>();
+    long ttlLowerBound = CompactionUtils.getTTLLowerBound(tsFileManager.getDataTTL());
+    double threshold = config.getInvalidDataCompactionRatioThreshold();
+    for (TsFileResource resource : tsFileResources) {
+      if (resource.getStatus() != TsFileResourceStatus.CLOSED) {
+        continue;
+      }
+      if (!resource.getModFile().exists() && resource.getFileStartTime() >= ttlLowerBound) {
+        continue;
+      }
+      double invalidDataRatio;
+      if (resource.getModFile().exists()) {
+        Map<String, List<TimeseriesMetadata>> seriesMetadata;
+        try (TsFileSequenceReader reader = new TsFileSequenceReader(resource.getTsFilePath())) {
+          seriesMetadata = reader.getAllTimeseriesMetadata(false);
+        } catch (IOException e) {
+          LOGGER.warn("[Compaction] Failed to read the metadata of {}", resource, e);
+          continue;
+        }
+        invalidDataRatio =
+            estimateInvalidDataRatio(
+                seriesMetadata, resource.getModFile().getModifications(), ttlLowerBound);
+      } else {
+        invalidDataRatio = estimateExpiredDataRatio(resource, ttlLowerBound);
+      }
+      if (invalidDataRatio >= threshold) {
+        LOGGER.debug(
+            "{}-{} [Compaction] Select {} to rewrite, the ratio of invalid data is {}",
+            storageGroupName,
+            dataRegionId,
+            resource,
+            invalidDataRatio);
+        List<TsFileResource> task = new ArrayList<>();
+        task.add(resource);
+        taskList.add(task);
+      }
+    }
+    return taskList;
+  }
+
+  /**
+   * Estimate the ratio of the data expired in the file, which is the average ratio of the expired
+   * time range of each device. If the devices are unknown by the time index, only the expired time
+   * range of the whole file is counted.
+   */
+  public static double estimateExpiredDataRatio(TsFileResource resource, long ttlLowerBound) {
+    if (resource.getTimeIndexType() != ITimeIndex.DEVICE_TIME_INDEX_TYPE) {
+      return getInvalidRatio(
+          resource.getFileStartTime(),
+          resource.getFileEndTime(),
+          ttlLowerBound,
+          Collections.emptyList());
+    }
+    double totalRatio = 0;
+    int deviceNum = 0;
+    for (String device : resource.getDevices()) {
+      totalRatio +=
+          getInvalidRatio(
+              resource.getStartTime(device),
+              resource.getEndTime(device),
+              ttlLowerBound,
+              Collections.emptyList());
+      deviceNum++;
+    }
+    return deviceNum == 0 ? 0 : totalRatio / deviceNum;
+  }
+
+  /**
+   * Estimate the ratio of the data deleted or expired in the file, which is the average ratio of
+   * the invalid time range of each series weighted by its number of points.
+   *
+   * @param seriesMetadata device -> the metadata of each series of the device in the file
+   */
+  public static double estimateInvalidDataRatio(
+      Map<String, List<TimeseriesMetadata>> seriesMetadata,
+      Collection<Modification> modifications,
+      long ttlLowerBound) {
+    double invalidPointNum = 0;
+    long totalPointNum = 0;
+    for (Map.Entry<String, List<TimeseriesMetadata>> entry : seriesMetadata.entrySet()) {
+      for (TimeseriesMetadata timeseriesMetadata : entry.getValue()) {
+        // the time column of an aligned device is deleted along with its values
+        if (timeseriesMetadata.getMeasurementId().isEmpty()) {
+          continue;
+        }
+        Statistics<? extends Serializable> statistics = timeseriesMetadata.getStatistics();
+        List<TimeRange> deletedRanges = new ArrayList<>();
+        try {
+          PartialPath seriesPath =
+              new PartialPath(entry.getKey()).concatNode(timeseriesMetadata.getMeasurementId());
+          for (Modification modification : modifications) {
+            if (modification instanceof Deletion
+                && modification.getPath().matchFullPath(seriesPath)) {
+              Deletion deletion = (Deletion) modification;
+              deletedRanges.add(new TimeRange(deletion.getStartTime(), deletion.getEndTime()));
+            }
+          }
+        } catch (IllegalPathException e) {
+          LOGGER.warn(
+              "[Compaction] Illegal series {}.{}",
+              entry.getKey(),
+              timeseriesMetadata.getMeasurementId(),
+              e);
+        }
+        invalidPointNum +=
+            statistics.getCount()
+                * getInvalidRatio(
+                    statistics.getStartTime(),
+                    statistics.getEndTime(),
+                    ttlLowerBound,
+                    deletedRanges);
+        totalPointNum += statistics.getCount();
+      }
+    }
+    return totalPointNum == 0 ? 0 : invalidPointNum / totalPointNum;
+  }
+
+  /** Get the ratio of the time range [startTime, endTime] that is expired or deleted. */
+  private static double getInvalidRatio(
+      long startTime, long endTime, long ttlLowerBound, List<TimeRange> deletedRanges) {
+    if (startTime > endTime) {
+      return 0;
+    }
+    List<TimeRange> invalidRanges = new ArrayList<>();
+    if (startTime < ttlLowerBound) {
+      invalidRanges.add(new TimeRange(startTime, Math.min(endTime, ttlLowerBound - 1)));
+    }
+    for (TimeRange deletedRange : deletedRanges) {
+      long min = Math.max(startTime, deletedRange.getMin());
+      long max = Math.min(endTime, deletedRange.getMax());
+      if (min <= max) {
+        invalidRanges.add(new TimeRange(min, max));
+      }
+    }
+    double invalidLength = 0;
+    for (TimeRange range : TimeRange.sortAndMerge(invalidRanges)) {
+      invalidLength += (double) range.getMax() - range.getMin() + 1;
+    }
+    return invalidLength / ((double) endTime - startTime + 1);
+  }
+}
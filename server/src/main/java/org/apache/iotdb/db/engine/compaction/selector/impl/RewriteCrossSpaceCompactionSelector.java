@@ -25,6 +25,7 @@ import org.apache.iotdb.db.engine.compaction.schedule.CompactionTaskManager;
 import org.apache.iotdb.db.engine.compaction.selector.ICompactionSelector;
 import org.apache.iotdb.db.engine.compaction.selector.ICrossSpaceSelector;
 import org.apache.iotdb.db.engine.compaction.selector.estimator.AbstractCompactionEstimator;
+import org.apache.iotdb.db.engine.compaction.selector.estimator.CompactionMemoryCorrector;
 import org.apache.iotdb.db.engine.compaction.selector.utils.CrossCompactionTaskResource;
 import org.apache.iotdb.db.engine.compaction.selector.utils.CrossSpaceCompactionCandidate;
 import org.apache.iotdb.db.engine.compaction.selector.utils.CrossSpaceCompactionCandidate.CrossCompactionTaskResourceSplit;
@@ -163,7 +164,9 @@ public class RewriteCrossSpaceCompactionSelector implements ICrossSpaceSelector
       List<TsFileResource> targetSeqFiles =
           split.seqFiles.stream().map(c -> c.resource).collect(Collectors.toList());
       long memoryCost =
-          compactionEstimator.estimateCrossCompactionMemory(targetSeqFiles, unseqFile);
+          CompactionMemoryCorrector.getInstance()
+              .correct(
+                  compactionEstimator.estimateCrossCompactionMemory(targetSeqFiles, unseqFile));
       if (!canAddToTaskResource(taskResource, unseqFile, targetSeqFiles, memoryCost)) {
         break;
       }
@@ -173,9 +176,10 @@ public class RewriteCrossSpaceCompactionSelector implements ICrossSpaceSelector
           unseqFile,
           targetSeqFiles,
           memoryCost,
-          totalCost);
+          taskResource.getTotalMemoryCost());
     }
     taskResource.sortSeqFiles(candidate.getSeqFiles());
+    totalCost = taskResource.getTotalMemoryCost();
     return taskResource;
   }
 
@@ -198,7 +202,8 @@ public class RewriteCrossSpaceCompactionSelector implements ICrossSpaceSelector
     }
     if (taskResource.getTotalFileNums() + 1 + seqFiles.size() <= maxCrossCompactionFileNum
         && taskResource.getTotalFileSize() + totalFileSize <= maxCrossCompactionFileSize
-        && taskResource.getTotalMemoryCost() + memoryCost < memoryBudget) {
+        && taskResource.getTotalMemoryCost() + memoryCost
+            < Math.min(memoryBudget, SystemInfo.getInstance().getAvailableCompactionMemory())) {
       return true;
     }
     return false;
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.selector.impl;
+
+import org.apache.iotdb.commons.conf.IoTDBConstant;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.compaction.selector.IInnerSeqSpaceSelector;
+import org.apache.iotdb.db.engine.storagegroup.TsFileManager;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResourceStatus;
+import org.apache.iotdb.db.utils.DateTimeUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * TimeWindowCompactionSelector selects sequence files to be compacted based on the time windows
+ * they belong to. The time axis is divided into windows of the configured length, and a file
+ * belongs to a window if all of its data falls into it. Only the consecutive files of the same
+ * window are compacted together, thus the compacted files never span more than one window, which
+ * keeps the time range of files tight for append-mostly data.
+ *
+ * <p>A window is compacted once it is superseded by a later window, or once its files reach the
+ * target file size or the max candidate file num. A window whose end is older than the freeze
+ * threshold is left alone, since its files have been compacted when the window is superseded and
+ * rewriting them again only adds write amplification.
+ */
+public class TimeWindowCompactionSelector implements IInnerSeqSpaceSelector {
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(IoTDBConstant.COMPACTION_LOGGER_NAME);
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  protected String storageGroupName;
+  protected String dataRegionId;
+  protected long timePartition;
+  protected TsFileManager tsFileManager;
+  protected boolean hasNextTimePartition;
+
+  private final long timeWindow;
+  private final long freezeThreshold;
+
+  public TimeWindowCompactionSelector(
+      String storageGroupName,
+      String dataRegionId,
+      long timePartition,
+      TsFileManager tsFileManager) {
+    this.storageGroupName = storageGroupName;
+    this.dataRegionId = dataRegionId;
+    this.timePartition = timePartition;
+    this.tsFileManager = tsFileManager;
+    this.timeWindow = config.getCompactionTimeWindow();
+    this.freezeThreshold = config.getCompactionTimeWindowFreezeThreshold();
+    hasNextTimePartition = tsFileManager.hasNextTimePartition(timePartition, true);
+  }
+
+  /**
+   * Traverse the files from old to new and group the consecutive closed files of the same window.
+   * The group of each window is submitted if it contains more than one file and the window is
+   * neither frozen nor the latest one still being written, unless the group already reaches the
+   * target size or file num.
+   */
+  @Override
+  public List<List<TsFileResource>> selectInnerSpaceTask(List<TsFileResource> tsFileResources) {
+    List<List<TsFileResource>> taskList = new LinkedList<>();
+    long currentTime = DateTimeUtils.currentTime();
+    long frozenWindowEnd = currentTime - freezeThreshold;
+    long targetCompactionFileSize = config.getTargetCompactionFileSize();
+
+    List<TsFileResource> selectedFileList = new ArrayList<>();
+    long selectedFileSize = 0L;
+    long selectedWindow = Long.MIN_VALUE;
+    for (TsFileResource currentFile : tsFileResources) {
+      if (currentFile.getStatus() != TsFileResourceStatus.CLOSED) {
+        // the files around an unclosed file are not consecutive, but later windows may still be
+        // selected
+        selectedFileList = new ArrayList<>();
+        selectedFileSize = 0L;
+        selectedWindow = Long.MIN_VALUE;
+        continue;
+      }
+      long window = getWindow(currentFile.getFileStartTime());
+      if (window != getWindow(currentFile.getFileEndTime())) {
+        // a file spanning multiple windows is never compacted by this selector
+        submitTask(taskList, selectedFileList, frozenWindowEnd, selectedWindow);
+        selectedFileList = new ArrayList<>();
+        selectedFileSize = 0L;
+        selectedWindow = Long.MIN_VALUE;
+        continue;
+      }
+      if (window != selectedWindow) {
+        // the selected window is superseded by a later one
+        submitTask(taskList, selectedFileList, frozenWindowEnd, selectedWindow);
+        selectedFileList = new ArrayList<>();
+        selectedFileSize = 0L;
+        selectedWindow = window;
+      }
+      selectedFileList.add(currentFile);
+      selectedFileSize += currentFile.getTsFileSize();
+      if (selectedFileSize >= targetCompactionFileSize
+          || selectedFileList.size() >= config.getMaxInnerCompactionCandidateFileNum()) {
+        submitTask(taskList, selectedFileList, frozenWindowEnd, selectedWindow);
+        selectedFileList = new ArrayList<>();
+        selectedFileSize = 0L;
+      }
+    }
+
+    // the latest window may still receive files, unless it has passed or next time partition exists
+    if (selectedFileList.size() > 1
+        && (hasNextTimePartition || getWindowEnd(selectedWindow) <= currentTime)) {
+      submitTask(taskList, selectedFileList, frozenWindowEnd, selectedWindow);
+    }
+    return taskList;
+  }
+
+  private void submitTask(
+      List<List<TsFileResource>> taskList,
+      List<TsFileResource> selectedFileList,
+      long frozenWindowEnd,
+      long window) {
+    if (selectedFileList.size() <= 1) {
+      return;
+    }
+    if (getWindowEnd(window) <= frozenWindowEnd) {
+      LOGGER.debug(
+          "{}-{} [Compaction] Skip {} files of frozen time window starting at {}",
+          storageGroupName,
+          dataRegionId,
+          selectedFileList.size(),
+          window * timeWindow);
+      return;
+    }
+    taskList.add(selectedFileList);
+  }
+
+  private long getWindow(long time) {
+    return Math.floorDiv(time, timeWindow);
+  }
+
+  private long getWindowEnd(long window) {
+    long windowStart = window * timeWindow;
+    return windowStart > Long.MAX_VALUE - timeWindow ? Long.MAX_VALUE : windowStart + timeWindow;
+  }
+}
@@ -30,6 +30,10 @@ public class CrossCompactionTaskResource {
   private List<TsFileResource> seqFiles;
   private List<TsFileResource> unseqFiles;
 
+  // the seq files newly added and the memory cost of each unseq file, in the order of selection
+  private final List<List<TsFileResource>> seqFilesOfSplits;
+  private final List<Long> memoryCostOfSplits;
+
   private long totalMemoryCost;
   private long totalFileSize;
   private long totalFileNums;
@@ -37,6 +41,8 @@ public class CrossCompactionTaskResource {
   public CrossCompactionTaskResource() {
     this.seqFiles = new ArrayList<>();
     this.unseqFiles = new ArrayList<>();
+    this.seqFilesOfSplits = new ArrayList<>();
+    this.memoryCostOfSplits = new ArrayList<>();
     this.totalMemoryCost = 0L;
     this.totalFileSize = 0L;
     this.totalFileNums = 0L;
@@ -68,6 +74,35 @@ public class CrossCompactionTaskResource {
     addUnseqFile(unseqFile);
     addTargetSeqFiles(seqFiles);
     increaseMemoryCost(memoryCost);
+    seqFilesOfSplits.add(new ArrayList<>(seqFiles));
+    memoryCostOfSplits.add(memoryCost);
+  }
+
+  /**
+   * Shrink the task resource to the first unseq files whose memory cost is within the budget,
+   * together with their overlapped seq files. The unseq files are selected one by one in order, so
+   * the shrunk task resource is the one selected under the smaller budget. The first unseq file is
+   * always kept.
+   *
+   * @return the shrunk task resource, or this task resource if all the unseq files are within the
+   *     budget
+   */
+  public CrossCompactionTaskResource shrink(long memoryBudget) {
+    if (totalMemoryCost <= memoryBudget || unseqFiles.size() <= 1) {
+      return this;
+    }
+    CrossCompactionTaskResource shrunkResource = new CrossCompactionTaskResource();
+    shrunkResource.putResources(
+        unseqFiles.get(0), seqFilesOfSplits.get(0), memoryCostOfSplits.get(0));
+    for (int i = 1; i < unseqFiles.size(); i++) {
+      if (shrunkResource.getTotalMemoryCost() + memoryCostOfSplits.get(i) > memoryBudget) {
+        break;
+      }
+      shrunkResource.putResources(
+          unseqFiles.get(i), seqFilesOfSplits.get(i), memoryCostOfSplits.get(i));
+    }
+    shrunkResource.sortSeqFiles(seqFiles);
+    return shrunkResource;
   }
 
   private void addUnseqFile(TsFileResource file) {
@@ -53,6 +53,7 @@ import org.apache.iotdb.db.engine.memtable.IMemTable;
 import org.apache.iotdb.db.engine.modification.Deletion;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.tier.TierMigrationService;
 import org.apache.iotdb.db.engine.upgrade.UpgradeCheckStatus;
 import org.apache.iotdb.db.engine.upgrade.UpgradeLog;
 import org.apache.iotdb.db.engine.version.SimpleFileVersionController;
@@ -81,6 +82,7 @@ import org.apache.iotdb.db.query.context.QueryContext;
 import org.apache.iotdb.db.query.control.FileReaderManager;
 import org.apache.iotdb.db.rescon.TsFileResourceManager;
 import org.apache.iotdb.db.service.SettleService;
+import org.apache.iotdb.db.service.metrics.recorder.CompactionMetricsManager;
 import org.apache.iotdb.db.sync.SyncService;
 import org.apache.iotdb.db.sync.sender.manager.ISyncManager;
 import org.apache.iotdb.db.tools.settle.TsFileAndModSettleTool;
@@ -130,6 +132,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -190,6 +193,11 @@ public class DataRegion implements IDataRegionForQuery {
   private volatile boolean deleted = false;
   /** closeStorageGroupCondition is used to wait for all currently closing TsFiles to be done. */
   private final Object closeStorageGroupCondition = new Object();
+  /**
+   * held by the compaction selection until the selected files become compaction candidates, so that
+   * the tier migration never switches a file that a selector has chosen.
+   */
+  private final Object compactionSelectionLock = new Object();
   /**
    * avoid some tsfileResource is changed (e.g., from unsealed to sealed) when a query is executed.
    */
@@ -227,6 +235,11 @@ public class DataRegion implements IDataRegionForQuery {
   /** manage tsFileResource degrade */
   private TsFileResourceManager tsFileResourceManager = TsFileResourceManager.getInstance();
 
+  /** the load of this region reported to the ConfigNode for balancing */
+  private final AtomicLong writtenPointsNum = new AtomicLong(0);
+
+  private final AtomicLong queryCpuTimeInNanos = new AtomicLong(0);
+
   /**
    * time partition id -> version controller which assigns a version for each MemTable and
    * deletion/update such that after they are persisted, the order of insertions, deletions and
@@ -695,6 +708,7 @@ public class DataRegion implements IDataRegionForQuery {
             // such
             // resources
             continueFailedRenames(partitionFolder, TEMP_SUFFIX);
+            TierMigrationService.getInstance().recoverMigrations(partitionFolder);
 
             Collections.addAll(
                 tsFiles,
@@ -709,6 +723,7 @@ public class DataRegion implements IDataRegionForQuery {
       }
     }
 
+    TierMigrationService.getInstance().removeDuplicatedSources(tsFiles);
     tsFiles.sort(this::compareFileName);
     if (!tsFiles.isEmpty()) {
       checkTsFileTime(tsFiles.get(tsFiles.size() - 1));
@@ -952,6 +967,8 @@ public class DataRegion implements IDataRegionForQuery {
 
       // insert to sequence or unSequence file
       insertToTsFileProcessor(insertRowNode, isSequence, timePartitionId);
+      writtenPointsNum.addAndGet(
+          insertRowNode.getMeasurements().length - insertRowNode.getFailedMeasurementNumber());
     } finally {
       writeUnlock();
     }
@@ -1060,6 +1077,11 @@ public class DataRegion implements IDataRegionForQuery {
       long globalLatestFlushedTime =
           lastFlushTimeMap.getGlobalFlushedTime(insertTabletNode.getDevicePath().getFullPath());
       tryToUpdateBatchInsertLastCache(insertTabletNode, globalLatestFlushedTime);
+      writtenPointsNum.addAndGet(
+          (long)
+                  (insertTabletNode.getMeasurements().length
+                      - insertTabletNode.getFailedMeasurementNumber())
+              * insertTabletNode.getRowCount());
 
       if (!noFailure) {
         throw new BatchProcessException(results);
@@ -1545,6 +1567,114 @@ public class DataRegion implements IDataRegionForQuery {
     }
   }
 
+  /**
+   * Iterate each sealed TsFile from the oldest one and migrate those that should leave their
+   * storage tier to the next tier. It is only called by the single tier migration thread, thus no
+   * monitor is held while the TsFiles are copied.
+   */
+  public void checkTierMigration() {
+    TierMigrationService migrationService = TierMigrationService.getInstance();
+    if (migrationService.getTierNum() <= 1) {
+      return;
+    }
+    // copy to avoid concurrent modification of deletion
+    List<TsFileResource> seqFiles = new ArrayList<>(tsFileManager.getTsFileList(true));
+    List<TsFileResource> unseqFiles = new ArrayList<>(tsFileManager.getTsFileList(false));
+    List<Pair<TsFileResource, Boolean>> files = new ArrayList<>();
+    seqFiles.forEach(resource -> files.add(new Pair<>(resource, true)));
+    unseqFiles.forEach(resource -> files.add(new Pair<>(resource, false)));
+    files.sort(Comparator.comparingLong(file -> file.left.getFileEndTime()));
+
+    for (Pair<TsFileResource, Boolean> file : files) {
+      TsFileResource resource = file.left;
+      if (resource.getStatus() != TsFileResourceStatus.CLOSED) {
+        continue;
+      }
+      int tier = DirectoryManager.getInstance().getTierOfFile(resource.getTsFile());
+      if (migrationService.shouldMigrate(tier, resource)) {
+        migrateTsFile(resource, tier + 1, file.right);
+      }
+    }
+  }
+
+  /**
+   * Migrate the sealed TsFile together with its .resource and .mods files to the given tier. The
+   * TsFile is copied without any lock, and the TsFileResource is switched to the copy only if it is
+   * not used by any queries, otherwise the migration is retried in the next check.
+   */
+  private void migrateTsFile(TsFileResource resource, int targetTier, boolean isSeq) {
+    long startTime = System.currentTimeMillis();
+    TierMigrationService migrationService = TierMigrationService.getInstance();
+    File tmpFile = null;
+    try {
+      String targetFolder =
+          isSeq
+              ? DirectoryManager.getInstance().getNextFolderForSequenceFile(targetTier)
+              : DirectoryManager.getInstance().getNextFolderForUnSequenceFile(targetTier);
+      File targetDir =
+          fsFactory.getFile(
+              targetFolder,
+              databaseName
+                  + File.separator
+                  + dataRegionId
+                  + File.separator
+                  + resource.getTimePartition());
+      // the read lock prevents the TsFile from being deleted by compaction or TTL during the copy
+      resource.readLock();
+      try {
+        if (resource.getStatus() != TsFileResourceStatus.CLOSED) {
+          return;
+        }
+        tmpFile = migrationService.copyTsFile(resource.getTsFile(), targetDir);
+      } finally {
+        resource.readUnlock();
+      }
+
+      // deletions write the .mods file under the write lock of the data region
+      writeLock("migrateTsFile");
+      try {
+        synchronized (compactionSelectionLock) {
+          if (!resource.tryWriteLock()) {
+            return;
+          }
+          try {
+            // a compaction candidate is left to the compaction, which may move it anyway
+            if (resource.getStatus() != TsFileResourceStatus.CLOSED) {
+              return;
+            }
+            migrationService.switchTsFile(resource, tmpFile, startTime);
+            tmpFile = null;
+          } finally {
+            resource.writeUnlock();
+          }
+        }
+      } finally {
+        writeUnlock();
+      }
+    } catch (DiskSpaceInsufficientException e) {
+      logger.warn(
+          "{}: No space to migrate TsFile {} to tier {}",
+          databaseName + "-" + dataRegionId,
+          resource.getTsFilePath(),
+          targetTier);
+    } catch (IOException e) {
+      logger.error(
+          "{}: Failed to migrate TsFile {} to tier {}",
+          databaseName + "-" + dataRegionId,
+          resource.getTsFilePath(),
+          targetTier,
+          e);
+    } finally {
+      if (tmpFile != null) {
+        try {
+          Files.deleteIfExists(tmpFile.toPath());
+        } catch (IOException e) {
+          logger.warn("{}: Failed to delete {}", databaseName + "-" + dataRegionId, tmpFile, e);
+        }
+      }
+    }
+  }
+
   private void checkFileTTL(TsFileResource resource, long ttlLowerBound, boolean isSeq) {
     if (!resource.isClosed() || !resource.isDeleted() && resource.stillLives(ttlLowerBound)) {
       return;
@@ -2125,6 +2255,8 @@ public class DataRegion implements IDataRegionForQuery {
     }
     TsFileMetricManager.getInstance()
         .addFile(tsFileProcessor.getTsFileResource().getTsFileSize(), tsFileProcessor.isSequence());
+    CompactionMetricsManager.getInstance()
+        .reportFlushedFile(tsFileProcessor.getTsFileResource().getTsFileSize());
     logger.info("signal closing database condition in {}", databaseName + "-" + dataRegionId);
   }
 
@@ -2134,7 +2266,9 @@ public class DataRegion implements IDataRegionForQuery {
       // sort the time partition from largest to smallest
       timePartitions.sort(Comparator.reverseOrder());
       for (long timePartition : timePartitions) {
-        CompactionScheduler.scheduleCompaction(tsFileManager, timePartition);
+        synchronized (compactionSelectionLock) {
+          CompactionScheduler.scheduleCompaction(tsFileManager, timePartition);
+        }
       }
     } catch (Throwable e) {
       logger.error("Meet error in compaction schedule.", e);
@@ -2899,10 +3033,12 @@ public class DataRegion implements IDataRegionForQuery {
               dataTTL, IoTDBDescriptor.getInstance().getConfig().getTimestampPrecision());
     }
     this.dataTTL = dataTTL;
+    tsFileManager.setDataTTL(dataTTL);
   }
 
   public void setDataTTL(long dataTTL) {
     this.dataTTL = dataTTL;
+    tsFileManager.setDataTTL(dataTTL);
   }
 
   public List<TsFileResource> getSequenceFileList() {
@@ -2917,6 +3053,33 @@ public class DataRegion implements IDataRegionForQuery {
     return dataRegionId;
   }
 
+  /** @return the number of points written into this region since the DataNode started */
+  public long getWrittenPointsNum() {
+    return writtenPointsNum.get();
+  }
+
+  @Override
+  public void addQueryCpuTime(long cpuTimeInNanos) {
+    queryCpuTimeInNanos.addAndGet(cpuTimeInNanos);
+  }
+
+  /** @return the cpu time spent in querying this region since the DataNode started */
+  public long getQueryCpuTimeInNanos() {
+    return queryCpuTimeInNanos.get();
+  }
+
+  /** @return the total size of the sequence and unsequence TsFiles */
+  public long getDiskSize() {
+    long diskSize = 0;
+    for (TsFileResource resource : tsFileManager.getTsFileList(true)) {
+      diskSize += resource.getTsFileSize();
+    }
+    for (TsFileResource resource : tsFileManager.getTsFileList(false)) {
+      diskSize += resource.getTsFileSize();
+    }
+    return diskSize;
+  }
+
   /**
    * Get the storageGroupPath with dataRegionId.
    *
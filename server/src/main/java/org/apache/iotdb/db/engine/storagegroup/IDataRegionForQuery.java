@@ -44,4 +44,7 @@ public interface IDataRegionForQuery {
 
   /** Get database name of this DataRegion */
   String getDatabaseName();
+
+  /** Record the cpu time spent in querying this DataRegion, which is part of its load */
+  void addQueryCpuTime(long cpuTimeInNanos);
 }
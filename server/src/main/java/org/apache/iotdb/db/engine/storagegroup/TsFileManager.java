@@ -63,6 +63,9 @@ public class TsFileManager {
   private boolean allowCompaction = true;
   private AtomicLong currentCompactionTaskSerialId = new AtomicLong(0);
 
+  /** the ttl of the data region, the data expired by which is dropped by compaction */
+  private volatile long dataTTL = Long.MAX_VALUE;
+
   public TsFileManager(String storageGroupName, String dataRegionId, String storageGroupDir) {
     this.storageGroupName = storageGroupName;
     this.storageGroupDir = storageGroupDir;
@@ -437,6 +440,14 @@ public class TsFileManager {
     return currentCompactionTaskSerialId.getAndIncrement();
   }
 
+  public long getDataTTL() {
+    return dataTTL;
+  }
+
+  public void setDataTTL(long dataTTL) {
+    this.dataTTL = dataTTL;
+  }
+
   public boolean hasNextTimePartition(long timePartition, boolean sequence) {
     try {
       return sequence
@@ -239,11 +239,12 @@ public class TsFileNameGenerator {
       maxInnerMergeCount = Math.max(tsFileName.innerCompactionCnt, maxInnerMergeCount);
       maxCrossMergeCount = Math.max(tsFileName.crossCompactionCnt, maxCrossMergeCount);
     }
+    String targetDir = getFastestTierDir(tsFileResources);
     // set target resource to COMPACTING until the end of this task
     return sequence
         ? new TsFileResource(
             new File(
-                tsFileResources.get(0).getTsFile().getParent(),
+                targetDir,
                 minTime
                     + FILE_NAME_SEPARATOR
                     + minVersion
@@ -255,7 +256,7 @@ public class TsFileNameGenerator {
             TsFileResourceStatus.COMPACTING)
         : new TsFileResource(
             new File(
-                tsFileResources.get(0).getTsFile().getParent(),
+                targetDir,
                 maxTime
                     + FILE_NAME_SEPARATOR
                     + maxVersion
@@ -267,6 +268,23 @@ public class TsFileNameGenerator {
             TsFileResourceStatus.COMPACTING);
   }
 
+  /**
+   * Get the dir of the source file in the fastest storage tier, so that the compacted data is
+   * placed in the fastest tier among the source files.
+   */
+  private static String getFastestTierDir(List<TsFileResource> tsFileResources) {
+    File targetFile = tsFileResources.get(0).getTsFile();
+    int targetTier = DirectoryManager.getInstance().getTierOfFile(targetFile);
+    for (TsFileResource resource : tsFileResources) {
+      int tier = DirectoryManager.getInstance().getTierOfFile(resource.getTsFile());
+      if (tier >= 0 && (targetTier < 0 || tier < targetTier)) {
+        targetFile = resource.getTsFile();
+        targetTier = tier;
+      }
+    }
+    return targetFile.getParent();
+  }
+
   public static class TsFileName {
     private static final String FILE_NAME_PATTERN = "(\\d+)-(\\d+)-(\\d+)-(\\d+).tsfile$";
     private static final Pattern FILE_NAME_MATCHER = Pattern.compile(TsFileName.FILE_NAME_PATTERN);
@@ -69,6 +69,11 @@ public class VirtualDataRegion implements IDataRegionForQuery {
     return VIRTUAL_DB_NAME;
   }
 
+  @Override
+  public void addQueryCpuTime(long cpuTimeInNanos) {
+    // The VirtualDataRegion is not balanced
+  }
+
   private static class InstanceHolder {
 
     private InstanceHolder() {}
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.tier;
+
+import org.apache.iotdb.commons.service.metric.MetricService;
+import org.apache.iotdb.commons.service.metric.enums.Metric;
+import org.apache.iotdb.commons.service.metric.enums.Tag;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.conf.directories.DirectoryManager;
+import org.apache.iotdb.db.engine.modification.ModificationFile;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.utils.DateTimeUtils;
+import org.apache.iotdb.metrics.utils.MetricLevel;
+import org.apache.iotdb.tsfile.fileSystem.FSFactoryProducer;
+import org.apache.iotdb.tsfile.fileSystem.fsFactory.FSFactory;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class decides which sealed TsFiles should be migrated to slower storage tiers and carries
+ * out the file operations of the migration. A TsFile is migrated out of its tier once its data is
+ * older than the TTL of the tier, or once the disk usage of the tier exceeds its threshold, in
+ * which case the oldest TsFiles are migrated first.
+ *
+ * <p>A migration is done in two steps. The TsFile is first copied into the target tier as a
+ * temporary file without blocking queries, since a sealed TsFile is immutable. Then the caller
+ * switches the TsFileResource to the copy under the write lock of the TsFileResource, which moves
+ * the small .resource and .mods files and deletes the original TsFile. The file operations are
+ * ordered so that a migration interrupted by a crash is either finished or abandoned in recovery.
+ */
+public class TierMigrationService {
+
+  private static final Logger logger = LoggerFactory.getLogger(TierMigrationService.class);
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private static final FSFactory fsFactory = FSFactoryProducer.getFSFactory();
+
+  public static final String MIGRATING_FILE_SUFFIX = ".migrating";
+
+  private final AtomicLong migratedFileNum = new AtomicLong(0);
+  private final AtomicLong migratedFileSize = new AtomicLong(0);
+
+  private TierMigrationService() {}
+
+  public static TierMigrationService getInstance() {
+    return TierMigrationServiceHolder.INSTANCE;
+  }
+
+  public int getTierNum() {
+    return DirectoryManager.getInstance().getTierNum();
+  }
+
+  /** Whether the TsFile in the given tier should be migrated to the next tier. */
+  public boolean shouldMigrate(int tier, TsFileResource resource) {
+    if (tier < 0 || tier >= getTierNum() - 1) {
+      return false;
+    }
+    long[] tierTTLInMs = config.getTierTTLInMs();
+    if (tier < tierTTLInMs.length && tierTTLInMs[tier] >= 0) {
+      long ttlLowerBound =
+          DateTimeUtils.currentTime()
+              - DateTimeUtils.convertMilliTimeWithPrecision(
+                  tierTTLInMs[tier], config.getTimestampPrecision());
+      if (resource.getFileEndTime() < ttlLowerBound) {
+        return true;
+      }
+    }
+    double[] tierMaxDiskUsageRatios = config.getTierMaxDiskUsageRatios();
+    return tier < tierMaxDiskUsageRatios.length
+        && tierMaxDiskUsageRatios[tier] < 1.0
+        && getTierDiskUsageRatio(tier) > tierMaxDiskUsageRatios[tier];
+  }
+
+  public long getTierTotalSpace(int tier) {
+    long totalSpace = 0;
+    for (String dataDir : getTierDataDirs(tier)) {
+      totalSpace += fsFactory.getFile(dataDir).getTotalSpace();
+    }
+    return totalSpace;
+  }
+
+  public long getTierUsableSpace(int tier) {
+    long usableSpace = 0;
+    for (String dataDir : getTierDataDirs(tier)) {
+      usableSpace += fsFactory.getFile(dataDir).getUsableSpace();
+    }
+    return usableSpace;
+  }
+
+  private double getTierDiskUsageRatio(int tier) {
+    long totalSpace = getTierTotalSpace(tier);
+    return totalSpace == 0 ? 0 : 1 - (double) getTierUsableSpace(tier) / totalSpace;
+  }
+
+  private String[] getTierDataDirs(int tier) {
+    String[][] tierDataDirs = config.getTierDataDirs();
+    return tier < tierDataDirs.length ? tierDataDirs[tier] : new String[0];
+  }
+
+  /**
+   * Copy the TsFile into the target dir as a temporary file.
+   *
+   * @return the temporary file
+   */
+  public File copyTsFile(File tsFile, File targetDir) throws IOException {
+    if (!targetDir.exists() && !targetDir.mkdirs()) {
+      throw new IOException(String.format("Failed to create dir %s", targetDir));
+    }
+    File tmpFile = fsFactory.getFile(targetDir, tsFile.getName() + MIGRATING_FILE_SUFFIX);
+    Files.copy(tsFile.toPath(), tmpFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    return tmpFile;
+  }
+
+  /**
+   * Switch the TsFileResource to the copied TsFile, which must be called under the write lock of
+   * the TsFileResource. The .resource file is renamed into the target dir atomically, which marks
+   * the copied TsFile complete. Then the TsFile and the .mods file are moved, and the source files
+   * are deleted at last, so that {@link #removeDuplicatedSources} can finish the migration if the
+   * system crashed in between.
+   */
+  public void switchTsFile(TsFileResource resource, File tmpFile, long startTime)
+      throws IOException {
+    File source = resource.getTsFile();
+    File targetDir = tmpFile.getParentFile();
+    File target = fsFactory.getFile(targetDir, source.getName());
+
+    File sourceResourceFile = fsFactory.getFile(source.getPath() + TsFileResource.RESOURCE_SUFFIX);
+    File targetResourceFile = fsFactory.getFile(target.getPath() + TsFileResource.RESOURCE_SUFFIX);
+    File tmpResourceFile = fsFactory.getFile(targetResourceFile.getPath() + MIGRATING_FILE_SUFFIX);
+    Files.copy(
+        sourceResourceFile.toPath(), tmpResourceFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    Files.move(
+        tmpResourceFile.toPath(), targetResourceFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    Files.move(tmpFile.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+    resource.getModFile().close();
+    moveModFile(source, target);
+    resource.setFile(target);
+    resource.resetModFile();
+    Files.deleteIfExists(sourceResourceFile.toPath());
+    Files.deleteIfExists(source.toPath());
+
+    long fileSize = target.length();
+    migratedFileNum.incrementAndGet();
+    migratedFileSize.addAndGet(fileSize);
+    MetricService.getInstance()
+        .rate(
+            fileSize,
+            Metric.TIER_MIGRATION.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            "migrated_bytes");
+    MetricService.getInstance()
+        .timer(
+            System.currentTimeMillis() - startTime,
+            TimeUnit.MILLISECONDS,
+            Metric.COST_TASK.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            "tier_migration");
+    logger.info("TsFile {} is migrated to {}", source, target);
+  }
+
+  /**
+   * Finish or abandon the migrations into the partition folder that were interrupted by a crash. A
+   * migrating TsFile whose .resource file has been renamed into the folder is complete, thus it is
+   * renamed to the TsFile, otherwise it is deleted together with the partial copy of its .resource
+   * file.
+   */
+  public void recoverMigrations(File partitionFolder) throws IOException {
+    File[] files =
+        fsFactory.listFilesBySuffix(partitionFolder.getAbsolutePath(), MIGRATING_FILE_SUFFIX);
+    if (files == null) {
+      return;
+    }
+    for (File migratingFile : files) {
+      String path = migratingFile.getPath();
+      File originFile =
+          fsFactory.getFile(path.substring(0, path.length() - MIGRATING_FILE_SUFFIX.length()));
+      if (!originFile.getName().endsWith(TsFileResource.RESOURCE_SUFFIX)
+          && fsFactory.getFile(originFile.getPath() + TsFileResource.RESOURCE_SUFFIX).exists()) {
+        Files.move(migratingFile.toPath(), originFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Finish the interrupted migration of TsFile {}", originFile);
+      } else {
+        Files.deleteIfExists(migratingFile.toPath());
+        logger.info("Abandon the interrupted migration of {}", originFile);
+      }
+    }
+  }
+
+  /**
+   * The source of a migrated TsFile may be left if the system crashed before deleting it. Since
+   * TsFiles are only migrated to slower tiers, the one in the slower tier of two TsFiles with the
+   * same name is the target. The .mods file of the source, if still exists, is always complete and
+   * replaces that of the target, and then the source is removed.
+   */
+  public void removeDuplicatedSources(List<File> tsFiles) throws IOException {
+    Map<String, File> nameToFile = new HashMap<>();
+    List<Pair<File, File>> sourceAndTargets = new ArrayList<>();
+    DirectoryManager directoryManager = DirectoryManager.getInstance();
+    for (File tsFile : tsFiles) {
+      File existingFile = nameToFile.putIfAbsent(tsFile.getName(), tsFile);
+      if (existingFile == null) {
+        continue;
+      }
+      if (directoryManager.getTierOfFile(tsFile) > directoryManager.getTierOfFile(existingFile)) {
+        nameToFile.put(tsFile.getName(), tsFile);
+        sourceAndTargets.add(new Pair<>(existingFile, tsFile));
+      } else {
+        sourceAndTargets.add(new Pair<>(tsFile, existingFile));
+      }
+    }
+    for (Pair<File, File> sourceAndTarget : sourceAndTargets) {
+      File source = sourceAndTarget.left;
+      logger.info("Remove the source {} of migrated TsFile {}", source, sourceAndTarget.right);
+      moveModFile(source, sourceAndTarget.right);
+      Files.deleteIfExists(
+          fsFactory.getFile(source.getPath() + TsFileResource.RESOURCE_SUFFIX).toPath());
+      Files.deleteIfExists(source.toPath());
+      tsFiles.remove(source);
+    }
+  }
+
+  private void moveModFile(File source, File target) throws IOException {
+    File sourceModFile = fsFactory.getFile(source.getPath() + ModificationFile.FILE_SUFFIX);
+    if (sourceModFile.exists()) {
+      Files.move(
+          sourceModFile.toPath(),
+          fsFactory.getFile(target.getPath() + ModificationFile.FILE_SUFFIX).toPath(),
+          StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  public long getMigratedFileNum() {
+    return migratedFileNum.get();
+  }
+
+  public long getMigratedFileSize() {
+    return migratedFileSize.get();
+  }
+
+  private static class TierMigrationServiceHolder {
+    private static final TierMigrationService INSTANCE = new TierMigrationService();
+  }
+}
@@ -50,6 +50,8 @@ public class MetadataConstant {
   public static final String TAG_LOG_SNAPSHOT_TMP = "tlog.txt.snapshot.tmp";
   public static final String MTREE_SNAPSHOT = "mtree.snapshot";
   public static final String MTREE_SNAPSHOT_TMP = "mtree.snapshot.tmp";
+  public static final String MTREE_SNAPSHOT_DELTA = "mtree_delta.bin";
+  public static final String MTREE_SNAPSHOT_BASE_DIR = "snapshot_base";
 
   public static final String[] ALL_RESULT_NODES = new String[] {"root", "**"};
   public static final PartialPath ALL_MATCH_PATTERN = new PartialPath(new String[] {"root", "**"});
@@ -24,10 +24,14 @@ import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.service.metric.MetricService;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.metadata.template.ClusterTemplateManager;
+import org.apache.iotdb.db.metadata.template.Template;
 import org.apache.iotdb.db.mpp.common.schematree.ClusterSchemaTree;
 import org.apache.iotdb.db.mpp.common.schematree.IMeasurementSchemaInfo;
 import org.apache.iotdb.db.mpp.plan.analyze.schema.ISchemaComputation;
 import org.apache.iotdb.tsfile.read.TimeValuePair;
+import org.apache.iotdb.tsfile.utils.Pair;
+import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 
 import com.github.benmanes.caffeine.cache.Cache;
@@ -37,8 +41,10 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -51,20 +57,37 @@ public class DataNodeSchemaCache {
   private static final Logger logger = LoggerFactory.getLogger(DataNodeSchemaCache.class);
   private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
 
+  // the proportion of schema cache memory allocated for the devices activated with template
+  private static final int TEMPLATE_DEVICE_CACHE_MEMORY_PROPORTION = 5;
+
   private final Cache<PartialPath, SchemaCacheEntry> cache;
 
+  // the devices activated with template, whose measurements are not cached one by one
+  private final Cache<PartialPath, TemplateDeviceCacheEntry> templateDeviceCache;
+
   // cache update or clean have higher priority than cache read
   private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock(false);
 
   private DataNodeSchemaCache() {
+    long memoryForTemplateDeviceCache =
+        config.isEnableTemplateDeviceSchemaCache()
+            ? config.getAllocateMemoryForSchemaCache() / TEMPLATE_DEVICE_CACHE_MEMORY_PROPORTION
+            : 0;
     cache =
         Caffeine.newBuilder()
-            .maximumWeight(config.getAllocateMemoryForSchemaCache())
+            .maximumWeight(config.getAllocateMemoryForSchemaCache() - memoryForTemplateDeviceCache)
             .weigher(
                 (PartialPath key, SchemaCacheEntry value) ->
                     PartialPath.estimateSize(key) + SchemaCacheEntry.estimateSize(value))
             .recordStats()
             .build();
+    templateDeviceCache =
+        Caffeine.newBuilder()
+            .maximumWeight(memoryForTemplateDeviceCache)
+            .weigher(
+                (PartialPath key, TemplateDeviceCacheEntry value) ->
+                    PartialPath.estimateSize(key) + TemplateDeviceCacheEntry.estimateSize(value))
+            .build();
     MetricService.getInstance().addMetricSet(new DataNodeSchemaCacheMetrics(this));
   }
 
@@ -107,8 +130,14 @@ public class DataNodeSchemaCache {
   public ClusterSchemaTree get(PartialPath devicePath, String[] measurements) {
     ClusterSchemaTree schemaTree = new ClusterSchemaTree();
     Set<String> storageGroupSet = new HashSet<>();
+    Pair<TemplateDeviceCacheEntry, Template> templateDevice = getTemplateDevice(devicePath);
     SchemaCacheEntry schemaCacheEntry;
     for (String measurement : measurements) {
+      if (templateDevice != null
+          && appendTemplateMeasurement(schemaTree, devicePath, measurement, templateDevice.right)) {
+        storageGroupSet.add(templateDevice.left.getStorageGroup());
+        continue;
+      }
       PartialPath path = devicePath.concatNode(measurement);
       schemaCacheEntry = cache.getIfPresent(path);
       if (schemaCacheEntry != null) {
@@ -127,6 +156,17 @@ public class DataNodeSchemaCache {
 
   public ClusterSchemaTree get(PartialPath fullPath) {
     ClusterSchemaTree schemaTree = new ClusterSchemaTree();
+    Pair<TemplateDeviceCacheEntry, Template> templateDevice =
+        getTemplateDevice(fullPath.getDevicePath());
+    if (templateDevice != null
+        && appendTemplateMeasurement(
+            schemaTree,
+            fullPath.getDevicePath(),
+            fullPath.getMeasurement(),
+            templateDevice.right)) {
+      schemaTree.setDatabases(Collections.singleton(templateDevice.left.getStorageGroup()));
+      return schemaTree;
+    }
     SchemaCacheEntry schemaCacheEntry = cache.getIfPresent(fullPath);
     if (schemaCacheEntry != null) {
       schemaTree.appendSingleMeasurement(
@@ -145,9 +185,23 @@ public class DataNodeSchemaCache {
     String[] measurements = schemaComputation.getMeasurements();
     List<Integer> indexOfMissingMeasurements = new ArrayList<>();
     boolean isFirstMeasurement = true;
+    // the measurements in template are validated against the template by index, without looking
+    // up the cache entry of each measurement
+    Pair<TemplateDeviceCacheEntry, Template> templateDevice = getTemplateDevice(devicePath);
     PartialPath fullPath;
     for (int i = 0, length = measurements.length; i < length; i++) {
       String measurement = measurements[i];
+      if (templateDevice != null) {
+        IMeasurementSchema schema = templateDevice.right.getSchema(measurement);
+        if (schema != null) {
+          if (isFirstMeasurement) {
+            schemaComputation.computeDevice(templateDevice.right.isDirectAligned());
+            isFirstMeasurement = false;
+          }
+          computeMeasurement(schemaComputation, i, measurement, (MeasurementSchema) schema);
+          continue;
+        }
+      }
       fullPath = devicePath.concatNode(measurement);
       SchemaCacheEntry schemaCacheEntry = cache.getIfPresent(fullPath);
       if (schemaCacheEntry == null) {
@@ -157,35 +211,142 @@ public class DataNodeSchemaCache {
           schemaComputation.computeDevice(schemaCacheEntry.isAligned());
           isFirstMeasurement = false;
         }
-        schemaComputation.computeMeasurement(
-            i,
-            new IMeasurementSchemaInfo() {
-              @Override
-              public String getName() {
-                return measurement;
-              }
-
-              @Override
-              public MeasurementSchema getSchema() {
-                return schemaCacheEntry.getMeasurementSchema();
-              }
-
-              @Override
-              public String getAlias() {
-                throw new UnsupportedOperationException();
-              }
-            });
+        computeMeasurement(
+            schemaComputation, i, measurement, schemaCacheEntry.getMeasurementSchema());
       }
     }
     return indexOfMissingMeasurements;
   }
 
+  private void computeMeasurement(
+      ISchemaComputation schemaComputation,
+      int index,
+      String measurement,
+      MeasurementSchema measurementSchema) {
+    schemaComputation.computeMeasurement(
+        index,
+        new IMeasurementSchemaInfo() {
+          @Override
+          public String getName() {
+            return measurement;
+          }
+
+          @Override
+          public MeasurementSchema getSchema() {
+            return measurementSchema;
+          }
+
+          @Override
+          public String getAlias() {
+            // measurements of template have no alias
+            return null;
+          }
+        });
+  }
+
+  /**
+   * Get the cached template device and its template.
+   *
+   * @return null if the device is not cached as a device activated with template
+   */
+  private Pair<TemplateDeviceCacheEntry, Template> getTemplateDevice(PartialPath devicePath) {
+    if (!config.isEnableTemplateDeviceSchemaCache()) {
+      return null;
+    }
+    TemplateDeviceCacheEntry entry = templateDeviceCache.getIfPresent(devicePath);
+    if (entry == null) {
+      return null;
+    }
+    Template template = ClusterTemplateManager.getInstance().getTemplate(entry.getTemplateId());
+    if (template == null) {
+      // the template has been unset from all paths
+      templateDeviceCache.invalidate(devicePath);
+      return null;
+    }
+    return new Pair<>(entry, template);
+  }
+
+  private boolean appendTemplateMeasurement(
+      ClusterSchemaTree schemaTree, PartialPath devicePath, String measurement, Template template) {
+    IMeasurementSchema schema = template.getSchema(measurement);
+    if (schema == null) {
+      return false;
+    }
+    schemaTree.appendSingleMeasurement(
+        devicePath.concatNode(measurement),
+        (MeasurementSchema) schema,
+        null,
+        null,
+        template.isDirectAligned());
+    return true;
+  }
+
   public void put(ClusterSchemaTree schemaTree) {
-    for (MeasurementPath measurementPath : schemaTree.getAllMeasurement()) {
+    List<MeasurementPath> measurementPaths = schemaTree.getAllMeasurement();
+    Map<PartialPath, Template> templateDevices = putTemplateDevices(schemaTree, measurementPaths);
+    for (MeasurementPath measurementPath : measurementPaths) {
+      Template template = templateDevices.get(measurementPath.getDevicePath());
+      if (template != null && template.hasSchema(measurementPath.getMeasurement())) {
+        continue;
+      }
       putSingleMeasurementPath(schemaTree.getBelongedDatabase(measurementPath), measurementPath);
     }
   }
 
+  /**
+   * Cache the devices activated with template in the given schema tree as template devices. A
+   * device is regarded as activated only if all the measurements of the template set on it have
+   * been fetched with exactly the same schema and alignment as the template, which guarantees that
+   * resolving the schema from the template returns the same result as the fetched one.
+   *
+   * @return the template devices put into cache
+   */
+  private Map<PartialPath, Template> putTemplateDevices(
+      ClusterSchemaTree schemaTree, List<MeasurementPath> measurementPaths) {
+    if (!config.isEnableTemplateDeviceSchemaCache()) {
+      return Collections.emptyMap();
+    }
+    Map<PartialPath, List<MeasurementPath>> deviceToMeasurements = new HashMap<>();
+    for (MeasurementPath measurementPath : measurementPaths) {
+      deviceToMeasurements
+          .computeIfAbsent(measurementPath.getDevicePath(), k -> new ArrayList<>())
+          .add(measurementPath);
+    }
+
+    Map<PartialPath, Template> templateDevices = new HashMap<>();
+    for (Map.Entry<PartialPath, List<MeasurementPath>> entry : deviceToMeasurements.entrySet()) {
+      Pair<Template, PartialPath> templateSetInfo =
+          ClusterTemplateManager.getInstance().checkTemplateSetInfo(entry.getKey());
+      if (templateSetInfo == null || !isTemplateActivated(templateSetInfo.left, entry.getValue())) {
+        continue;
+      }
+      templateDeviceCache.put(
+          entry.getKey(),
+          new TemplateDeviceCacheEntry(
+              schemaTree.getBelongedDatabase(entry.getValue().get(0)),
+              templateSetInfo.left.getId()));
+      templateDevices.put(entry.getKey(), templateSetInfo.left);
+    }
+    return templateDevices;
+  }
+
+  private boolean isTemplateActivated(Template template, List<MeasurementPath> measurementPaths) {
+    int templateMeasurementNum = 0;
+    for (MeasurementPath measurementPath : measurementPaths) {
+      IMeasurementSchema schema = template.getSchema(measurementPath.getMeasurement());
+      if (schema == null) {
+        continue;
+      }
+      if (!schema.equals(measurementPath.getMeasurementSchema())
+          || measurementPath.isUnderAlignedEntity() != template.isDirectAligned()
+          || measurementPath.isMeasurementAliasExists()) {
+        return false;
+      }
+      templateMeasurementNum++;
+    }
+    return templateMeasurementNum == template.getSchemaMap().size();
+  }
+
   private void putSingleMeasurementPath(String storageGroup, MeasurementPath measurementPath) {
     SchemaCacheEntry schemaCacheEntry =
         new SchemaCacheEntry(
@@ -205,7 +366,10 @@ public class DataNodeSchemaCache {
     return DataNodeLastCacheManager.getLastCache(entry);
   }
 
-  /** get SchemaCacheEntry and update last cache */
+  /**
+   * get SchemaCacheEntry and update last cache. The entry of a measurement of the cached template
+   * device is created here, since the template measurements are not put into the schema cache.
+   */
   public void updateLastCache(
       PartialPath seriesPath,
       TimeValuePair timeValuePair,
@@ -213,13 +377,41 @@ public class DataNodeSchemaCache {
       Long latestFlushedTime) {
     SchemaCacheEntry entry = cache.getIfPresent(seriesPath);
     if (null == entry) {
-      return;
+      entry = getOrCreateTemplateMeasurementEntry(seriesPath);
+      if (null == entry) {
+        return;
+      }
     }
 
     DataNodeLastCacheManager.updateLastCache(
         entry, timeValuePair, highPriorityUpdate, latestFlushedTime);
   }
 
+  private SchemaCacheEntry getOrCreateTemplateMeasurementEntry(PartialPath seriesPath) {
+    Pair<TemplateDeviceCacheEntry, Template> templateDevice =
+        getTemplateDevice(seriesPath.getDevicePath());
+    if (templateDevice == null) {
+      return null;
+    }
+    IMeasurementSchema schema = templateDevice.right.getSchema(seriesPath.getMeasurement());
+    if (schema == null) {
+      return null;
+    }
+    synchronized (cache) {
+      SchemaCacheEntry entry = cache.getIfPresent(seriesPath);
+      if (null == entry) {
+        entry =
+            new SchemaCacheEntry(
+                templateDevice.left.getStorageGroup(),
+                (MeasurementSchema) schema,
+                null,
+                templateDevice.right.isDirectAligned());
+        cache.put(seriesPath, entry);
+      }
+      return entry;
+    }
+  }
+
   /**
    * get or create SchemaCacheEntry and update last cache, only support non-aligned sensor or
    * aligned sensor without only one sub sensor
@@ -269,6 +461,7 @@ public class DataNodeSchemaCache {
   public void invalidate(PartialPath partialPath) {
     resetLastCache(partialPath);
     cache.invalidate(partialPath);
+    templateDeviceCache.invalidate(partialPath.getDevicePath());
   }
 
   public void invalidateMatchedSchema(PartialPath pathPattern) {
@@ -280,14 +473,28 @@ public class DataNodeSchemaCache {
                 cache.invalidate(k);
               }
             });
+    templateDeviceCache
+        .asMap()
+        .forEach(
+            (k, v) -> {
+              if (pathPattern.matchPrefixPath(k)) {
+                templateDeviceCache.invalidate(k);
+              }
+            });
   }
 
   public long estimatedSize() {
     return cache.estimatedSize();
   }
 
+  public long estimatedTemplateDeviceSize() {
+    return templateDeviceCache.estimatedSize();
+  }
+
   public void cleanUp() {
     cache.invalidateAll();
     cache.cleanUp();
+    templateDeviceCache.invalidateAll();
+    templateDeviceCache.cleanUp();
   }
 }
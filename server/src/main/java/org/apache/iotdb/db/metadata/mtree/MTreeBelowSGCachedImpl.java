@@ -43,6 +43,7 @@ import org.apache.iotdb.db.metadata.mnode.InternalMNode;
 import org.apache.iotdb.db.metadata.mnode.MeasurementMNode;
 import org.apache.iotdb.db.metadata.mnode.iterator.IMNodeIterator;
 import org.apache.iotdb.db.metadata.mtree.store.CachedMTreeStore;
+import org.apache.iotdb.db.metadata.mtree.traverser.ParallelTraverser;
 import org.apache.iotdb.db.metadata.mtree.traverser.Traverser;
 import org.apache.iotdb.db.metadata.mtree.traverser.TraverserWithLimitOffsetWrapper;
 import org.apache.iotdb.db.metadata.mtree.traverser.collector.EntityCollector;
@@ -709,27 +710,70 @@ public class MTreeBelowSGCachedImpl implements IMTreeBelowSG {
       PartialPath pathPattern, Map<Integer, Template> templateMap, boolean withTags)
       throws MetadataException {
     List<MeasurementPath> result = new LinkedList<>();
-    try (MeasurementCollector<Void> collector =
-        new MeasurementCollector<Void>(rootNode, pathPattern, store, false) {
-          @Override
-          protected Void collectMeasurement(IMeasurementMNode node) {
-            if (node.isPreDeleted()) {
-              return null;
-            }
-            MeasurementPath path = getCurrentMeasurementPathInTraverse(node);
-            if (nodes[nodes.length - 1].equals(node.getAlias())) {
-              // only when user query with alias, the alias in path will be set
-              path.setMeasurementAlias(node.getAlias());
-            }
-            if (withTags) {
-              path.setTagMap(tagGetter.apply(node));
-            }
+    String lastNode = pathPattern.getNodes()[pathPattern.getNodeLength() - 1];
+    ParallelTraverser.TraverserFactory<MeasurementPath> traverserFactory =
+        pattern -> {
+          MeasurementCollector<MeasurementPath> collector =
+              new MeasurementCollector<MeasurementPath>(rootNode, pattern, store, false) {
+                @Override
+                protected MeasurementPath collectMeasurement(IMeasurementMNode node) {
+                  if (node.isPreDeleted()) {
+                    return null;
+                  }
+                  MeasurementPath path = getCurrentMeasurementPathInTraverse(node);
+                  if (lastNode.equals(node.getAlias())) {
+                    // only when user query with alias, the alias in path will be set
+                    path.setMeasurementAlias(node.getAlias());
+                  }
+                  if (withTags) {
+                    path.setTagMap(tagGetter.apply(node));
+                  }
+                  return path;
+                }
+              };
+          collector.setTemplateMap(templateMap);
+          return collector;
+        };
+    ParallelTraverser<MeasurementPath> parallelTraverser =
+        ParallelTraverser.tryCreate(
+            rootNode,
+            storageGroupMNode.getPartialPath(),
+            pathPattern,
+            false,
+            0,
+            0,
+            store,
+            templateMap,
+            traverserFactory);
+    if (parallelTraverser != null) {
+      try (ParallelTraverser<MeasurementPath> traverser = parallelTraverser) {
+        while (traverser.hasNext()) {
+          MeasurementPath path = traverser.next();
+          if (path != null) {
             result.add(path);
-            return null;
           }
-        }) {
-      collector.setTemplateMap(templateMap);
-      collector.traverse();
+        }
+        if (!traverser.isSuccess()) {
+          Throwable e = traverser.getFailure();
+          throw new MetadataException(e.getMessage(), e);
+        }
+      }
+      return result;
+    }
+    Traverser<MeasurementPath> traverser = traverserFactory.createTraverser(pathPattern);
+    try {
+      while (traverser.hasNext()) {
+        MeasurementPath path = traverser.next();
+        if (path != null) {
+          result.add(path);
+        }
+      }
+      if (!traverser.isSuccess()) {
+        Throwable e = traverser.getFailure();
+        throw new MetadataException(e.getMessage(), e);
+      }
+    } finally {
+      traverser.close();
     }
     return result;
   }
@@ -966,21 +1010,41 @@ public class MTreeBelowSGCachedImpl implements IMTreeBelowSG {
   // region Interfaces for schema reader
   public ISchemaReader<IDeviceSchemaInfo> getDeviceReader(IShowDevicesPlan showDevicesPlan)
       throws MetadataException {
-    EntityCollector<IDeviceSchemaInfo> collector =
-        new EntityCollector<IDeviceSchemaInfo>(
-            rootNode, showDevicesPlan.getPath(), store, showDevicesPlan.isPrefixMatch()) {
-          @Override
-          protected IDeviceSchemaInfo collectEntity(IEntityMNode node) {
-            PartialPath device = getPartialPathFromRootToNode(node);
-            return new ShowDevicesResult(device.getFullPath(), node.isAligned());
+    ParallelTraverser.TraverserFactory<IDeviceSchemaInfo> traverserFactory =
+        pattern -> {
+          EntityCollector<IDeviceSchemaInfo> collector =
+              new EntityCollector<IDeviceSchemaInfo>(
+                  rootNode, pattern, store, showDevicesPlan.isPrefixMatch()) {
+                @Override
+                protected IDeviceSchemaInfo collectEntity(IEntityMNode node) {
+                  PartialPath device = getPartialPathFromRootToNode(node);
+                  return new ShowDevicesResult(device.getFullPath(), node.isAligned());
+                }
+              };
+          if (showDevicesPlan.usingSchemaTemplate()) {
+            collector.setSchemaTemplateFilter(showDevicesPlan.getSchemaTemplateId());
           }
+          return collector;
         };
-    if (showDevicesPlan.usingSchemaTemplate()) {
-      collector.setSchemaTemplateFilter(showDevicesPlan.getSchemaTemplateId());
+    ParallelTraverser<IDeviceSchemaInfo> parallelTraverser =
+        ParallelTraverser.tryCreate(
+            rootNode,
+            storageGroupMNode.getPartialPath(),
+            showDevicesPlan.getPath(),
+            showDevicesPlan.isPrefixMatch(),
+            showDevicesPlan.getLimit(),
+            showDevicesPlan.getOffset(),
+            store,
+            null,
+            traverserFactory);
+    if (parallelTraverser != null) {
+      return ParallelTraverser.toSchemaReader(parallelTraverser);
     }
     TraverserWithLimitOffsetWrapper<IDeviceSchemaInfo> traverser =
         new TraverserWithLimitOffsetWrapper<>(
-            collector, showDevicesPlan.getLimit(), showDevicesPlan.getOffset());
+            traverserFactory.createTraverser(showDevicesPlan.getPath()),
+            showDevicesPlan.getLimit(),
+            showDevicesPlan.getOffset());
     return new ISchemaReader<IDeviceSchemaInfo>() {
       @Override
       public boolean isSuccess() {
@@ -1013,13 +1077,80 @@ public class MTreeBelowSGCachedImpl implements IMTreeBelowSG {
       IShowTimeSeriesPlan showTimeSeriesPlan,
       Function<Long, Pair<Map<String, String>, Map<String, String>>> tagAndAttributeProvider)
       throws MetadataException {
+    ParallelTraverser<ITimeSeriesSchemaInfo> parallelTraverser =
+        ParallelTraverser.tryCreate(
+            rootNode,
+            storageGroupMNode.getPartialPath(),
+            showTimeSeriesPlan.getPath(),
+            showTimeSeriesPlan.isPrefixMatch(),
+            showTimeSeriesPlan.getLimit(),
+            showTimeSeriesPlan.getOffset(),
+            store,
+            showTimeSeriesPlan.getRelatedTemplate(),
+            pattern ->
+                createTimeSeriesCollector(
+                    pattern, showTimeSeriesPlan, tagAndAttributeProvider, true));
+    if (parallelTraverser != null) {
+      return ParallelTraverser.toSchemaReader(parallelTraverser);
+    }
+    Traverser<ITimeSeriesSchemaInfo> collector =
+        createTimeSeriesCollector(
+            showTimeSeriesPlan.getPath(), showTimeSeriesPlan, tagAndAttributeProvider, false);
+    Traverser<ITimeSeriesSchemaInfo> traverser;
+    if (showTimeSeriesPlan.getLimit() > 0 || showTimeSeriesPlan.getOffset() > 0) {
+      traverser =
+          new TraverserWithLimitOffsetWrapper<>(
+              collector, showTimeSeriesPlan.getLimit(), showTimeSeriesPlan.getOffset());
+    } else {
+      traverser = collector;
+    }
+    return new ISchemaReader<ITimeSeriesSchemaInfo>() {
+      @Override
+      public boolean isSuccess() {
+        return traverser.isSuccess();
+      }
+
+      @Override
+      public Throwable getFailure() {
+        return traverser.getFailure();
+      }
+
+      @Override
+      public void close() {
+        traverser.close();
+      }
+
+      @Override
+      public boolean hasNext() {
+        return traverser.hasNext();
+      }
+
+      @Override
+      public ITimeSeriesSchemaInfo next() {
+        return traverser.next();
+      }
+    };
+  }
+
+  /**
+   * Create the collector of timeseries. If the result is eager, the full path and alignment of the
+   * timeseries are computed during collection, so that the result is still valid after the
+   * collector moves on.
+   */
+  private Traverser<ITimeSeriesSchemaInfo> createTimeSeriesCollector(
+      PartialPath pathPattern,
+      IShowTimeSeriesPlan showTimeSeriesPlan,
+      Function<Long, Pair<Map<String, String>, Map<String, String>>> tagAndAttributeProvider,
+      boolean isEagerResult)
+      throws MetadataException {
     MeasurementCollector<ITimeSeriesSchemaInfo> collector =
         new MeasurementCollector<ITimeSeriesSchemaInfo>(
-            rootNode, showTimeSeriesPlan.getPath(), store, showTimeSeriesPlan.isPrefixMatch()) {
+            rootNode, pathPattern, store, showTimeSeriesPlan.isPrefixMatch()) {
           @Override
           protected ITimeSeriesSchemaInfo collectMeasurement(IMeasurementMNode node) {
-            Pair<Map<String, String>, Map<String, String>> tagAndAttribute =
-                tagAndAttributeProvider.apply(node.getOffset());
+            PartialPath eagerPath = isEagerResult ? getPartialPathFromRootToNode(node) : null;
+            boolean eagerAligned =
+                isEagerResult && getParentOfNextMatchedNode().getAsEntityMNode().isAligned();
             return new ITimeSeriesSchemaInfo() {
 
               private Pair<Map<String, String>, Map<String, String>> tagAndAttribute = null;
@@ -1052,57 +1183,29 @@ public class MTreeBelowSGCachedImpl implements IMTreeBelowSG {
 
               @Override
               public boolean isUnderAlignedDevice() {
+                if (isEagerResult) {
+                  return eagerAligned;
+                }
                 return getParentOfNextMatchedNode().getAsEntityMNode().isAligned();
               }
 
               @Override
               public String getFullPath() {
-                return getPartialPathFromRootToNode(node).getFullPath();
+                return getPartialPath().getFullPath();
               }
 
               @Override
               public PartialPath getPartialPath() {
+                if (isEagerResult) {
+                  return eagerPath;
+                }
                 return getPartialPathFromRootToNode(node);
               }
             };
           }
         };
-
     collector.setTemplateMap(showTimeSeriesPlan.getRelatedTemplate());
-    Traverser<ITimeSeriesSchemaInfo> traverser;
-    if (showTimeSeriesPlan.getLimit() > 0 || showTimeSeriesPlan.getOffset() > 0) {
-      traverser =
-          new TraverserWithLimitOffsetWrapper<>(
-              collector, showTimeSeriesPlan.getLimit(), showTimeSeriesPlan.getOffset());
-    } else {
-      traverser = collector;
-    }
-    return new ISchemaReader<ITimeSeriesSchemaInfo>() {
-      @Override
-      public boolean isSuccess() {
-        return traverser.isSuccess();
-      }
-
-      @Override
-      public Throwable getFailure() {
-        return traverser.getFailure();
-      }
-
-      @Override
-      public void close() {
-        traverser.close();
-      }
-
-      @Override
-      public boolean hasNext() {
-        return traverser.hasNext();
-      }
-
-      @Override
-      public ITimeSeriesSchemaInfo next() {
-        return traverser.next();
-      }
-    };
+    return collector;
   }
 
   public ISchemaReader<INodeSchemaInfo> getNodeReader(IShowNodesPlan showNodesPlan)
@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.metadata.mtree.snapshot;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.consensus.SchemaRegionId;
+import org.apache.iotdb.commons.file.SystemFileFactory;
+import org.apache.iotdb.db.metadata.MetadataConstant;
+import org.apache.iotdb.db.metadata.logfile.FakeCRC32Serializer;
+import org.apache.iotdb.db.metadata.logfile.SchemaLogWriter;
+import org.apache.iotdb.db.metadata.mtree.MTreeBelowSGMemoryImpl;
+import org.apache.iotdb.db.metadata.plan.schemaregion.ISchemaRegionPlan;
+import org.apache.iotdb.db.metadata.plan.schemaregion.impl.SchemaRegionPlanSerializer;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * This class takes incremental snapshots of a memory based schema region. It keeps a serialized
+ * MTree, named base, in the schema region dir together with a log of all the schema plans applied
+ * since the base serialization started, named delta. A snapshot only links the base and copies the
+ * delta, thus its cost is proportional to the schema changes instead of the MTree size.
+ *
+ * <p>Once the delta exceeds the rebase threshold, a new base is serialized in background without
+ * blocking the schema region. The schema plans applied meanwhile are logged into the delta of the
+ * new base, which is switched to only after the serialization is finished. Since the new base may
+ * contain part of the modifications in its delta, replaying the delta must tolerate plans that have
+ * already taken effect.
+ */
+public class MemMTreeSnapshotManager {
+
+  private static final Logger logger = LoggerFactory.getLogger(MemMTreeSnapshotManager.class);
+
+  private static final String BASE_FILE_PREFIX = MetadataConstant.MTREE_SNAPSHOT + ".";
+  private static final String DELTA_FILE_PREFIX = MetadataConstant.MTREE_SNAPSHOT_DELTA + ".";
+
+  private static volatile ExecutorService rebaseTaskExecutor;
+
+  private final SchemaRegionId schemaRegionId;
+  private final File baseDir;
+  private final MTreeBelowSGMemoryImpl mtree;
+  private final int rebaseThreshold;
+
+  // the generation of current base and delta
+  private long generation = 0;
+  private SchemaLogWriter<ISchemaRegionPlan> deltaWriter;
+  private long deltaPlanNum = 0;
+
+  // the delta of the base being serialized in background
+  private SchemaLogWriter<ISchemaRegionPlan> nextDeltaWriter;
+  private long nextDeltaPlanNum = 0;
+
+  private boolean isRebasing = false;
+  private boolean isClosed = false;
+
+  public MemMTreeSnapshotManager(
+      String schemaRegionDirPath,
+      SchemaRegionId schemaRegionId,
+      MTreeBelowSGMemoryImpl mtree,
+      int rebaseThreshold)
+      throws IOException {
+    this.schemaRegionId = schemaRegionId;
+    this.baseDir =
+        SystemFileFactory.INSTANCE.getFile(
+            schemaRegionDirPath, MetadataConstant.MTREE_SNAPSHOT_BASE_DIR);
+    this.mtree = mtree;
+    this.rebaseThreshold = rebaseThreshold;
+    // the base and delta left by last run cannot be trusted, since the MTree is always rebuilt from
+    // the latest snapshot
+    if (baseDir.exists()) {
+      FileUtils.deleteDirectory(baseDir);
+    }
+    if (!baseDir.mkdirs()) {
+      throw new IOException(String.format("Failed to create snapshot base dir %s", baseDir));
+    }
+  }
+
+  /** Record the schema plan, which has been applied to the MTree, into the delta. */
+  public synchronized void recordPlan(ISchemaRegionPlan plan) throws IOException {
+    if (deltaWriter != null) {
+      deltaWriter.write(plan);
+      deltaPlanNum++;
+    }
+    if (nextDeltaWriter != null) {
+      nextDeltaWriter.write(plan);
+      nextDeltaPlanNum++;
+    }
+  }
+
+  /**
+   * Take a snapshot consisting of the MTree base and its delta into the given dir. The base will be
+   * fully serialized in place only if there's no base yet.
+   */
+  public synchronized boolean createSnapshot(File snapshotDir) {
+    if (isClosed) {
+      return false;
+    }
+    try {
+      if (deltaWriter == null) {
+        long startTime = System.currentTimeMillis();
+        if (!mtree.createFuzzySnapshot(getBaseFile(generation), getBaseTmpFile(generation))) {
+          return false;
+        }
+        deltaWriter = createDeltaWriter(generation);
+        deltaPlanNum = 0;
+        logger.info(
+            "MTree base of schemaRegion {} is serialized in {}ms.",
+            schemaRegionId,
+            System.currentTimeMillis() - startTime);
+      }
+      deltaWriter.force();
+
+      File snapshot =
+          SystemFileFactory.INSTANCE.getFile(snapshotDir, MetadataConstant.MTREE_SNAPSHOT);
+      File delta =
+          SystemFileFactory.INSTANCE.getFile(snapshotDir, MetadataConstant.MTREE_SNAPSHOT_DELTA);
+      linkOrCopy(getBaseFile(generation), snapshot);
+      // the delta keeps growing, so it must be copied
+      Files.copy(
+          getDeltaFile(generation).toPath(), delta.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      logger.info(
+          "MTree snapshot of schemaRegion {} is taken with base generation {} and {} delta plans.",
+          schemaRegionId,
+          generation,
+          deltaPlanNum);
+
+      if (deltaPlanNum >= rebaseThreshold && !isRebasing) {
+        isRebasing = true;
+        getRebaseTaskExecutor().submit(this::rebase);
+      }
+      return true;
+    } catch (IOException e) {
+      logger.error(
+          "Failed to create incremental mtree snapshot of schemaRegion {}", schemaRegionId, e);
+      return false;
+    }
+  }
+
+  /** Serialize a new base in background and switch to it once finished. */
+  private void rebase() {
+    long nextGeneration;
+    synchronized (this) {
+      if (isClosed) {
+        isRebasing = false;
+        return;
+      }
+      nextGeneration = generation + 1;
+      try {
+        // the delta must be ready before the serialization starts, so that any modification
+        // missed by the serialization is logged
+        nextDeltaWriter = createDeltaWriter(nextGeneration);
+        nextDeltaPlanNum = 0;
+      } catch (IOException e) {
+        logger.error("Failed to create mtree delta log of schemaRegion {}", schemaRegionId, e);
+        isRebasing = false;
+        return;
+      }
+    }
+
+    long startTime = System.currentTimeMillis();
+    boolean isSuccess =
+        mtree.createFuzzySnapshot(getBaseFile(nextGeneration), getBaseTmpFile(nextGeneration));
+
+    synchronized (this) {
+      if (isClosed) {
+        // the delta logs and base dir have been released by close
+        isRebasing = false;
+        return;
+      }
+      try {
+        if (isSuccess) {
+          deltaWriter.clear();
+          Files.deleteIfExists(getBaseFile(generation).toPath());
+          generation = nextGeneration;
+          deltaWriter = nextDeltaWriter;
+          deltaPlanNum = nextDeltaPlanNum;
+          logger.info(
+              "MTree base of schemaRegion {} is rebased to generation {} in {}ms.",
+              schemaRegionId,
+              generation,
+              System.currentTimeMillis() - startTime);
+        } else {
+          nextDeltaWriter.clear();
+          Files.deleteIfExists(getBaseFile(nextGeneration).toPath());
+        }
+      } catch (IOException e) {
+        logger.error("Failed to rebase mtree snapshot of schemaRegion {}", schemaRegionId, e);
+      } finally {
+        nextDeltaWriter = null;
+        nextDeltaPlanNum = 0;
+        isRebasing = false;
+      }
+    }
+  }
+
+  /** Release the delta logs and delete the base dir. */
+  public synchronized void close() {
+    isClosed = true;
+    try {
+      if (deltaWriter != null) {
+        deltaWriter.close();
+        deltaWriter = null;
+      }
+      if (nextDeltaWriter != null) {
+        nextDeltaWriter.close();
+        nextDeltaWriter = null;
+      }
+      FileUtils.deleteDirectory(baseDir);
+    } catch (IOException e) {
+      logger.warn("Failed to clear mtree snapshot base of schemaRegion {}", schemaRegionId, e);
+    }
+  }
+
+  private SchemaLogWriter<ISchemaRegionPlan> createDeltaWriter(long generation) throws IOException {
+    return new SchemaLogWriter<>(
+        baseDir.getPath(),
+        DELTA_FILE_PREFIX + generation,
+        new FakeCRC32Serializer<>(new SchemaRegionPlanSerializer()),
+        false);
+  }
+
+  private File getBaseFile(long generation) {
+    return SystemFileFactory.INSTANCE.getFile(baseDir, BASE_FILE_PREFIX + generation);
+  }
+
+  private File getBaseTmpFile(long generation) {
+    return SystemFileFactory.INSTANCE.getFile(baseDir, BASE_FILE_PREFIX + generation + ".tmp");
+  }
+
+  private File getDeltaFile(long generation) {
+    return SystemFileFactory.INSTANCE.getFile(baseDir, DELTA_FILE_PREFIX + generation);
+  }
+
+  /** The base is immutable once serialized, thus it can be shared by hard link. */
+  private static void linkOrCopy(File source, File target) throws IOException {
+    Files.deleteIfExists(target.toPath());
+    try {
+      Files.createLink(target.toPath(), source.toPath());
+    } catch (IOException | UnsupportedOperationException e) {
+      Files.copy(source.toPath(), target.toPath());
+    }
+  }
+
+  private static ExecutorService getRebaseTaskExecutor() {
+    if (rebaseTaskExecutor == null) {
+      synchronized (MemMTreeSnapshotManager.class) {
+        if (rebaseTaskExecutor == null) {
+          rebaseTaskExecutor =
+              IoTDBThreadPoolFactory.newSingleThreadExecutor(
+                  ThreadName.SCHEMA_REGION_SNAPSHOT_POOL.getName());
+        }
+      }
+    }
+    return rebaseTaskExecutor;
+  }
+}
@@ -30,7 +30,6 @@ import org.apache.iotdb.db.metadata.mnode.StorageGroupEntityMNode;
 import org.apache.iotdb.db.metadata.mnode.StorageGroupMNode;
 import org.apache.iotdb.db.metadata.mnode.estimator.BasicMNodSizeEstimator;
 import org.apache.iotdb.db.metadata.mnode.estimator.IMNodeSizeEstimator;
-import org.apache.iotdb.db.metadata.mnode.iterator.IMNodeIterator;
 import org.apache.iotdb.db.metadata.mnode.visitor.MNodeVisitor;
 import org.apache.iotdb.db.metadata.mtree.store.MemMTreeStore;
 import org.apache.iotdb.db.metadata.rescon.MemoryStatistics;
@@ -49,7 +48,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
 import java.util.function.Consumer;
 
 import static org.apache.iotdb.db.metadata.MetadataConstant.ENTITY_MNODE_TYPE;
@@ -71,11 +74,19 @@ public class MemMTreeSnapshotUtil {
   private static final IMNodeSizeEstimator ESTIMATOR = new BasicMNodSizeEstimator();
 
   public static boolean createSnapshot(File snapshotDir, MemMTreeStore store) {
-    File snapshotTmp =
-        SystemFileFactory.INSTANCE.getFile(snapshotDir, MetadataConstant.MTREE_SNAPSHOT_TMP);
-    File snapshot =
-        SystemFileFactory.INSTANCE.getFile(snapshotDir, MetadataConstant.MTREE_SNAPSHOT);
+    return createSnapshot(
+        SystemFileFactory.INSTANCE.getFile(snapshotDir, MetadataConstant.MTREE_SNAPSHOT),
+        SystemFileFactory.INSTANCE.getFile(snapshotDir, MetadataConstant.MTREE_SNAPSHOT_TMP),
+        store);
+  }
 
+  /**
+   * Serialize the MTree to the given snapshot file. The serialization tolerates concurrent
+   * modification of the MTree, since the children of each node are captured before they are
+   * written. In that case the result is a fuzzy snapshot, which must be completed by replaying the
+   * schema plans applied during serialization.
+   */
+  public static boolean createSnapshot(File snapshot, File snapshotTmp, MemMTreeStore store) {
     try {
       try (BufferedOutputStream outputStream =
           new BufferedOutputStream(new FileOutputStream(snapshotTmp))) {
@@ -122,29 +133,23 @@ public class MemMTreeSnapshotUtil {
   private static void serializeTo(MemMTreeStore store, OutputStream outputStream)
       throws IOException {
     ReadWriteIOUtils.write(VERSION, outputStream);
-    inorderSerialize(store.getRoot(), store, outputStream);
+    inorderSerialize(store.getRoot(), outputStream);
   }
 
-  private static void inorderSerialize(IMNode root, MemMTreeStore store, OutputStream outputStream)
-      throws IOException {
+  private static void inorderSerialize(IMNode root, OutputStream outputStream) throws IOException {
     MNodeSerializer serializer = new MNodeSerializer();
-    if (!root.accept(serializer, outputStream)) {
-      throw new IOException(SERIALIZE_ERROR_INFO);
-    }
-
-    Deque<IMNodeIterator> stack = new ArrayDeque<>();
-    stack.push(store.getChildrenIterator(root));
+    Deque<Iterator<IMNode>> stack = new ArrayDeque<>();
+    stack.push(serializeAndCaptureChildren(root, serializer, outputStream));
     IMNode node;
-    IMNodeIterator iterator;
+    Iterator<IMNode> iterator;
     while (!stack.isEmpty()) {
       iterator = stack.peek();
       if (iterator.hasNext()) {
         node = iterator.next();
-        if (!node.accept(serializer, outputStream)) {
-          throw new IOException(SERIALIZE_ERROR_INFO);
-        }
+        Iterator<IMNode> childrenIterator =
+            serializeAndCaptureChildren(node, serializer, outputStream);
         if (!node.isMeasurement()) {
-          stack.push(store.getChildrenIterator(node));
+          stack.push(childrenIterator);
         }
       } else {
         stack.pop();
@@ -152,6 +157,24 @@ public class MemMTreeSnapshotUtil {
     }
   }
 
+  /**
+   * The children are captured before the node is serialized, so the serialized children number
+   * always equals the number of children written afterwards, even if the MTree is modified
+   * concurrently.
+   */
+  private static Iterator<IMNode> serializeAndCaptureChildren(
+      IMNode node, MNodeSerializer serializer, OutputStream outputStream) throws IOException {
+    List<IMNode> children =
+        node.isMeasurement()
+            ? Collections.emptyList()
+            : new ArrayList<>(node.getChildren().values());
+    serializer.childrenNum = children.size();
+    if (!node.accept(serializer, outputStream)) {
+      throw new IOException(SERIALIZE_ERROR_INFO);
+    }
+    return children.iterator();
+  }
+
   private static IMNode deserializeFrom(
       InputStream inputStream, Consumer<IMeasurementMNode> measurementProcess) throws IOException {
     byte version = ReadWriteIOUtils.readByte(inputStream);
@@ -230,6 +253,9 @@ public class MemMTreeSnapshotUtil {
 
   private static class MNodeSerializer extends MNodeVisitor<Boolean, OutputStream> {
 
+    // children number of the node being serialized, captured by the traversal
+    private int childrenNum;
+
     @Override
     public Boolean visitInternalMNode(InternalMNode node, OutputStream outputStream) {
       try {
@@ -301,7 +327,7 @@ public class MemMTreeSnapshotUtil {
 
     private void serializeInternalBasicInfo(InternalMNode node, OutputStream outputStream)
         throws IOException {
-      ReadWriteIOUtils.write(node.getChildren().size(), outputStream);
+      ReadWriteIOUtils.write(childrenNum, outputStream);
       ReadWriteIOUtils.write(node.getName(), outputStream);
       ReadWriteIOUtils.write(node.getSchemaTemplateIdWithState(), outputStream);
       ReadWriteIOUtils.write(node.isUseTemplate(), outputStream);
@@ -44,6 +44,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -501,6 +502,7 @@ public class CachedMTreeStore implements IMTreeStore {
         }
       }
       List<IMNode> nodesToPersist = cacheManager.collectVolatileMNodes();
+      List<IMNode> writtenNodes = new ArrayList<>(nodesToPersist.size());
       for (IMNode volatileNode : nodesToPersist) {
         try {
           file.writeMNode(volatileNode);
@@ -509,9 +511,15 @@ public class CachedMTreeStore implements IMTreeStore {
               "Error occurred during MTree flush, current node is {}",
               volatileNode.getFullPath(),
               e);
-          return;
+          break;
         }
-        cacheManager.updateCacheStatusAfterPersist(volatileNode);
+        writtenNodes.add(volatileNode);
+      }
+      // the pages modified by the nodes above are buffered, write them out as a group, and the
+      // nodes are regarded as persisted only after their pages are written out
+      file.sync();
+      for (IMNode writtenNode : writtenNodes) {
+        cacheManager.updateCacheStatusAfterPersist(writtenNode);
       }
     } catch (Throwable e) {
       logger.error(
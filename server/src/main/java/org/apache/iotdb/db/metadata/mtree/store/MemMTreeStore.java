@@ -195,6 +195,10 @@ public class MemMTreeStore implements IMTreeStore {
     return MemMTreeSnapshotUtil.createSnapshot(snapshotDir, this);
   }
 
+  public boolean createSnapshot(File snapshot, File snapshotTmp) {
+    return MemMTreeSnapshotUtil.createSnapshot(snapshot, snapshotTmp, this);
+  }
+
   public static MemMTreeStore loadFromSnapshot(
       File snapshotDir, Consumer<IMeasurementMNode> measurementProcess) throws IOException {
     return new MemMTreeStore(MemMTreeSnapshotUtil.loadSnapshot(snapshotDir, measurementProcess));
@@ -23,6 +23,7 @@ import org.apache.iotdb.commons.concurrent.ThreadName;
 import org.apache.iotdb.db.metadata.mtree.store.CachedMTreeStore;
 import org.apache.iotdb.db.metadata.mtree.store.disk.memcontrol.IMemManager;
 import org.apache.iotdb.db.metadata.mtree.store.disk.memcontrol.MemManagerHolder;
+import org.apache.iotdb.db.metadata.rescon.MemoryStatistics;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +32,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * CacheMemoryManager is used to register the CachedMTreeStore and create the CacheManager.
@@ -43,7 +45,8 @@ public class CacheMemoryManager {
 
   private final List<CachedMTreeStore> storeList = new ArrayList<>();
 
-  private final IMemManager memManager = MemManagerHolder.getMemManagerInstance();
+  // memory occupied by the dirty pages buffered in schema files, which is only freed by flush
+  private final AtomicLong dirtyPageMemory = new AtomicLong(0);
 
   private static final int CONCURRENT_NUM = 10;
 
@@ -87,11 +90,29 @@ public class CacheMemoryManager {
    * perform an internal and external memory swap to release the memory.
    */
   public void ensureMemoryStatus() {
-    if (memManager.isExceedReleaseThreshold() && !hasReleaseTask) {
+    if (getMemManager().isExceedReleaseThreshold() && !hasReleaseTask) {
       registerReleaseTask();
     }
   }
 
+  /**
+   * Charge the memory of the pages buffered as dirty in schema file. The memory is counted in the
+   * memory usage of schema region, and is released after the pages are flushed.
+   */
+  public void requestDirtyPageMemory(long size) {
+    MemoryStatistics.getInstance().requestMemory(size);
+    dirtyPageMemory.addAndGet(size);
+  }
+
+  public void releaseDirtyPageMemory(long size) {
+    MemoryStatistics.getInstance().releaseMemory(size);
+    dirtyPageMemory.addAndGet(-size);
+  }
+
+  public long getDirtyPageMemory() {
+    return dirtyPageMemory.get();
+  }
+
   /**
    * If there is a ReleaseTask or FlushTask, block the current thread to wait up to
    * MAX_WAITING_TIME_WHEN_RELEASING. The thread will be woken up if the ReleaseTask or FlushTask
@@ -131,7 +152,8 @@ public class CacheMemoryManager {
   /**
    * Execute cache eviction until the memory status is under safe mode or no node could be evicted.
    * If the memory status is still full, which means the nodes in memory are all volatile nodes, new
-   * added or updated, fire flush task.
+   * added or updated, fire flush task. The flush task is also fired if the memory status is still
+   * not safe while some memory is held by dirty pages, since they can only be freed by flush.
    */
   private void tryExecuteMemoryRelease() {
     synchronized (storeList) {
@@ -154,7 +176,10 @@ public class CacheMemoryManager {
       releaseCount++;
       synchronized (blockObject) {
         hasReleaseTask = false;
-        if (memManager.isExceedFlushThreshold() && !hasFlushTask) {
+        IMemManager memManager = getMemManager();
+        if ((memManager.isExceedFlushThreshold()
+                || (memManager.isExceedReleaseThreshold() && dirtyPageMemory.get() > 0))
+            && !hasFlushTask) {
           registerFlushTask();
         } else {
           blockObject.notifyAll();
@@ -230,6 +255,12 @@ public class CacheMemoryManager {
       }
       flushTaskExecutor = null;
     }
+    dirtyPageMemory.set(0);
+  }
+
+  private IMemManager getMemManager() {
+    // the MemManager instance is recreated every time the schema file mode resource is initialized
+    return MemManagerHolder.getMemManagerInstance();
   }
 
   private CacheMemoryManager() {}
@@ -187,6 +187,8 @@ public class SchemaFile implements ISchemaFile {
     this.dataTTL = sgNode.getDataTTL();
     this.isEntity = sgNode.isEntity();
     this.sgNodeTemplateIdWithState = sgNode.getSchemaTemplateIdWithState();
+    // the header carries the last page index, which shall have been written out
+    pageManager.flushDirtyPages();
     updateHeaderBuffer();
     return true;
   }
@@ -220,8 +222,10 @@ public class SchemaFile implements ISchemaFile {
 
     pageManager.writeNewChildren(node);
     pageManager.writeUpdatedChildren(node);
-    pageManager.flushDirtyPages();
-    updateHeaderBuffer();
+    // the header shall not refer to pages which have not been written out
+    if (pageManager.flushDirtyPagesIfExceedLimit()) {
+      updateHeaderBuffer();
+    }
   }
 
   @Override
@@ -242,8 +246,9 @@ public class SchemaFile implements ISchemaFile {
 
   @Override
   public void close() throws IOException {
-    updateHeaderBuffer();
+    // the pages referred by the header are written out first
     pageManager.flushDirtyPages();
+    updateHeaderBuffer();
     pageManager.close();
     forceChannel();
     channel.close();
@@ -251,8 +256,8 @@ public class SchemaFile implements ISchemaFile {
 
   @Override
   public void sync() throws IOException {
-    updateHeaderBuffer();
     pageManager.flushDirtyPages();
+    updateHeaderBuffer();
     forceChannel();
   }
 
@@ -38,6 +38,11 @@ public class SchemaFileConfig {
           .getConfig()
           .getPageCacheSizeInSchemaFile(); // size of page cache
 
+  // number of dirty pages buffered before written out, flushed by group at the end of MTree flush
+  // or by the flush task of CacheMemoryManager, which the buffered pages are charged to
+  public static final int DIRTY_PAGE_LIMIT =
+      IoTDBDescriptor.getInstance().getConfig().getDirtyPageLimitInSchemaFile();
+
   // size of page within one redo log, restricting log around 1GB
   public static final int SCHEMA_FILE_LOG_SIZE =
       IoTDBDescriptor.getInstance().getConfig().getSchemaFileLogSize();
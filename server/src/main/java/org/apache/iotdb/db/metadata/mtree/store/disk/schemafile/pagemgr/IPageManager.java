@@ -52,6 +52,14 @@ public interface IPageManager {
 
   void flushDirtyPages() throws IOException;
 
+  /**
+   * Dirty pages are buffered until their number reaches the limit, so that the pages modified by
+   * successive node writes are flushed together.
+   *
+   * @return true if the dirty pages are flushed
+   */
+  boolean flushDirtyPagesIfExceedLimit() throws IOException;
+
   void close() throws IOException;
 
   int getLastPageIndex();
@@ -23,6 +23,7 @@ import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.exception.metadata.schemafile.SchemaPageOverflowException;
 import org.apache.iotdb.db.metadata.mnode.IMNode;
 import org.apache.iotdb.db.metadata.mtree.store.disk.ICachedMNodeContainer;
+import org.apache.iotdb.db.metadata.mtree.store.disk.cache.CacheMemoryManager;
 import org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.ISchemaPage;
 import org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.ISegmentedPage;
 import org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.RecordUtils;
@@ -31,6 +32,7 @@ import org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.SchemaFileConfig
 import org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.SegmentedPage;
 import org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.log.SchemaFileLogReader;
 import org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.log.SchemaFileLogWriter;
+import org.apache.iotdb.db.metadata.rescon.SchemaFileStatistics;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +46,7 @@ import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +60,7 @@ import static org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.SchemaFil
 import static org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.SchemaFile.getPageIndex;
 import static org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.SchemaFile.getSegIndex;
 import static org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.SchemaFile.setNodeAddress;
+import static org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.SchemaFileConfig.DIRTY_PAGE_LIMIT;
 import static org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.SchemaFileConfig.FILE_HEADER_SIZE;
 import static org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.SchemaFileConfig.PAGE_CACHE_SIZE;
 import static org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.SchemaFileConfig.PAGE_INDEX_MASK;
@@ -407,6 +411,7 @@ public abstract class PageManager implements IPageManager {
     if (dirtyPages.size() == 0) {
       return;
     }
+    long startTime = System.currentTimeMillis();
 
     // TODO: better performance expected while ensuring integrity when exception interrupts
     if (logCounter.get() > SCHEMA_FILE_LOG_SIZE) {
@@ -414,23 +419,44 @@ public abstract class PageManager implements IPageManager {
       logCounter.set(0);
     }
 
-    logCounter.addAndGet(dirtyPages.size());
-    for (ISchemaPage page : dirtyPages.values()) {
+    // write in order of page index to make the writes on channel as sequential as possible
+    List<ISchemaPage> pagesToFlush = new ArrayList<>(dirtyPages.values());
+    pagesToFlush.sort(Comparator.comparingInt(ISchemaPage::getPageIndex));
+
+    logCounter.addAndGet(pagesToFlush.size());
+    for (ISchemaPage page : pagesToFlush) {
       page.syncPageBuffer();
       logWriter.write(page);
     }
     logWriter.prepare();
 
-    for (ISchemaPage page : dirtyPages.values()) {
+    for (ISchemaPage page : pagesToFlush) {
       page.flushPageToChannel(channel);
     }
     logWriter.commit();
-    dirtyPages.clear();
+    int flushedPageNum = 0;
+    for (ISchemaPage page : pagesToFlush) {
+      if (dirtyPages.remove(page.getPageIndex(), page)) {
+        flushedPageNum++;
+      }
+    }
+    CacheMemoryManager.getInstance().releaseDirtyPageMemory((long) flushedPageNum * PAGE_LENGTH);
+    SchemaFileStatistics.getInstance()
+        .recordFlush(pagesToFlush.size(), System.currentTimeMillis() - startTime);
+  }
+
+  @Override
+  public boolean flushDirtyPagesIfExceedLimit() throws IOException {
+    if (dirtyPages.size() < DIRTY_PAGE_LIMIT) {
+      return false;
+    }
+    flushDirtyPages();
+    return true;
   }
 
   @Override
   public void clear() throws IOException, MetadataException {
-    dirtyPages.clear();
+    discardDirtyPages();
     pageInstCache.clear();
     lastPageIndex.set(0);
     logWriter = logWriter.renew();
@@ -450,6 +476,12 @@ public abstract class PageManager implements IPageManager {
   @Override
   public void close() throws IOException {
     logWriter.close();
+    discardDirtyPages();
+  }
+
+  private void discardDirtyPages() {
+    CacheMemoryManager.getInstance().releaseDirtyPageMemory((long) dirtyPages.size() * PAGE_LENGTH);
+    dirtyPages.clear();
   }
 
   // endregion
@@ -461,18 +493,20 @@ public abstract class PageManager implements IPageManager {
       throw new MetadataException(String.format("Page index %d out of range.", pageIdx));
     }
 
+    ISchemaPage page;
     pageLocks.readLock(pageIdx);
     try {
-      if (dirtyPages.containsKey(pageIdx)) {
-        return dirtyPages.get(pageIdx);
-      }
-
-      if (pageInstCache.containsKey(pageIdx)) {
-        return pageInstCache.get(pageIdx);
+      page = dirtyPages.get(pageIdx);
+      if (page == null) {
+        page = pageInstCache.get(pageIdx);
       }
     } finally {
       pageLocks.readUnlock(pageIdx);
     }
+    SchemaFileStatistics.getInstance().recordPageRequest(page != null);
+    if (page != null) {
+      return page;
+    }
 
     try {
       pageLocks.writeLock(pageIdx);
@@ -532,7 +566,10 @@ public abstract class PageManager implements IPageManager {
 
   protected void markDirty(ISchemaPage page) {
     page.markDirty();
-    dirtyPages.put(page.getPageIndex(), page);
+    if (dirtyPages.put(page.getPageIndex(), page) == null) {
+      // the buffered page is held in memory until flushed
+      CacheMemoryManager.getInstance().requestDirtyPageMemory(PAGE_LENGTH);
+    }
   }
 
   protected ISchemaPage addPageToCache(int pageIndex, ISchemaPage page) {
@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.mtree.traverser;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.exception.MetadataException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.metadata.mnode.IMNode;
+import org.apache.iotdb.db.metadata.mtree.store.IMTreeStore;
+import org.apache.iotdb.db.metadata.mtree.traverser.collector.MNodeCollector;
+import org.apache.iotdb.db.metadata.query.info.ISchemaInfo;
+import org.apache.iotdb.db.metadata.query.reader.ISchemaReader;
+import org.apache.iotdb.db.metadata.template.Template;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.apache.iotdb.commons.conf.IoTDBConstant.MULTI_LEVEL_PATH_WILDCARD;
+import static org.apache.iotdb.commons.conf.IoTDBConstant.ONE_LEVEL_PATH_WILDCARD;
+
+/**
+ * This class traverses the subtrees matched by a path pattern in parallel. A path pattern like
+ * root.sg.** is split by the children of the deepest concrete node, e.g. root.sg.d1 and
+ * root.sg.d1.**, root.sg.d2 and root.sg.d2.**, and so on. The children are grouped into batches
+ * traversed by the traversers created by the given factory in background threads, and the results
+ * of the batches are returned in the order of the children, which is the same as the sequential
+ * traversal.
+ *
+ * <p>Each batch acquires and releases its own traverser in the executing thread, thus the results
+ * generated by the factory must not depend on the traverser state after collection, such as the
+ * lazy computation of the full path.
+ *
+ * <p>The results of a running batch are buffered until consumed, thus the limited traversals are
+ * not split, and at most MAX_RUNNING_BATCH_NUM batches run at the same time.
+ */
+public class ParallelTraverser<R> implements Iterator<R>, AutoCloseable {
+
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  // the number of batches per thread, which balances the load of batches with different sizes
+  private static final int BATCH_NUM_PER_THREAD = 4;
+
+  // bound the results buffered by the batches not yet consumed
+  private static final int MAX_RUNNING_BATCH_NUM = 4;
+
+  private static volatile ExecutorService traverseTaskExecutor;
+
+  private final TraverserFactory<R> traverserFactory;
+
+  private final List<List<PartialPath>> batches;
+  private int nextBatchIndex = 0;
+  private final int maxRunningBatchNum;
+  private final Deque<Future<List<R>>> runningBatches = new ArrayDeque<>();
+
+  private Iterator<R> currentBatchResult = Collections.emptyIterator();
+  private Throwable failure;
+
+  /** Create the traverser of the given path pattern, whose results are independent of it. */
+  @FunctionalInterface
+  public interface TraverserFactory<R> {
+    Traverser<R> createTraverser(PartialPath pathPattern) throws MetadataException;
+  }
+
+  private ParallelTraverser(
+      TraverserFactory<R> traverserFactory,
+      List<List<PartialPath>> batches,
+      int maxRunningBatchNum) {
+    this.traverserFactory = traverserFactory;
+    this.batches = batches;
+    this.maxRunningBatchNum = maxRunningBatchNum;
+  }
+
+  /**
+   * Try to split the traversal of the given path pattern into subtrees.
+   *
+   * @param startNode the start node of the traversal, which is the root of the MTree
+   * @param databasePath the path of the database the MTree belongs to
+   * @param pathPattern the path pattern to traverse
+   * @param isPrefixMatch prefix match or not
+   * @param limit the limit of the results, 0 if not limited
+   * @param offset the offset of the results
+   * @param store MTree store to traverse
+   * @param templateMap the templates involved in the traversal, may be null
+   * @param traverserFactory create the traverser of each subtree
+   * @return the parallel traverser, or null if the traversal should not be split
+   */
+  public static <R> ParallelTraverser<R> tryCreate(
+      IMNode startNode,
+      PartialPath databasePath,
+      PartialPath pathPattern,
+      boolean isPrefixMatch,
+      int limit,
+      int offset,
+      IMTreeStore store,
+      Map<Integer, Template> templateMap,
+      TraverserFactory<R> traverserFactory)
+      throws MetadataException {
+    // a limited query only consumes the first results, which the sequential traversal finds
+    // without traversing the other subtrees
+    if (!config.isEnableParallelSchemaTraversal() || isPrefixMatch || limit > 0 || offset > 0) {
+      return null;
+    }
+
+    // only the pattern with concrete nodes and a tailing ** is split
+    String[] nodes = pathPattern.getNodes();
+    if (nodes.length < 2 || !MULTI_LEVEL_PATH_WILDCARD.equals(nodes[nodes.length - 1])) {
+      return null;
+    }
+    String[] prefixNodes = Arrays.copyOf(nodes, nodes.length - 1);
+    for (String node : prefixNodes) {
+      if (node.contains(ONE_LEVEL_PATH_WILDCARD)) {
+        return null;
+      }
+    }
+
+    List<PartialPath> leadingPatterns = new ArrayList<>();
+    String[] databaseNodes = databasePath.getNodes();
+    if (prefixNodes.length < databaseNodes.length) {
+      // the nodes above the database only have one child in this MTree, thus start from the
+      // database, which should be checked first
+      for (int i = 0; i < prefixNodes.length; i++) {
+        if (!prefixNodes[i].equals(databaseNodes[i])) {
+          return null;
+        }
+      }
+      prefixNodes = databaseNodes;
+      leadingPatterns.add(databasePath);
+    }
+    PartialPath prefix = new PartialPath(prefixNodes);
+
+    List<String> childNames = new ArrayList<>();
+    boolean[] isUnderEntity = new boolean[1];
+    try (MNodeCollector<Void> collector =
+        new MNodeCollector<Void>(
+            startNode, prefix.concatNode(ONE_LEVEL_PATH_WILDCARD), store, false) {
+          @Override
+          protected Void collectMNode(IMNode node) {
+            isUnderEntity[0] = node.getParent() != null && node.getParent().isEntity();
+            childNames.add(node.getName());
+            return null;
+          }
+        }) {
+      collector.setTemplateMap(templateMap);
+      collector.traverse();
+    }
+    // the children of a device are measurements, which are cheap to traverse
+    if (isUnderEntity[0] || childNames.size() < config.getParallelSchemaTraversalThreshold()) {
+      return null;
+    }
+
+    int threadNum = config.getParallelSchemaTraversalThreadNum();
+    int batchSize = Math.max(1, childNames.size() / (threadNum * BATCH_NUM_PER_THREAD));
+    List<List<PartialPath>> batches = new ArrayList<>();
+    List<PartialPath> batch = new ArrayList<>(leadingPatterns);
+    for (String childName : childNames) {
+      PartialPath child = prefix.concatNode(childName);
+      batch.add(child);
+      batch.add(child.concatNode(MULTI_LEVEL_PATH_WILDCARD));
+      if (batch.size() >= 2 * batchSize) {
+        batches.add(batch);
+        batch = new ArrayList<>();
+      }
+    }
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+    return new ParallelTraverser<>(
+        traverserFactory, batches, Math.min(threadNum, MAX_RUNNING_BATCH_NUM));
+  }
+
+  /**
+   * Wrap the parallel traverser of schema infos as a schema reader.
+   *
+   * @param traverser the parallel traverser, which is closed with the reader
+   */
+  public static <T extends ISchemaInfo> ISchemaReader<T> toSchemaReader(
+      ParallelTraverser<T> traverser) {
+    return new ISchemaReader<T>() {
+      @Override
+      public boolean isSuccess() {
+        return traverser.isSuccess();
+      }
+
+      @Override
+      public Throwable getFailure() {
+        return traverser.getFailure();
+      }
+
+      @Override
+      public void close() {
+        traverser.close();
+      }
+
+      @Override
+      public boolean hasNext() {
+        return traverser.hasNext();
+      }
+
+      @Override
+      public T next() {
+        return traverser.next();
+      }
+    };
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (isSuccess() && !currentBatchResult.hasNext()) {
+      submitBatches();
+      Future<List<R>> future = runningBatches.poll();
+      if (future == null) {
+        return false;
+      }
+      try {
+        currentBatchResult = future.get().iterator();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failure = e;
+      } catch (ExecutionException e) {
+        failure = e.getCause();
+      }
+    }
+    return isSuccess() && currentBatchResult.hasNext();
+  }
+
+  @Override
+  public R next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return currentBatchResult.next();
+  }
+
+  /** @return false if an exception occurs during the traversal */
+  public boolean isSuccess() {
+    return failure == null;
+  }
+
+  /** @return the exception occurs during the traversal, null if no exception */
+  public Throwable getFailure() {
+    return failure;
+  }
+
+  private void submitBatches() {
+    while (runningBatches.size() < maxRunningBatchNum && nextBatchIndex < batches.size()) {
+      List<PartialPath> batch = batches.get(nextBatchIndex++);
+      runningBatches.add(getTraverseTaskExecutor().submit(() -> traverseBatch(batch)));
+    }
+  }
+
+  private List<R> traverseBatch(List<PartialPath> batch) throws MetadataException {
+    List<R> result = new ArrayList<>();
+    for (PartialPath pathPattern : batch) {
+      try (Traverser<R> traverser = traverserFactory.createTraverser(pathPattern)) {
+        while (traverser.hasNext()) {
+          result.add(traverser.next());
+        }
+        if (!traverser.isSuccess()) {
+          Throwable e = traverser.getFailure();
+          throw new MetadataException(e.getMessage(), e);
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public void close() {
+    // the running batches release their traversers by themselves
+    for (Future<List<R>> future : runningBatches) {
+      future.cancel(false);
+    }
+    runningBatches.clear();
+    nextBatchIndex = batches.size();
+    currentBatchResult = Collections.emptyIterator();
+  }
+
+  private static ExecutorService getTraverseTaskExecutor() {
+    if (traverseTaskExecutor == null) {
+      synchronized (ParallelTraverser.class) {
+        if (traverseTaskExecutor == null) {
+          traverseTaskExecutor =
+              IoTDBThreadPoolFactory.newFixedThreadPool(
+                  config.getParallelSchemaTraversalThreadNum(),
+                  ThreadName.SCHEMA_REGION_TRAVERSAL_POOL.getName());
+        }
+      }
+    }
+    return traverseTaskExecutor;
+  }
+}
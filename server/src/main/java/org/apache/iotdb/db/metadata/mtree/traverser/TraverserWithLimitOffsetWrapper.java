@@ -41,7 +41,7 @@ public class TraverserWithLimitOffsetWrapper<R> extends Traverser<R> {
 
     if (hasLimit) {
       while (curOffset < offset && traverser.hasNext()) {
-        traverser.next();
+        traverser.skip();
         curOffset++;
       }
     }
@@ -68,6 +68,17 @@ public class TraverserWithLimitOffsetWrapper<R> extends Traverser<R> {
     return result;
   }
 
+  @Override
+  public void skip() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    traverser.skip();
+    if (hasLimit) {
+      count++;
+    }
+  }
+
   @Override
   public void traverse() throws MetadataException {
     throw new UnsupportedOperationException();
@@ -120,7 +131,7 @@ public class TraverserWithLimitOffsetWrapper<R> extends Traverser<R> {
     curOffset = 0;
     if (hasLimit) {
       while (curOffset < offset && traverser.hasNext()) {
-        traverser.next();
+        traverser.skip();
         curOffset++;
       }
     }
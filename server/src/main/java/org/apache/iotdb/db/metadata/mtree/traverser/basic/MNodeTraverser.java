@@ -81,6 +81,12 @@ public abstract class MNodeTraverser<R> extends Traverser<R> {
     return !node.isMeasurement();
   }
 
+  @Override
+  public void skip() {
+    // the result generation records the last visited node, which filters the following nodes
+    next();
+  }
+
   public void setTargetLevel(int targetLevel) {
     this.targetLevel = targetLevel;
   }
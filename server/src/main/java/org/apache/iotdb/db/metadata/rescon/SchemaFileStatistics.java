@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.rescon;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** This class records the page access and flush statistics of all schema files. */
+public class SchemaFileStatistics {
+
+  private final AtomicLong pageRequestCount = new AtomicLong(0);
+  private final AtomicLong pageHitCount = new AtomicLong(0);
+
+  private final AtomicLong flushCount = new AtomicLong(0);
+  private final AtomicLong flushedPageCount = new AtomicLong(0);
+  private final AtomicLong flushTimeInMs = new AtomicLong(0);
+
+  private static class SchemaFileStatisticsHolder {
+
+    private SchemaFileStatisticsHolder() {
+      // allowed to do nothing
+    }
+
+    private static final SchemaFileStatistics INSTANCE = new SchemaFileStatistics();
+  }
+
+  public static SchemaFileStatistics getInstance() {
+    return SchemaFileStatisticsHolder.INSTANCE;
+  }
+
+  private SchemaFileStatistics() {}
+
+  public void recordPageRequest(boolean isHit) {
+    pageRequestCount.incrementAndGet();
+    if (isHit) {
+      pageHitCount.incrementAndGet();
+    }
+  }
+
+  public void recordFlush(int pageNum, long timeInMs) {
+    flushCount.incrementAndGet();
+    flushedPageCount.addAndGet(pageNum);
+    flushTimeInMs.addAndGet(timeInMs);
+  }
+
+  /** @return the percentage of page requests served by the page cache or dirty page buffer */
+  public double getPageHitRate() {
+    long requestCount = pageRequestCount.get();
+    return requestCount == 0 ? 100 : pageHitCount.get() * 100.0 / requestCount;
+  }
+
+  public long getFlushCount() {
+    return flushCount.get();
+  }
+
+  public long getFlushedPageCount() {
+    return flushedPageCount.get();
+  }
+
+  public long getFlushTimeInMs() {
+    return flushTimeInMs.get();
+  }
+
+  public void clear() {
+    pageRequestCount.set(0);
+    pageHitCount.set(0);
+    flushCount.set(0);
+    flushedPageCount.set(0);
+    flushTimeInMs.set(0);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.rescon;
+
+import org.apache.iotdb.commons.service.metric.enums.Metric;
+import org.apache.iotdb.commons.service.metric.enums.Tag;
+import org.apache.iotdb.metrics.AbstractMetricService;
+import org.apache.iotdb.metrics.metricsets.IMetricSet;
+import org.apache.iotdb.metrics.utils.MetricLevel;
+import org.apache.iotdb.metrics.utils.MetricType;
+
+import java.util.Objects;
+
+public class SchemaFileStatisticsMetrics implements IMetricSet {
+  private static final String SCHEMA_FILE_PAGE = "schema_file_page";
+  private static final String SCHEMA_FILE_FLUSH = "schema_file_flush";
+  private static final String SCHEMA_FILE_FLUSHED_PAGE = "schema_file_flushed_page";
+
+  private final SchemaFileStatistics schemaFileStatistics;
+
+  public SchemaFileStatisticsMetrics(SchemaFileStatistics schemaFileStatistics) {
+    this.schemaFileStatistics = schemaFileStatistics;
+  }
+
+  @Override
+  public void bindTo(AbstractMetricService metricService) {
+    metricService.createAutoGauge(
+        Metric.CACHE_HIT.toString(),
+        MetricLevel.IMPORTANT,
+        schemaFileStatistics,
+        o -> (long) o.getPageHitRate(),
+        Tag.NAME.toString(),
+        SCHEMA_FILE_PAGE);
+
+    metricService.createAutoGauge(
+        Metric.QUANTITY.toString(),
+        MetricLevel.IMPORTANT,
+        schemaFileStatistics,
+        SchemaFileStatistics::getFlushCount,
+        Tag.NAME.toString(),
+        SCHEMA_FILE_FLUSH);
+
+    metricService.createAutoGauge(
+        Metric.QUANTITY.toString(),
+        MetricLevel.IMPORTANT,
+        schemaFileStatistics,
+        SchemaFileStatistics::getFlushedPageCount,
+        Tag.NAME.toString(),
+        SCHEMA_FILE_FLUSHED_PAGE);
+
+    metricService.createAutoGauge(
+        Metric.COST_TASK.toString(),
+        MetricLevel.IMPORTANT,
+        schemaFileStatistics,
+        SchemaFileStatistics::getFlushTimeInMs,
+        Tag.NAME.toString(),
+        SCHEMA_FILE_FLUSH);
+  }
+
+  @Override
+  public void unbindFrom(AbstractMetricService metricService) {
+    metricService.remove(
+        MetricType.AUTO_GAUGE, Metric.CACHE_HIT.toString(), Tag.NAME.toString(), SCHEMA_FILE_PAGE);
+
+    metricService.remove(
+        MetricType.AUTO_GAUGE, Metric.QUANTITY.toString(), Tag.NAME.toString(), SCHEMA_FILE_FLUSH);
+
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.QUANTITY.toString(),
+        Tag.NAME.toString(),
+        SCHEMA_FILE_FLUSHED_PAGE);
+
+    metricService.remove(
+        MetricType.AUTO_GAUGE, Metric.COST_TASK.toString(), Tag.NAME.toString(), SCHEMA_FILE_FLUSH);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    SchemaFileStatisticsMetrics that = (SchemaFileStatisticsMetrics) o;
+    return Objects.equals(schemaFileStatistics, that.schemaFileStatistics);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(schemaFileStatistics);
+  }
+}
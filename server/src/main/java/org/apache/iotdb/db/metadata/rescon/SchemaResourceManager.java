@@ -55,12 +55,15 @@ public class SchemaResourceManager {
   }
 
   private static void initSchemaFileModeResource() {
+    MetricService.getInstance()
+        .addMetricSet(new SchemaFileStatisticsMetrics(SchemaFileStatistics.getInstance()));
     MemManagerHolder.initMemManagerInstance();
     MemManagerHolder.getMemManagerInstance().init();
     CacheMemoryManager.getInstance().init();
   }
 
   private static void clearSchemaFileModeResource() {
+    SchemaFileStatistics.getInstance().clear();
     MemManagerHolder.getMemManagerInstance().clear();
     CacheMemoryManager.getInstance().clear();
   }
@@ -42,6 +42,7 @@ import org.apache.iotdb.db.metadata.logfile.SchemaLogWriter;
 import org.apache.iotdb.db.metadata.mnode.IMNode;
 import org.apache.iotdb.db.metadata.mnode.IMeasurementMNode;
 import org.apache.iotdb.db.metadata.mtree.MTreeBelowSGMemoryImpl;
+import org.apache.iotdb.db.metadata.mtree.snapshot.MemMTreeSnapshotManager;
 import org.apache.iotdb.db.metadata.plan.schemaregion.ISchemaRegionPlan;
 import org.apache.iotdb.db.metadata.plan.schemaregion.SchemaRegionPlanVisitor;
 import org.apache.iotdb.db.metadata.plan.schemaregion.impl.SchemaRegionPlanDeserializer;
@@ -142,6 +143,9 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
   private MTreeBelowSGMemoryImpl mtree;
   private TagManager tagManager;
 
+  // only used for incremental snapshot in cluster-ratis mode, may be null
+  private MemMTreeSnapshotManager snapshotManager;
+
   // seriesNumberMonitor may be null
   private final ISeriesNumerMonitor seriesNumerMonitor;
 
@@ -201,6 +205,7 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
         initMLog();
       } else {
         usingMLog = false;
+        initSnapshotManager();
       }
 
       isRecovering = false;
@@ -250,10 +255,24 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
             config.getSyncMlogPeriodInMs() == 0);
   }
 
+  private void initSnapshotManager() throws IOException {
+    if (config.isEnableSchemaRegionIncrementalSnapshot()) {
+      snapshotManager =
+          new MemMTreeSnapshotManager(
+              schemaRegionDirPath,
+              schemaRegionId,
+              mtree,
+              config.getSchemaRegionSnapshotRebaseThreshold());
+    }
+  }
+
   public void writeToMLog(ISchemaRegionPlan schemaRegionPlan) throws IOException {
     if (usingMLog && !isRecovering) {
       logWriter.write(schemaRegionPlan);
     }
+    if (snapshotManager != null && !isRecovering) {
+      snapshotManager.recordPlan(schemaRegionPlan);
+    }
   }
 
   @Override
@@ -341,6 +360,54 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
     return idx;
   }
 
+  /**
+   * Replay the schema plans recorded in the delta of an incremental snapshot. The MTree in the
+   * snapshot may already contain part of these modifications, thus a failed plan is skipped.
+   */
+  private void replayMTreeSnapshotDelta(File latestSnapshotRootDir) throws IOException {
+    File delta =
+        SystemFileFactory.INSTANCE.getFile(
+            latestSnapshotRootDir, MetadataConstant.MTREE_SNAPSHOT_DELTA);
+    if (!delta.exists()) {
+      return;
+    }
+    int planNum = 0;
+    int skippedPlanNum = 0;
+    try (SchemaLogReader<ISchemaRegionPlan> deltaReader =
+        new SchemaLogReader<>(
+            delta.getPath(), new FakeCRC32Deserializer<>(new SchemaRegionPlanDeserializer()))) {
+      DeltaReplayPlanOperator deltaReplayPlanOperator = new DeltaReplayPlanOperator();
+      ISchemaRegionPlan plan;
+      RecoverOperationResult operationResult;
+      while (deltaReader.hasNext()) {
+        plan = deltaReader.next();
+        if (plan == null) {
+          continue;
+        }
+        planNum++;
+        operationResult = plan.accept(deltaReplayPlanOperator, this);
+        if (operationResult.isFailed()) {
+          skippedPlanNum++;
+          logger.debug(
+              "Skip replaying {} in snapshot delta of schemaRegion {} for err:",
+              plan.getPlanType().name(),
+              schemaRegionId,
+              operationResult.getException());
+        }
+      }
+      if (deltaReader.isFileCorrupted()) {
+        throw new IOException(
+            String.format(
+                "The mtree snapshot delta of schemaRegion %s is corrupted.", schemaRegionId));
+      }
+    }
+    logger.info(
+        "Replayed {} plans in snapshot delta of schemaRegion {}, {} of them have taken effect in snapshot.",
+        planNum,
+        schemaRegionId,
+        skippedPlanNum);
+  }
+
   /** function for clearing metadata components of one schema region */
   @Override
   public synchronized void clear() {
@@ -352,6 +419,10 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
         logWriter.close();
         logWriter = null;
       }
+      if (snapshotManager != null) {
+        snapshotManager.close();
+        snapshotManager = null;
+      }
       tagManager.clear();
 
       isRecovering = true;
@@ -405,7 +476,11 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
     long startTime = System.currentTimeMillis();
 
     long mtreeSnapshotStartTime = System.currentTimeMillis();
-    isSuccess = mtree.createSnapshot(snapshotDir);
+    if (snapshotManager != null) {
+      isSuccess = snapshotManager.createSnapshot(snapshotDir);
+    } else {
+      isSuccess = mtree.createSnapshot(snapshotDir);
+    }
     logger.info(
         "MTree snapshot creation of schemaRegion {} costs {}ms.",
         schemaRegionId,
@@ -467,11 +542,14 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
                 }
               },
               tagManager::readTags);
+      replayMTreeSnapshotDelta(latestSnapshotRootDir);
       logger.info(
           "MTree snapshot loading of schemaRegion {} costs {}ms.",
           schemaRegionId,
           System.currentTimeMillis() - mtreeSnapshotStartTime);
 
+      initSnapshotManager();
+
       isRecovering = false;
       initialized = true;
 
@@ -1319,4 +1397,52 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
       }
     }
   }
+
+  /**
+   * The MTree of an incremental snapshot may contain a timeseries whose creation is in the delta
+   * while its tag offset is not yet set. The tag offset is recovered from the skipped plan then.
+   */
+  private class DeltaReplayPlanOperator extends RecoverPlanOperator {
+
+    @Override
+    public RecoverOperationResult visitCreateTimeSeries(
+        ICreateTimeSeriesPlan createTimeSeriesPlan, SchemaRegionMemoryImpl context) {
+      RecoverOperationResult result = super.visitCreateTimeSeries(createTimeSeriesPlan, context);
+      if (result.isFailed()) {
+        recoverTagOffset(createTimeSeriesPlan.getPath(), createTimeSeriesPlan.getTagOffset());
+      }
+      return result;
+    }
+
+    @Override
+    public RecoverOperationResult visitCreateAlignedTimeSeries(
+        ICreateAlignedTimeSeriesPlan createAlignedTimeSeriesPlan, SchemaRegionMemoryImpl context) {
+      RecoverOperationResult result =
+          super.visitCreateAlignedTimeSeries(createAlignedTimeSeriesPlan, context);
+      if (result.isFailed() && createAlignedTimeSeriesPlan.getTagOffsets() != null) {
+        List<String> measurements = createAlignedTimeSeriesPlan.getMeasurements();
+        List<Long> tagOffsets = createAlignedTimeSeriesPlan.getTagOffsets();
+        for (int i = 0; i < measurements.size() && i < tagOffsets.size(); i++) {
+          recoverTagOffset(
+              createAlignedTimeSeriesPlan.getDevicePath().concatNode(measurements.get(i)),
+              tagOffsets.get(i));
+        }
+      }
+      return result;
+    }
+
+    private void recoverTagOffset(PartialPath path, long offset) {
+      if (offset == -1) {
+        return;
+      }
+      try {
+        if (mtree.getMeasurementMNode(path).getOffset() == -1) {
+          changeOffset(path, offset);
+        }
+      } catch (MetadataException e) {
+        // the timeseries may have been deleted later in the delta
+        logger.debug("Skip recovering tag offset of {}", path, e);
+      }
+    }
+  }
 }
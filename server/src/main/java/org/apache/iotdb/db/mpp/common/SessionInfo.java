@@ -18,6 +18,7 @@
  */
 package org.apache.iotdb.db.mpp.common;
 
+import org.apache.iotdb.commons.consensus.ReadConsistencyLevel;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.DataOutputStream;
@@ -28,11 +29,19 @@ public class SessionInfo {
   private final long sessionId;
   private final String userName;
   private final String zoneId;
+  // only used by the coordinator to route the queries, thus it is not serialized
+  private final ReadConsistencyLevel readConsistencyLevel;
 
   public SessionInfo(long sessionId, String userName, String zoneId) {
+    this(sessionId, userName, zoneId, null);
+  }
+
+  public SessionInfo(
+      long sessionId, String userName, String zoneId, ReadConsistencyLevel readConsistencyLevel) {
     this.sessionId = sessionId;
     this.userName = userName;
     this.zoneId = zoneId;
+    this.readConsistencyLevel = readConsistencyLevel;
   }
 
   public long getSessionId() {
@@ -47,6 +56,11 @@ public class SessionInfo {
     return zoneId;
   }
 
+  /** @return null if the session uses the read consistency level of the cluster */
+  public ReadConsistencyLevel getReadConsistencyLevel() {
+    return readConsistencyLevel;
+  }
+
   public static SessionInfo deserializeFrom(ByteBuffer buffer) {
     long sessionId = ReadWriteIOUtils.readLong(buffer);
     String userName = ReadWriteIOUtils.readString(buffer);
@@ -64,6 +64,18 @@ public class ColumnHeaderConstant {
   public static final String PATHS = "Paths";
   public static final String VARIABLE = "Variable";
 
+  // column names for show compaction statement
+  public static final String IO_BUDGET = "IOBudget(MB/s)";
+  public static final String MAX_IO_BUDGET = "MaxIOBudget(MB/s)";
+  public static final String THROTTLE_STATE = "ThrottleState";
+  public static final String AVG_QUERY_LATENCY = "AvgQueryLatency(ms)";
+  public static final String QUEUED_QUERY_TASK_NUM = "QueuedQueryTaskNum";
+  public static final String DISK_UTILIZATION = "DiskUtilization";
+  public static final String COMPACTION_READ_BYTES = "ReadBytes";
+  public static final String COMPACTION_WRITTEN_BYTES = "WrittenBytes";
+  public static final String RUNNING_TASK_NUM = "RunningTaskNum";
+  public static final String WAITING_TASK_NUM = "WaitingTaskNum";
+
   // column names for count statement
   public static final String COLUMN = "Column";
   public static final String COUNT_DEVICES = "count(devices)";
@@ -229,6 +241,19 @@ public class ColumnHeaderConstant {
           new ColumnHeader(VERSION, TSDataType.TEXT),
           new ColumnHeader(BUILD_INFO, TSDataType.TEXT));
 
+  public static final List<ColumnHeader> showCompactionColumnHeaders =
+      ImmutableList.of(
+          new ColumnHeader(IO_BUDGET, TSDataType.DOUBLE),
+          new ColumnHeader(MAX_IO_BUDGET, TSDataType.INT32),
+          new ColumnHeader(THROTTLE_STATE, TSDataType.TEXT),
+          new ColumnHeader(AVG_QUERY_LATENCY, TSDataType.INT64),
+          new ColumnHeader(QUEUED_QUERY_TASK_NUM, TSDataType.INT64),
+          new ColumnHeader(DISK_UTILIZATION, TSDataType.DOUBLE),
+          new ColumnHeader(COMPACTION_READ_BYTES, TSDataType.INT64),
+          new ColumnHeader(COMPACTION_WRITTEN_BYTES, TSDataType.INT64),
+          new ColumnHeader(RUNNING_TASK_NUM, TSDataType.INT32),
+          new ColumnHeader(WAITING_TASK_NUM, TSDataType.INT32));
+
   public static final List<ColumnHeader> showPathsUsingTemplateHeaders =
       ImmutableList.of(new ColumnHeader(PATHS, TSDataType.TEXT));
 
@@ -75,6 +75,10 @@ public class DatasetHeaderFactory {
     return new DatasetHeader(ColumnHeaderConstant.showVersionColumnHeaders, true);
   }
 
+  public static DatasetHeader getShowCompactionHeader() {
+    return new DatasetHeader(ColumnHeaderConstant.showCompactionColumnHeaders, true);
+  }
+
   public static DatasetHeader getLastQueryHeader() {
     return new DatasetHeader(ColumnHeaderConstant.lastQueryColumnHeaders, false);
   }
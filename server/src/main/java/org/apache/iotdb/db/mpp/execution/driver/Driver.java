@@ -178,6 +178,11 @@ public abstract class Driver implements IDriver {
     return sinkHandle;
   }
 
+  @Override
+  public DriverContext getDriverContext() {
+    return driverContext;
+  }
+
   @GuardedBy("exclusiveLock")
   private boolean isFinishedInternal() {
     checkLockHeld("Lock must be held to call isFinishedInternal");
@@ -71,4 +71,7 @@ public interface IDriver {
 
   /** @return get SinkHandle of current IDriver */
   ISinkHandle getSinkHandle();
+
+  /** @return get DriverContext of current IDriver, null if there is none */
+  DriverContext getDriverContext();
 }
@@ -21,6 +21,7 @@ package org.apache.iotdb.db.mpp.execution.executor;
 
 import org.apache.iotdb.commons.consensus.ConsensusGroupId;
 import org.apache.iotdb.commons.consensus.DataRegionId;
+import org.apache.iotdb.consensus.common.request.ReadOption;
 import org.apache.iotdb.consensus.common.response.ConsensusReadResponse;
 import org.apache.iotdb.db.consensus.DataRegionConsensusImpl;
 import org.apache.iotdb.db.consensus.SchemaRegionConsensusImpl;
@@ -45,7 +46,14 @@ public class RegionReadExecutor {
       if (groupId instanceof DataRegionId) {
         readResponse = DataRegionConsensusImpl.getInstance().read(groupId, fragmentInstance);
       } else {
-        readResponse = SchemaRegionConsensusImpl.getInstance().read(groupId, fragmentInstance);
+        // the leader confirms its leadership before reading, in case it has been deposed without
+        // knowing it, while the reads routed to the followers are still served locally
+        ReadOption option =
+            SchemaRegionConsensusImpl.getInstance().isLeader(groupId)
+                ? ReadOption.LINEARIZABLE
+                : ReadOption.LOCAL;
+        readResponse =
+            SchemaRegionConsensusImpl.getInstance().read(groupId, fragmentInstance, option);
       }
       RegionExecutionResult resp = new RegionExecutionResult();
       if (readResponse == null) {
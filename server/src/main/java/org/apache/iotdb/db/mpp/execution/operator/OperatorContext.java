@@ -36,7 +36,6 @@ import java.util.Objects;
 public class OperatorContext {
 
   private final int operatorId;
-  // It seems it's never used.
   private final PlanNodeId planNodeId;
   private final String operatorType;
   private DriverContext driverContext;
@@ -69,6 +68,10 @@ public class OperatorContext {
     return operatorId;
   }
 
+  public PlanNodeId getPlanNodeId() {
+    return planNodeId;
+  }
+
   public String getOperatorType() {
     return operatorType;
   }
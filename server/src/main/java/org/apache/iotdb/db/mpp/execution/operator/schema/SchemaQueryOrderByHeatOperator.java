@@ -19,19 +19,26 @@
 
 package org.apache.iotdb.db.mpp.execution.operator.schema;
 
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
 import org.apache.iotdb.db.mpp.common.header.ColumnHeader;
 import org.apache.iotdb.db.mpp.common.header.ColumnHeaderConstant;
+import org.apache.iotdb.db.mpp.exception.MemoryNotEnoughException;
+import org.apache.iotdb.db.mpp.execution.memory.MemoryPool;
 import org.apache.iotdb.db.mpp.execution.operator.Operator;
 import org.apache.iotdb.db.mpp.execution.operator.OperatorContext;
 import org.apache.iotdb.db.mpp.execution.operator.process.ProcessOperator;
+import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
-import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.utils.Pair;
 
 import com.google.common.util.concurrent.ListenableFuture;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,26 +47,56 @@ import java.util.stream.Collectors;
 
 import static com.google.common.util.concurrent.Futures.successfulAsList;
 import static java.util.Objects.requireNonNull;
+import static org.apache.iotdb.tsfile.read.common.block.TsBlockBuilderStatus.DEFAULT_MAX_TSBLOCK_SIZE_IN_BYTES;
 
+/**
+ * SchemaQueryOrderByHeatOperator sorts the timeseries by their last timestamps, thus it has to
+ * retain all the show timeseries results until the last query finishes. The retained TsBlocks and
+ * timestamps are reserved from the query MemoryPool, and the operator is blocked until the memory
+ * is available, or fails if the results exceed the memory a fragment instance can reserve.
+ */
 public class SchemaQueryOrderByHeatOperator implements ProcessOperator {
 
+  private static final long MAX_SIZE = DEFAULT_MAX_TSBLOCK_SIZE_IN_BYTES;
+
   private final OperatorContext operatorContext;
+
+  private final MemoryPool memoryPool;
+  private final String queryId;
+  private final String fragmentInstanceId;
+  private final String planNodeId;
+  private final long maxBytesCanReserve =
+      IoTDBDescriptor.getInstance().getConfig().getMaxBytesPerFragmentInstance();
+  // the bytes reserved or being reserved from the memory pool
+  private long reservedBytes = 0L;
+  private ListenableFuture<Void> blockedOnMemory;
+
   private final List<Operator> operators;
   private final List<TsBlock> showTimeSeriesResult;
-  private final List<TsBlock> lastQueryResult;
+  // the last query result is consumed once it arrives, only the timestamps are kept
+  private Map<String, Long> timeseriesToLastTimestamp;
 
   private final List<TSDataType> outputDataTypes;
   private final int columnCount;
 
   private final boolean[] noMoreTsBlocks;
-  private List<TsBlock> resultTsBlockList;
-  private int currentIndex = 0;
 
-  public SchemaQueryOrderByHeatOperator(OperatorContext operatorContext, List<Operator> operators) {
+  // the rows of showTimeSeriesResult sorted by last point's timestamp, each of which is encoded as
+  // the index of TsBlock and the position in it. The result TsBlocks are built from them lazily.
+  private long[] sortedRows;
+  private int nextRowIndex = 0;
+
+  public SchemaQueryOrderByHeatOperator(
+      OperatorContext operatorContext, List<Operator> operators, MemoryPool memoryPool) {
     this.operatorContext = requireNonNull(operatorContext, "operatorContext is null");
     this.operators = operators;
+    this.memoryPool = requireNonNull(memoryPool, "memoryPool is null");
+    FragmentInstanceId instanceId = operatorContext.getInstanceContext().getId();
+    this.queryId = instanceId.getQueryId().getId();
+    this.fragmentInstanceId = instanceId.getFullId();
+    this.planNodeId = operatorContext.getPlanNodeId().getId();
     this.showTimeSeriesResult = new ArrayList<>();
-    this.lastQueryResult = new ArrayList<>();
+    this.timeseriesToLastTimestamp = new HashMap<>();
     this.outputDataTypes =
         ColumnHeaderConstant.showTimeSeriesColumnHeaders.stream()
             .map(ColumnHeader::getColumnType)
@@ -74,14 +111,18 @@ public class SchemaQueryOrderByHeatOperator implements ProcessOperator {
     if (!hasNext()) {
       throw new NoSuchElementException();
     }
-    if (resultTsBlockList != null) {
-      currentIndex++;
-      return resultTsBlockList.get(currentIndex - 1);
+    if (sortedRows != null) {
+      return buildResultTsBlock();
     }
 
     boolean allChildrenReady = true;
     Operator operator;
     for (int i = 0; i < operators.size(); i++) {
+      // the children are not consumed until the retained results are reserved
+      if (blockedOnMemory != null && !blockedOnMemory.isDone()) {
+        allChildrenReady = false;
+        break;
+      }
       if (!noMoreTsBlocks[i]) {
         operator = operators.get(i);
         if (operator.isFinished()) {
@@ -92,8 +133,12 @@ public class SchemaQueryOrderByHeatOperator implements ProcessOperator {
             if (null != tsBlock && !tsBlock.isEmpty()) {
               if (isShowTimeSeriesBlock(tsBlock)) {
                 showTimeSeriesResult.add(tsBlock);
+                reserveMemory(tsBlock.getRetainedSizeInBytes());
               } else {
-                lastQueryResult.add(tsBlock);
+                collectLastTimestamp(tsBlock);
+                reserveMemory(
+                    tsBlock.getColumn(0).getRetainedSizeInBytes()
+                        + (long) Long.BYTES * tsBlock.getPositionCount());
               }
             }
           }
@@ -105,61 +150,96 @@ public class SchemaQueryOrderByHeatOperator implements ProcessOperator {
     }
 
     if (allChildrenReady) {
-      generateResultTsBlockList();
-      currentIndex++;
-      return resultTsBlockList.get(currentIndex - 1);
+      sortRows();
+      return buildResultTsBlock();
     } else {
       return null;
     }
   }
 
-  private void generateResultTsBlockList() {
-    // Step 1: get last point result
-    Map<String, Long> timeseriesToLastTimestamp = new HashMap<>();
-    for (TsBlock tsBlock : lastQueryResult) {
-      for (int i = 0; i < tsBlock.getPositionCount(); i++) {
-        String timeseries = tsBlock.getColumn(0).getBinary(i).toString();
-        long time = tsBlock.getTimeByIndex(i);
-        timeseriesToLastTimestamp.put(timeseries, time);
-      }
+  private void reserveMemory(long bytes) {
+    if (bytes <= 0) {
+      return;
+    }
+    if (reservedBytes + bytes > maxBytesCanReserve) {
+      throw new RuntimeException(
+          new MemoryNotEnoughException(
+              String.format(
+                  "There is not enough memory to order the timeseries by heat, %d bytes have been reserved and the max bytes can be reserved is %d",
+                  reservedBytes, maxBytesCanReserve),
+              TSStatusCode.MPP_MEMORY_NOT_ENOUGH.getStatusCode()));
     }
+    Pair<ListenableFuture<Void>, Boolean> reservation =
+        memoryPool.reserve(queryId, fragmentInstanceId, planNodeId, bytes, maxBytesCanReserve);
+    reservedBytes += bytes;
+    if (Boolean.FALSE.equals(reservation.right)) {
+      blockedOnMemory = reservation.left;
+    }
+  }
+
+  private void collectLastTimestamp(TsBlock lastQueryResult) {
+    for (int i = 0; i < lastQueryResult.getPositionCount(); i++) {
+      String timeseries = lastQueryResult.getColumn(0).getBinary(i).toString();
+      timeseriesToLastTimestamp.put(timeseries, lastQueryResult.getTimeByIndex(i));
+    }
+  }
 
-    // Step 2: get last point timestamp to timeseries map
-    Map<Long, List<Object[]>> lastTimestampToTsSchema = new HashMap<>();
+  /**
+   * Sort the rows of show timeseries result by last point's timestamp in descending order. The rows
+   * with the same timestamp keep their original order.
+   */
+  private void sortRows() {
+    int rowCount = 0;
     for (TsBlock tsBlock : showTimeSeriesResult) {
-      TsBlock.TsBlockRowIterator tsBlockRowIterator = tsBlock.getTsBlockRowIterator();
-      while (tsBlockRowIterator.hasNext()) {
-        Object[] line = tsBlockRowIterator.next();
-        String timeseries = line[0].toString();
-        long time = timeseriesToLastTimestamp.getOrDefault(timeseries, 0L);
-        lastTimestampToTsSchema.computeIfAbsent(time, key -> new ArrayList<>()).add(line);
+      rowCount += tsBlock.getPositionCount();
+    }
+    Integer[] rowIndexes = new Integer[rowCount];
+    long[] rows = new long[rowCount];
+    long[] timestamps = new long[rowCount];
+    int rowIndex = 0;
+    for (int i = 0; i < showTimeSeriesResult.size(); i++) {
+      TsBlock tsBlock = showTimeSeriesResult.get(i);
+      Column timeseriesColumn = tsBlock.getColumn(0);
+      for (int position = 0; position < tsBlock.getPositionCount(); position++) {
+        rowIndexes[rowIndex] = rowIndex;
+        rows[rowIndex] = ((long) i << 32) | position;
+        timestamps[rowIndex] =
+            timeseriesToLastTimestamp.getOrDefault(
+                timeseriesColumn.getBinary(position).toString(), 0L);
+        rowIndex++;
       }
     }
+    timeseriesToLastTimestamp = null;
 
-    // Step 3: sort by last point's timestamp
-    List<Long> timestamps = new ArrayList<>(lastTimestampToTsSchema.keySet());
-    timestamps.sort(Comparator.reverseOrder());
-
-    // Step 4: generate result
-    this.resultTsBlockList =
-        SchemaTsBlockUtil.transferSchemaResultToTsBlockList(
-            timestamps.iterator(),
-            outputDataTypes,
-            (time, tsBlockBuilder) -> {
-              List<Object[]> rows = lastTimestampToTsSchema.get(time);
-              for (Object[] row : rows) {
-                tsBlockBuilder.getTimeColumnBuilder().writeLong(0L);
-                for (int i = 0; i < columnCount; i++) {
-                  Object value = row[i];
-                  if (null == value) {
-                    tsBlockBuilder.getColumnBuilder(i).appendNull();
-                  } else {
-                    tsBlockBuilder.getColumnBuilder(i).writeBinary(new Binary(value.toString()));
-                  }
-                }
-                tsBlockBuilder.declarePosition();
-              }
-            });
+    // Arrays.sort of objects is stable
+    Arrays.sort(rowIndexes, (o1, o2) -> Long.compare(timestamps[o2], timestamps[o1]));
+    sortedRows = new long[rowCount];
+    for (int i = 0; i < rowCount; i++) {
+      sortedRows[i] = rows[rowIndexes[i]];
+    }
+  }
+
+  private TsBlock buildResultTsBlock() {
+    if (nextRowIndex >= sortedRows.length) {
+      return null;
+    }
+    TsBlockBuilder tsBlockBuilder = new TsBlockBuilder(outputDataTypes);
+    while (nextRowIndex < sortedRows.length && tsBlockBuilder.getRetainedSizeInBytes() < MAX_SIZE) {
+      long row = sortedRows[nextRowIndex++];
+      TsBlock tsBlock = showTimeSeriesResult.get((int) (row >>> 32));
+      int position = (int) row;
+      tsBlockBuilder.getTimeColumnBuilder().writeLong(0L);
+      for (int i = 0; i < columnCount; i++) {
+        Column column = tsBlock.getColumn(i);
+        if (column.isNull(position)) {
+          tsBlockBuilder.getColumnBuilder(i).appendNull();
+        } else {
+          tsBlockBuilder.getColumnBuilder(i).write(column, position);
+        }
+      }
+      tsBlockBuilder.declarePosition();
+    }
+    return tsBlockBuilder.build();
   }
 
   @Override
@@ -169,6 +249,9 @@ public class SchemaQueryOrderByHeatOperator implements ProcessOperator {
 
   @Override
   public ListenableFuture<?> isBlocked() {
+    if (blockedOnMemory != null && !blockedOnMemory.isDone()) {
+      return blockedOnMemory;
+    }
     List<ListenableFuture<?>> listenableFutureList = new ArrayList<>(operators.size());
     for (int i = 0; i < operators.size(); i++) {
       if (noMoreTsBlocks[i]) {
@@ -188,7 +271,7 @@ public class SchemaQueryOrderByHeatOperator implements ProcessOperator {
 
   @Override
   public boolean hasNext() {
-    return resultTsBlockList == null || currentIndex < resultTsBlockList.size();
+    return sortedRows == null || nextRowIndex < sortedRows.length;
   }
 
   @Override
@@ -196,6 +279,15 @@ public class SchemaQueryOrderByHeatOperator implements ProcessOperator {
     for (Operator operator : operators) {
       operator.close();
     }
+    if (blockedOnMemory != null) {
+      reservedBytes -= memoryPool.tryCancel(blockedOnMemory);
+      blockedOnMemory = null;
+    }
+    if (reservedBytes > 0) {
+      memoryPool.free(queryId, fragmentInstanceId, planNodeId, reservedBytes);
+      reservedBytes = 0;
+    }
+    memoryPool.clearMemoryReservationMap(queryId, fragmentInstanceId, planNodeId);
   }
 
   @Override
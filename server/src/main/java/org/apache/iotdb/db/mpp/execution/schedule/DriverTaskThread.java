@@ -20,6 +20,8 @@ package org.apache.iotdb.db.mpp.execution.schedule;
 
 import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.storagegroup.IDataRegionForQuery;
+import org.apache.iotdb.db.mpp.execution.driver.DriverContext;
 import org.apache.iotdb.db.mpp.execution.driver.IDriver;
 import org.apache.iotdb.db.mpp.execution.schedule.queue.IndexedBlockingQueue;
 import org.apache.iotdb.db.mpp.execution.schedule.task.DriverTask;
@@ -57,6 +59,18 @@ public class DriverTaskThread extends AbstractDriverThread {
     this.ticker = Ticker.systemTicker();
   }
 
+  /** Add the cpu time to the load of the DataRegion read by the driver */
+  private void recordQueryCpuTime(IDriver driver, CpuTimer.CpuDuration duration) {
+    DriverContext driverContext = driver.getDriverContext();
+    if (driverContext == null) {
+      return;
+    }
+    IDataRegionForQuery dataRegion = driverContext.getFragmentInstanceContext().getDataRegion();
+    if (dataRegion != null) {
+      dataRegion.addQueryCpuTime(duration.getCpu().roundTo(TimeUnit.NANOSECONDS));
+    }
+  }
+
   @Override
   public void execute(DriverTask task) throws InterruptedException {
     long startNanos = ticker.read();
@@ -68,6 +82,7 @@ public class DriverTaskThread extends AbstractDriverThread {
     CpuTimer timer = new CpuTimer();
     ListenableFuture<?> future = driver.processFor(EXECUTION_TIME_SLICE);
     CpuTimer.CpuDuration duration = timer.elapsedTime();
+    recordQueryCpuTime(driver, duration);
     // If the future is cancelled, the task is in an error and should be thrown.
     if (future.isCancelled()) {
       task.setAbortCause(DriverTaskAbortedException.BY_ALREADY_BEING_CANCELLED);
@@ -21,6 +21,7 @@ package org.apache.iotdb.db.mpp.execution.schedule.task;
 import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
 import org.apache.iotdb.db.mpp.common.PlanFragmentId;
 import org.apache.iotdb.db.mpp.common.QueryId;
+import org.apache.iotdb.db.mpp.execution.driver.DriverContext;
 import org.apache.iotdb.db.mpp.execution.driver.IDriver;
 import org.apache.iotdb.db.mpp.execution.exchange.ISinkHandle;
 import org.apache.iotdb.db.mpp.execution.schedule.DriverTaskThread;
@@ -251,5 +252,10 @@ public class DriverTask implements IDIndexedAccessible {
     public ISinkHandle getSinkHandle() {
       return null;
     }
+
+    @Override
+    public DriverContext getDriverContext() {
+      return null;
+    }
   }
 }
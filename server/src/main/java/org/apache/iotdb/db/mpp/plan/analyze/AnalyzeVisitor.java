@@ -56,6 +56,7 @@ import org.apache.iotdb.db.mpp.common.schematree.ISchemaTree;
 import org.apache.iotdb.db.mpp.execution.operator.window.WindowType;
 import org.apache.iotdb.db.mpp.metric.QueryMetricsManager;
 import org.apache.iotdb.db.mpp.plan.Coordinator;
+import org.apache.iotdb.db.mpp.plan.analyze.cache.MaterializedViewCache;
 import org.apache.iotdb.db.mpp.plan.analyze.schema.ISchemaFetcher;
 import org.apache.iotdb.db.mpp.plan.analyze.schema.SchemaValidator;
 import org.apache.iotdb.db.mpp.plan.execution.ExecutionResult;
@@ -121,6 +122,7 @@ import org.apache.iotdb.db.mpp.plan.statement.metadata.template.ShowPathSetTempl
 import org.apache.iotdb.db.mpp.plan.statement.metadata.template.ShowPathsUsingTemplateStatement;
 import org.apache.iotdb.db.mpp.plan.statement.metadata.template.ShowSchemaTemplateStatement;
 import org.apache.iotdb.db.mpp.plan.statement.sys.ExplainStatement;
+import org.apache.iotdb.db.mpp.plan.statement.sys.ShowCompactionStatement;
 import org.apache.iotdb.db.mpp.plan.statement.sys.ShowQueriesStatement;
 import org.apache.iotdb.db.mpp.plan.statement.sys.ShowVersionStatement;
 import org.apache.iotdb.db.mpp.plan.statement.sys.sync.ShowPipeSinkTypeStatement;
@@ -221,6 +223,14 @@ public class AnalyzeVisitor extends StatementVisitor<Analysis, MPPQueryContext>
       // check for semantic errors
       queryStatement.semanticCheck();
 
+      // read the results of the CQs instead of the raw data if possible
+      if (CONFIG.isEnableMaterializedViewRewrite()) {
+        queryStatement =
+            new MaterializedViewRewriter(schemaFetcher)
+                .rewrite(
+                    queryStatement, MaterializedViewCache.getInstance().getMaterializedViews());
+      }
+
       // concat path and construct path pattern tree
       PathPatternTree patternTree = new PathPatternTree();
       queryStatement =
@@ -2473,6 +2483,16 @@ public class AnalyzeVisitor extends StatementVisitor<Analysis, MPPQueryContext>
     return analysis;
   }
 
+  @Override
+  public Analysis visitShowCompaction(
+      ShowCompactionStatement showCompactionStatement, MPPQueryContext context) {
+    Analysis analysis = new Analysis();
+    analysis.setStatement(showCompactionStatement);
+    analysis.setRespDatasetHeader(DatasetHeaderFactory.getShowCompactionHeader());
+    analysis.setFinishQueryAfterAnalyze(true);
+    return analysis;
+  }
+
   private Analysis visitSchemaNodeManagementPartition(
       Statement statement, PartialPath path, DatasetHeader header) {
     Analysis analysis = new Analysis();
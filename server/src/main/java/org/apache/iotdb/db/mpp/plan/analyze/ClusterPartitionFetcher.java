@@ -46,8 +46,11 @@ import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.sql.StatementAnalyzeException;
 import org.apache.iotdb.db.mpp.plan.analyze.cache.PartitionCache;
+import org.apache.iotdb.db.mpp.plan.analyze.cache.ReplicationLagCache;
+import org.apache.iotdb.mpp.rpc.thrift.TPartitionTableDelta;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionRouteReq;
 import org.apache.iotdb.rpc.TSStatusCode;
+import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.utils.PublicBAOS;
 
 import org.apache.thrift.TException;
@@ -57,6 +60,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -285,12 +289,34 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
 
   @Override
   public boolean updateRegionCache(TRegionRouteReq req) {
-    return partitionCache.updateGroupIdToReplicaSetMap(req.getTimestamp(), req.getRegionRouteMap());
+    boolean result =
+        partitionCache.updateGroupIdToReplicaSetMap(req.getTimestamp(), req.getRegionRouteMap());
+    if (result) {
+      ReplicationLagCache.getInstance()
+          .update(
+              req.getTimestamp(),
+              req.isSetReplicationLagMap() ? req.getReplicationLagMap() : Collections.emptyMap(),
+              req.isSetReplicationLagSampleTimeMap()
+                  ? req.getReplicationLagSampleTimeMap()
+                  : Collections.emptyMap());
+    }
+    return result;
   }
 
   @Override
   public void invalidAllCache() {
     partitionCache.invalidAllCache();
+    ReplicationLagCache.getInstance().invalidAllCache();
+  }
+
+  /** Apply the changes of the partition table pushed by the ConfigNode-leader */
+  public void applyPartitionTableDelta(TPartitionTableDelta delta) {
+    partitionCache.applyPartitionTableDelta(delta);
+  }
+
+  /** @return the epoch and version of the cached partition table, null if unknown */
+  public Pair<Long, Long> getPartitionTableVersion() {
+    return partitionCache.getPartitionTableVersion();
   }
 
   /** split data partition query param by database */
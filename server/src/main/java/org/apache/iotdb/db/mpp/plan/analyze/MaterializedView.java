@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.plan.analyze;
+
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.mpp.plan.expression.Expression;
+import org.apache.iotdb.db.mpp.plan.expression.leaf.TimeSeriesOperand;
+import org.apache.iotdb.db.mpp.plan.expression.multi.FunctionExpression;
+import org.apache.iotdb.db.mpp.plan.statement.component.GroupByTimeComponent;
+import org.apache.iotdb.db.mpp.plan.statement.component.IntoItem;
+import org.apache.iotdb.db.mpp.plan.statement.component.ResultColumn;
+import org.apache.iotdb.db.mpp.plan.statement.crud.QueryStatement;
+import org.apache.iotdb.db.mpp.plan.statement.metadata.CreateContinuousQueryStatement;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MaterializedView is a CQ that downsamples some time series by the aggregations with GROUP BY
+ * TIME, and writes the results of each window into the target time series at the start time of the
+ * window. The windows in [materializedStartTime, materializedEndTime) have all been computed, thus
+ * the aggregations over them can be answered by reading the target time series.
+ *
+ * <p>The materializedEndTime lags the last execution by the late data grace period of CQs, so the
+ * windows that the next executions may recompute are not read. The results are still stale for the
+ * data arriving later than that and the deletions after a window is computed, as the target time
+ * series of the CQ are.
+ */
+public class MaterializedView {
+
+  private final String cqId;
+  private final long interval;
+  private final long materializedStartTime;
+  private final long materializedEndTime;
+  // aggregation(source path) -> target path
+  private final Map<String, PartialPath> targetPathMap;
+  // whether the target time series exist, cached until the view is refreshed
+  private final Map<PartialPath, Boolean> targetPathExistenceMap = new ConcurrentHashMap<>();
+
+  private MaterializedView(
+      String cqId,
+      long interval,
+      long materializedStartTime,
+      long materializedEndTime,
+      Map<String, PartialPath> targetPathMap) {
+    this.cqId = cqId;
+    this.interval = interval;
+    this.materializedStartTime = materializedStartTime;
+    this.materializedEndTime = materializedEndTime;
+    this.targetPathMap = targetPathMap;
+  }
+
+  /**
+   * @param materializedStartTime the start time of an execution of the CQ, from which all the
+   *     executions are contiguous
+   * @param materializedEndTime the end time of the last execution of the CQ minus the late data
+   *     grace period
+   * @return null if the results of the CQ can not be used as a materialized view
+   */
+  public static MaterializedView fromCQ(
+      CreateContinuousQueryStatement statement,
+      long materializedStartTime,
+      long materializedEndTime) {
+    QueryStatement queryBody = statement.getQueryBodyStatement();
+    List<Pair<String, PartialPath>> aggregations = getDownsamplingAggregations(queryBody);
+    if (aggregations == null
+        || !queryBody.isSelectInto()
+        || queryBody.getIntoComponent().isDeviceExistPlaceholder()
+        || queryBody.getIntoComponent().isMeasurementsExistPlaceholder()) {
+      return null;
+    }
+    long interval = queryBody.getGroupByTimeComponent().getInterval();
+    // the windows of all the executions are aligned only if the executions are interval apart
+    if (statement.getEveryInterval() % interval != 0) {
+      return null;
+    }
+
+    List<PartialPath> targetPaths = new ArrayList<>();
+    for (IntoItem intoItem : queryBody.getIntoComponent().getIntoItems()) {
+      targetPaths.addAll(intoItem.getIntoPaths());
+    }
+    if (targetPaths.size() != aggregations.size()) {
+      return null;
+    }
+    Map<String, PartialPath> targetPathMap = new HashMap<>();
+    for (int i = 0; i < aggregations.size(); i++) {
+      targetPathMap.put(
+          getKey(aggregations.get(i).left, aggregations.get(i).right), targetPaths.get(i));
+    }
+
+    // the last window may be computed partially
+    long alignedEndTime =
+        materializedStartTime
+            + Math.floorDiv(materializedEndTime - materializedStartTime, interval) * interval;
+    if (alignedEndTime <= materializedStartTime) {
+      return null;
+    }
+    return new MaterializedView(
+        statement.getCqId(), interval, materializedStartTime, alignedEndTime, targetPathMap);
+  }
+
+  /**
+   * Get the aggregations of a query that downsamples some time series, i.e. each column of the
+   * query is an aggregation of one time series, and each window of GROUP BY TIME is computed
+   * independently from the data in it.
+   *
+   * @return the list of (lowercase aggregation function name, full path of the source time series)
+   *     in the order of the columns, or null if the query is not a downsampling query
+   */
+  static List<Pair<String, PartialPath>> getDownsamplingAggregations(QueryStatement query) {
+    GroupByTimeComponent groupByTimeComponent = query.getGroupByTimeComponent();
+    if (!query.isAggregationQuery()
+        || groupByTimeComponent == null
+        || groupByTimeComponent.isIntervalByMonth()
+        || groupByTimeComponent.isSlidingStepByMonth()
+        || groupByTimeComponent.getSlidingStep() != groupByTimeComponent.getInterval()
+        || !groupByTimeComponent.isLeftCRightO()
+        || !query.isAlignByTime()
+        || query.isLastQuery()
+        || query.hasWhere()
+        || query.hasHaving()
+        || query.hasFill()
+        || query.isGroupByLevel()
+        || query.isGroupByTag()
+        || query.hasGroupByExpression()
+        || query.getRowLimit() > 0
+        || query.getRowOffset() > 0
+        || query.getSeriesLimit() > 0
+        || query.getSeriesOffset() > 0) {
+      return null;
+    }
+    List<PartialPath> prefixPaths = query.getFromComponent().getPrefixPaths();
+    if (prefixPaths.size() != 1 || prefixPaths.get(0).hasWildcard()) {
+      return null;
+    }
+
+    List<Pair<String, PartialPath>> aggregations = new ArrayList<>();
+    for (ResultColumn resultColumn : query.getSelectComponent().getResultColumns()) {
+      Expression expression = resultColumn.getExpression();
+      if (!(expression instanceof FunctionExpression)) {
+        return null;
+      }
+      FunctionExpression functionExpression = (FunctionExpression) expression;
+      if (!functionExpression.isBuiltInAggregationFunctionExpression()
+          || !functionExpression.getFunctionAttributes().isEmpty()
+          || functionExpression.getExpressions().size() != 1
+          || !(functionExpression.getExpressions().get(0) instanceof TimeSeriesOperand)) {
+        return null;
+      }
+      PartialPath suffixPath =
+          ((TimeSeriesOperand) functionExpression.getExpressions().get(0)).getPath();
+      if (suffixPath.hasWildcard()) {
+        return null;
+      }
+      aggregations.add(
+          new Pair<>(
+              functionExpression.getFunctionName().toLowerCase(),
+              prefixPaths.get(0).concatPath(suffixPath)));
+    }
+    return aggregations;
+  }
+
+  private static String getKey(String functionName, PartialPath sourcePath) {
+    return functionName + "(" + sourcePath.getFullPath() + ")";
+  }
+
+  /**
+   * @param functionName lowercase aggregation function name
+   * @return the target time series of the aggregation, or null if it is not computed by the view
+   */
+  public PartialPath getTargetPath(String functionName, PartialPath sourcePath) {
+    return targetPathMap.get(getKey(functionName, sourcePath));
+  }
+
+  /** @return true if the windows of GROUP BY ([startTime, endTime), interval) can be read */
+  public boolean covers(long startTime, long endTime, long interval) {
+    return interval % this.interval == 0
+        && Math.floorMod(startTime - materializedStartTime, this.interval) == 0
+        && Math.floorMod(endTime - materializedStartTime, this.interval) == 0
+        && startTime >= materializedStartTime
+        && endTime <= materializedEndTime;
+  }
+
+  /** @return null if unknown */
+  public Boolean isTargetPathExist(PartialPath targetPath) {
+    return targetPathExistenceMap.get(targetPath);
+  }
+
+  public void setTargetPathExist(PartialPath targetPath, boolean exist) {
+    targetPathExistenceMap.put(targetPath, exist);
+  }
+
+  public String getCqId() {
+    return cqId;
+  }
+
+  public long getInterval() {
+    return interval;
+  }
+
+  public long getMaterializedStartTime() {
+    return materializedStartTime;
+  }
+
+  public long getMaterializedEndTime() {
+    return materializedEndTime;
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.plan.analyze;
+
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.path.PathPatternTree;
+import org.apache.iotdb.db.constant.SqlConstant;
+import org.apache.iotdb.db.mpp.common.schematree.ISchemaTree;
+import org.apache.iotdb.db.mpp.plan.analyze.schema.ISchemaFetcher;
+import org.apache.iotdb.db.mpp.plan.expression.leaf.TimeSeriesOperand;
+import org.apache.iotdb.db.mpp.plan.expression.multi.FunctionExpression;
+import org.apache.iotdb.db.mpp.plan.statement.component.FromComponent;
+import org.apache.iotdb.db.mpp.plan.statement.component.GroupByTimeComponent;
+import org.apache.iotdb.db.mpp.plan.statement.component.ResultColumn;
+import org.apache.iotdb.db.mpp.plan.statement.component.SelectComponent;
+import org.apache.iotdb.db.mpp.plan.statement.crud.QueryStatement;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * This rewriter rewrites a downsampling query to read the target time series of a {@link
+ * MaterializedView} instead of the raw data, if the windows of the query are made up of the windows
+ * materialized by the view. The aggregation of a window is computed by rolling up the results of
+ * the view in it, e.g. max_value(s1) by 1d is computed as max_value of max_value(s1) by 1h.
+ *
+ * <p>The columns of the rewritten query are named after the original ones.
+ */
+public class MaterializedViewRewriter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MaterializedViewRewriter.class);
+
+  private final ISchemaFetcher schemaFetcher;
+
+  public MaterializedViewRewriter(ISchemaFetcher schemaFetcher) {
+    this.schemaFetcher = schemaFetcher;
+  }
+
+  /** @return the rewritten query, or the original query if no view can be read by it */
+  public QueryStatement rewrite(QueryStatement queryStatement, List<MaterializedView> views) {
+    if (views.isEmpty()
+        || queryStatement.isSelectInto()
+        || queryStatement.isCqQueryBody()
+        || (queryStatement.hasOrderBy() && !queryStatement.isOrderByTime())) {
+      return queryStatement;
+    }
+    List<Pair<String, PartialPath>> aggregations =
+        MaterializedView.getDownsamplingAggregations(queryStatement);
+    if (aggregations == null) {
+      return queryStatement;
+    }
+    GroupByTimeComponent groupByTimeComponent = queryStatement.getGroupByTimeComponent();
+    for (MaterializedView view : views) {
+      if (!view.covers(
+          groupByTimeComponent.getStartTime(),
+          groupByTimeComponent.getEndTime(),
+          groupByTimeComponent.getInterval())) {
+        continue;
+      }
+      List<String> rollUpFunctionNames =
+          getRollUpFunctionNames(
+              aggregations, groupByTimeComponent.getInterval() / view.getInterval());
+      List<PartialPath> targetPaths = getTargetPaths(view, aggregations);
+      if (rollUpFunctionNames == null || targetPaths == null || !isAllExist(view, targetPaths)) {
+        continue;
+      }
+      LOGGER.debug("Rewrite the query to read the materialized view of CQ {}", view.getCqId());
+      return rewrite(queryStatement, aggregations, rollUpFunctionNames, targetPaths);
+    }
+    return queryStatement;
+  }
+
+  private List<String> getRollUpFunctionNames(
+      List<Pair<String, PartialPath>> aggregations, long windowNumPerQueryWindow) {
+    List<String> rollUpFunctionNames = new ArrayList<>();
+    for (Pair<String, PartialPath> aggregation : aggregations) {
+      String rollUpFunctionName = getRollUpFunctionName(aggregation.left, windowNumPerQueryWindow);
+      if (rollUpFunctionName == null) {
+        return null;
+      }
+      rollUpFunctionNames.add(rollUpFunctionName);
+    }
+    return rollUpFunctionNames;
+  }
+
+  /** @return null if not all the aggregations are computed by the view on the same device */
+  private List<PartialPath> getTargetPaths(
+      MaterializedView view, List<Pair<String, PartialPath>> aggregations) {
+    List<PartialPath> targetPaths = new ArrayList<>();
+    for (Pair<String, PartialPath> aggregation : aggregations) {
+      PartialPath targetPath = view.getTargetPath(aggregation.left, aggregation.right);
+      if (targetPath == null
+          || (!targetPaths.isEmpty()
+              && !targetPaths.get(0).getDevicePath().equals(targetPath.getDevicePath()))) {
+        return null;
+      }
+      targetPaths.add(targetPath);
+    }
+    return targetPaths;
+  }
+
+  /**
+   * The target time series do not exist if the CQ has not written any result. The schema is fetched
+   * only for the target time series not checked since the view was refreshed.
+   */
+  private boolean isAllExist(MaterializedView view, List<PartialPath> targetPaths) {
+    List<PartialPath> uncheckedPaths = new ArrayList<>();
+    for (PartialPath targetPath : targetPaths) {
+      Boolean exist = view.isTargetPathExist(targetPath);
+      if (exist == null) {
+        uncheckedPaths.add(targetPath);
+      } else if (!exist) {
+        return false;
+      }
+    }
+    if (uncheckedPaths.isEmpty()) {
+      return true;
+    }
+
+    PathPatternTree patternTree = new PathPatternTree();
+    uncheckedPaths.forEach(patternTree::appendFullPath);
+    patternTree.constructTree();
+    ISchemaTree schemaTree = schemaFetcher.fetchSchema(patternTree);
+    boolean isAllExist = true;
+    for (PartialPath targetPath : uncheckedPaths) {
+      boolean exist = !schemaTree.searchMeasurementPaths(targetPath).left.isEmpty();
+      view.setTargetPathExist(targetPath, exist);
+      isAllExist = isAllExist && exist;
+    }
+    return isAllExist;
+  }
+
+  private QueryStatement rewrite(
+      QueryStatement queryStatement,
+      List<Pair<String, PartialPath>> aggregations,
+      List<String> rollUpFunctionNames,
+      List<PartialPath> targetPaths) {
+    List<ResultColumn> resultColumns = queryStatement.getSelectComponent().getResultColumns();
+    SelectComponent selectComponent =
+        new SelectComponent(queryStatement.getSelectComponent().getZoneId());
+    for (int i = 0; i < resultColumns.size(); i++) {
+      ResultColumn resultColumn = resultColumns.get(i);
+      // keep the name of the column
+      String alias = resultColumn.getAlias();
+      if (alias == null) {
+        FunctionExpression sourceExpression = (FunctionExpression) resultColumn.getExpression();
+        alias =
+            new FunctionExpression(
+                    sourceExpression.getFunctionName(),
+                    new LinkedHashMap<>(),
+                    Collections.singletonList(new TimeSeriesOperand(aggregations.get(i).right)))
+                .getExpressionString();
+      }
+      FunctionExpression targetExpression =
+          new FunctionExpression(
+              rollUpFunctionNames.get(i),
+              new LinkedHashMap<>(),
+              Collections.singletonList(
+                  new TimeSeriesOperand(
+                      new PartialPath(new String[] {targetPaths.get(i).getMeasurement()}))));
+      selectComponent.addResultColumn(
+          new ResultColumn(targetExpression, alias, ResultColumn.ColumnType.AGGREGATION));
+    }
+    FromComponent fromComponent = new FromComponent();
+    fromComponent.addPrefixPath(targetPaths.get(0).getDevicePath());
+
+    queryStatement.setSelectComponent(selectComponent);
+    queryStatement.setFromComponent(fromComponent);
+    return queryStatement;
+  }
+
+  /**
+   * @param functionName lowercase aggregation function name
+   * @param windowNumPerQueryWindow the number of windows of the view in each window of the query
+   * @return the aggregation that computes the result of a window from the results of the view in
+   *     it, or null if the result can not be computed from them
+   */
+  static String getRollUpFunctionName(String functionName, long windowNumPerQueryWindow) {
+    if (windowNumPerQueryWindow == 1) {
+      // each window of the query has been computed by the view
+      return SqlConstant.FIRST_VALUE;
+    }
+    switch (functionName) {
+      case SqlConstant.SUM:
+      case SqlConstant.MAX_VALUE:
+      case SqlConstant.MIN_VALUE:
+      case SqlConstant.EXTREME:
+      case SqlConstant.FIRST_VALUE:
+      case SqlConstant.LAST_VALUE:
+        return functionName;
+      case SqlConstant.MIN_TIME:
+        return SqlConstant.MIN_VALUE;
+      case SqlConstant.MAX_TIME:
+        return SqlConstant.MAX_VALUE;
+      default:
+        // e.g. the avg of a window can not be computed from the avg of the windows in it, and the
+        // sum of the counts is of another data type
+        return null;
+    }
+  }
+}
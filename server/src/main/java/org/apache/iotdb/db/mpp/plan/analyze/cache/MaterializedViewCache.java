@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.plan.analyze.cache;
+
+import org.apache.iotdb.commons.client.IClientManager;
+import org.apache.iotdb.commons.client.exception.ClientManagerException;
+import org.apache.iotdb.commons.consensus.ConfigNodeRegionId;
+import org.apache.iotdb.commons.cq.CQState;
+import org.apache.iotdb.confignode.rpc.thrift.TCQEntry;
+import org.apache.iotdb.confignode.rpc.thrift.TShowCQResp;
+import org.apache.iotdb.db.client.ConfigNodeClient;
+import org.apache.iotdb.db.client.ConfigNodeClientManager;
+import org.apache.iotdb.db.client.ConfigNodeInfo;
+import org.apache.iotdb.db.mpp.plan.analyze.MaterializedView;
+import org.apache.iotdb.db.mpp.plan.parser.StatementGenerator;
+import org.apache.iotdb.db.mpp.plan.statement.Statement;
+import org.apache.iotdb.db.mpp.plan.statement.metadata.CreateContinuousQueryStatement;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.apache.thrift.TException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * MaterializedViewCache caches the CQs that can be read as {@link MaterializedView}s. The CQs and
+ * their materialized time ranges are fetched from the ConfigNode-leader at most once in each
+ * refresh interval, and the queries use the cached ones meanwhile.
+ */
+public class MaterializedViewCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MaterializedViewCache.class);
+  private static final long REFRESH_INTERVAL_IN_MS = 10_000L;
+
+  private static final IClientManager<ConfigNodeRegionId, ConfigNodeClient>
+      CONFIG_NODE_CLIENT_MANAGER = ConfigNodeClientManager.getInstance();
+
+  private final ReentrantLock refreshLock = new ReentrantLock();
+  private volatile List<MaterializedView> materializedViews = Collections.emptyList();
+  private volatile long lastRefreshTime = Long.MIN_VALUE;
+
+  private MaterializedViewCache() {}
+
+  public static MaterializedViewCache getInstance() {
+    return MaterializedViewCacheHolder.INSTANCE;
+  }
+
+  public List<MaterializedView> getMaterializedViews() {
+    if (isExpired() && refreshLock.tryLock()) {
+      try {
+        if (isExpired()) {
+          refresh();
+        }
+      } finally {
+        refreshLock.unlock();
+      }
+    }
+    return materializedViews;
+  }
+
+  private boolean isExpired() {
+    return lastRefreshTime == Long.MIN_VALUE
+        || System.currentTimeMillis() - lastRefreshTime >= REFRESH_INTERVAL_IN_MS;
+  }
+
+  private void refresh() {
+    try (ConfigNodeClient client =
+        CONFIG_NODE_CLIENT_MANAGER.borrowClient(ConfigNodeInfo.configNodeRegionId)) {
+      TShowCQResp resp = client.showCQ();
+      if (resp.getStatus().getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        LOGGER.warn("Failed to fetch the materialized views, status is {}", resp.getStatus());
+        return;
+      }
+      List<MaterializedView> latestMaterializedViews = new ArrayList<>();
+      for (TCQEntry entry : resp.getCqList()) {
+        if (entry.getState() != CQState.ACTIVE.getType() || !entry.isSetMaterializedStartTime()) {
+          continue;
+        }
+        MaterializedView materializedView = parse(entry);
+        if (materializedView != null) {
+          latestMaterializedViews.add(materializedView);
+        }
+      }
+      materializedViews = latestMaterializedViews;
+    } catch (ClientManagerException | TException e) {
+      LOGGER.warn("Failed to fetch the materialized views", e);
+    } finally {
+      // wait for the next refresh interval even if failed, so as not to fetch for each query
+      lastRefreshTime = System.currentTimeMillis();
+    }
+  }
+
+  private MaterializedView parse(TCQEntry entry) {
+    try {
+      Statement statement =
+          StatementGenerator.createStatement(entry.getSql(), ZoneId.systemDefault());
+      return MaterializedView.fromCQ(
+          (CreateContinuousQueryStatement) statement,
+          entry.getMaterializedStartTime(),
+          entry.getMaterializedEndTime());
+    } catch (Exception e) {
+      LOGGER.warn("Failed to parse CQ {} as a materialized view", entry.getCqId(), e);
+      return null;
+    }
+  }
+
+  private static class MaterializedViewCacheHolder {
+    private static final MaterializedViewCache INSTANCE = new MaterializedViewCache();
+
+    private MaterializedViewCacheHolder() {}
+  }
+}
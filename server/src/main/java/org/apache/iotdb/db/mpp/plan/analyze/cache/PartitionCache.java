@@ -48,7 +48,9 @@ import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.sql.StatementAnalyzeException;
 import org.apache.iotdb.db.metadata.utils.MetaUtils;
 import org.apache.iotdb.db.service.metrics.recorder.CacheMetricsRecorder;
+import org.apache.iotdb.mpp.rpc.thrift.TPartitionTableDelta;
 import org.apache.iotdb.rpc.TSStatusCode;
+import org.apache.iotdb.tsfile.utils.Pair;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -104,6 +106,14 @@ public class PartitionCache {
 
   private final ReentrantReadWriteLock regionReplicaSetLock = new ReentrantReadWriteLock();
 
+  /**
+   * The epoch and version of the partition table pushed by the ConfigNode-leader, null if unknown.
+   * Guarded by the lock of itself
+   */
+  private final Object partitionTableVersionLock = new Object();
+
+  private Pair<Long, Long> partitionTableVersion = null;
+
   private final IClientManager<ConfigNodeRegionId, ConfigNodeClient> configNodeClientManager =
       ConfigNodeClientManager.getInstance();
 
@@ -809,8 +819,72 @@ public class PartitionCache {
 
   // endregion
 
+  // region partition table push
+
+  /**
+   * Apply the changes of the partition table pushed by the ConfigNode-leader through the heartbeat.
+   * A full resync only drops the cached databases that no longer exist, since the created
+   * partitions are never reassigned. The incremental changes are applied only if they follow the
+   * cached version of the same epoch, otherwise the ConfigNode-leader will resend the partition
+   * table according to the version reported in the heartbeat response
+   */
+  public void applyPartitionTableDelta(TPartitionTableDelta delta) {
+    synchronized (partitionTableVersionLock) {
+      Set<String> removedStorageGroups = new HashSet<>();
+      if (delta.isFullSync()) {
+        storageGroupCacheLock.readLock().lock();
+        try {
+          removedStorageGroups.addAll(storageGroupCache);
+        } finally {
+          storageGroupCacheLock.readLock().unlock();
+        }
+        removedStorageGroups.addAll(schemaPartitionCache.asMap().keySet());
+        removedStorageGroups.addAll(dataPartitionCache.asMap().keySet());
+        removedStorageGroups.removeAll(delta.getSchemaPartitionTable().keySet());
+      } else if (partitionTableVersion == null
+          || partitionTableVersion.left != delta.getEpoch()
+          || partitionTableVersion.right < delta.getFromVersion()) {
+        logger.debug(
+            "[Partition Cache] skip the partition table delta from {} to {}, current version: {}",
+            delta.getFromVersion(),
+            delta.getToVersion(),
+            partitionTableVersion);
+        return;
+      }
+      if (delta.isSetRemovedStorageGroups()) {
+        removedStorageGroups.addAll(delta.getRemovedStorageGroups());
+      }
+      if (!removedStorageGroups.isEmpty()) {
+        removeFromStorageGroupCache(new ArrayList<>(removedStorageGroups));
+        for (String storageGroup : removedStorageGroups) {
+          invalidSchemaPartitionCache(storageGroup);
+          invalidDataPartitionCache(storageGroup);
+        }
+      }
+      updateStorageCache(new HashSet<>(delta.getSchemaPartitionTable().keySet()));
+      updateStorageCache(new HashSet<>(delta.getDataPartitionTable().keySet()));
+      updateSchemaPartitionCache(delta.getSchemaPartitionTable());
+      updateDataPartitionCache(delta.getDataPartitionTable());
+      if (delta.isFullSync() || partitionTableVersion.right < delta.getToVersion()) {
+        partitionTableVersion = new Pair<>(delta.getEpoch(), delta.getToVersion());
+      }
+    }
+  }
+
+  /** @return the epoch and version of the cached partition table, null if unknown */
+  public Pair<Long, Long> getPartitionTableVersion() {
+    synchronized (partitionTableVersionLock) {
+      return partitionTableVersion;
+    }
+  }
+
+  // endregion
+
   public void invalidAllCache() {
     logger.debug("[Partition Cache] invalid");
+    synchronized (partitionTableVersionLock) {
+      partitionTableVersion = null;
+    }
     removeFromStorageGroupCache();
     invalidAllDataPartitionCache();
     invalidAllSchemaPartitionCache();
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.plan.analyze.cache;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ReplicationLagCache caches the replication lag of each replica broadcast by the ConfigNode-leader
+ * together with the RegionRouteMap, which is used to route the bounded staleness reads.
+ *
+ * <p>The lag of a replica only holds when it is sampled. Since then, the replica may fall behind by
+ * the time passed at most, thus the age of the sample is added to the lag when it is read.
+ */
+public class ReplicationLagCache {
+
+  /**
+   * TConsensusGroupId -> Pair<Sampling timestamp in local time, DataNodeId -> replication lag in
+   * milliseconds>
+   */
+  private volatile Map<TConsensusGroupId, Pair<Long, Map<Integer, Long>>> replicationLagMap =
+      Collections.emptyMap();
+
+  private ReplicationLagCache() {}
+
+  public static ReplicationLagCache getInstance() {
+    return ReplicationLagCacheHolder.INSTANCE;
+  }
+
+  /**
+   * Replace the whole cache, since the lag of the RegionGroups not in the map is unknown now. The
+   * sampling timestamps are converted to the local time by their distances to the broadcast time,
+   * so that the clocks of the ConfigNode and the DataNode need not be synchronized.
+   *
+   * @param broadcastTime the time when the ConfigNode-leader broadcasts the map, in its clock
+   * @param latestReplicationLagMap RegionGroupId -> (DataNodeId -> replication lag)
+   * @param sampleTimeMap RegionGroupId -> the time when the lag is sampled, in the clock of the
+   *     ConfigNode-leader. The lag of the RegionGroups without a sampling time is unknown.
+   */
+  public void update(
+      long broadcastTime,
+      Map<TConsensusGroupId, Map<Integer, Long>> latestReplicationLagMap,
+      Map<TConsensusGroupId, Long> sampleTimeMap) {
+    long currentTime = System.currentTimeMillis();
+    Map<TConsensusGroupId, Pair<Long, Map<Integer, Long>>> newReplicationLagMap = new HashMap<>();
+    latestReplicationLagMap.forEach(
+        (regionGroupId, replicationLag) -> {
+          Long sampleTime = sampleTimeMap.get(regionGroupId);
+          if (sampleTime != null) {
+            newReplicationLagMap.put(
+                regionGroupId,
+                new Pair<>(currentTime - Math.max(0, broadcastTime - sampleTime), replicationLag));
+          }
+        });
+    replicationLagMap = newReplicationLagMap;
+  }
+
+  /**
+   * @return the replication lag in milliseconds of the replica on the DataNode plus the age of the
+   *     sample, or Long.MAX_VALUE if it is unknown
+   */
+  public long getReplicationLag(TConsensusGroupId regionGroupId, int dataNodeId) {
+    Pair<Long, Map<Integer, Long>> lagSample = replicationLagMap.get(regionGroupId);
+    if (lagSample == null) {
+      return Long.MAX_VALUE;
+    }
+    long replicationLag = lagSample.getRight().getOrDefault(dataNodeId, Long.MAX_VALUE);
+    long age = Math.max(0, System.currentTimeMillis() - lagSample.getLeft());
+    return replicationLag > Long.MAX_VALUE - age ? Long.MAX_VALUE : replicationLag + age;
+  }
+
+  public void invalidAllCache() {
+    replicationLagMap = Collections.emptyMap();
+  }
+
+  private static class ReplicationLagCacheHolder {
+    private static final ReplicationLagCache INSTANCE = new ReplicationLagCache();
+
+    private ReplicationLagCacheHolder() {}
+  }
+}
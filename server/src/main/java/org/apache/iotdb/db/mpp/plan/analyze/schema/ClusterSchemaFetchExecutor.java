@@ -23,6 +23,7 @@ import org.apache.iotdb.commons.exception.IoTDBException;
 import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.path.PathPatternTree;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.metadata.template.ITemplateManager;
 import org.apache.iotdb.db.metadata.template.Template;
 import org.apache.iotdb.db.mpp.common.schematree.ClusterSchemaTree;
@@ -35,6 +36,7 @@ import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.common.block.column.Column;
 import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.ByteArrayInputStream;
@@ -109,6 +111,7 @@ class ClusterSchemaFetchExecutor {
     for (int index : indexOfTargetMeasurements) {
       patternTree.appendFullPath(devicePath, measurements[index]);
     }
+    appendTemplateMeasurements(patternTree, devicePath);
     patternTree.constructTree();
     return fetchSchemaAndCacheResult(patternTree);
   }
@@ -126,11 +129,29 @@ class ClusterSchemaFetchExecutor {
         patternTree.appendFullPath(
             devicePathList.get(deviceIndex), measurementsList.get(deviceIndex)[measurementIndex]);
       }
+      appendTemplateMeasurements(patternTree, devicePathList.get(deviceIndex));
     }
     patternTree.constructTree();
     return fetchSchemaAndCacheResult(patternTree);
   }
 
+  /**
+   * Fetch all the measurements of the template set on the device, thus the device activated with
+   * the template can be recognized and cached as a template device.
+   */
+  private void appendTemplateMeasurements(PathPatternTree patternTree, PartialPath devicePath) {
+    if (!IoTDBDescriptor.getInstance().getConfig().isEnableTemplateDeviceSchemaCache()) {
+      return;
+    }
+    Pair<Template, PartialPath> templateSetInfo = templateManager.checkTemplateSetInfo(devicePath);
+    if (templateSetInfo == null) {
+      return;
+    }
+    for (String measurement : templateSetInfo.left.getSchemaMap().keySet()) {
+      patternTree.appendFullPath(devicePath, measurement);
+    }
+  }
+
   private ClusterSchemaTree fetchSchemaAndCacheResult(PathPatternTree patternTree) {
     ClusterSchemaTree schemaTree =
         executeSchemaFetchQuery(
@@ -24,6 +24,9 @@ import org.apache.iotdb.commons.conf.IoTDBConstant;
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.sync.pipesink.PipeSink;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.compaction.schedule.CompactionIOThrottler;
+import org.apache.iotdb.db.engine.compaction.schedule.CompactionTaskManager;
 import org.apache.iotdb.db.metadata.mnode.MNodeType;
 import org.apache.iotdb.db.mpp.common.header.ColumnHeader;
 import org.apache.iotdb.db.mpp.common.header.ColumnHeaderConstant;
@@ -42,6 +45,7 @@ import org.apache.iotdb.db.mpp.plan.statement.metadata.ShowChildNodesStatement;
 import org.apache.iotdb.db.mpp.plan.statement.metadata.ShowChildPathsStatement;
 import org.apache.iotdb.db.mpp.plan.statement.metadata.template.ShowPathsUsingTemplateStatement;
 import org.apache.iotdb.db.mpp.plan.statement.sys.ExplainStatement;
+import org.apache.iotdb.db.mpp.plan.statement.sys.ShowCompactionStatement;
 import org.apache.iotdb.db.mpp.plan.statement.sys.ShowVersionStatement;
 import org.apache.iotdb.db.mpp.plan.statement.sys.sync.ShowPipeSinkTypeStatement;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
@@ -185,6 +189,34 @@ public class StatementMemorySourceVisitor
         tsBlockBuilder.build(), context.getAnalysis().getRespDatasetHeader());
   }
 
+  @Override
+  public StatementMemorySource visitShowCompaction(
+      ShowCompactionStatement showCompactionStatement, StatementMemorySourceContext context) {
+    List<TSDataType> outputDataTypes =
+        ColumnHeaderConstant.showCompactionColumnHeaders.stream()
+            .map(ColumnHeader::getColumnType)
+            .collect(Collectors.toList());
+    TsBlockBuilder tsBlockBuilder = new TsBlockBuilder(outputDataTypes);
+    CompactionIOThrottler throttler = CompactionIOThrottler.getInstance();
+    CompactionTaskManager taskManager = CompactionTaskManager.getInstance();
+    tsBlockBuilder.getTimeColumnBuilder().writeLong(0L);
+    tsBlockBuilder.getColumnBuilder(0).writeDouble(throttler.getBudgetMbPerSec());
+    tsBlockBuilder
+        .getColumnBuilder(1)
+        .writeInt(IoTDBDescriptor.getInstance().getConfig().getCompactionIoThroughputMbPerSec());
+    tsBlockBuilder.getColumnBuilder(2).writeBinary(new Binary(throttler.getState().toString()));
+    tsBlockBuilder.getColumnBuilder(3).writeLong(throttler.getAvgQueryLatency());
+    tsBlockBuilder.getColumnBuilder(4).writeLong(throttler.getQueuedQueryTaskNum());
+    tsBlockBuilder.getColumnBuilder(5).writeDouble(throttler.getDiskUtilization());
+    tsBlockBuilder.getColumnBuilder(6).writeLong(throttler.getReadBytes());
+    tsBlockBuilder.getColumnBuilder(7).writeLong(throttler.getWrittenBytes());
+    tsBlockBuilder.getColumnBuilder(8).writeInt(taskManager.getExecutingTaskCount());
+    tsBlockBuilder.getColumnBuilder(9).writeInt(taskManager.getWaitingTaskCount());
+    tsBlockBuilder.declarePosition();
+    return new StatementMemorySource(
+        tsBlockBuilder.build(), context.getAnalysis().getRespDatasetHeader());
+  }
+
   @Override
   public StatementMemorySource visitCountNodes(
       CountNodesStatement countStatement, StatementMemorySourceContext context) {
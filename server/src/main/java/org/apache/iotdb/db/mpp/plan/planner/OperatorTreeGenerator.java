@@ -449,7 +449,10 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
                 SchemaQueryOrderByHeatOperator.class.getSimpleName());
 
     context.getTimeSliceAllocator().recordExecutionWeight(operatorContext, 1);
-    return new SchemaQueryOrderByHeatOperator(operatorContext, children);
+    return new SchemaQueryOrderByHeatOperator(
+        operatorContext,
+        children,
+        MPP_DATA_EXCHANGE_MANAGER.getLocalMemoryManager().getQueryPool());
   }
 
   @Override
@@ -21,6 +21,7 @@ package org.apache.iotdb.db.mpp.plan.planner.distribution;
 import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
 import org.apache.iotdb.common.rpc.thrift.TEndPoint;
 import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.commons.consensus.ReadConsistencyLevel;
 import org.apache.iotdb.commons.partition.QueryExecutor;
 import org.apache.iotdb.commons.partition.StorageExecutor;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
@@ -28,6 +29,7 @@ import org.apache.iotdb.db.mpp.common.DataNodeEndPoints;
 import org.apache.iotdb.db.mpp.common.MPPQueryContext;
 import org.apache.iotdb.db.mpp.common.PlanFragmentId;
 import org.apache.iotdb.db.mpp.plan.analyze.Analysis;
+import org.apache.iotdb.db.mpp.plan.analyze.cache.ReplicationLagCache;
 import org.apache.iotdb.db.mpp.plan.planner.IFragmentParallelPlaner;
 import org.apache.iotdb.db.mpp.plan.planner.plan.FragmentInstance;
 import org.apache.iotdb.db.mpp.plan.planner.plan.PlanFragment;
@@ -45,6 +47,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -149,11 +152,7 @@ public class SimpleFragmentParallelPlanner implements IFragmentParallelPlaner {
       throw new IllegalArgumentException(
           String.format("regionReplicaSet is invalid: %s", regionReplicaSet));
     }
-    String readConsistencyLevel =
-        IoTDBDescriptor.getInstance().getConfig().getReadConsistencyLevel();
-    // TODO: (Chen Rongzhao) need to make the values of ReadConsistencyLevel as static variable or
-    // enums
-    boolean selectRandomDataNode = "weak".equals(readConsistencyLevel);
+    ReadConsistencyLevel readConsistencyLevel = getReadConsistencyLevel();
 
     // When planning fragment onto specific DataNode, the DataNode whose endPoint is in
     // black list won't be considered because it may have connection issue now.
@@ -169,13 +168,47 @@ public class SimpleFragmentParallelPlanner implements IFragmentParallelPlaner {
     if (regionReplicaSet.getDataNodeLocationsSize() != availableDataNodes.size()) {
       logger.info("available replicas: " + availableDataNodes);
     }
-    int targetIndex;
-    if (!selectRandomDataNode || queryContext.getSession() == null) {
-      targetIndex = 0;
-    } else {
-      targetIndex = (int) (queryContext.getSession().getSessionId() % availableDataNodes.size());
+    List<TDataNodeLocation> candidateDataNodes;
+    switch (readConsistencyLevel.getType()) {
+      case ANY:
+        candidateDataNodes = availableDataNodes;
+        break;
+      case BOUNDED:
+        // The replicas whose replication lag is unknown are not read, e.g. the RegionGroup is not
+        // replicated by IoTConsensus. The lag includes the age of its sample, thus the replicas
+        // are not read either once their samples are older than the bound.
+        candidateDataNodes = new ArrayList<>();
+        for (TDataNodeLocation dataNodeLocation : availableDataNodes) {
+          long replicationLag =
+              ReplicationLagCache.getInstance()
+                  .getReplicationLag(
+                      regionReplicaSet.getRegionId(), dataNodeLocation.getDataNodeId());
+          if (readConsistencyLevel.isSatisfiedBy(replicationLag)) {
+            candidateDataNodes.add(dataNodeLocation);
+          }
+        }
+        break;
+      case STRONG:
+      default:
+        candidateDataNodes = Collections.emptyList();
+        break;
+    }
+    if (candidateDataNodes.isEmpty() || queryContext.getSession() == null) {
+      return availableDataNodes.get(0);
+    }
+    // Spread the sessions over the candidates, while the queries of one session stick to the same
+    // replica as long as it is a candidate, so that they seldom read older data than the previous
+    int targetIndex = (int) (queryContext.getSession().getSessionId() % candidateDataNodes.size());
+    return candidateDataNodes.get(targetIndex);
+  }
+
+  private ReadConsistencyLevel getReadConsistencyLevel() {
+    if (queryContext.getSession() != null
+        && queryContext.getSession().getReadConsistencyLevel() != null) {
+      return queryContext.getSession().getReadConsistencyLevel();
     }
-    return availableDataNodes.get(targetIndex);
+    return ReadConsistencyLevel.parse(
+        IoTDBDescriptor.getInstance().getConfig().getReadConsistencyLevel());
   }
 
   private List<TDataNodeLocation> filterAvailableTDataNode(
@@ -88,6 +88,7 @@ import org.apache.iotdb.db.mpp.plan.statement.sys.KillQueryStatement;
 import org.apache.iotdb.db.mpp.plan.statement.sys.LoadConfigurationStatement;
 import org.apache.iotdb.db.mpp.plan.statement.sys.MergeStatement;
 import org.apache.iotdb.db.mpp.plan.statement.sys.SetSystemStatusStatement;
+import org.apache.iotdb.db.mpp.plan.statement.sys.ShowCompactionStatement;
 import org.apache.iotdb.db.mpp.plan.statement.sys.ShowQueriesStatement;
 import org.apache.iotdb.db.mpp.plan.statement.sys.ShowVersionStatement;
 import org.apache.iotdb.db.mpp.plan.statement.sys.sync.CreatePipeSinkStatement;
@@ -355,6 +356,10 @@ public abstract class StatementVisitor<R, C> {
     return visitStatement(showVersionStatement, context);
   }
 
+  public R visitShowCompaction(ShowCompactionStatement showCompactionStatement, C context) {
+    return visitStatement(showCompactionStatement, context);
+  }
+
   public R visitCreateSchemaTemplate(
       CreateSchemaTemplateStatement createTemplateStatement, C context) {
     return visitStatement(createTemplateStatement, context);
@@ -50,6 +50,10 @@ public class IntoComponent extends StatementNode {
     this.intoItems = intoItems;
   }
 
+  public List<IntoItem> getIntoItems() {
+    return intoItems;
+  }
+
   public boolean isDeviceExistPlaceholder() {
     for (IntoItem intoItem : intoItems) {
       if (intoItem.isDeviceExistPlaceholder()) {
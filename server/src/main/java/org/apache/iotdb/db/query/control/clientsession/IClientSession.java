@@ -19,6 +19,7 @@
 package org.apache.iotdb.db.query.control.clientsession;
 
 import org.apache.iotdb.commons.conf.IoTDBConstant.ClientVersion;
+import org.apache.iotdb.commons.consensus.ReadConsistencyLevel;
 import org.apache.iotdb.service.rpc.thrift.TSConnectionInfo;
 import org.apache.iotdb.service.rpc.thrift.TSConnectionType;
 
@@ -43,6 +44,9 @@ public abstract class IClientSession {
 
   private long logInTime;
 
+  // null means the read consistency level of the cluster
+  private ReadConsistencyLevel readConsistencyLevel;
+
   public abstract String getClientAddress();
 
   abstract int getClientPort();
@@ -102,6 +106,14 @@ public abstract class IClientSession {
     return logInTime;
   }
 
+  public ReadConsistencyLevel getReadConsistencyLevel() {
+    return readConsistencyLevel;
+  }
+
+  public void setReadConsistencyLevel(ReadConsistencyLevel readConsistencyLevel) {
+    this.readConsistencyLevel = readConsistencyLevel;
+  }
+
   public long getId() {
     return id;
   }
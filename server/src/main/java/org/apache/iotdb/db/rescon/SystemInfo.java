@@ -192,6 +192,33 @@ public class SystemInfo {
     }
   }
 
+  /**
+   * Reserve the memory for a compaction task if there is enough memory left, which never blocks.
+   *
+   * @return true if the memory is reserved or the memory control is disabled
+   */
+  public boolean tryAddCompactionMemoryCost(long memoryCost) {
+    if (!config.isEnableMemControl()) {
+      return true;
+    }
+    long originSize = this.compactionMemoryCost.get();
+    while (originSize + memoryCost <= memorySizeForCompaction) {
+      if (compactionMemoryCost.compareAndSet(originSize, originSize + memoryCost)) {
+        return true;
+      }
+      originSize = this.compactionMemoryCost.get();
+    }
+    return false;
+  }
+
+  /** @return the memory for compaction not reserved by the running compaction tasks */
+  public long getAvailableCompactionMemory() {
+    if (!config.isEnableMemControl()) {
+      return Long.MAX_VALUE;
+    }
+    return Math.max(0, memorySizeForCompaction - compactionMemoryCost.get());
+  }
+
   public synchronized void resetCompactionMemoryCost(long compactionMemoryCost) {
     this.compactionMemoryCost.addAndGet(-compactionMemoryCost);
   }
@@ -35,12 +35,14 @@ public class CompactionMetrics implements IMetricSet {
   public void bindTo(AbstractMetricService metricService) {
     bindTaskInfo(metricService);
     bindPerformanceInfo(metricService);
+    bindWriteAmplification(metricService);
   }
 
   @Override
   public void unbindFrom(AbstractMetricService metricService) {
     unbindTaskInfo(metricService);
     unbindPerformanceInfo(metricService);
+    unbindWriteAmplification(metricService);
   }
 
   private void bindTaskInfo(AbstractMetricService metricService) {
@@ -229,4 +231,34 @@ public class CompactionMetrics implements IMetricSet {
         MetricType.COUNTER, "Deserialized_Chunk_Num", Tag.NAME.toString(), "compaction");
     metricService.remove(MetricType.COUNTER, "Merged_Chunk_Num", Tag.NAME.toString(), "compaction");
   }
+
+  private void bindWriteAmplification(AbstractMetricService metricService) {
+    for (String selectorName : getSelectorNames()) {
+      metricService.createAutoGauge(
+          Metric.COMPACTION_WRITE_AMPLIFICATION.toString(),
+          MetricLevel.IMPORTANT,
+          COMPACTION_METRICS_MANAGER,
+          manager -> manager.getWriteAmplification(selectorName),
+          Tag.NAME.toString(),
+          selectorName);
+    }
+  }
+
+  private void unbindWriteAmplification(AbstractMetricService metricService) {
+    for (String selectorName : getSelectorNames()) {
+      metricService.remove(
+          MetricType.AUTO_GAUGE,
+          Metric.COMPACTION_WRITE_AMPLIFICATION.toString(),
+          Tag.NAME.toString(),
+          selectorName);
+    }
+  }
+
+  private String[] getSelectorNames() {
+    return new String[] {
+      COMPACTION_METRICS_MANAGER.getSelectorName(false, true),
+      COMPACTION_METRICS_MANAGER.getSelectorName(false, false),
+      COMPACTION_METRICS_MANAGER.getSelectorName(true, false)
+    };
+  }
 }
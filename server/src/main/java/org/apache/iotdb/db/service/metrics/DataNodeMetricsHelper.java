@@ -37,6 +37,7 @@ public class DataNodeMetricsHelper {
     MetricService.getInstance().addMetricSet(new LogbackMetrics());
     MetricService.getInstance().addMetricSet(new FileMetrics());
     MetricService.getInstance().addMetricSet(new CompactionMetrics());
+    MetricService.getInstance().addMetricSet(new TierMetrics());
     MetricService.getInstance().addMetricSet(new ProcessMetrics());
     MetricService.getInstance().addMetricSet(new SystemMetrics(true));
 
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.service.metrics;
+
+import org.apache.iotdb.commons.service.metric.enums.Metric;
+import org.apache.iotdb.commons.service.metric.enums.Tag;
+import org.apache.iotdb.db.engine.tier.TierMigrationService;
+import org.apache.iotdb.metrics.AbstractMetricService;
+import org.apache.iotdb.metrics.metricsets.IMetricSet;
+import org.apache.iotdb.metrics.utils.MetricLevel;
+import org.apache.iotdb.metrics.utils.MetricType;
+
+/** The capacity of each storage tier and the throughput of migration between tiers. */
+public class TierMetrics implements IMetricSet {
+  private static final TierMigrationService TIER_MIGRATION_SERVICE =
+      TierMigrationService.getInstance();
+
+  private int tierNum;
+
+  @Override
+  public void bindTo(AbstractMetricService metricService) {
+    tierNum = TIER_MIGRATION_SERVICE.getTierNum();
+    for (int i = 0; i < tierNum; i++) {
+      int tier = i;
+      metricService.createAutoGauge(
+          Metric.TIER_SPACE.toString(),
+          MetricLevel.IMPORTANT,
+          TIER_MIGRATION_SERVICE,
+          o -> o.getTierTotalSpace(tier),
+          Tag.NAME.toString(),
+          "tier_" + tier,
+          Tag.TYPE.toString(),
+          "total");
+      metricService.createAutoGauge(
+          Metric.TIER_SPACE.toString(),
+          MetricLevel.IMPORTANT,
+          TIER_MIGRATION_SERVICE,
+          o -> o.getTierUsableSpace(tier),
+          Tag.NAME.toString(),
+          "tier_" + tier,
+          Tag.TYPE.toString(),
+          "available");
+    }
+    metricService.createAutoGauge(
+        Metric.TIER_MIGRATION.toString(),
+        MetricLevel.IMPORTANT,
+        TIER_MIGRATION_SERVICE,
+        TierMigrationService::getMigratedFileNum,
+        Tag.NAME.toString(),
+        "migrated_file_num");
+    metricService.createAutoGauge(
+        Metric.TIER_MIGRATION.toString(),
+        MetricLevel.IMPORTANT,
+        TIER_MIGRATION_SERVICE,
+        TierMigrationService::getMigratedFileSize,
+        Tag.NAME.toString(),
+        "migrated_file_size");
+    metricService.getOrCreateRate(
+        Metric.TIER_MIGRATION.toString(),
+        MetricLevel.IMPORTANT,
+        Tag.NAME.toString(),
+        "migrated_bytes");
+  }
+
+  @Override
+  public void unbindFrom(AbstractMetricService metricService) {
+    for (int tier = 0; tier < tierNum; tier++) {
+      metricService.remove(
+          MetricType.AUTO_GAUGE,
+          Metric.TIER_SPACE.toString(),
+          Tag.NAME.toString(),
+          "tier_" + tier,
+          Tag.TYPE.toString(),
+          "total");
+      metricService.remove(
+          MetricType.AUTO_GAUGE,
+          Metric.TIER_SPACE.toString(),
+          Tag.NAME.toString(),
+          "tier_" + tier,
+          Tag.TYPE.toString(),
+          "available");
+    }
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.TIER_MIGRATION.toString(),
+        Tag.NAME.toString(),
+        "migrated_file_num");
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.TIER_MIGRATION.toString(),
+        Tag.NAME.toString(),
+        "migrated_file_size");
+    metricService.remove(
+        MetricType.RATE, Metric.TIER_MIGRATION.toString(), Tag.NAME.toString(), "migrated_bytes");
+  }
+}
@@ -21,13 +21,18 @@ package org.apache.iotdb.db.service.metrics.recorder;
 import org.apache.iotdb.commons.service.metric.MetricService;
 import org.apache.iotdb.commons.service.metric.enums.Metric;
 import org.apache.iotdb.commons.service.metric.enums.Tag;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.compaction.execute.task.CompactionTaskSummary;
 import org.apache.iotdb.db.engine.compaction.schedule.constant.CompactionType;
 import org.apache.iotdb.db.engine.compaction.schedule.constant.ProcessChunkType;
 import org.apache.iotdb.metrics.utils.MetricLevel;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class CompactionMetricsManager {
   private static final CompactionMetricsManager INSTANCE = new CompactionMetricsManager();
@@ -40,6 +45,10 @@ public class CompactionMetricsManager {
   private final AtomicInteger finishSeqInnerCompactionTaskNum = new AtomicInteger(0);
   private final AtomicInteger finishUnseqInnerCompactionTaskNum = new AtomicInteger(0);
   private final AtomicInteger finishCrossCompactionTaskNum = new AtomicInteger(0);
+  // the size of files flushed from memtables, which is the denominator of write amplification
+  private final AtomicLong flushedFileSize = new AtomicLong(0);
+  // the size of target files written by the compaction of each selector
+  private final Map<String, AtomicLong> compactedFileSizeOfSelector = new ConcurrentHashMap<>();
 
   private CompactionMetricsManager() {}
 
@@ -120,6 +129,42 @@ public class CompactionMetricsManager {
             "compaction");
   }
 
+  public void reportFlushedFile(long fileSize) {
+    flushedFileSize.addAndGet(fileSize);
+  }
+
+  public void reportCompactedFile(boolean isCrossTask, boolean isSeq, long fileSize) {
+    compactedFileSizeOfSelector
+        .computeIfAbsent(getSelectorName(isCrossTask, isSeq), k -> new AtomicLong(0))
+        .addAndGet(fileSize);
+  }
+
+  /** The name of the selector currently used by the given type of compaction. */
+  public String getSelectorName(boolean isCrossTask, boolean isSeq) {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    if (isCrossTask) {
+      return "cross_" + config.getCrossCompactionSelector().toString().toLowerCase();
+    } else if (isSeq) {
+      return "inner_seq_" + config.getInnerSequenceCompactionSelector().toString().toLowerCase();
+    } else {
+      return "inner_unseq_"
+          + config.getInnerUnsequenceCompactionSelector().toString().toLowerCase();
+    }
+  }
+
+  /**
+   * The write amplification of the given selector in percentage, which is the size of files written
+   * by its compaction divided by the size of flushed files.
+   */
+  public long getWriteAmplification(String selectorName) {
+    long flushed = flushedFileSize.get();
+    AtomicLong compacted = compactedFileSizeOfSelector.get(selectorName);
+    if (flushed == 0 || compacted == null) {
+      return 0;
+    }
+    return compacted.get() * 100 / flushed;
+  }
+
   public void reportAddTaskToWaitingQueue(boolean isCrossTask, boolean isSeq) {
     if (isCrossTask) {
       waitingCrossCompactionTaskNum.incrementAndGet();
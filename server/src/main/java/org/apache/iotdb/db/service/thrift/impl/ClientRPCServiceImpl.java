@@ -21,6 +21,7 @@ package org.apache.iotdb.db.service.thrift.impl;
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.conf.IoTDBConstant;
+import org.apache.iotdb.commons.consensus.ReadConsistencyLevel;
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.exception.IoTDBException;
 import org.apache.iotdb.commons.service.metric.MetricService;
@@ -543,6 +544,13 @@ public class ClientRPCServiceImpl implements IClientRPCServiceWithHandler {
   @Override
   public TSOpenSessionResp openSession(TSOpenSessionReq req) throws TException {
     IoTDBConstant.ClientVersion clientVersion = parseClientVersion(req);
+    ReadConsistencyLevel readConsistencyLevel;
+    try {
+      readConsistencyLevel = parseReadConsistencyLevel(req);
+    } catch (IllegalArgumentException e) {
+      return new TSOpenSessionResp(
+          RpcUtils.getStatus(TSStatusCode.ILLEGAL_PARAMETER, e.getMessage()), CURRENT_RPC_VERSION);
+    }
     BasicOpenSessionResp openSessionResp =
         SESSION_MANAGER.login(
             SESSION_MANAGER.getCurrSession(),
@@ -552,10 +560,22 @@ public class ClientRPCServiceImpl implements IClientRPCServiceWithHandler {
             req.client_protocol,
             clientVersion);
     TSStatus tsStatus = RpcUtils.getStatus(openSessionResp.getCode(), openSessionResp.getMessage());
+    if (tsStatus.getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+      SESSION_MANAGER.getCurrSession().setReadConsistencyLevel(readConsistencyLevel);
+    }
     TSOpenSessionResp resp = new TSOpenSessionResp(tsStatus, CURRENT_RPC_VERSION);
     return resp.setSessionId(openSessionResp.getSessionId());
   }
 
+  /** @return null if the session uses the read consistency level of the cluster */
+  private ReadConsistencyLevel parseReadConsistencyLevel(TSOpenSessionReq req) {
+    Map<String, String> configuration = req.configuration;
+    if (configuration != null && configuration.containsKey("read_consistency_level")) {
+      return ReadConsistencyLevel.parse(configuration.get("read_consistency_level"));
+    }
+    return null;
+  }
+
   private IoTDBConstant.ClientVersion parseClientVersion(TSOpenSessionReq req) {
     Map<String, String> configuration = req.configuration;
     if (configuration != null && configuration.containsKey("version")) {
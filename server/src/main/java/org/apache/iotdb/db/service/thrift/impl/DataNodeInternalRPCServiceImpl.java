@@ -58,6 +58,7 @@ import org.apache.iotdb.db.consensus.DataRegionConsensusImpl;
 import org.apache.iotdb.db.consensus.SchemaRegionConsensusImpl;
 import org.apache.iotdb.db.engine.StorageEngine;
 import org.apache.iotdb.db.engine.settle.SettleRequestHandler;
+import org.apache.iotdb.db.engine.storagegroup.DataRegion;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.db.metadata.cache.DataNodeSchemaCache;
 import org.apache.iotdb.db.metadata.schemaregion.ISchemaRegion;
@@ -99,6 +100,7 @@ import org.apache.iotdb.db.mpp.plan.planner.plan.node.metedata.write.RollbackPre
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.metedata.write.RollbackSchemaBlackListNode;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.write.DeleteDataNode;
 import org.apache.iotdb.db.mpp.plan.scheduler.load.LoadTsFileScheduler;
+import org.apache.iotdb.db.mpp.plan.statement.component.GroupByTimeComponent;
 import org.apache.iotdb.db.mpp.plan.statement.component.WhereCondition;
 import org.apache.iotdb.db.mpp.plan.statement.crud.QueryStatement;
 import org.apache.iotdb.db.query.control.SessionManager;
@@ -160,6 +162,7 @@ import org.apache.iotdb.mpp.rpc.thrift.TMaintainPeerReq;
 import org.apache.iotdb.mpp.rpc.thrift.TOperatePipeOnDataNodeReq;
 import org.apache.iotdb.mpp.rpc.thrift.TRecordModelMetricsReq;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionLeaderChangeReq;
+import org.apache.iotdb.mpp.rpc.thrift.TRegionLoadSample;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionRouteReq;
 import org.apache.iotdb.mpp.rpc.thrift.TRollbackSchemaBlackListReq;
 import org.apache.iotdb.mpp.rpc.thrift.TRollbackSchemaBlackListWithTemplateReq;
@@ -180,6 +183,7 @@ import org.apache.iotdb.trigger.api.enums.TriggerEvent;
 import org.apache.iotdb.tsfile.exception.NotImplementedException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.write.record.Tablet;
 
 import com.google.common.collect.ImmutableList;
@@ -836,12 +840,17 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
             TSStatusCode.SQL_PARSE_ERROR, "This operation type is not supported");
       }
 
+      long startTime =
+          req.isSetIncrementalStartTime()
+              ? getCQQueryStartTime(s, req.startTime, req.endTime, req.incrementalStartTime)
+              : req.startTime;
+
       // 1. add time filter in where
       Expression timeFilter =
           new LogicAndExpression(
               new GreaterEqualExpression(
                   new TimestampOperand(),
-                  new ConstantOperand(TSDataType.INT64, String.valueOf(req.startTime))),
+                  new ConstantOperand(TSDataType.INT64, String.valueOf(startTime))),
               new LessThanExpression(
                   new TimestampOperand(),
                   new ConstantOperand(TSDataType.INT64, String.valueOf(req.endTime))));
@@ -854,7 +863,7 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
 
       // 2. add time range in group by time
       if (s.getGroupByTimeComponent() != null) {
-        s.getGroupByTimeComponent().setStartTime(req.startTime);
+        s.getGroupByTimeComponent().setStartTime(startTime);
         s.getGroupByTimeComponent().setEndTime(req.endTime);
         s.getGroupByTimeComponent().setLeftCRightO(true);
       }
@@ -901,6 +910,40 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
     }
   }
 
+  /**
+   * The results of the windows ending before the incremental start time have been written into the
+   * target series by the previous executions of the CQ, thus only the windows after it are
+   * recomputed. The start time is aligned to the windows of the whole time range, so that each
+   * window is still computed from all its data.
+   *
+   * @return the start time of the query, which is the original one if the CQ can not be executed
+   *     incrementally
+   */
+  static long getCQQueryStartTime(
+      QueryStatement s, long startTime, long endTime, long incrementalStartTime) {
+    GroupByTimeComponent groupByTimeComponent = s.getGroupByTimeComponent();
+    // the results of the other queries depend on the whole time range
+    if (incrementalStartTime <= startTime
+        || groupByTimeComponent == null
+        || groupByTimeComponent.isIntervalByMonth()
+        || groupByTimeComponent.isSlidingStepByMonth()
+        || groupByTimeComponent.getSlidingStep() <= 0
+        || s.hasGroupByExpression()
+        || s.hasFill()
+        || s.getRowLimit() > 0
+        || s.getRowOffset() > 0) {
+      return startTime;
+    }
+    long interval = groupByTimeComponent.getInterval();
+    long slidingStep = groupByTimeComponent.getSlidingStep();
+    // the first window that ends after the incremental start time
+    long firstWindowIndex =
+        Math.max(0, Math.floorDiv(incrementalStartTime - interval - startTime, slidingStep) + 1);
+    long queryStartTime = startTime + firstWindowIndex * slidingStep;
+    // the next window may start after the end time if there are gaps between the windows
+    return queryStartTime < endTime ? queryStartTime : startTime;
+  }
+
   @Override
   public TSStatus deleteModelMetrics(TDeleteModelMetricsReq req) throws TException {
     // TODO
@@ -947,6 +990,7 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
     // Judging leader if necessary
     if (req.isNeedJudgeLeader()) {
       resp.setJudgedLeaders(getJudgedLeaders());
+      resp.setReplicationLagMap(getReplicationLagMap());
     }
 
     // Sampling load if necessary
@@ -974,6 +1018,18 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
       sampleDiskLoad(loadSample);
 
       resp.setLoadSample(loadSample);
+      resp.setRegionLoadSampleMap(getRegionLoadSampleMap());
+    }
+
+    // Apply the partition table pushed by the ConfigNode-leader, and report the cached version
+    if (req.isSetPartitionTableDelta()) {
+      ClusterPartitionFetcher.getInstance().applyPartitionTableDelta(req.getPartitionTableDelta());
+    }
+    Pair<Long, Long> partitionTableVersion =
+        ClusterPartitionFetcher.getInstance().getPartitionTableVersion();
+    if (partitionTableVersion != null) {
+      resp.setPartitionTableEpoch(partitionTableVersion.left);
+      resp.setPartitionTableVersion(partitionTableVersion.right);
     }
 
     resp.setHeartbeatTimestamp(req.getHeartbeatTimestamp());
@@ -1020,6 +1076,41 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
     return result;
   }
 
+  /**
+   * The ConfigNode only takes the replication lag reported by the leader of each RegionGroup, since
+   * the writes of a DataRegionGroup are accepted by its leader.
+   */
+  private Map<TConsensusGroupId, Map<Integer, Long>> getReplicationLagMap() {
+    Map<TConsensusGroupId, Map<Integer, Long>> result = new HashMap<>();
+    if (DataRegionConsensusImpl.getInstance() != null) {
+      DataRegionConsensusImpl.getInstance()
+          .getAllConsensusGroupIds()
+          .forEach(
+              groupId -> {
+                Map<Integer, Long> replicationLag =
+                    DataRegionConsensusImpl.getInstance().getReplicationLagInMs(groupId);
+                if (!replicationLag.isEmpty()) {
+                  result.put(groupId.convertToTConsensusGroupId(), replicationLag);
+                }
+              });
+    }
+    return result;
+  }
+
+  private Map<TConsensusGroupId, TRegionLoadSample> getRegionLoadSampleMap() {
+    Map<TConsensusGroupId, TRegionLoadSample> result = new HashMap<>();
+    for (DataRegion dataRegion : StorageEngine.getInstance().getAllDataRegions()) {
+      result.put(
+          new DataRegionId(Integer.parseInt(dataRegion.getDataRegionId()))
+              .convertToTConsensusGroupId(),
+          new TRegionLoadSample(
+              dataRegion.getWrittenPointsNum(),
+              dataRegion.getQueryCpuTimeInNanos(),
+              dataRegion.getDiskSize()));
+    }
+    return result;
+  }
+
   private long getMemory(String gaugeName) {
     long result = 0;
     try {
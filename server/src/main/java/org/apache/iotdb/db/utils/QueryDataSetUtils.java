@@ -273,9 +273,9 @@ public class QueryDataSetUtils {
 
   public static long[] readTimesFromBuffer(ByteBuffer buffer, int size) {
     long[] times = new long[size];
-    for (int i = 0; i < size; i++) {
-      times[i] = buffer.getLong();
-    }
+    // the bulk get copies the memory at once instead of reading the values one by one
+    buffer.asLongBuffer().get(times);
+    buffer.position(buffer.position() + size * Long.BYTES);
     return times;
   }
 
@@ -296,9 +296,7 @@ public class QueryDataSetUtils {
       boolean hasBitMap = BytesUtils.byteToBool(buffer.get());
       if (hasBitMap) {
         byte[] bytes = new byte[size / Byte.SIZE + 1];
-        for (int j = 0; j < bytes.length; j++) {
-          bytes[j] = buffer.get();
-        }
+        buffer.get(bytes);
         bitMaps[i] = new BitMap(size, bytes);
       }
     }
@@ -362,30 +360,26 @@ public class QueryDataSetUtils {
           break;
         case INT32:
           int[] intValues = new int[size];
-          for (int index = 0; index < size; index++) {
-            intValues[index] = buffer.getInt();
-          }
+          buffer.asIntBuffer().get(intValues);
+          buffer.position(buffer.position() + size * Integer.BYTES);
           values[i] = intValues;
           break;
         case INT64:
           long[] longValues = new long[size];
-          for (int index = 0; index < size; index++) {
-            longValues[index] = buffer.getLong();
-          }
+          buffer.asLongBuffer().get(longValues);
+          buffer.position(buffer.position() + size * Long.BYTES);
           values[i] = longValues;
           break;
         case FLOAT:
           float[] floatValues = new float[size];
-          for (int index = 0; index < size; index++) {
-            floatValues[index] = buffer.getFloat();
-          }
+          buffer.asFloatBuffer().get(floatValues);
+          buffer.position(buffer.position() + size * Float.BYTES);
           values[i] = floatValues;
           break;
         case DOUBLE:
           double[] doubleValues = new double[size];
-          for (int index = 0; index < size; index++) {
-            doubleValues[index] = buffer.getDouble();
-          }
+          buffer.asDoubleBuffer().get(doubleValues);
+          buffer.position(buffer.position() + size * Double.BYTES);
           values[i] = doubleValues;
           break;
         case TEXT:
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.consensus.statemachine;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+public class IoTConsensusDataRegionStateMachineTest {
+  private static final int THREAD_NUM = 4;
+
+  private ExecutorService executor;
+  private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(THREAD_NUM - 1);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testDeserializeConcurrentlyInOrder() {
+    List<Integer> requests = createRequests(1000);
+    List<String> results =
+        IoTConsensusDataRegionStateMachine.deserializeInSlices(
+            requests, this::deserialize, executor, THREAD_NUM);
+    assertDeserialized(requests, results);
+    Assert.assertTrue(threads.size() > 1);
+  }
+
+  @Test
+  public void testDeserializeSmallBatchInCurrentThread() {
+    List<Integer> requests = createRequests(100);
+    List<String> results =
+        IoTConsensusDataRegionStateMachine.deserializeInSlices(
+            requests, this::deserialize, executor, THREAD_NUM);
+    assertDeserialized(requests, results);
+    Assert.assertEquals(Collections.singleton(Thread.currentThread()), threads);
+
+    results =
+        IoTConsensusDataRegionStateMachine.deserializeInSlices(
+            createRequests(1000), this::deserialize, null, THREAD_NUM);
+    assertDeserialized(createRequests(1000), results);
+    Assert.assertEquals(Collections.singleton(Thread.currentThread()), threads);
+  }
+
+  @Test
+  public void testDeserializeWhenExecutorRejects() {
+    executor.shutdown();
+    List<Integer> requests = createRequests(1000);
+    List<String> results =
+        IoTConsensusDataRegionStateMachine.deserializeInSlices(
+            requests, this::deserialize, executor, THREAD_NUM);
+    assertDeserialized(requests, results);
+    Assert.assertEquals(Collections.singleton(Thread.currentThread()), threads);
+  }
+
+  @Test
+  public void testFailureOfSliceIsRethrown() {
+    List<Integer> requests = createRequests(1000);
+    IllegalArgumentException exception = new IllegalArgumentException("bad request");
+    try {
+      IoTConsensusDataRegionStateMachine.deserializeInSlices(
+          requests, failAt(900, exception), executor, THREAD_NUM);
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      Assert.assertSame(exception, e);
+    }
+
+    Error error = new Error("bad request");
+    try {
+      IoTConsensusDataRegionStateMachine.deserializeInSlices(
+          requests, failAt(900, error), executor, THREAD_NUM);
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      Assert.assertSame(error, e.getCause());
+    }
+  }
+
+  private List<Integer> createRequests(int num) {
+    List<Integer> requests = new ArrayList<>(num);
+    for (int i = 0; i < num; i++) {
+      requests.add(i);
+    }
+    return requests;
+  }
+
+  private String deserialize(Integer request) {
+    threads.add(Thread.currentThread());
+    return String.valueOf(request);
+  }
+
+  private Function<Integer, String> failAt(int failedRequest, Throwable throwable) {
+    return request -> {
+      if (request == failedRequest) {
+        if (throwable instanceof Error) {
+          throw (Error) throwable;
+        }
+        throw (RuntimeException) throwable;
+      }
+      return deserialize(request);
+    };
+  }
+
+  private void assertDeserialized(List<Integer> requests, List<String> results) {
+    Assert.assertEquals(requests.size(), results.size());
+    for (int i = 0; i < requests.size(); i++) {
+      Assert.assertEquals(String.valueOf(requests.get(i)), results.get(i));
+    }
+  }
+}
@@ -0,0 +1,628 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.benchmark;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.AlignedPath;
+import org.apache.iotdb.commons.path.MeasurementPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.cache.BloomFilterCache;
+import org.apache.iotdb.db.engine.cache.ChunkCache;
+import org.apache.iotdb.db.engine.cache.TimeSeriesMetadataCache;
+import org.apache.iotdb.db.engine.compaction.execute.performer.constant.CrossCompactionPerformer;
+import org.apache.iotdb.db.engine.compaction.execute.performer.constant.InnerSeqCompactionPerformer;
+import org.apache.iotdb.db.engine.compaction.execute.performer.constant.InnerUnseqCompactionPerformer;
+import org.apache.iotdb.db.engine.compaction.execute.task.AbstractCompactionTask;
+import org.apache.iotdb.db.engine.compaction.execute.task.CrossSpaceCompactionTask;
+import org.apache.iotdb.db.engine.compaction.execute.task.InnerSpaceCompactionTask;
+import org.apache.iotdb.db.engine.compaction.schedule.CompactionIOThrottler;
+import org.apache.iotdb.db.engine.compaction.schedule.CompactionTaskManager;
+import org.apache.iotdb.db.engine.compaction.selector.ICrossSpaceSelector;
+import org.apache.iotdb.db.engine.compaction.selector.utils.CrossCompactionTaskResource;
+import org.apache.iotdb.db.engine.querycontext.QueryDataSource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileManager;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.mpp.execution.operator.source.AlignedSeriesScanUtil;
+import org.apache.iotdb.db.mpp.execution.operator.source.SeriesScanUtil;
+import org.apache.iotdb.db.query.control.FileReaderManager;
+import org.apache.iotdb.db.query.control.QueryResourceManager;
+import org.apache.iotdb.tsfile.file.metadata.AlignedChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Compaction benchmark. It generates a synthetic workload (see {@link CompactionWorkload}), and
+ * compacts it with each performer of each kind of compaction task, thus the compaction settings can
+ * be compared without trying them in production. In each run, the configured selector selects the
+ * tasks round by round as the scheduler does, and the selected tasks of a round are executed by
+ * compaction_thread_count threads, until nothing is selected or max_round is reached.
+ *
+ * <p>The arguments are key=value pairs. The keys of the workload are device_num, measurement_num,
+ * seq_file_num, unseq_file_num, point_num, overlap_ratio, out_of_order_rate, aligned and seed. The
+ * keys of the benchmark are query_num, max_round, work_dir and keep_files. All the other keys are
+ * loaded as those in iotdb-common.properties, e.g. compaction_thread_count,
+ * sub_compaction_thread_count, target_compaction_file_size or inner_sequence_compaction_selector.
+ * The io is not throttled unless the throughput is given.
+ *
+ * <p>For each run, it reports:
+ *
+ * <ul>
+ *   <li>throughput: the size of the source files compacted per second, and the bytes read by the
+ *       performers, which are the chunks read by the fast and read chunk performers, or the decoded
+ *       pages by the read point performer.
+ *   <li>write amplification: the bytes written by compaction divided by the size of the workload.
+ *   <li>peak memory: the peak heap usage above the usage before each round, which includes the
+ *       garbage not collected yet, against the sum of the memory cost predicted by the estimator
+ *       for the tasks of the round. Only the cross space tasks are estimated now.
+ *   <li>read amplification: the points of the chunks read by a query mix divided by the points
+ *       returned, together with the files read and the latency per query, before and after the
+ *       compaction. The query mix consists of queries on the latest 5% of the data, queries on a
+ *       random 5% of the data and full scans of a random series.
+ * </ul>
+ */
+public class CompactionBenchmark {
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private static final long TIME_PARTITION = 0;
+  private static final String DATA_REGION_ID = "0";
+  private static final Set<String> BENCHMARK_KEYS =
+      new HashSet<>(
+          Arrays.asList(
+              "device_num",
+              "measurement_num",
+              "seq_file_num",
+              "unseq_file_num",
+              "point_num",
+              "overlap_ratio",
+              "out_of_order_rate",
+              "aligned",
+              "seed",
+              "query_num",
+              "max_round",
+              "work_dir",
+              "keep_files"));
+
+  private enum Phase {
+    INNER_SEQ("FAST", "READ_CHUNK"),
+    INNER_UNSEQ("FAST", "READ_POINT"),
+    CROSS("FAST", "READ_POINT");
+
+    private final String[] performers;
+
+    Phase(String... performers) {
+      this.performers = performers;
+    }
+  }
+
+  private final CompactionWorkload workload;
+  private final int queryNum;
+  private final int maxRound;
+  private final File workDir;
+  private final boolean keepFiles;
+
+  private CompactionBenchmark(Properties properties) {
+    this.workload = new CompactionWorkload(properties);
+    this.queryNum = Integer.parseInt(properties.getProperty("query_num", "100"));
+    this.maxRound = Integer.parseInt(properties.getProperty("max_round", "10"));
+    this.workDir = new File(properties.getProperty("work_dir", "target/compaction-benchmark"));
+    this.keepFiles = Boolean.parseBoolean(properties.getProperty("keep_files", "false"));
+  }
+
+  public static void main(String[] args) throws Exception {
+    Properties properties = new Properties();
+    Properties configProperties = new Properties();
+    for (String arg : args) {
+      String[] pair = arg.split("=", 2);
+      if (pair.length != 2) {
+        throw new IllegalArgumentException("The argument should be key=value, but is " + arg);
+      }
+      if (BENCHMARK_KEYS.contains(pair[0])) {
+        properties.setProperty(pair[0], pair[1]);
+      } else {
+        configProperties.setProperty(pair[0], pair[1]);
+      }
+    }
+    if (!configProperties.isEmpty()) {
+      IoTDBDescriptor.getInstance().loadProperties(configProperties);
+    }
+    if (!configProperties.containsKey("compaction_write_throughput_mb_per_sec")) {
+      config.setCompactionWriteThroughputMbPerSec(0);
+    }
+    if (!configProperties.containsKey("compaction_io_throughput_mb_per_sec")) {
+      config.setCompactionIoThroughputMbPerSec(0);
+    }
+
+    CompactionBenchmark benchmark = new CompactionBenchmark(properties);
+    CompactionTaskManager.getInstance().start();
+    try {
+      System.out.println(
+          String.format(
+              "%-12s %-10s %6s %6s %11s %9s %9s %9s %10s %9s %9s %19s %19s %21s",
+              "Task",
+              "Performer",
+              "Rounds",
+              "Tasks",
+              "Files",
+              "Time(ms)",
+              "MB/s",
+              "Read(MB)",
+              "WriteAmp",
+              "Peak(MB)",
+              "Est(MB)",
+              "Files/Query",
+              "ReadAmp",
+              "Latency(ms)"));
+      for (Phase phase : Phase.values()) {
+        for (String performer : phase.performers) {
+          System.out.println(benchmark.run(phase, performer));
+        }
+      }
+    } finally {
+      CompactionTaskManager.getInstance().stop();
+      FileReaderManager.getInstance().closeAndRemoveAllOpenedReaders();
+      if (!benchmark.keepFiles) {
+        FileUtils.deleteDirectory(benchmark.workDir);
+      }
+    }
+  }
+
+  private String run(Phase phase, String performer) throws Exception {
+    File runDir = new File(workDir, phase + "-" + performer);
+    File seqDir = getPartitionDir(runDir, "sequence");
+    File unseqDir = getPartitionDir(runDir, "unsequence");
+    if (!seqDir.mkdirs() || !unseqDir.mkdirs()) {
+      throw new IOException("Cannot create the directories in " + runDir);
+    }
+    List<List<TsFileResource>> resources = workload.generate(seqDir, unseqDir);
+    TsFileManager tsFileManager =
+        new TsFileManager(
+            CompactionWorkload.STORAGE_GROUP, DATA_REGION_ID, seqDir.getParentFile().getParent());
+    tsFileManager.addAll(resources.get(0), true);
+    tsFileManager.addAll(resources.get(1), false);
+    setPerformer(phase, performer);
+
+    long workloadSize = 0;
+    if (phase != Phase.INNER_UNSEQ) {
+      workloadSize += getTotalSize(resources.get(0));
+    }
+    if (phase != Phase.INNER_SEQ) {
+      workloadSize += getTotalSize(resources.get(1));
+    }
+    int fileNumBefore = tsFileManager.size(true) + tsFileManager.size(false);
+    QueryMixResult queryMixBefore = runQueryMix(tsFileManager);
+
+    long readBytes = CompactionIOThrottler.getInstance().getReadBytes();
+    long writtenBytes = CompactionIOThrottler.getInstance().getWrittenBytes();
+    int round = 0;
+    int taskNum = 0;
+    int failedTaskNum = 0;
+    long sourceSize = 0;
+    long timeCost = 0;
+    long peakMemory = 0;
+    long estimatedMemory = -1;
+    for (; round < maxRound; round++) {
+      List<AbstractCompactionTask> tasks = new ArrayList<>();
+      long roundEstimatedMemory = selectTasks(phase, tsFileManager, tasks);
+      if (tasks.isEmpty()) {
+        break;
+      }
+      for (AbstractCompactionTask task : tasks) {
+        sourceSize += getTotalSize(getSourceFiles(task));
+      }
+      long baseline = resetPeakHeapUsage();
+      long startTime = System.currentTimeMillis();
+      executeTasks(tasks);
+      timeCost += System.currentTimeMillis() - startTime;
+      peakMemory = Math.max(peakMemory, getPeakHeapUsage() - baseline);
+      estimatedMemory = Math.max(estimatedMemory, roundEstimatedMemory);
+      taskNum += tasks.size();
+      for (AbstractCompactionTask task : tasks) {
+        if (!task.isSuccess()) {
+          failedTaskNum++;
+        }
+      }
+    }
+    readBytes = CompactionIOThrottler.getInstance().getReadBytes() - readBytes;
+    writtenBytes = CompactionIOThrottler.getInstance().getWrittenBytes() - writtenBytes;
+    int fileNumAfter = tsFileManager.size(true) + tsFileManager.size(false);
+    QueryMixResult queryMixAfter = runQueryMix(tsFileManager);
+
+    FileReaderManager.getInstance().closeAndRemoveAllOpenedReaders();
+    if (!keepFiles) {
+      FileUtils.deleteDirectory(runDir);
+    }
+    return String.format(
+        "%-12s %-10s %6d %6s %11s %9d %9.2f %9.2f %10.3f %9.2f %9s %19s %19s %21s",
+        phase,
+        performer,
+        round,
+        failedTaskNum == 0 ? String.valueOf(taskNum) : taskNum + "(" + failedTaskNum + "!)",
+        fileNumBefore + "->" + fileNumAfter,
+        timeCost,
+        timeCost == 0 ? 0 : toMB(sourceSize) * 1000 / timeCost,
+        toMB(readBytes),
+        workloadSize == 0 ? 0 : (double) writtenBytes / workloadSize,
+        toMB(peakMemory),
+        estimatedMemory < 0 ? "-" : String.format("%.2f", toMB(estimatedMemory)),
+        String.format(
+            "%.2f->%.2f", queryMixBefore.getFilesPerQuery(), queryMixAfter.getFilesPerQuery()),
+        String.format(
+            "%.3f->%.3f",
+            queryMixBefore.getReadAmplification(), queryMixAfter.getReadAmplification()),
+        String.format(
+            "%.3f->%.3f", queryMixBefore.getLatencyInMs(), queryMixAfter.getLatencyInMs()));
+  }
+
+  private File getPartitionDir(File runDir, String space) {
+    return new File(
+        runDir
+            + File.separator
+            + space
+            + File.separator
+            + CompactionWorkload.STORAGE_GROUP
+            + File.separator
+            + DATA_REGION_ID
+            + File.separator
+            + TIME_PARTITION);
+  }
+
+  private void setPerformer(Phase phase, String performer) {
+    switch (phase) {
+      case INNER_SEQ:
+        config.setInnerSeqCompactionPerformer(InnerSeqCompactionPerformer.valueOf(performer));
+        break;
+      case INNER_UNSEQ:
+        config.setInnerUnseqCompactionPerformer(InnerUnseqCompactionPerformer.valueOf(performer));
+        break;
+      case CROSS:
+      default:
+        config.setCrossCompactionPerformer(CrossCompactionPerformer.valueOf(performer));
+        break;
+    }
+  }
+
+  /**
+   * Select the tasks of one round by the configured selector.
+   *
+   * @return the memory cost of the tasks predicted by the estimator, or -1 if it is not estimated
+   */
+  private long selectTasks(
+      Phase phase, TsFileManager tsFileManager, List<AbstractCompactionTask> tasks) {
+    long estimatedMemory = -1;
+    if (phase == Phase.CROSS) {
+      ICrossSpaceSelector selector =
+          config
+              .getCrossCompactionSelector()
+              .createInstance(
+                  CompactionWorkload.STORAGE_GROUP, DATA_REGION_ID, TIME_PARTITION, tsFileManager);
+      List<CrossCompactionTaskResource> taskResources =
+          selector.selectCrossSpaceTask(
+              tsFileManager.getOrCreateSequenceListByTimePartition(TIME_PARTITION),
+              tsFileManager.getOrCreateUnsequenceListByTimePartition(TIME_PARTITION));
+      for (CrossCompactionTaskResource taskResource : taskResources) {
+        tasks.add(
+            new CrossSpaceCompactionTask(
+                TIME_PARTITION,
+                tsFileManager,
+                taskResource,
+                config.getCrossCompactionPerformer().createInstance(),
+                CompactionTaskManager.currentTaskNum,
+                tsFileManager.getNextCompactionTaskId()));
+        estimatedMemory = Math.max(estimatedMemory, 0) + taskResource.getTotalMemoryCost();
+      }
+    } else {
+      boolean sequence = phase == Phase.INNER_SEQ;
+      List<List<TsFileResource>> taskResources =
+          sequence
+              ? config
+                  .getInnerSequenceCompactionSelector()
+                  .createInstance(
+                      CompactionWorkload.STORAGE_GROUP,
+                      DATA_REGION_ID,
+                      TIME_PARTITION,
+                      tsFileManager)
+                  .selectInnerSpaceTask(
+                      tsFileManager.getOrCreateSequenceListByTimePartition(TIME_PARTITION))
+              : config
+                  .getInnerUnsequenceCompactionSelector()
+                  .createInstance(
+                      CompactionWorkload.STORAGE_GROUP,
+                      DATA_REGION_ID,
+                      TIME_PARTITION,
+                      tsFileManager)
+                  .selectInnerSpaceTask(
+                      tsFileManager.getOrCreateUnsequenceListByTimePartition(TIME_PARTITION));
+      for (List<TsFileResource> taskResource : taskResources) {
+        tasks.add(
+            new InnerSpaceCompactionTask(
+                TIME_PARTITION,
+                tsFileManager,
+                taskResource,
+                sequence,
+                sequence
+                    ? config.getInnerSeqCompactionPerformer().createInstance()
+                    : config.getInnerUnseqCompactionPerformer().createInstance(),
+                CompactionTaskManager.currentTaskNum,
+                tsFileManager.getNextCompactionTaskId()));
+      }
+    }
+    for (AbstractCompactionTask task : tasks) {
+      task.setSourceFilesToCompactionCandidate();
+    }
+    return estimatedMemory;
+  }
+
+  /** Execute the tasks as the compaction workers do, and wait until all of them finish. */
+  private void executeTasks(List<AbstractCompactionTask> tasks) throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(config.getCompactionThreadCount());
+    try {
+      List<Callable<Void>> callables = new ArrayList<>();
+      for (AbstractCompactionTask task : tasks) {
+        callables.add(
+            () -> {
+              if (task.checkValidAndSetMerging()) {
+                task.start();
+              } else {
+                task.resetCompactionCandidateStatusForAllSourceFiles();
+              }
+              return null;
+            });
+      }
+      executor.invokeAll(callables);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private List<TsFileResource> getSourceFiles(AbstractCompactionTask task) {
+    if (task instanceof CrossSpaceCompactionTask) {
+      List<TsFileResource> sourceFiles =
+          new ArrayList<>(((CrossSpaceCompactionTask) task).getSelectedSequenceFiles());
+      sourceFiles.addAll(((CrossSpaceCompactionTask) task).getSelectedUnsequenceFiles());
+      return sourceFiles;
+    }
+    return ((InnerSpaceCompactionTask) task).getSelectedTsFileResourceList();
+  }
+
+  private QueryMixResult runQueryMix(TsFileManager tsFileManager)
+      throws IOException, IllegalPathException {
+    ChunkCache.getInstance().clear();
+    TimeSeriesMetadataCache.getInstance().clear();
+    BloomFilterCache.getInstance().clear();
+    List<TsFileResource> seqResources = tsFileManager.getTsFileList(true);
+    List<TsFileResource> unseqResources = tsFileManager.getTsFileList(false);
+    List<TsFileResource> allResources = new ArrayList<>(seqResources);
+    allResources.addAll(unseqResources);
+
+    Random random = new Random(workload.seed);
+    long timeRange = workload.getTimeRange();
+    long windowLength = Math.max(1, timeRange / 20);
+    QueryMixResult result = new QueryMixResult();
+    for (int i = 0; i < queryNum; i++) {
+      String device = workload.getDevice(random.nextInt(workload.deviceNum));
+      String measurement = workload.getMeasurement(random.nextInt(workload.measurementNum));
+      long startTime;
+      long endTime;
+      switch (i % 3) {
+        case 0:
+          startTime = timeRange - windowLength;
+          endTime = timeRange - 1;
+          break;
+        case 1:
+          startTime = (long) (random.nextDouble() * (timeRange - windowLength));
+          endTime = startTime + windowLength - 1;
+          break;
+        default:
+          startTime = 0;
+          endTime = timeRange - 1;
+          break;
+      }
+      for (TsFileResource resource : allResources) {
+        if (resource.isDeviceIdExist(device)
+            && resource.getStartTime(device) <= endTime
+            && resource.getEndTime(device) >= startTime) {
+          result.fileNum++;
+          result.scannedPointNum +=
+              countScannedPoints(resource, device, measurement, startTime, endTime);
+        }
+      }
+      long queryStartTime = System.nanoTime();
+      result.returnedPointNum +=
+          query(device, measurement, startTime, endTime, seqResources, unseqResources);
+      result.latencyInNs += System.nanoTime() - queryStartTime;
+      result.queryNum++;
+    }
+    FileReaderManager.getInstance().closeAndRemoveAllOpenedReaders();
+    return result;
+  }
+
+  /** Count the points of the chunks overlapping the time range, all of which are read. */
+  private long countScannedPoints(
+      TsFileResource resource, String device, String measurement, long startTime, long endTime)
+      throws IOException {
+    TsFileSequenceReader reader =
+        FileReaderManager.getInstance().get(resource.getTsFilePath(), true);
+    List<? extends IChunkMetadata> chunkMetadataList;
+    if (workload.aligned) {
+      List<AlignedChunkMetadata> alignedChunkMetadataList = reader.getAlignedChunkMetadata(device);
+      chunkMetadataList = alignedChunkMetadataList;
+    } else {
+      List<ChunkMetadata> nonAlignedChunkMetadataList =
+          reader.getChunkMetadataList(new Path(device, measurement, true), true);
+      chunkMetadataList = nonAlignedChunkMetadataList;
+    }
+    long pointNum = 0;
+    for (IChunkMetadata chunkMetadata : chunkMetadataList) {
+      if (chunkMetadata.getStartTime() <= endTime && chunkMetadata.getEndTime() >= startTime) {
+        pointNum += chunkMetadata.getStatistics().getCount();
+      }
+    }
+    return pointNum;
+  }
+
+  /** Query the series in the time range by the scan util of the query engine. */
+  private long query(
+      String device,
+      String measurement,
+      long startTime,
+      long endTime,
+      List<TsFileResource> seqResources,
+      List<TsFileResource> unseqResources)
+      throws IOException, IllegalPathException {
+    long queryId = QueryResourceManager.getInstance().assignQueryId();
+    FragmentInstanceContext context =
+        FragmentInstanceContext.createFragmentInstanceContextForCompaction(queryId);
+    Filter timeFilter = TimeFilter.between(startTime, endTime, false);
+    MeasurementSchema schema = new MeasurementSchema(measurement, TSDataType.INT64);
+    SeriesScanUtil seriesScanUtil;
+    if (workload.aligned) {
+      List<IMeasurementSchema> schemas = Collections.singletonList(schema);
+      seriesScanUtil =
+          new AlignedSeriesScanUtil(
+              new AlignedPath(device, Collections.singletonList(measurement), schemas),
+              Collections.singleton(measurement),
+              context,
+              timeFilter,
+              null,
+              true);
+    } else {
+      seriesScanUtil =
+          new SeriesScanUtil(
+              new MeasurementPath(device, measurement, schema),
+              Collections.singleton(measurement),
+              TSDataType.INT64,
+              context,
+              timeFilter,
+              null,
+              true);
+    }
+    try {
+      seriesScanUtil.initQueryDataSource(new QueryDataSource(seqResources, unseqResources));
+      long pointNum = readPages(seriesScanUtil) + readChunks(seriesScanUtil);
+      while (seriesScanUtil.hasNextFile()) {
+        pointNum += readChunks(seriesScanUtil);
+      }
+      return pointNum;
+    } finally {
+      QueryResourceManager.getInstance().endQuery(queryId);
+    }
+  }
+
+  private long readChunks(SeriesScanUtil seriesScanUtil) throws IOException {
+    long pointNum = 0;
+    while (seriesScanUtil.hasNextChunk()) {
+      pointNum += readPages(seriesScanUtil);
+    }
+    return pointNum;
+  }
+
+  private long readPages(SeriesScanUtil seriesScanUtil) throws IOException {
+    long pointNum = 0;
+    while (seriesScanUtil.hasNextPage()) {
+      TsBlock tsBlock = seriesScanUtil.nextPage();
+      if (tsBlock != null) {
+        pointNum += tsBlock.getPositionCount();
+      }
+    }
+    return pointNum;
+  }
+
+  /** Collect the garbage and reset the peak usage of the heap, and return the current usage. */
+  private static long resetPeakHeapUsage() {
+    System.gc();
+    long usage = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+        usage += pool.getUsage().getUsed();
+      }
+    }
+    return usage;
+  }
+
+  private static long getPeakHeapUsage() {
+    long usage = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        usage += pool.getPeakUsage().getUsed();
+      }
+    }
+    return usage;
+  }
+
+  private static long getTotalSize(List<TsFileResource> resources) {
+    long size = 0;
+    for (TsFileResource resource : resources) {
+      size += resource.getTsFileSize();
+    }
+    return size;
+  }
+
+  private static double toMB(long bytes) {
+    return bytes / 1024.0 / 1024.0;
+  }
+
+  private static class QueryMixResult {
+    private int queryNum = 0;
+    private long fileNum = 0;
+    private long scannedPointNum = 0;
+    private long returnedPointNum = 0;
+    private long latencyInNs = 0;
+
+    private double getFilesPerQuery() {
+      return queryNum == 0 ? 0 : (double) fileNum / queryNum;
+    }
+
+    private double getReadAmplification() {
+      return returnedPointNum == 0 ? 0 : (double) scannedPointNum / returnedPointNum;
+    }
+
+    private double getLatencyInMs() {
+      return queryNum == 0 ? 0 : latencyInNs / 1_000_000.0 / queryNum;
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.benchmark;
+
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResourceStatus;
+import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.apache.iotdb.tsfile.common.constant.TsFileConstant.PATH_SEPARATOR;
+
+/**
+ * CompactionWorkload generates the synthetic seq and unseq files of one data region. The seq files
+ * are successive in time and each of them contains pointNum points of every series. The unseq files
+ * are generated afterwards, each of which spans a window of overlapRatio of the whole time range of
+ * the seq files at a random position, and the number of points in all the unseq files is
+ * outOfOrderRate of that in the seq files. The workload is determined by the seed, thus each run of
+ * the benchmark compacts the same files.
+ */
+public class CompactionWorkload {
+  public static final String STORAGE_GROUP = "root.bench";
+  private static final int TABLET_ROW_NUM = 1024;
+
+  final int deviceNum;
+  final int measurementNum;
+  final int seqFileNum;
+  final int unseqFileNum;
+  final int pointNum;
+  final double overlapRatio;
+  final double outOfOrderRate;
+  final boolean aligned;
+  final long seed;
+
+  public CompactionWorkload(Properties properties) {
+    this.deviceNum = Integer.parseInt(properties.getProperty("device_num", "10"));
+    this.measurementNum = Integer.parseInt(properties.getProperty("measurement_num", "10"));
+    this.seqFileNum = Integer.parseInt(properties.getProperty("seq_file_num", "10"));
+    this.unseqFileNum = Integer.parseInt(properties.getProperty("unseq_file_num", "5"));
+    this.pointNum = Integer.parseInt(properties.getProperty("point_num", "10000"));
+    this.overlapRatio = Double.parseDouble(properties.getProperty("overlap_ratio", "0.2"));
+    this.outOfOrderRate = Double.parseDouble(properties.getProperty("out_of_order_rate", "0.1"));
+    this.aligned = Boolean.parseBoolean(properties.getProperty("aligned", "false"));
+    this.seed = Long.parseLong(properties.getProperty("seed", "0"));
+  }
+
+  /** The time range [0, getTimeRange()) is covered by the seq files. */
+  public long getTimeRange() {
+    return (long) seqFileNum * pointNum;
+  }
+
+  public String getDevice(int deviceIndex) {
+    return STORAGE_GROUP + PATH_SEPARATOR + "d" + deviceIndex;
+  }
+
+  public String getMeasurement(int measurementIndex) {
+    return "s" + measurementIndex;
+  }
+
+  /**
+   * Generate the seq files into seqDir and the unseq files into unseqDir.
+   *
+   * @return the resources of the seq files and the unseq files, all of which are closed
+   */
+  public List<List<TsFileResource>> generate(File seqDir, File unseqDir)
+      throws IOException, WriteProcessException {
+    Random random = new Random(seed);
+    List<TsFileResource> seqResources = new ArrayList<>();
+    int version = 0;
+    for (int i = 0; i < seqFileNum; i++, version++) {
+      long[] timestamps = new long[pointNum];
+      for (int j = 0; j < pointNum; j++) {
+        timestamps[j] = (long) i * pointNum + j;
+      }
+      seqResources.add(writeFile(new File(seqDir, getFileName(version)), timestamps, random));
+    }
+
+    List<TsFileResource> unseqResources = new ArrayList<>();
+    long timeRange = getTimeRange();
+    long windowLength = Math.max(1, Math.min(timeRange, (long) (timeRange * overlapRatio)));
+    long unseqPointNum = unseqFileNum == 0 ? 0 : (long) (timeRange * outOfOrderRate / unseqFileNum);
+    unseqPointNum = Math.max(1, Math.min(windowLength, unseqPointNum));
+    for (int i = 0; i < unseqFileNum; i++, version++) {
+      long windowStart = (long) (random.nextDouble() * (timeRange - windowLength));
+      TreeSet<Long> timestampSet = new TreeSet<>();
+      while (timestampSet.size() < unseqPointNum) {
+        timestampSet.add(windowStart + (long) (random.nextDouble() * windowLength));
+      }
+      long[] timestamps = timestampSet.stream().mapToLong(Long::longValue).toArray();
+      unseqResources.add(writeFile(new File(unseqDir, getFileName(version)), timestamps, random));
+    }
+    return Arrays.asList(seqResources, unseqResources);
+  }
+
+  private TsFileResource writeFile(File file, long[] timestamps, Random random)
+      throws IOException, WriteProcessException {
+    List<MeasurementSchema> schemas = new ArrayList<>();
+    for (int i = 0; i < measurementNum; i++) {
+      schemas.add(new MeasurementSchema(getMeasurement(i), TSDataType.INT64, TSEncoding.RLE));
+    }
+    TsFileResource resource = new TsFileResource(file);
+    try (TsFileWriter writer = new TsFileWriter(file)) {
+      for (int i = 0; i < deviceNum; i++) {
+        String device = getDevice(i);
+        if (aligned) {
+          writer.registerAlignedTimeseries(new Path(device), schemas);
+        } else {
+          writer.registerTimeseries(new Path(device), schemas);
+        }
+        Tablet tablet = new Tablet(device, schemas, TABLET_ROW_NUM);
+        long value = random.nextInt(1000);
+        for (long timestamp : timestamps) {
+          int row = tablet.rowSize++;
+          tablet.addTimestamp(row, timestamp);
+          // a random walk, which is closer to the real world than the random values
+          value += random.nextInt(21) - 10;
+          for (MeasurementSchema schema : schemas) {
+            tablet.addValue(schema.getMeasurementId(), row, value);
+          }
+          if (tablet.rowSize == tablet.getMaxRowNumber()) {
+            write(writer, tablet);
+          }
+        }
+        if (tablet.rowSize > 0) {
+          write(writer, tablet);
+        }
+        resource.updateStartTime(device, timestamps[0]);
+        resource.updateEndTime(device, timestamps[timestamps.length - 1]);
+      }
+    }
+    resource.setStatus(TsFileResourceStatus.CLOSED);
+    resource.serialize();
+    return resource;
+  }
+
+  private void write(TsFileWriter writer, Tablet tablet) throws IOException, WriteProcessException {
+    if (aligned) {
+      writer.writeAligned(tablet);
+    } else {
+      writer.write(tablet);
+    }
+    tablet.reset();
+  }
+
+  private String getFileName(int version) {
+    return String.format("%d-%d-0-0.tsfile", version, version);
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.cross;
+
+import org.apache.iotdb.db.engine.compaction.selector.utils.CrossCompactionTaskResource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResourceStatus;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class CrossCompactionTaskResourceTest {
+
+  @Test
+  public void testShrink() {
+    List<TsFileResource> seqFiles =
+        Arrays.asList(createResource(0), createResource(1), createResource(2));
+    List<TsFileResource> unseqFiles =
+        Arrays.asList(createResource(3), createResource(4), createResource(5));
+    CrossCompactionTaskResource taskResource = new CrossCompactionTaskResource();
+    taskResource.putResources(unseqFiles.get(0), Arrays.asList(seqFiles.get(0)), 100);
+    taskResource.putResources(unseqFiles.get(1), Collections.emptyList(), 50);
+    taskResource.putResources(
+        unseqFiles.get(2), Arrays.asList(seqFiles.get(1), seqFiles.get(2)), 100);
+
+    Assert.assertSame(taskResource, taskResource.shrink(250));
+
+    CrossCompactionTaskResource shrunkResource = taskResource.shrink(200);
+    Assert.assertEquals(unseqFiles.subList(0, 2), shrunkResource.getUnseqFiles());
+    Assert.assertEquals(seqFiles.subList(0, 1), shrunkResource.getSeqFiles());
+    Assert.assertEquals(150, shrunkResource.getTotalMemoryCost());
+    Assert.assertEquals(3, shrunkResource.getTotalFileNums());
+
+    // the first unseq file is kept even if it is out of the budget
+    shrunkResource = taskResource.shrink(10);
+    Assert.assertEquals(unseqFiles.subList(0, 1), shrunkResource.getUnseqFiles());
+    Assert.assertEquals(seqFiles.subList(0, 1), shrunkResource.getSeqFiles());
+    Assert.assertTrue(shrunkResource.isValid());
+  }
+
+  private TsFileResource createResource(int version) {
+    return new TsFileResource(
+        new File(String.format("%d-%d-0-0.tsfile", version, version)), TsFileResourceStatus.CLOSED);
+  }
+}
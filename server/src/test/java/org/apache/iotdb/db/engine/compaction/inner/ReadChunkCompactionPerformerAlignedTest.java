@@ -21,6 +21,7 @@ package org.apache.iotdb.db.engine.compaction.inner;
 
 import org.apache.iotdb.commons.path.AlignedPath;
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.constant.TestConstant;
 import org.apache.iotdb.db.engine.cache.ChunkCache;
 import org.apache.iotdb.db.engine.cache.TimeSeriesMetadataCache;
@@ -36,10 +37,15 @@ import org.apache.iotdb.db.engine.storagegroup.TsFileNameGenerator;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.TimeValuePair;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.Pair;
+import org.apache.iotdb.tsfile.utils.TsPrimitiveType;
+import org.apache.iotdb.tsfile.write.chunk.AlignedChunkWriterImpl;
 import org.apache.iotdb.tsfile.write.schema.IMeasurementSchema;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.apache.iotdb.tsfile.write.writer.TsFileIOWriter;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
@@ -48,6 +54,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -292,6 +300,83 @@ public class ReadChunkCompactionPerformerAlignedTest {
     CompactionCheckerUtils.validDataByValueList(originData, compactedData);
   }
 
+  @Test
+  public void testAlignedTsFileWithNullPageCompactedByPage() throws Exception {
+    // no page is small enough to be deserialized
+    IoTDBDescriptor.getInstance().getConfig().setChunkSizeLowerBoundInCompaction(10);
+    IoTDBDescriptor.getInstance().getConfig().setChunkPointNumLowerBoundInCompaction(100);
+    String device = storageGroup + ".d0";
+    List<IMeasurementSchema> schemas = new ArrayList<>();
+    schemas.add(new MeasurementSchema("s0", TSDataType.INT64, TSEncoding.RLE));
+    schemas.add(new MeasurementSchema("s1", TSDataType.DOUBLE, TSEncoding.GORILLA));
+    schemas.add(new MeasurementSchema("s2", TSDataType.TEXT, TSEncoding.PLAIN));
+    List<IMeasurementSchema> plainSchemas = new ArrayList<>(schemas);
+    plainSchemas.set(1, new MeasurementSchema("s1", TSDataType.DOUBLE, TSEncoding.PLAIN));
+
+    List<TsFileResource> resources = new ArrayList<>();
+    // multi-page chunks whose first page or middle page of a series is empty
+    resources.add(
+        writeAlignedTsFileByPage(
+            1,
+            device,
+            schemas,
+            new boolean[][] {{false, false, true}, {false, true, false}, {false, false, false}}));
+    // a single-page chunk with an empty value chunk
+    resources.add(
+        writeAlignedTsFileByPage(2, device, schemas, new boolean[][] {{true, false, false}}));
+    // a chunk encoded differently is deserialized
+    resources.add(
+        writeAlignedTsFileByPage(
+            3,
+            device,
+            plainSchemas,
+            new boolean[][] {{true, false, false}, {false, false, false}}));
+    // a chunk with deletion is deserialized
+    resources.add(
+        writeAlignedTsFileByPage(
+            4,
+            device,
+            schemas,
+            new boolean[][] {{false, false, false}, {false, false, false}, {false, false, true}}));
+    CompactionFileGeneratorUtils.generateMods(
+        Collections.singletonMap(device + ".s0", new Pair<>(40010L, 40020L)),
+        resources.get(3),
+        false);
+    // the pages are appended after the deserialized data
+    resources.add(
+        writeAlignedTsFileByPage(
+            5, device, schemas, new boolean[][] {{false, true, false}, {false, false, false}}));
+
+    TsFileResource targetResource =
+        TsFileNameGenerator.getInnerCompactionTargetFileResource(resources, true);
+    List<String> measurementIds = new ArrayList<>();
+    schemas.forEach(schema -> measurementIds.add(schema.getMeasurementId()));
+    PartialPath path = new AlignedPath(device, measurementIds, schemas);
+    Map<PartialPath, List<TimeValuePair>> originData =
+        CompactionCheckerUtils.getDataByQuery(
+            Collections.singletonList(path), schemas, resources, new ArrayList<>());
+    performer.setSourceFiles(resources);
+    performer.setTargetFiles(Collections.singletonList(targetResource));
+    performer.setSummary(new CompactionTaskSummary());
+    performer.perform();
+    CompactionUtils.moveTargetFile(Collections.singletonList(targetResource), true, storageGroup);
+    Map<PartialPath, List<TimeValuePair>> compactedData =
+        CompactionCheckerUtils.getDataByQuery(
+            Collections.singletonList(path),
+            schemas,
+            Collections.singletonList(targetResource),
+            new ArrayList<>());
+    CompactionCheckerUtils.validDataByValueList(originData, compactedData);
+
+    List<TimeValuePair> rows = compactedData.get(path);
+    Assert.assertEquals(1100, rows.size());
+    TsPrimitiveType[] firstRow = rows.get(0).getValue().getVector();
+    Assert.assertEquals(10000L, rows.get(0).getTimestamp());
+    Assert.assertEquals(10000L, firstRow[0].getLong());
+    Assert.assertEquals(10000.0, firstRow[1].getDouble(), 0.0);
+    Assert.assertNull(firstRow[2]);
+  }
+
   @Test
   public void testAlignedTsFileWithDifferentSchemaInDifferentTsFileCompaction() throws Exception {
     List<String> devices = new ArrayList<>();
@@ -652,4 +737,42 @@ public class ReadChunkCompactionPerformerAlignedTest {
             new ArrayList<>());
     CompactionCheckerUtils.validDataByValueList(originData, compactedData);
   }
+
+  /**
+   * Write a TsFile with an aligned chunk of the device, whose i-th page contains 100 points and the
+   * j-th series of the page is null if nullPages[i][j] is true.
+   */
+  private TsFileResource writeAlignedTsFileByPage(
+      int version, String device, List<IMeasurementSchema> schemas, boolean[][] nullPages)
+      throws IOException {
+    TsFileResource resource =
+        new TsFileResource(
+            new File(dataDirectory, String.format("%d-%d-0-0.tsfile", version, version)));
+    long startTime = version * 10000L;
+    long endTime = startTime + nullPages.length * 100L - 1;
+    try (TsFileIOWriter writer = new TsFileIOWriter(resource.getTsFile())) {
+      writer.startChunkGroup(device);
+      AlignedChunkWriterImpl chunkWriter = new AlignedChunkWriterImpl(schemas);
+      for (int page = 0; page < nullPages.length; page++) {
+        for (long time = startTime + page * 100L; time < startTime + (page + 1) * 100L; time++) {
+          chunkWriter.write(time, time, nullPages[page][0]);
+          chunkWriter.write(time, (double) time, nullPages[page][1]);
+          chunkWriter.write(
+              time,
+              new Binary(String.valueOf(time).getBytes(StandardCharsets.UTF_8)),
+              nullPages[page][2]);
+          chunkWriter.write(time);
+        }
+        chunkWriter.sealCurrentPage();
+      }
+      chunkWriter.writeToFileWriter(writer);
+      writer.endChunkGroup();
+      writer.endFile();
+    }
+    resource.updateStartTime(device, startTime);
+    resource.updateEndTime(device, endTime);
+    resource.close();
+    resource.serialize();
+    return resource;
+  }
 }
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.inner.invaliddata;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.engine.compaction.selector.impl.InvalidDataCompactionSelector;
+import org.apache.iotdb.db.engine.modification.Deletion;
+import org.apache.iotdb.db.engine.modification.Modification;
+import org.apache.iotdb.db.engine.storagegroup.TsFileManager;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResourceStatus;
+import org.apache.iotdb.tsfile.file.metadata.TimeseriesMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class InvalidDataCompactionSelectorTest {
+  private static final double DELTA = 1e-6;
+
+  @Test
+  public void testEstimateWithDeletions() throws IllegalPathException {
+    Map<String, List<TimeseriesMetadata>> seriesMetadata = new HashMap<>();
+    seriesMetadata.put(
+        "root.test.d1",
+        Arrays.asList(createSeries("s1", 0, 999, 100), createSeries("s2", 0, 999, 100)));
+    seriesMetadata.put("root.test.d2", Collections.singletonList(createSeries("s1", 0, 999, 200)));
+    List<Modification> modifications = new ArrayList<>();
+    // covers all the series of d1
+    modifications.add(new Deletion(new PartialPath("root.test.d1.*"), 0, 0, 499));
+    Assert.assertEquals(
+        0.25,
+        InvalidDataCompactionSelector.estimateInvalidDataRatio(
+            seriesMetadata, modifications, Long.MIN_VALUE),
+        DELTA);
+
+    // only covers d1.s1, and overlaps with the former deletion
+    modifications.add(new Deletion(new PartialPath("root.test.d1.s1"), 0, 400, 799));
+    Assert.assertEquals(
+        (100 * 0.8 + 100 * 0.5) / 400,
+        InvalidDataCompactionSelector.estimateInvalidDataRatio(
+            seriesMetadata, modifications, Long.MIN_VALUE),
+        DELTA);
+
+    // covers all the devices, but only part of the time range of d2.s1
+    modifications.add(new Deletion(new PartialPath("root.test.**"), 0, 900, 1999));
+    Assert.assertEquals(
+        (100 * 0.9 + 100 * 0.6 + 200 * 0.1) / 400,
+        InvalidDataCompactionSelector.estimateInvalidDataRatio(
+            seriesMetadata, modifications, Long.MIN_VALUE),
+        DELTA);
+  }
+
+  @Test
+  public void testEstimateWithTTL() throws IllegalPathException {
+    TsFileResource resource = createResource(0, 0, 999);
+    Assert.assertEquals(
+        0.25, InvalidDataCompactionSelector.estimateExpiredDataRatio(resource, 250), DELTA);
+
+    Map<String, List<TimeseriesMetadata>> seriesMetadata = new HashMap<>();
+    seriesMetadata.put("root.test.d1", Collections.singletonList(createSeries("s1", 0, 999, 100)));
+    seriesMetadata.put("root.test.d2", Collections.singletonList(createSeries("s1", 0, 999, 100)));
+    List<Modification> modifications = new ArrayList<>();
+    modifications.add(new Deletion(new PartialPath("root.test.d1.*"), 0, 200, 499));
+    Assert.assertEquals(
+        (0.5 + 0.25) / 2,
+        InvalidDataCompactionSelector.estimateInvalidDataRatio(seriesMetadata, modifications, 250),
+        DELTA);
+  }
+
+  @Test
+  public void testSelectExpiredFiles() {
+    long currentTime = System.currentTimeMillis();
+    List<TsFileResource> resources = new ArrayList<>();
+    // most data of the first file is expired
+    resources.add(createResource(0, currentTime - 100_000, currentTime - 10_000));
+    resources.add(createResource(1, currentTime - 1_000, currentTime));
+    TsFileManager manager = new TsFileManager("root.test", "0", "");
+    manager.setDataTTL(50_000);
+
+    List<List<TsFileResource>> tasks =
+        new InvalidDataCompactionSelector("root.test", "0", 0, manager)
+            .selectInnerSpaceTask(resources);
+    Assert.assertEquals(1, tasks.size());
+    Assert.assertEquals(Collections.singletonList(resources.get(0)), tasks.get(0));
+
+    manager.setDataTTL(Long.MAX_VALUE);
+    Assert.assertTrue(
+        new InvalidDataCompactionSelector("root.test", "0", 0, manager)
+            .selectInnerSpaceTask(resources)
+            .isEmpty());
+  }
+
+  private TimeseriesMetadata createSeries(
+      String measurementId, long startTime, long endTime, int count) {
+    TimeseriesMetadata timeseriesMetadata = new TimeseriesMetadata();
+    timeseriesMetadata.setMeasurementId(measurementId);
+    Statistics<? extends Serializable> statistics = Statistics.getStatsByType(TSDataType.INT64);
+    statistics.setStartTime(startTime);
+    statistics.setEndTime(endTime);
+    statistics.setCount(count);
+    timeseriesMetadata.setStatistics(statistics);
+    return timeseriesMetadata;
+  }
+
+  private TsFileResource createResource(int version, long startTime, long endTime) {
+    TsFileResource resource =
+        new TsFileResource(
+            new File(String.format("%d-%d-0-0.tsfile", version, version)),
+            TsFileResourceStatus.CLOSED);
+    for (String device : new String[] {"root.test.d1", "root.test.d2"}) {
+      resource.updateStartTime(device, startTime);
+      resource.updateEndTime(device, endTime);
+    }
+    return resource;
+  }
+}
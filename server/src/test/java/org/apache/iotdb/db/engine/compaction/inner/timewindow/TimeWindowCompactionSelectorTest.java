@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.inner.timewindow;
+
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.compaction.selector.impl.TimeWindowCompactionSelector;
+import org.apache.iotdb.db.engine.storagegroup.FakedTsFileResource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileManager;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResourceStatus;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimeWindowCompactionSelectorTest {
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private long originTimeWindow;
+  private long originFreezeThreshold;
+
+  @Before
+  public void setUp() {
+    originTimeWindow = config.getCompactionTimeWindow();
+    originFreezeThreshold = config.getCompactionTimeWindowFreezeThreshold();
+    config.setCompactionTimeWindow(1000);
+    config.setCompactionTimeWindowFreezeThreshold(Long.MAX_VALUE / 2);
+  }
+
+  @After
+  public void tearDown() {
+    config.setCompactionTimeWindow(originTimeWindow);
+    config.setCompactionTimeWindowFreezeThreshold(originFreezeThreshold);
+  }
+
+  @Test
+  public void testSelectWithinWindow() {
+    List<TsFileResource> resources = new ArrayList<>();
+    // 4 files in each of window 0, 1 and 2
+    for (int i = 0; i < 12; ++i) {
+      resources.add(createResource(i, i * 250L, i * 250L + 249));
+    }
+    // a file spanning window 2 and 3, followed by a single file in window 3
+    resources.add(createResource(12, 2900, 3100));
+    resources.add(createResource(13, 3200, 3300));
+
+    List<List<TsFileResource>> tasks = select(resources);
+    Assert.assertEquals(3, tasks.size());
+    for (int i = 0; i < 3; ++i) {
+      Assert.assertEquals(resources.subList(i * 4, i * 4 + 4), tasks.get(i));
+    }
+  }
+
+  @Test
+  public void testSkipFrozenWindow() {
+    config.setCompactionTimeWindowFreezeThreshold(0);
+    List<TsFileResource> resources = new ArrayList<>();
+    for (int i = 0; i < 12; ++i) {
+      resources.add(createResource(i, i * 250L, i * 250L + 249));
+    }
+    Assert.assertTrue(select(resources).isEmpty());
+  }
+
+  @Test
+  public void testWaitForLatestWindow() {
+    // the latest window is still being written, since it ends in the future
+    long futureWindowStart = (System.currentTimeMillis() / 1000 + 10) * 1000;
+    List<TsFileResource> resources = new ArrayList<>();
+    for (int i = 0; i < 4; ++i) {
+      resources.add(createResource(i, i * 250L, i * 250L + 249));
+    }
+    for (int i = 4; i < 8; ++i) {
+      resources.add(createResource(i, futureWindowStart + i * 100L, futureWindowStart + i * 100L));
+    }
+
+    List<List<TsFileResource>> tasks = select(resources);
+    Assert.assertEquals(1, tasks.size());
+    Assert.assertEquals(resources.subList(0, 4), tasks.get(0));
+  }
+
+  @Test
+  public void testSkipUnclosedFile() {
+    List<TsFileResource> resources = new ArrayList<>();
+    for (int i = 0; i < 8; ++i) {
+      resources.add(createResource(i, i * 250L, i * 250L + 249));
+    }
+    // a file being compacted in window 0 must not stop the selection of window 1
+    resources.get(1).setStatus(TsFileResourceStatus.COMPACTION_CANDIDATE);
+    resources.get(1).setStatus(TsFileResourceStatus.COMPACTING);
+
+    List<List<TsFileResource>> tasks = select(resources);
+    Assert.assertEquals(2, tasks.size());
+    Assert.assertEquals(resources.subList(2, 4), tasks.get(0));
+    Assert.assertEquals(resources.subList(4, 8), tasks.get(1));
+  }
+
+  private List<List<TsFileResource>> select(List<TsFileResource> resources) {
+    TsFileManager manager = new TsFileManager("root.test", "0", "");
+    manager.addAll(resources, true);
+    return new TimeWindowCompactionSelector("root.test", "0", 0, manager)
+        .selectInnerSpaceTask(manager.getOrCreateSequenceListByTimePartition(0));
+  }
+
+  private FakedTsFileResource createResource(int version, long startTime, long endTime) {
+    FakedTsFileResource resource =
+        new FakedTsFileResource(1024, String.format("%d-%d-0-0.tsfile", version, version));
+    resource.timeIndex.updateStartTime("root.test.d", startTime);
+    resource.timeIndex.updateEndTime("root.test.d", endTime);
+    resource.setTimeIndex(resource.timeIndex);
+    return resource;
+  }
+}
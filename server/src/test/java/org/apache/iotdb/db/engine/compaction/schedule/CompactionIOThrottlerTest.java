@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.schedule;
+
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.compaction.schedule.CompactionIOThrottler.ThrottleState;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class CompactionIOThrottlerTest {
+  private final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private final CompactionIOThrottler throttler = CompactionIOThrottler.getInstance();
+
+  private int originMaxThroughput;
+  private int originMinThroughput;
+  private boolean originEnableAdaptiveThrottle;
+  private long originLatencyThreshold;
+  private double originDiskUtilizationThreshold;
+
+  @Before
+  public void setUp() {
+    originMaxThroughput = config.getCompactionIoThroughputMbPerSec();
+    originMinThroughput = config.getCompactionIoMinThroughputMbPerSec();
+    originEnableAdaptiveThrottle = config.isEnableCompactionIoAdaptiveThrottle();
+    originLatencyThreshold = config.getCompactionIoThrottleQueryLatencyThresholdInMs();
+    originDiskUtilizationThreshold = config.getCompactionIoThrottleDiskUtilizationThreshold();
+    config.setCompactionIoThroughputMbPerSec(64);
+    config.setCompactionIoMinThroughputMbPerSec(4);
+    config.setEnableCompactionIoAdaptiveThrottle(true);
+    config.setCompactionIoThrottleQueryLatencyThresholdInMs(1000);
+    // the disk utilization of the test environment is not controllable
+    config.setCompactionIoThrottleDiskUtilizationThreshold(2.0);
+    throttler.reset();
+  }
+
+  @After
+  public void tearDown() {
+    config.setCompactionIoThroughputMbPerSec(originMaxThroughput);
+    config.setCompactionIoMinThroughputMbPerSec(originMinThroughput);
+    config.setEnableCompactionIoAdaptiveThrottle(originEnableAdaptiveThrottle);
+    config.setCompactionIoThrottleQueryLatencyThresholdInMs(originLatencyThreshold);
+    config.setCompactionIoThrottleDiskUtilizationThreshold(originDiskUtilizationThreshold);
+    throttler.reset();
+  }
+
+  @Test
+  public void testBackOffAndRecover() {
+    throttler.adjust();
+    assertEquals(ThrottleState.IDLE, throttler.getState());
+    assertEquals(64, throttler.getBudgetMbPerSec(), 0.001);
+
+    // slow queries halve the budget until the min budget
+    for (int i = 0; i < 4; i++) {
+      throttler.recordQueryLatency(3000);
+      throttler.adjust();
+      assertEquals(ThrottleState.BACK_OFF, throttler.getState());
+      assertEquals(64 >> (i + 1), throttler.getBudgetMbPerSec(), 0.001);
+    }
+    throttler.recordQueryLatency(3000);
+    throttler.adjust();
+    assertEquals(4, throttler.getBudgetMbPerSec(), 0.001);
+    assertEquals(3000, throttler.getAvgQueryLatency());
+
+    // fast queries recover the budget step by step
+    throttler.recordQueryLatency(10);
+    throttler.recordQueryLatency(30);
+    throttler.adjust();
+    assertEquals(ThrottleState.RECOVER, throttler.getState());
+    assertEquals(20, throttler.getAvgQueryLatency());
+    assertEquals(4 + 6.4, throttler.getBudgetMbPerSec(), 0.001);
+
+    // the budget speeds up when there is no query
+    throttler.adjust();
+    assertEquals(ThrottleState.IDLE, throttler.getState());
+    assertEquals(2 * (4 + 6.4), throttler.getBudgetMbPerSec(), 0.001);
+    throttler.adjust();
+    throttler.adjust();
+    assertEquals(64, throttler.getBudgetMbPerSec(), 0.001);
+  }
+
+  @Test
+  public void testFixedAndUnlimitedBudget() {
+    config.setEnableCompactionIoAdaptiveThrottle(false);
+    throttler.recordQueryLatency(3000);
+    throttler.adjust();
+    assertEquals(ThrottleState.FIXED, throttler.getState());
+    assertEquals(64, throttler.getBudgetMbPerSec(), 0.001);
+
+    config.setCompactionIoThroughputMbPerSec(0);
+    throttler.adjust();
+    assertEquals(ThrottleState.UNLIMITED, throttler.getState());
+    assertEquals(0, throttler.getBudgetMbPerSec(), 0.001);
+  }
+
+  @Test
+  public void testCountReadAndWrittenBytes() {
+    long readBytes = throttler.getReadBytes();
+    long writtenBytes = throttler.getWrittenBytes();
+    throttler.acquireRead(100);
+    throttler.acquireWrite(200);
+    assertEquals(readBytes + 100, throttler.getReadBytes());
+    assertEquals(writtenBytes + 200, throttler.getWrittenBytes());
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.compaction.utils;
+
+import org.apache.iotdb.db.engine.compaction.execute.utils.writer.CompactionEncodingSelector;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.TimeValuePair;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.TsPrimitiveType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongFunction;
+
+public class CompactionEncodingSelectorTest {
+  private static final int SAMPLE_POINT_NUM = 1024;
+
+  @Test
+  public void testSelectIntegerEncoding() {
+    Assert.assertEquals(
+        TSEncoding.TS_2DIFF,
+        CompactionEncodingSelector.selectEncoding(
+            TSDataType.INT64,
+            TSEncoding.PLAIN,
+            samplePoints(i -> new TsPrimitiveType.TsLong(1000 + i * 10))));
+    Assert.assertEquals(
+        TSEncoding.RLE,
+        CompactionEncodingSelector.selectEncoding(
+            TSDataType.INT64,
+            TSEncoding.GORILLA,
+            samplePoints(i -> new TsPrimitiveType.TsLong(7))));
+  }
+
+  @Test
+  public void testSelectLosslessFloatEncoding() {
+    // RLE is not selected for floating values, which rounds the values by the float precision
+    Assert.assertEquals(
+        TSEncoding.GORILLA,
+        CompactionEncodingSelector.selectEncoding(
+            TSDataType.DOUBLE,
+            TSEncoding.RLE,
+            samplePoints(i -> new TsPrimitiveType.TsDouble(1.5))));
+  }
+
+  @Test
+  public void testSelectTextEncoding() {
+    Assert.assertEquals(
+        TSEncoding.DICTIONARY,
+        CompactionEncodingSelector.selectEncoding(
+            TSDataType.TEXT,
+            TSEncoding.PLAIN,
+            samplePoints(i -> new TsPrimitiveType.TsBinary(new Binary("status_" + (i % 3))))));
+  }
+
+  @Test
+  public void testKeepEncodingWithoutSamples() {
+    Assert.assertEquals(
+        TSEncoding.GORILLA,
+        CompactionEncodingSelector.selectEncoding(
+            TSDataType.INT64, TSEncoding.GORILLA, Collections.emptyList()));
+  }
+
+  private List<TimeValuePair> samplePoints(LongFunction<TsPrimitiveType> valueGenerator) {
+    List<TimeValuePair> points = new ArrayList<>();
+    for (long i = 0; i < SAMPLE_POINT_NUM; i++) {
+      points.add(new TimeValuePair(i, valueGenerator.apply(i)));
+    }
+    return points;
+  }
+}
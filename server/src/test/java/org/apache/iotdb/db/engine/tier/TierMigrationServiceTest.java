@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.tier;
+
+import org.apache.iotdb.commons.conf.IoTDBConstant;
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.conf.directories.DirectoryManager;
+import org.apache.iotdb.db.constant.TestConstant;
+import org.apache.iotdb.db.engine.modification.Deletion;
+import org.apache.iotdb.db.engine.modification.ModificationFile;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TierMigrationServiceTest {
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private static final String TEST_DIR = TestConstant.BASE_OUTPUT_PATH + "tier-migration";
+  private static final String FILE_NAME = "1-1-0-0" + TsFileConstant.TSFILE_SUFFIX;
+  private static final byte[] TSFILE_CONTENT = "tsfile".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] RESOURCE_CONTENT = "resource".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] MODS_CONTENT = "mods".getBytes(StandardCharsets.UTF_8);
+
+  private final TierMigrationService migrationService = TierMigrationService.getInstance();
+  private String[][] originTierDataDirs;
+  private File sourceDir;
+  private File targetDir;
+  private File source;
+  private File target;
+
+  @Before
+  public void setUp() {
+    originTierDataDirs = config.getTierDataDirs();
+    String tier0 = TEST_DIR + File.separator + "tier0";
+    String tier1 = TEST_DIR + File.separator + "tier1";
+    config.setTierDataDirs(new String[][] {{tier0}, {tier1}});
+    DirectoryManager.getInstance().resetFolders();
+    sourceDir = getPartitionDir(tier0);
+    targetDir = getPartitionDir(tier1);
+    Assert.assertTrue(sourceDir.mkdirs());
+    Assert.assertTrue(targetDir.mkdirs());
+    source = new File(sourceDir, FILE_NAME);
+    target = new File(targetDir, FILE_NAME);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    config.setTierDataDirs(originTierDataDirs);
+    DirectoryManager.getInstance().resetFolders();
+    FileUtils.deleteDirectory(new File(TEST_DIR));
+  }
+
+  @Test
+  public void testMigrate() throws IOException, IllegalPathException {
+    Files.write(source.toPath(), TSFILE_CONTENT);
+    Files.write(getResourceFile(source).toPath(), RESOURCE_CONTENT);
+    TsFileResource resource = new TsFileResource(source);
+    resource.getModFile().write(new Deletion(new PartialPath("root.sg.d.s"), Long.MAX_VALUE, 100));
+    resource.getModFile().close();
+
+    File tmpFile = migrationService.copyTsFile(source, targetDir);
+    migrationService.switchTsFile(resource, tmpFile, System.currentTimeMillis());
+
+    Assert.assertEquals(target, resource.getTsFile());
+    Assert.assertFalse(tmpFile.exists());
+    assertMigrated();
+    Assert.assertEquals(1, resource.getModFile().getModifications().size());
+  }
+
+  @Test
+  public void testRecoverBeforeResourceRenamed() throws IOException {
+    createSourceFiles();
+    migrationService.copyTsFile(source, targetDir);
+    Files.write(
+        new File(getResourceFile(target).getPath() + TierMigrationService.MIGRATING_FILE_SUFFIX)
+            .toPath(),
+        RESOURCE_CONTENT);
+
+    Assert.assertEquals(Collections.singletonList(source), recover(false));
+    Assert.assertArrayEquals(new String[0], targetDir.list());
+    Assert.assertArrayEquals(TSFILE_CONTENT, Files.readAllBytes(source.toPath()));
+    Assert.assertArrayEquals(
+        RESOURCE_CONTENT, Files.readAllBytes(getResourceFile(source).toPath()));
+    Assert.assertArrayEquals(MODS_CONTENT, Files.readAllBytes(getModFile(source).toPath()));
+  }
+
+  @Test
+  public void testRecoverBeforeTsFileRenamed() throws IOException {
+    createSourceFiles();
+    migrationService.copyTsFile(source, targetDir);
+    Files.write(getResourceFile(target).toPath(), RESOURCE_CONTENT);
+
+    Assert.assertEquals(Collections.singletonList(target), recover(false));
+    assertMigrated();
+    Assert.assertArrayEquals(MODS_CONTENT, Files.readAllBytes(getModFile(target).toPath()));
+  }
+
+  @Test
+  public void testRecoverBeforeModFileMoved() throws IOException {
+    createSourceFiles();
+    Files.write(target.toPath(), TSFILE_CONTENT);
+    Files.write(getResourceFile(target).toPath(), RESOURCE_CONTENT);
+
+    Assert.assertEquals(Collections.singletonList(target), recover(false));
+    assertMigrated();
+    Assert.assertArrayEquals(MODS_CONTENT, Files.readAllBytes(getModFile(target).toPath()));
+  }
+
+  @Test
+  public void testRecoverBeforeSourceDeleted() throws IOException {
+    Files.write(source.toPath(), TSFILE_CONTENT);
+    Files.write(getResourceFile(source).toPath(), RESOURCE_CONTENT);
+    Files.write(target.toPath(), TSFILE_CONTENT);
+    Files.write(getResourceFile(target).toPath(), RESOURCE_CONTENT);
+    Files.write(getModFile(target).toPath(), MODS_CONTENT);
+
+    Assert.assertEquals(Collections.singletonList(target), recover(false));
+    assertMigrated();
+    Assert.assertArrayEquals(MODS_CONTENT, Files.readAllBytes(getModFile(target).toPath()));
+  }
+
+  @Test
+  public void testRemoveDuplicatedSourceInAnyOrder() throws IOException {
+    Files.write(source.toPath(), TSFILE_CONTENT);
+    Files.write(getModFile(source).toPath(), MODS_CONTENT);
+    Files.write(target.toPath(), TSFILE_CONTENT);
+    Files.write(getResourceFile(target).toPath(), RESOURCE_CONTENT);
+
+    Assert.assertEquals(Collections.singletonList(target), recover(true));
+    assertMigrated();
+    Assert.assertArrayEquals(MODS_CONTENT, Files.readAllBytes(getModFile(target).toPath()));
+  }
+
+  private List<File> recover(boolean targetFirst) throws IOException {
+    migrationService.recoverMigrations(sourceDir);
+    migrationService.recoverMigrations(targetDir);
+    List<File> tsFiles = new ArrayList<>();
+    for (File dir :
+        targetFirst ? Arrays.asList(targetDir, sourceDir) : Arrays.asList(sourceDir, targetDir)) {
+      File[] files = dir.listFiles(file -> file.getName().endsWith(TsFileConstant.TSFILE_SUFFIX));
+      Assert.assertNotNull(files);
+      tsFiles.addAll(Arrays.asList(files));
+    }
+    migrationService.removeDuplicatedSources(tsFiles);
+    return tsFiles;
+  }
+
+  private void createSourceFiles() throws IOException {
+    Files.write(source.toPath(), TSFILE_CONTENT);
+    Files.write(getResourceFile(source).toPath(), RESOURCE_CONTENT);
+    Files.write(getModFile(source).toPath(), MODS_CONTENT);
+  }
+
+  private void assertMigrated() throws IOException {
+    Assert.assertArrayEquals(new String[0], sourceDir.list());
+    Assert.assertArrayEquals(TSFILE_CONTENT, Files.readAllBytes(target.toPath()));
+    Assert.assertArrayEquals(
+        RESOURCE_CONTENT, Files.readAllBytes(getResourceFile(target).toPath()));
+    Assert.assertTrue(getModFile(target).exists());
+  }
+
+  private File getPartitionDir(String dataDir) {
+    return new File(
+        dataDir
+            + File.separator
+            + IoTDBConstant.SEQUENCE_FLODER_NAME
+            + File.separator
+            + "root.sg"
+            + File.separator
+            + "0"
+            + File.separator
+            + "0");
+  }
+
+  private File getResourceFile(File tsFile) {
+    return new File(tsFile.getPath() + TsFileResource.RESOURCE_SUFFIX);
+  }
+
+  private File getModFile(File tsFile) {
+    return new File(tsFile.getPath() + ModificationFile.FILE_SUFFIX);
+  }
+}
@@ -21,9 +21,16 @@ package org.apache.iotdb.db.metadata.cache;
 
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.metadata.template.ClusterTemplateManager;
+import org.apache.iotdb.db.metadata.template.Template;
+import org.apache.iotdb.db.metadata.template.TemplateInternalRPCUtil;
 import org.apache.iotdb.db.mpp.common.schematree.ClusterSchemaTree;
+import org.apache.iotdb.db.mpp.common.schematree.IMeasurementSchemaInfo;
 import org.apache.iotdb.db.mpp.common.schematree.ISchemaTree;
+import org.apache.iotdb.db.mpp.plan.analyze.schema.ISchemaComputation;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.utils.TsPrimitiveType;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
@@ -33,8 +40,10 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -190,6 +199,168 @@ public class DataNodeSchemaCacheTest {
     Assert.assertNull(dataNodeSchemaCache.getLastCache(seriesPath3));
   }
 
+  @Test
+  public void testTemplateDevice() throws Exception {
+    Template template =
+        new Template(
+            "t1",
+            Arrays.asList(Collections.singletonList("s1"), Collections.singletonList("s2")),
+            Arrays.asList(
+                Collections.singletonList(TSDataType.INT32),
+                Collections.singletonList(TSDataType.FLOAT)),
+            Arrays.asList(
+                Collections.singletonList(TSEncoding.PLAIN),
+                Collections.singletonList(TSEncoding.GORILLA)),
+            Arrays.asList(
+                Collections.singletonList(CompressionType.SNAPPY),
+                Collections.singletonList(CompressionType.SNAPPY)));
+    template.setId(1);
+    ClusterTemplateManager.getInstance()
+        .updateTemplateSetInfo(
+            TemplateInternalRPCUtil.generateAddTemplateSetInfoBytes(template, "root.sg1"));
+    try {
+      ClusterSchemaTree schemaTree = new ClusterSchemaTree();
+      // root.sg1.d1 is activated with template and has another timeseries s3
+      schemaTree.appendSingleMeasurement(
+          new PartialPath("root.sg1.d1.s1"),
+          (MeasurementSchema) template.getSchema("s1"),
+          null,
+          null,
+          false);
+      schemaTree.appendSingleMeasurement(
+          new PartialPath("root.sg1.d1.s2"),
+          (MeasurementSchema) template.getSchema("s2"),
+          null,
+          null,
+          false);
+      schemaTree.appendSingleMeasurement(
+          new PartialPath("root.sg1.d1.s3"),
+          new MeasurementSchema("s3", TSDataType.BOOLEAN),
+          null,
+          null,
+          false);
+      // root.sg1.d2 only has timeseries s1, which is not enough to be regarded as activated
+      schemaTree.appendSingleMeasurement(
+          new PartialPath("root.sg1.d2.s1"),
+          (MeasurementSchema) template.getSchema("s1"),
+          null,
+          null,
+          false);
+      schemaTree.setDatabases(Collections.singleton("root.sg1"));
+      dataNodeSchemaCache.put(schemaTree);
+
+      Assert.assertEquals(1, dataNodeSchemaCache.estimatedTemplateDeviceSize());
+      Assert.assertEquals(2, dataNodeSchemaCache.estimatedSize());
+
+      String[] measurements = new String[] {"s1", "s2", "s3", "s4"};
+      TSDataType[] dataTypes = new TSDataType[measurements.length];
+      List<Integer> indexOfMissingMeasurements =
+          dataNodeSchemaCache.compute(
+              new ISchemaComputation() {
+                @Override
+                public PartialPath getDevicePath() {
+                  try {
+                    return new PartialPath("root.sg1.d1");
+                  } catch (IllegalPathException e) {
+                    throw new RuntimeException(e);
+                  }
+                }
+
+                @Override
+                public String[] getMeasurements() {
+                  return measurements;
+                }
+
+                @Override
+                public void computeDevice(boolean isAligned) {
+                  Assert.assertFalse(isAligned);
+                }
+
+                @Override
+                public void computeMeasurement(
+                    int index, IMeasurementSchemaInfo measurementSchemaInfo) {
+                  dataTypes[index] = measurementSchemaInfo.getSchema().getType();
+                }
+              });
+      Assert.assertEquals(Collections.singletonList(3), indexOfMissingMeasurements);
+      Assert.assertArrayEquals(
+          new TSDataType[] {TSDataType.INT32, TSDataType.FLOAT, TSDataType.BOOLEAN, null},
+          dataTypes);
+
+      Assert.assertEquals(
+          3,
+          dataNodeSchemaCache
+              .get(new PartialPath("root.sg1.d1"), measurements)
+              .getAllMeasurement()
+              .size());
+      Assert.assertEquals(
+          1, dataNodeSchemaCache.get(new PartialPath("root.sg1.d1.s2")).getAllMeasurement().size());
+
+      dataNodeSchemaCache.invalidateMatchedSchema(new PartialPath("root.sg1.d1.s1"));
+      Assert.assertEquals(0, dataNodeSchemaCache.estimatedTemplateDeviceSize());
+    } finally {
+      ClusterTemplateManager.getInstance()
+          .invalidateTemplateSetInfo(
+              TemplateInternalRPCUtil.generateInvalidateTemplateSetInfoBytes(1, "root.sg1"));
+    }
+  }
+
+  @Test
+  public void testTemplateDeviceLastCache() throws Exception {
+    Template template =
+        new Template(
+            "t1",
+            Arrays.asList(Collections.singletonList("s1"), Collections.singletonList("s2")),
+            Arrays.asList(
+                Collections.singletonList(TSDataType.INT32),
+                Collections.singletonList(TSDataType.FLOAT)),
+            Arrays.asList(
+                Collections.singletonList(TSEncoding.PLAIN),
+                Collections.singletonList(TSEncoding.GORILLA)),
+            Arrays.asList(
+                Collections.singletonList(CompressionType.SNAPPY),
+                Collections.singletonList(CompressionType.SNAPPY)));
+    template.setId(1);
+    ClusterTemplateManager.getInstance()
+        .updateTemplateSetInfo(
+            TemplateInternalRPCUtil.generateAddTemplateSetInfoBytes(template, "root.sg1"));
+    try {
+      ClusterSchemaTree schemaTree = new ClusterSchemaTree();
+      for (String measurement : new String[] {"s1", "s2"}) {
+        schemaTree.appendSingleMeasurement(
+            new PartialPath("root.sg1.d1." + measurement),
+            (MeasurementSchema) template.getSchema(measurement),
+            null,
+            null,
+            false);
+      }
+      schemaTree.setDatabases(Collections.singleton("root.sg1"));
+      dataNodeSchemaCache.put(schemaTree);
+      Assert.assertEquals(1, dataNodeSchemaCache.estimatedTemplateDeviceSize());
+
+      // the insertion fills the last cache of the template measurement without a prior query
+      PartialPath seriesPath1 = new PartialPath("root.sg1.d1.s1");
+      PartialPath seriesPath3 = new PartialPath("root.sg1.d1.s3");
+      Assert.assertNull(dataNodeSchemaCache.getLastCache(seriesPath1));
+      TsPrimitiveType value = TsPrimitiveType.getByType(TSDataType.INT32, 1);
+      dataNodeSchemaCache.updateLastCache(
+          seriesPath1, new TimeValuePair(100, value), true, Long.MIN_VALUE);
+      TimeValuePair cachedTimeValuePair = dataNodeSchemaCache.getLastCache(seriesPath1);
+      Assert.assertNotNull(cachedTimeValuePair);
+      Assert.assertEquals(100, cachedTimeValuePair.getTimestamp());
+      Assert.assertEquals(value, cachedTimeValuePair.getValue());
+
+      // the measurement out of the template is not cached
+      dataNodeSchemaCache.updateLastCache(
+          seriesPath3, new TimeValuePair(100, value), true, Long.MIN_VALUE);
+      Assert.assertNull(dataNodeSchemaCache.getLastCache(seriesPath3));
+    } finally {
+      ClusterTemplateManager.getInstance()
+          .invalidateTemplateSetInfo(
+              TemplateInternalRPCUtil.generateInvalidateTemplateSetInfoBytes(1, "root.sg1"));
+    }
+  }
+
   private ISchemaTree generateSchemaTree1() throws IllegalPathException {
     ClusterSchemaTree schemaTree = new ClusterSchemaTree();
     Map<String, String> s1TagMap = new HashMap<>();
@@ -85,6 +85,8 @@ public class SchemaFileLogTest {
         lastNode = curNode;
       }
     }
+    // write out the buffered dirty pages before corrupting the file
+    sf.sync();
 
     long address = getSegAddrInContainer(lastNode);
     int corruptPageIndex = SchemaFile.getPageIndex(address);
@@ -31,11 +31,13 @@ import org.apache.iotdb.db.metadata.mnode.MeasurementMNode;
 import org.apache.iotdb.db.metadata.mnode.StorageGroupEntityMNode;
 import org.apache.iotdb.db.metadata.mnode.StorageGroupMNode;
 import org.apache.iotdb.db.metadata.mtree.store.disk.ICachedMNodeContainer;
+import org.apache.iotdb.db.metadata.mtree.store.disk.cache.CacheMemoryManager;
 import org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.ISchemaFile;
 import org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.RecordUtils;
 import org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.SchemaFile;
 import org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.SchemaFileConfig;
 import org.apache.iotdb.db.metadata.mtree.store.disk.schemafile.WrappedSegment;
+import org.apache.iotdb.db.metadata.rescon.SchemaFileStatistics;
 import org.apache.iotdb.db.metadata.schemaregion.SchemaEngineMode;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
@@ -254,6 +256,48 @@ public class SchemaFileTest {
     sf.close();
   }
 
+  @Test
+  public void testGroupFlushOfDirtyPages() throws MetadataException, IOException {
+    ISchemaFile sf = SchemaFile.initSchemaFile("root.test.vRoot1", TEST_SCHEMA_REGION_ID);
+    long flushCount = SchemaFileStatistics.getInstance().getFlushCount();
+    long dirtyPageMemory = CacheMemoryManager.getInstance().getDirtyPageMemory();
+
+    IMNode root = virtualTriangleMTree(5, "root.test");
+    Iterator<IMNode> ite = getTreeBFT(root);
+    IMNode lastNode = null;
+    while (ite.hasNext()) {
+      IMNode cur = ite.next();
+      if (!cur.isMeasurement()) {
+        sf.writeMNode(cur);
+        lastNode = cur;
+      }
+    }
+    // the modified pages are buffered and readable before written out
+    Assert.assertEquals(flushCount, SchemaFileStatistics.getInstance().getFlushCount());
+    Assert.assertEquals(1001, countChildren(sf, lastNode));
+    // the buffered pages are charged to the schema region memory until written out
+    Assert.assertTrue(CacheMemoryManager.getInstance().getDirtyPageMemory() > dirtyPageMemory);
+
+    sf.sync();
+    Assert.assertEquals(flushCount + 1, SchemaFileStatistics.getInstance().getFlushCount());
+    Assert.assertEquals(dirtyPageMemory, CacheMemoryManager.getInstance().getDirtyPageMemory());
+    sf.close();
+
+    sf = SchemaFile.loadSchemaFile("root.test.vRoot1", TEST_SCHEMA_REGION_ID);
+    Assert.assertEquals(1001, countChildren(sf, lastNode));
+    sf.close();
+  }
+
+  private int countChildren(ISchemaFile sf, IMNode node) throws MetadataException, IOException {
+    Iterator<IMNode> res = sf.getChildren(node);
+    int cnt = 0;
+    while (res.hasNext()) {
+      res.next();
+      cnt++;
+    }
+    return cnt;
+  }
+
   @Test
   public void testGetChildren() throws MetadataException, IOException {
     essentialTestSchemaFile();
@@ -22,6 +22,7 @@ import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.commons.path.MeasurementPath;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.path.PathPatternTree;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.metadata.AliasAlreadyExistException;
 import org.apache.iotdb.db.exception.metadata.MeasurementAlreadyExistException;
 import org.apache.iotdb.db.exception.metadata.PathAlreadyExistException;
@@ -766,4 +767,89 @@ public class SchemaRegionBasicTest extends AbstractSchemaRegionTest {
     }
     Assert.assertEquals(expectedPathList, actualPathList);
   }
+
+  @Test
+  public void testParallelSchemaTraversal() throws Exception {
+    ISchemaRegion schemaRegion = getSchemaRegion("root.laptop", 0);
+
+    List<String> pathList = new LinkedList<>();
+    for (int i = 0; i < 20; i++) {
+      pathList.add("root.laptop.d" + i + ".s1");
+      pathList.add("root.laptop.d" + i + ".s2");
+      pathList.add("root.laptop.d" + i + ".g.s1");
+    }
+    SchemaRegionTestUtil.createSimpleTimeseriesByList(schemaRegion, pathList);
+
+    List<PartialPath> patternList =
+        Arrays.asList(
+            new PartialPath("root.**"),
+            new PartialPath("root.laptop.**"),
+            new PartialPath("root.laptop.d1.**"));
+    List<List<String>> expectedTimeseries = new LinkedList<>();
+    List<List<String>> expectedDevices = new LinkedList<>();
+    List<List<String>> expectedFetchedSchema = new LinkedList<>();
+    for (PartialPath pattern : patternList) {
+      expectedTimeseries.add(showTimeseriesFullPath(schemaRegion, pattern));
+      expectedDevices.add(showDevicesFullPath(schemaRegion, pattern));
+      expectedFetchedSchema.add(fetchSchemaFullPath(schemaRegion, pattern));
+    }
+    Assert.assertEquals(60, expectedTimeseries.get(0).size());
+    Assert.assertEquals(40, expectedDevices.get(0).size());
+
+    boolean enableParallelSchemaTraversal =
+        IoTDBDescriptor.getInstance().getConfig().isEnableParallelSchemaTraversal();
+    int parallelSchemaTraversalThreshold =
+        IoTDBDescriptor.getInstance().getConfig().getParallelSchemaTraversalThreshold();
+    IoTDBDescriptor.getInstance().getConfig().setEnableParallelSchemaTraversal(true);
+    IoTDBDescriptor.getInstance().getConfig().setParallelSchemaTraversalThreshold(2);
+    try {
+      for (int i = 0; i < patternList.size(); i++) {
+        PartialPath pattern = patternList.get(i);
+        Assert.assertEquals(
+            expectedTimeseries.get(i), showTimeseriesFullPath(schemaRegion, pattern));
+        Assert.assertEquals(expectedDevices.get(i), showDevicesFullPath(schemaRegion, pattern));
+        Assert.assertEquals(
+            expectedFetchedSchema.get(i), fetchSchemaFullPath(schemaRegion, pattern));
+      }
+      Assert.assertEquals(
+          expectedTimeseries.get(1).subList(5, 15),
+          SchemaRegionTestUtil.showTimeseries(
+                  schemaRegion,
+                  SchemaRegionReadPlanFactory.getShowTimeSeriesPlan(
+                      new PartialPath("root.laptop.**"), 10, 5))
+              .stream()
+              .map(ITimeSeriesSchemaInfo::getFullPath)
+              .collect(Collectors.toList()));
+    } finally {
+      IoTDBDescriptor.getInstance()
+          .getConfig()
+          .setEnableParallelSchemaTraversal(enableParallelSchemaTraversal);
+      IoTDBDescriptor.getInstance()
+          .getConfig()
+          .setParallelSchemaTraversalThreshold(parallelSchemaTraversalThreshold);
+    }
+  }
+
+  private List<String> showTimeseriesFullPath(ISchemaRegion schemaRegion, PartialPath pattern) {
+    return SchemaRegionTestUtil.showTimeseries(
+            schemaRegion, SchemaRegionReadPlanFactory.getShowTimeSeriesPlan(pattern))
+        .stream()
+        .map(ITimeSeriesSchemaInfo::getFullPath)
+        .collect(Collectors.toList());
+  }
+
+  private List<String> showDevicesFullPath(ISchemaRegion schemaRegion, PartialPath pattern) {
+    return SchemaRegionTestUtil.getMatchedDevices(
+            schemaRegion, SchemaRegionReadPlanFactory.getShowDevicesPlan(pattern))
+        .stream()
+        .map(IDeviceSchemaInfo::getFullPath)
+        .collect(Collectors.toList());
+  }
+
+  private List<String> fetchSchemaFullPath(ISchemaRegion schemaRegion, PartialPath pattern)
+      throws MetadataException {
+    return schemaRegion.fetchSchema(pattern, Collections.emptyMap(), false).stream()
+        .map(MeasurementPath::getFullPath)
+        .collect(Collectors.toList());
+  }
 }
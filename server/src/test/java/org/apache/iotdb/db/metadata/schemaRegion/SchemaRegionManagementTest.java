@@ -22,6 +22,7 @@ package org.apache.iotdb.db.metadata.schemaRegion;
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.file.SystemFileFactory;
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.path.PathPatternTree;
 import org.apache.iotdb.consensus.ConsensusFactory;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
@@ -143,6 +144,78 @@ public class SchemaRegionManagementTest extends AbstractSchemaRegionTest {
     }
   }
 
+  @Test
+  public void testRatisModeIncrementalSnapshot() throws Exception {
+    String schemaRegionConsensusProtocolClass = config.getSchemaRegionConsensusProtocolClass();
+    boolean enableIncrementalSnapshot = config.isEnableSchemaRegionIncrementalSnapshot();
+    int rebaseThreshold = config.getSchemaRegionSnapshotRebaseThreshold();
+    config.setSchemaRegionConsensusProtocolClass(ConsensusFactory.RATIS_CONSENSUS);
+    config.setEnableSchemaRegionIncrementalSnapshot(true);
+    config.setSchemaRegionSnapshotRebaseThreshold(1);
+    try {
+      ISchemaRegion schemaRegion = getSchemaRegion("root.sg", 0);
+
+      Map<String, String> tags = new HashMap<>();
+      tags.put("tag-key", "tag-value");
+      schemaRegion.createTimeseries(
+          SchemaRegionWritePlanFactory.getCreateTimeSeriesPlan(
+              new PartialPath("root.sg.d1.s1"),
+              TSDataType.INT32,
+              TSEncoding.PLAIN,
+              CompressionType.UNCOMPRESSED,
+              null,
+              tags,
+              null,
+              null),
+          -1);
+
+      // the first snapshot serializes the whole MTree
+      File firstSnapshotDir = new File(config.getSchemaDir() + File.separator + "snapshot1");
+      firstSnapshotDir.mkdir();
+      Assert.assertTrue(schemaRegion.createSnapshot(firstSnapshotDir));
+
+      schemaRegion.createTimeseries(
+          SchemaRegionWritePlanFactory.getCreateTimeSeriesPlan(
+              new PartialPath("root.sg.d1.s2"),
+              TSDataType.INT64,
+              TSEncoding.PLAIN,
+              CompressionType.UNCOMPRESSED,
+              null,
+              tags,
+              null,
+              null),
+          -1);
+      PathPatternTree patternTree = new PathPatternTree();
+      patternTree.appendFullPath(new PartialPath("root.sg.d1.s1"));
+      patternTree.constructTree();
+      Assert.assertTrue(schemaRegion.constructSchemaBlackList(patternTree) >= 1);
+      schemaRegion.deleteTimeseriesInBlackList(patternTree);
+
+      // the second snapshot only records the plans applied since the first one
+      File secondSnapshotDir = new File(config.getSchemaDir() + File.separator + "snapshot2");
+      secondSnapshotDir.mkdir();
+      Assert.assertTrue(schemaRegion.createSnapshot(secondSnapshotDir));
+
+      simulateRestart();
+
+      ISchemaRegion newSchemaRegion = getSchemaRegion("root.sg", 0);
+      newSchemaRegion.loadSnapshot(secondSnapshotDir);
+      List<ITimeSeriesSchemaInfo> result =
+          SchemaRegionTestUtil.showTimeseries(
+              newSchemaRegion,
+              SchemaRegionReadPlanFactory.getShowTimeSeriesPlan(
+                  new PartialPath("root.sg.**"), false, "tag-key", "tag-value"));
+      Assert.assertEquals(1, result.size());
+      Assert.assertEquals(
+          new PartialPath("root.sg.d1.s2").getFullPath(), result.get(0).getFullPath());
+      Assert.assertEquals("tag-value", result.get(0).getTags().get("tag-key"));
+    } finally {
+      config.setSchemaRegionConsensusProtocolClass(schemaRegionConsensusProtocolClass);
+      config.setEnableSchemaRegionIncrementalSnapshot(enableIncrementalSnapshot);
+      config.setSchemaRegionSnapshotRebaseThreshold(rebaseThreshold);
+    }
+  }
+
   private Template generateTemplate() throws IllegalPathException {
     Template template =
         new Template(
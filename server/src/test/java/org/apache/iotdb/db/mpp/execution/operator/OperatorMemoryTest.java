@@ -32,6 +32,7 @@ import org.apache.iotdb.db.mpp.common.QueryId;
 import org.apache.iotdb.db.mpp.execution.driver.DriverContext;
 import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
 import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.mpp.execution.memory.MemoryPool;
 import org.apache.iotdb.db.mpp.execution.operator.process.AggregationOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.DeviceMergeOperator;
 import org.apache.iotdb.db.mpp.execution.operator.process.DeviceViewOperator;
@@ -908,7 +909,10 @@ public class OperatorMemoryTest {
     }
 
     SchemaQueryOrderByHeatOperator operator =
-        new SchemaQueryOrderByHeatOperator(Mockito.mock(OperatorContext.class), children);
+        new SchemaQueryOrderByHeatOperator(
+            Mockito.mock(OperatorContext.class, Mockito.RETURNS_DEEP_STUBS),
+            children,
+            Mockito.mock(MemoryPool.class));
 
     assertEquals(expectedMaxPeekMemory, operator.calculateMaxPeekMemory());
     assertEquals(expectedMaxReturnSize, operator.calculateMaxReturnSize());
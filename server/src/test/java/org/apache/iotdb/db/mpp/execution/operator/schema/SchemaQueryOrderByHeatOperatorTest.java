@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.execution.operator.schema;
+
+import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
+import org.apache.iotdb.db.mpp.common.PlanFragmentId;
+import org.apache.iotdb.db.mpp.common.QueryId;
+import org.apache.iotdb.db.mpp.common.header.ColumnHeader;
+import org.apache.iotdb.db.mpp.common.header.ColumnHeaderConstant;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.mpp.execution.memory.MemoryPool;
+import org.apache.iotdb.db.mpp.execution.operator.Operator;
+import org.apache.iotdb.db.mpp.execution.operator.OperatorContext;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.iotdb.tsfile.utils.Binary;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SchemaQueryOrderByHeatOperatorTest {
+
+  private static final String QUERY_ID = "stub_query";
+
+  @Test
+  public void testOrderByHeat() throws Exception {
+    MemoryPool memoryPool = new MemoryPool("test", 1024L * 1024, 1024L * 1024);
+    SchemaQueryOrderByHeatOperator operator =
+        new SchemaQueryOrderByHeatOperator(mockOperatorContext(), mockChildren(), memoryPool);
+    List<String> result = new ArrayList<>();
+    while (operator.hasNext()) {
+      TsBlock tsBlock = operator.next();
+      if (tsBlock == null) {
+        continue;
+      }
+      for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+        result.add(tsBlock.getColumn(0).getBinary(i).toString());
+        assertTrue(tsBlock.getColumn(1).isNull(i));
+      }
+    }
+    assertEquals(Arrays.asList("root.sg.d1.s3", "root.sg.d1.s2", "root.sg.d1.s1"), result);
+    assertFalse(operator.hasNext());
+    // the retained results are reserved until the operator is closed
+    assertTrue(memoryPool.getQueryMemoryReservedBytes(QUERY_ID) > 0);
+    operator.close();
+    assertEquals(0L, memoryPool.getReservedBytes());
+  }
+
+  @Test
+  public void testBlockedOnMemory() throws Exception {
+    MemoryPool memoryPool = new MemoryPool("test", 1024L * 1024, 1024L * 1024);
+    // occupy the memory pool, so that the retained results can not be reserved
+    memoryPool.reserve("other_query", "other_instance", "other_node", 1024L * 1024, 1024L * 1024);
+    List<Operator> children = mockChildren();
+    SchemaQueryOrderByHeatOperator operator =
+        new SchemaQueryOrderByHeatOperator(mockOperatorContext(), children, memoryPool);
+
+    assertNull(operator.next());
+    ListenableFuture<?> blocked = operator.isBlocked();
+    assertFalse(blocked.isDone());
+    // the children are not consumed while blocked
+    assertNull(operator.next());
+    Mockito.verify(children.get(0), Mockito.times(1)).nextWithTimer();
+    Mockito.verify(children.get(1), Mockito.never()).nextWithTimer();
+
+    memoryPool.free("other_query", "other_instance", "other_node", 1024L * 1024);
+    assertTrue(blocked.isDone());
+    List<String> result = new ArrayList<>();
+    while (operator.hasNext()) {
+      TsBlock tsBlock = operator.next();
+      if (tsBlock == null) {
+        continue;
+      }
+      for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+        result.add(tsBlock.getColumn(0).getBinary(i).toString());
+      }
+    }
+    assertEquals(Arrays.asList("root.sg.d1.s3", "root.sg.d1.s2", "root.sg.d1.s1"), result);
+    operator.close();
+    assertEquals(0L, memoryPool.getReservedBytes());
+  }
+
+  private OperatorContext mockOperatorContext() {
+    FragmentInstanceContext fragmentInstanceContext = Mockito.mock(FragmentInstanceContext.class);
+    Mockito.when(fragmentInstanceContext.getId())
+        .thenReturn(
+            new FragmentInstanceId(new PlanFragmentId(new QueryId(QUERY_ID), 0), "stub-instance"));
+    OperatorContext operatorContext = Mockito.mock(OperatorContext.class);
+    Mockito.when(operatorContext.getInstanceContext()).thenReturn(fragmentInstanceContext);
+    Mockito.when(operatorContext.getPlanNodeId()).thenReturn(new PlanNodeId("1"));
+    return operatorContext;
+  }
+
+  /** The show timeseries result of three timeseries, and the last query result of two of them. */
+  private List<Operator> mockChildren() {
+    List<TSDataType> showTimeSeriesDataTypes =
+        ColumnHeaderConstant.showTimeSeriesColumnHeaders.stream()
+            .map(ColumnHeader::getColumnType)
+            .collect(Collectors.toList());
+    TsBlockBuilder showTimeSeriesBuilder = new TsBlockBuilder(showTimeSeriesDataTypes);
+    for (String timeseries : Arrays.asList("root.sg.d1.s1", "root.sg.d1.s2", "root.sg.d1.s3")) {
+      showTimeSeriesBuilder.getTimeColumnBuilder().writeLong(0L);
+      showTimeSeriesBuilder.getColumnBuilder(0).writeBinary(new Binary(timeseries));
+      for (int i = 1; i < showTimeSeriesDataTypes.size(); i++) {
+        showTimeSeriesBuilder.getColumnBuilder(i).appendNull();
+      }
+      showTimeSeriesBuilder.declarePosition();
+    }
+
+    TsBlockBuilder lastQueryBuilder =
+        new TsBlockBuilder(Arrays.asList(TSDataType.TEXT, TSDataType.TEXT, TSDataType.TEXT));
+    // root.sg.d1.s1 has no data
+    long[] timestamps = new long[] {10L, 20L};
+    String[] lastTimeseries = new String[] {"root.sg.d1.s2", "root.sg.d1.s3"};
+    for (int i = 0; i < timestamps.length; i++) {
+      lastQueryBuilder.getTimeColumnBuilder().writeLong(timestamps[i]);
+      lastQueryBuilder.getColumnBuilder(0).writeBinary(new Binary(lastTimeseries[i]));
+      lastQueryBuilder.getColumnBuilder(1).writeBinary(new Binary("1"));
+      lastQueryBuilder.getColumnBuilder(2).writeBinary(new Binary("INT32"));
+      lastQueryBuilder.declarePosition();
+    }
+
+    List<Operator> children = new ArrayList<>();
+    for (TsBlock tsBlock : Arrays.asList(showTimeSeriesBuilder.build(), lastQueryBuilder.build())) {
+      Operator child = Mockito.mock(Operator.class);
+      Mockito.when(child.isFinished()).thenReturn(false, true);
+      Mockito.when(child.hasNextWithTimer()).thenReturn(true, false);
+      Mockito.when(child.nextWithTimer()).thenReturn(tsBlock);
+      Mockito.doReturn(Operator.NOT_BLOCKED).when(child).isBlocked();
+      children.add(child);
+    }
+    return children;
+  }
+}
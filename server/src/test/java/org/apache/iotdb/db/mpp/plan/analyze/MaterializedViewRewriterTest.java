@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.plan.analyze;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.mpp.common.schematree.ClusterSchemaTree;
+import org.apache.iotdb.db.mpp.plan.analyze.schema.ISchemaFetcher;
+import org.apache.iotdb.db.mpp.plan.parser.StatementGenerator;
+import org.apache.iotdb.db.mpp.plan.statement.component.ResultColumn;
+import org.apache.iotdb.db.mpp.plan.statement.crud.QueryStatement;
+import org.apache.iotdb.db.mpp.plan.statement.metadata.CreateContinuousQueryStatement;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+
+public class MaterializedViewRewriterTest {
+
+  private static final long HOUR = 3_600_000L;
+  private static final long DAY = 24 * HOUR;
+
+  private ISchemaFetcher schemaFetcher;
+  private MaterializedViewRewriter rewriter;
+  private List<MaterializedView> views;
+
+  @Before
+  public void setUp() throws IllegalPathException {
+    ClusterSchemaTree schemaTree = new ClusterSchemaTree();
+    schemaTree.appendSingleMeasurement(
+        new PartialPath("root.agg.d1.s1_max"),
+        new MeasurementSchema("s1_max", TSDataType.INT32),
+        null,
+        null,
+        false);
+    schemaTree.appendSingleMeasurement(
+        new PartialPath("root.agg.d1.s2_avg"),
+        new MeasurementSchema("s2_avg", TSDataType.DOUBLE),
+        null,
+        null,
+        false);
+    schemaFetcher = Mockito.mock(ISchemaFetcher.class);
+    Mockito.when(schemaFetcher.fetchSchema(Mockito.any())).thenReturn(schemaTree);
+    rewriter = new MaterializedViewRewriter(schemaFetcher);
+
+    CreateContinuousQueryStatement cq =
+        (CreateContinuousQueryStatement)
+            StatementGenerator.createStatement(
+                "CREATE CQ cq1 RESAMPLE EVERY 1h RANGE 1d BEGIN "
+                    + "SELECT max_value(s1), avg(s2), count(s3) "
+                    + "INTO root.agg.d1(s1_max, s2_avg, s3_count) "
+                    + "FROM root.sg.d1 GROUP BY(1h) END",
+                ZonedDateTime.now().getOffset());
+    // the last window [10d, 10d + 1h) is computed partially
+    MaterializedView view = MaterializedView.fromCQ(cq, 0, 10 * DAY + HOUR / 2);
+    Assert.assertNotNull(view);
+    Assert.assertEquals(10 * DAY, view.getMaterializedEndTime());
+    views = Collections.singletonList(view);
+  }
+
+  @Test
+  public void testRollUp() {
+    QueryStatement query =
+        rewrite(
+            String.format(
+                "SELECT max_value(s1) FROM root.sg.d1 GROUP BY([%d, %d), 1d)", DAY, 3 * DAY));
+    Assert.assertEquals(
+        Collections.singletonList(new PartialPath(new String[] {"root", "agg", "d1"})),
+        query.getFromComponent().getPrefixPaths());
+    ResultColumn resultColumn = query.getSelectComponent().getResultColumns().get(0);
+    Assert.assertEquals("max_value(s1_max)", resultColumn.getExpression().getExpressionString());
+    Assert.assertEquals("max_value(root.sg.d1.s1)", resultColumn.getAlias());
+
+    // the avg of a day can not be computed from the avg of the hours
+    assertNotRewritten(
+        String.format(
+            "SELECT max_value(s1), avg(s2) FROM root.sg.d1 GROUP BY([%d, %d), 1d)", DAY, 3 * DAY));
+  }
+
+  @Test
+  public void testSameInterval() {
+    QueryStatement query =
+        rewrite(
+            String.format(
+                "SELECT avg(s2) AS a FROM root.sg.d1 GROUP BY([%d, %d), 1h)", DAY, DAY + 3 * HOUR));
+    ResultColumn resultColumn = query.getSelectComponent().getResultColumns().get(0);
+    Assert.assertEquals("first_value(s2_avg)", resultColumn.getExpression().getExpressionString());
+    Assert.assertEquals("a", resultColumn.getAlias());
+  }
+
+  @Test
+  public void testNotRewritten() {
+    // not materialized
+    assertNotRewritten(
+        String.format(
+            "SELECT max_value(s1) FROM root.sg.d1 GROUP BY([%d, %d), 1d)", 9 * DAY, 11 * DAY));
+    // not aligned to the windows of the view
+    assertNotRewritten(
+        String.format(
+            "SELECT max_value(s1) FROM root.sg.d1 GROUP BY([%d, %d), 1h)",
+            DAY + 60_000, 2 * DAY + 60_000));
+    // the target time series does not exist
+    assertNotRewritten(
+        String.format("SELECT count(s3) FROM root.sg.d1 GROUP BY([%d, %d), 1h)", DAY, 2 * DAY));
+    // not computed by the view
+    assertNotRewritten(
+        String.format("SELECT min_value(s1) FROM root.sg.d1 GROUP BY([%d, %d), 1h)", DAY, 2 * DAY));
+    assertNotRewritten(
+        String.format("SELECT max_value(s1) FROM root.sg.d2 GROUP BY([%d, %d), 1h)", DAY, 2 * DAY));
+    // the results depend on the data out of the windows
+    assertNotRewritten(
+        String.format(
+            "SELECT max_value(s1) FROM root.sg.d1 GROUP BY([%d, %d), 1h) FILL(previous)",
+            DAY, 2 * DAY));
+    assertNotRewritten(
+        String.format(
+            "SELECT max_value(s1) FROM root.sg.d1 GROUP BY([%d, %d), 2h, 1h)", DAY, 2 * DAY));
+  }
+
+  @Test
+  public void testTargetPathExistenceCached() {
+    String sql =
+        String.format("SELECT max_value(s1) FROM root.sg.d1 GROUP BY([%d, %d), 1d)", DAY, 3 * DAY);
+    rewrite(sql);
+    rewrite(sql);
+    String missingSql =
+        String.format("SELECT count(s3) FROM root.sg.d1 GROUP BY([%d, %d), 1h)", DAY, 2 * DAY);
+    assertNotRewritten(missingSql);
+    assertNotRewritten(missingSql);
+    Mockito.verify(schemaFetcher, Mockito.times(2)).fetchSchema(Mockito.any());
+  }
+
+  private QueryStatement rewrite(String sql) {
+    QueryStatement query = parse(sql);
+    List<ResultColumn> originalResultColumns = query.getSelectComponent().getResultColumns();
+    QueryStatement rewrittenQuery = rewriter.rewrite(query, views);
+    Assert.assertNotSame(
+        originalResultColumns, rewrittenQuery.getSelectComponent().getResultColumns());
+    return rewrittenQuery;
+  }
+
+  private void assertNotRewritten(String sql) {
+    QueryStatement query = parse(sql);
+    List<ResultColumn> originalResultColumns = query.getSelectComponent().getResultColumns();
+    Assert.assertSame(
+        originalResultColumns,
+        rewriter.rewrite(query, views).getSelectComponent().getResultColumns());
+  }
+
+  private QueryStatement parse(String sql) {
+    return (QueryStatement)
+        StatementGenerator.createStatement(sql, ZonedDateTime.now().getOffset());
+  }
+}
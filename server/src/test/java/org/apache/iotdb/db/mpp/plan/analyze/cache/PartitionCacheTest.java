@@ -31,6 +31,8 @@ import org.apache.iotdb.commons.partition.SchemaPartition;
 import org.apache.iotdb.commons.partition.executor.SeriesPartitionExecutor;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.mpp.rpc.thrift.TPartitionTableDelta;
+import org.apache.iotdb.tsfile.utils.Pair;
 
 import org.junit.After;
 import org.junit.Before;
@@ -407,6 +409,87 @@ public class PartitionCacheTest {
    *
    * @param timePartitionSlotMissed whether the timePartitionSlot in result is missed in cache
    */
+  @Test
+  public void testApplyPartitionTableDelta() {
+    String storageGroupName = "root.delta";
+    String deviceName = getDeviceName(storageGroupName, 0);
+    TPartitionTableDelta delta = newPartitionTableDelta(1, 0, 1, false);
+    delta
+        .getSchemaPartitionTable()
+        .put(
+            storageGroupName,
+            Collections.singletonMap(
+                partitionExecutor.getSeriesPartitionSlot(deviceName),
+                new TConsensusGroupId(TConsensusGroupType.SchemaRegion, 0)));
+    // the delta is skipped before the version is known
+    partitionCache.applyPartitionTableDelta(delta);
+    assertNull(partitionCache.getPartitionTableVersion());
+    assertNull(getSchemaPartition(storageGroupName, deviceName));
+
+    // a full resync only drops the databases not in it
+    String keptStorageGroupName = getStorageGroupName(0);
+    TPartitionTableDelta fullSync = newPartitionTableDelta(1, 5, 5, true);
+    fullSync.getSchemaPartitionTable().put(keptStorageGroupName, new HashMap<>());
+    partitionCache.applyPartitionTableDelta(fullSync);
+    assertEquals(new Pair<>(1L, 5L), partitionCache.getPartitionTableVersion());
+    assertNotNull(getSchemaPartition(keptStorageGroupName, getDeviceName(keptStorageGroupName, 0)));
+    assertNotNull(
+        partitionCache.getDataPartition(
+            getStorageGroupToQueryParamsMap(
+                keptStorageGroupName, getDeviceName(keptStorageGroupName, 0), false)));
+    assertNull(
+        getSchemaPartition(getStorageGroupName(1), getDeviceName(getStorageGroupName(1), 0)));
+    assertEquals(
+        0,
+        partitionCache
+            .getStorageGroupToDevice(
+                Collections.singletonList(getDeviceName(getStorageGroupName(1), 0)), false, false)
+            .size());
+
+    // the deltas of another epoch or after a missing version are skipped
+    delta.setEpoch(2).setFromVersion(5).setToVersion(6);
+    partitionCache.applyPartitionTableDelta(delta);
+    delta.setEpoch(1).setFromVersion(6).setToVersion(7);
+    partitionCache.applyPartitionTableDelta(delta);
+    assertEquals(new Pair<>(1L, 5L), partitionCache.getPartitionTableVersion());
+    assertNull(getSchemaPartition(storageGroupName, deviceName));
+
+    // the following delta is applied
+    delta.setFromVersion(5).setToVersion(6);
+    partitionCache.applyPartitionTableDelta(delta);
+    assertEquals(new Pair<>(1L, 6L), partitionCache.getPartitionTableVersion());
+    assertNotNull(getSchemaPartition(storageGroupName, deviceName));
+
+    // a delta overlapping the cached version does not roll the version back
+    delta.setFromVersion(4).setToVersion(5);
+    partitionCache.applyPartitionTableDelta(delta);
+    assertEquals(new Pair<>(1L, 6L), partitionCache.getPartitionTableVersion());
+
+    // the removed databases are dropped before the new partitions are added
+    TPartitionTableDelta removal = newPartitionTableDelta(1, 6, 7, false);
+    removal.addToRemovedStorageGroups(keptStorageGroupName);
+    partitionCache.applyPartitionTableDelta(removal);
+    assertEquals(new Pair<>(1L, 7L), partitionCache.getPartitionTableVersion());
+    assertNull(getSchemaPartition(keptStorageGroupName, getDeviceName(keptStorageGroupName, 0)));
+    assertNotNull(getSchemaPartition(storageGroupName, deviceName));
+
+    // invalidating the cache forgets the version
+    partitionCache.invalidAllCache();
+    assertNull(partitionCache.getPartitionTableVersion());
+  }
+
+  private TPartitionTableDelta newPartitionTableDelta(
+      long epoch, long fromVersion, long toVersion, boolean fullSync) {
+    return new TPartitionTableDelta(
+        epoch, fromVersion, toVersion, fullSync, new HashMap<>(), new HashMap<>());
+  }
+
+  private SchemaPartition getSchemaPartition(String storageGroupName, String deviceName) {
+    Map<String, List<String>> searchMap = new HashMap<>();
+    searchMap.put(storageGroupName, Collections.singletonList(deviceName));
+    return partitionCache.getSchemaPartition(searchMap);
+  }
+
   private Map<String, List<DataPartitionQueryParam>> getStorageGroupToQueryParamsMap(
       String storageGroupName, String deviceName, boolean timePartitionSlotMissed) {
     Map<String, List<DataPartitionQueryParam>> storageGroupToQueryParamsMap = new HashMap<>();
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.plan.analyze.cache;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ReplicationLagCacheTest {
+
+  private static final TConsensusGroupId REGION_GROUP_1 =
+      new TConsensusGroupId(TConsensusGroupType.DataRegion, 1);
+  private static final TConsensusGroupId REGION_GROUP_2 =
+      new TConsensusGroupId(TConsensusGroupType.DataRegion, 2);
+
+  @After
+  public void tearDown() {
+    ReplicationLagCache.getInstance().invalidAllCache();
+  }
+
+  @Test
+  public void testAgeOfSample() {
+    ReplicationLagCache cache = ReplicationLagCache.getInstance();
+    Map<TConsensusGroupId, Map<Integer, Long>> replicationLagMap = new HashMap<>();
+    replicationLagMap.put(REGION_GROUP_1, Collections.singletonMap(1, 100L));
+    replicationLagMap.put(REGION_GROUP_2, Collections.singletonMap(1, 200L));
+    Map<TConsensusGroupId, Long> sampleTimeMap = new HashMap<>();
+    // the lag of the first RegionGroup is sampled 5s before the broadcast
+    long broadcastTime = 1_000_000L;
+    sampleTimeMap.put(REGION_GROUP_1, broadcastTime - 5_000);
+    sampleTimeMap.put(REGION_GROUP_2, broadcastTime);
+    cache.update(broadcastTime, replicationLagMap, sampleTimeMap);
+
+    long lag = cache.getReplicationLag(REGION_GROUP_1, 1);
+    Assert.assertTrue(lag >= 5_100 && lag < 10_000);
+    lag = cache.getReplicationLag(REGION_GROUP_2, 1);
+    Assert.assertTrue(lag >= 200 && lag < 5_000);
+
+    // unknown replicas
+    Assert.assertEquals(Long.MAX_VALUE, cache.getReplicationLag(REGION_GROUP_1, 2));
+    Assert.assertEquals(
+        Long.MAX_VALUE,
+        cache.getReplicationLag(new TConsensusGroupId(TConsensusGroupType.DataRegion, 3), 1));
+  }
+
+  @Test
+  public void testUnknownSampleTime() {
+    ReplicationLagCache cache = ReplicationLagCache.getInstance();
+    cache.update(
+        System.currentTimeMillis(),
+        Collections.singletonMap(REGION_GROUP_1, Collections.singletonMap(1, 0L)),
+        Collections.emptyMap());
+    Assert.assertEquals(Long.MAX_VALUE, cache.getReplicationLag(REGION_GROUP_1, 1));
+  }
+
+  @Test
+  public void testOverflow() {
+    ReplicationLagCache cache = ReplicationLagCache.getInstance();
+    long broadcastTime = System.currentTimeMillis();
+    cache.update(
+        broadcastTime,
+        Collections.singletonMap(REGION_GROUP_1, Collections.singletonMap(1, Long.MAX_VALUE - 1)),
+        Collections.singletonMap(REGION_GROUP_1, broadcastTime - 1_000));
+    Assert.assertEquals(Long.MAX_VALUE, cache.getReplicationLag(REGION_GROUP_1, 1));
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.service.thrift.impl;
+
+import org.apache.iotdb.db.mpp.plan.statement.component.FillComponent;
+import org.apache.iotdb.db.mpp.plan.statement.component.GroupByTimeComponent;
+import org.apache.iotdb.db.mpp.plan.statement.crud.QueryStatement;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CQQueryStartTimeTest {
+
+  @Test
+  public void testFirstExecution() {
+    QueryStatement s = groupByTime(10, 10);
+    // the CQ has not been executed, thus the incremental start time is the start time
+    Assert.assertEquals(0, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 0));
+    Assert.assertEquals(0, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, -5));
+  }
+
+  @Test
+  public void testTumblingWindows() {
+    QueryStatement s = groupByTime(10, 10);
+    // within the first window
+    Assert.assertEquals(0, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 1));
+    Assert.assertEquals(0, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 9));
+    // at the end of the first window, which has been computed from all its data
+    Assert.assertEquals(10, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 10));
+    // unaligned
+    Assert.assertEquals(20, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 25));
+    Assert.assertEquals(20, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 29));
+    // aligned
+    Assert.assertEquals(30, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 30));
+    Assert.assertEquals(30, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 31));
+    // the last window
+    Assert.assertEquals(90, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 99));
+    // no window after the end time
+    Assert.assertEquals(0, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 100));
+  }
+
+  @Test
+  public void testUnalignedStartTime() {
+    QueryStatement s = groupByTime(10, 10);
+    // the windows are [3, 13), [13, 23), [23, 33) ...
+    Assert.assertEquals(3, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 3, 103, 12));
+    Assert.assertEquals(13, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 3, 103, 13));
+    Assert.assertEquals(13, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 3, 103, 22));
+    Assert.assertEquals(23, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 3, 103, 25));
+  }
+
+  @Test
+  public void testSlidingWindows() {
+    // overlapping windows [0, 10), [5, 15), [10, 20), [15, 25) ...
+    QueryStatement s = groupByTime(10, 5);
+    Assert.assertEquals(0, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 9));
+    Assert.assertEquals(5, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 10));
+    Assert.assertEquals(10, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 15));
+    Assert.assertEquals(15, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 22));
+    Assert.assertEquals(15, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 24));
+    Assert.assertEquals(20, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 25));
+
+    // windows with gaps [0, 5), [10, 15), [20, 25) ...
+    s = groupByTime(5, 10);
+    Assert.assertEquals(20, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 22));
+    Assert.assertEquals(30, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 25));
+    Assert.assertEquals(30, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 27));
+    // the next window starts at the end time
+    Assert.assertEquals(0, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 90, 86));
+  }
+
+  @Test
+  public void testNotIncremental() {
+    QueryStatement s = new QueryStatement();
+    Assert.assertEquals(0, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 50));
+
+    s = groupByTime(10, 10);
+    s.getGroupByTimeComponent().setIntervalByMonth(true);
+    Assert.assertEquals(0, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 50));
+
+    s = groupByTime(10, 10);
+    s.setFillComponent(new FillComponent());
+    Assert.assertEquals(0, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 50));
+
+    s = groupByTime(10, 10);
+    s.setRowLimit(10);
+    Assert.assertEquals(0, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 50));
+
+    s = groupByTime(10, 10);
+    s.setRowOffset(10);
+    Assert.assertEquals(0, DataNodeInternalRPCServiceImpl.getCQQueryStartTime(s, 0, 100, 50));
+  }
+
+  private QueryStatement groupByTime(long interval, long slidingStep) {
+    GroupByTimeComponent groupByTimeComponent = new GroupByTimeComponent();
+    groupByTimeComponent.setInterval(interval);
+    groupByTimeComponent.setSlidingStep(slidingStep);
+    QueryStatement s = new QueryStatement();
+    s.setGroupByTimeComponent(groupByTimeComponent);
+    return s;
+  }
+}
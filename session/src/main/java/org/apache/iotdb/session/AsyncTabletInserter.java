@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.session;
+
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.isession.SessionConfig;
+import org.apache.iotdb.rpc.IoTDBConnectionException;
+import org.apache.iotdb.rpc.RedirectException;
+import org.apache.iotdb.rpc.StatementExecutionException;
+import org.apache.iotdb.service.rpc.thrift.TSInsertTabletReq;
+import org.apache.iotdb.service.rpc.thrift.TSInsertTabletsReq;
+import org.apache.iotdb.session.util.SessionUtils;
+import org.apache.iotdb.session.util.ThreadUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AsyncTabletInserter sends the tablets inserted asynchronously by a {@link Session}. The tablets
+ * are queued by the DataNode cached for their devices, and each queue is drained by up to
+ * maxInFlightRequests senders at a time: the tablets queued while all of them have a request in
+ * flight are coalesced into one {@link TSInsertTabletsReq} and sent by the next request. Thus the
+ * callers do not wait for the RPCs, and the small tablets are sent in large batches.
+ *
+ * <p>Each sender sends through a {@link SessionConnection} of the queue, which is only used by one
+ * sender at a time, since the connections of the session serve the synchronous requests of the
+ * caller concurrently. The connections are created when all the existing ones are in use, and are
+ * kept by the queue until the inserter is closed.
+ *
+ * <p>The total size of the tablets not yet sent is bounded by maxPendingBytes, and the callers are
+ * blocked when it is exceeded until some of them are sent.
+ */
+class AsyncTabletInserter {
+
+  private static final Logger logger = LoggerFactory.getLogger(AsyncTabletInserter.class);
+
+  // shared by all the sessions, each queue occupies one thread only when it is not empty
+  private static final ExecutorService SENDER_EXECUTOR =
+      new ThreadPoolExecutor(
+          SessionConfig.DEFAULT_SESSION_EXECUTOR_THREAD_NUM,
+          SessionConfig.DEFAULT_SESSION_EXECUTOR_THREAD_NUM,
+          0,
+          TimeUnit.MILLISECONDS,
+          new LinkedBlockingQueue<>(),
+          ThreadUtils.createThreadFactory("SessionAsyncInsert", true));
+
+  private final Session session;
+  private final long maxPendingBytes;
+  private final long maxBatchBytes;
+  private final int maxInFlightRequests;
+  private final Map<TEndPoint, PendingQueue> pendingQueues = new ConcurrentHashMap<>();
+
+  // guards pendingBytes and closed
+  private final Object windowLock = new Object();
+  private long pendingBytes = 0;
+  private boolean closed = false;
+
+  AsyncTabletInserter(
+      Session session, long maxPendingBytes, long maxBatchBytes, int maxInFlightRequests) {
+    this.session = session;
+    this.maxPendingBytes = maxPendingBytes;
+    this.maxBatchBytes = maxBatchBytes;
+    this.maxInFlightRequests = Math.max(1, maxInFlightRequests);
+  }
+
+  /**
+   * Queue the tablet to be sent, and block if the pending tablets have exceeded maxPendingBytes.
+   *
+   * @return the future completed after the tablet is written, or completed exceptionally with
+   *     {@link IoTDBConnectionException} or {@link StatementExecutionException}
+   */
+  CompletableFuture<Void> insert(TSInsertTabletReq request) {
+    PendingTablet tablet = new PendingTablet(request);
+    try {
+      acquire(tablet.bytes);
+    } catch (IoTDBConnectionException e) {
+      tablet.future.completeExceptionally(e);
+      return tablet.future;
+    }
+    offer(session.getEndPoint(request.getPrefixPath()), tablet);
+    return tablet.future;
+  }
+
+  private void offer(TEndPoint endPoint, PendingTablet tablet) {
+    PendingQueue queue = pendingQueues.computeIfAbsent(endPoint, PendingQueue::new);
+    if (queue.offer(tablet)) {
+      SENDER_EXECUTOR.execute(queue::drain);
+    }
+  }
+
+  private void acquire(long bytes) throws IoTDBConnectionException {
+    synchronized (windowLock) {
+      // a tablet larger than the window is sent when no other tablet is pending
+      while (!closed && pendingBytes > 0 && pendingBytes + bytes > maxPendingBytes) {
+        try {
+          windowLock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IoTDBConnectionException(
+              "Interrupted when waiting for the pending tablets to be sent", e);
+        }
+      }
+      if (closed) {
+        throw new IoTDBConnectionException("Session is closed");
+      }
+      pendingBytes += bytes;
+    }
+  }
+
+  private void release(long bytes) {
+    synchronized (windowLock) {
+      pendingBytes -= bytes;
+      windowLock.notifyAll();
+    }
+  }
+
+  private void send(PendingQueue queue, List<PendingTablet> batch) {
+    TSInsertTabletsReq request = new TSInsertTabletsReq();
+    request.setIsAligned(batch.get(0).request.isIsAligned());
+    long batchBytes = 0;
+    for (PendingTablet tablet : batch) {
+      request.addToPrefixPaths(tablet.request.getPrefixPath());
+      request.addToMeasurementsList(tablet.request.getMeasurements());
+      request.addToTypesList(tablet.request.getTypes());
+      request.addToTimestampsList(tablet.request.timestamps);
+      request.addToValuesList(tablet.request.values);
+      request.addToSizeList(tablet.request.getSize());
+      batchBytes += tablet.bytes;
+    }
+
+    Exception exception = null;
+    SessionConnection connection = null;
+    try {
+      connection = queue.borrowConnection();
+      connection.insertTablets(request);
+    } catch (RedirectException e) {
+      e.getDeviceEndPointMap().forEach(session::handleRedirection);
+    } catch (IoTDBConnectionException e) {
+      // the broken connection is dropped, and a new one is created by the next request
+      queue.closeConnection(connection);
+      connection = null;
+      if (!queue.endPoint.equals(session.defaultEndPoint)) {
+        // the tablets are resent by the default endpoint, and the following ones are routed to it
+        logger.warn("Session can not connect to {}", queue.endPoint);
+        session.removeRedirections(queue.endPoint);
+        for (PendingTablet tablet : batch) {
+          offer(session.defaultEndPoint, tablet);
+        }
+        return;
+      }
+      logger.error("Meet error when async insert!", e);
+      exception = e;
+    } catch (StatementExecutionException | RuntimeException e) {
+      logger.error("Meet error when async insert!", e);
+      exception = e;
+    }
+    if (connection != null) {
+      // returned before the bytes are released, so that close() finds it after the tablets sent
+      queue.returnConnection(connection);
+    }
+    release(batchBytes);
+    for (PendingTablet tablet : batch) {
+      SessionUtils.releaseBuffers(tablet.request);
+      if (exception == null) {
+        tablet.future.complete(null);
+      } else {
+        tablet.future.completeExceptionally(exception);
+      }
+    }
+  }
+
+  /**
+   * Fail the tablets inserted afterwards, wait until all the pending tablets are sent, and then
+   * close the connections of the senders. It blocks, thus must not be called by the senders.
+   */
+  void close() {
+    synchronized (windowLock) {
+      closed = true;
+      windowLock.notifyAll();
+      while (pendingBytes > 0) {
+        try {
+          windowLock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          logger.warn("Interrupted when waiting for the pending tablets to be sent");
+          return;
+        }
+      }
+    }
+    // no sender is running as no tablet is pending
+    pendingQueues.values().forEach(PendingQueue::closeConnections);
+  }
+
+  private static class PendingTablet {
+    private final TSInsertTabletReq request;
+    private final long bytes;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    private PendingTablet(TSInsertTabletReq request) {
+      this.request = request;
+      this.bytes = (long) request.timestamps.remaining() + request.values.remaining();
+    }
+  }
+
+  private class PendingQueue {
+    private final TEndPoint endPoint;
+    private final Deque<PendingTablet> tablets = new ArrayDeque<>();
+    // number of the senders draining the queue, each of which has one request in flight at most
+    private int senderNum = 0;
+    // the connections not used by any sender
+    private final Deque<SessionConnection> idleConnections = new ArrayDeque<>();
+
+    private PendingQueue(TEndPoint endPoint) {
+      this.endPoint = endPoint;
+    }
+
+    private SessionConnection borrowConnection() throws IoTDBConnectionException {
+      SessionConnection connection;
+      synchronized (this) {
+        connection = idleConnections.poll();
+      }
+      if (connection == null) {
+        // created out of the lock, which is also held by the callers offering tablets
+        connection = session.constructSessionConnection(session, endPoint, session.zoneId);
+      }
+      return connection;
+    }
+
+    private synchronized void returnConnection(SessionConnection connection) {
+      idleConnections.push(connection);
+    }
+
+    private void closeConnection(SessionConnection connection) {
+      if (connection == null) {
+        return;
+      }
+      try {
+        connection.close();
+      } catch (IoTDBConnectionException e) {
+        logger.warn("Failed to close the async insert connection to {}", endPoint, e);
+      }
+    }
+
+    private void closeConnections() {
+      List<SessionConnection> connections;
+      synchronized (this) {
+        connections = new ArrayList<>(idleConnections);
+        idleConnections.clear();
+      }
+      connections.forEach(this::closeConnection);
+    }
+
+    /** @return true if a sender should be started to drain the queue */
+    private synchronized boolean offer(PendingTablet tablet) {
+      tablets.add(tablet);
+      if (senderNum >= maxInFlightRequests) {
+        return false;
+      }
+      senderNum++;
+      return true;
+    }
+
+    /**
+     * Poll the tablets to be sent by one request, which are no larger than maxBatchBytes unless
+     * there is only one, and are all aligned or all non-aligned.
+     */
+    private synchronized List<PendingTablet> poll() {
+      List<PendingTablet> batch = new ArrayList<>();
+      long batchBytes = 0;
+      PendingTablet tablet;
+      while ((tablet = tablets.peek()) != null
+          && (batch.isEmpty()
+              || (batchBytes + tablet.bytes <= maxBatchBytes
+                  && tablet.request.isIsAligned() == batch.get(0).request.isIsAligned()))) {
+        batch.add(tablets.poll());
+        batchBytes += tablet.bytes;
+      }
+      if (batch.isEmpty()) {
+        senderNum--;
+      }
+      return batch;
+    }
+
+    private void drain() {
+      List<PendingTablet> batch;
+      while (!(batch = poll()).isEmpty()) {
+        send(this, batch);
+      }
+    }
+  }
+}
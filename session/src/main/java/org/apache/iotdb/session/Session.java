@@ -142,6 +142,16 @@ public class Session implements ISession {
   // The version number of the client which used for compatibility in the server
   protected Version version;
 
+  // The read consistency level of this session, or null to use the level of the cluster
+  protected String readConsistencyLevel;
+
+  protected long asyncInsertMaxPendingBytes = SessionConfig.DEFAULT_ASYNC_INSERT_MAX_PENDING_BYTES;
+  protected long asyncInsertMaxBatchBytes = SessionConfig.DEFAULT_ASYNC_INSERT_MAX_BATCH_BYTES;
+  protected int asyncInsertMaxInFlightRequests =
+      SessionConfig.DEFAULT_ASYNC_INSERT_MAX_IN_FLIGHT_REQUESTS;
+  // sends the tablets inserted asynchronously, created when the session is opened
+  private AsyncTabletInserter asyncTabletInserter;
+
   public Session(String host, int rpcPort) {
     this(
         host,
@@ -377,6 +387,42 @@ public class Session implements ISession {
     this.version = version;
   }
 
+  public String getReadConsistencyLevel() {
+    return readConsistencyLevel;
+  }
+
+  /**
+   * Set the read consistency level of the queries in this session, which is one of "strong",
+   * "weak", "any" and "bounded(ms)". It takes effect when the session is opened.
+   */
+  public void setReadConsistencyLevel(String readConsistencyLevel) {
+    this.readConsistencyLevel = readConsistencyLevel;
+  }
+
+  /**
+   * Set the max total size of the tablets inserted asynchronously but not sent, beyond which the
+   * asynchronous inserts are blocked. It takes effect when the session is opened.
+   */
+  public void setAsyncInsertMaxPendingBytes(long asyncInsertMaxPendingBytes) {
+    this.asyncInsertMaxPendingBytes = asyncInsertMaxPendingBytes;
+  }
+
+  /**
+   * Set the max size of the tablets coalesced into one asynchronous request. It takes effect when
+   * the session is opened.
+   */
+  public void setAsyncInsertMaxBatchBytes(long asyncInsertMaxBatchBytes) {
+    this.asyncInsertMaxBatchBytes = asyncInsertMaxBatchBytes;
+  }
+
+  /**
+   * Set the max number of asynchronous requests in flight to one DataNode, each of which is sent
+   * through its own connection. It takes effect when the session is opened.
+   */
+  public void setAsyncInsertMaxInFlightRequests(int asyncInsertMaxInFlightRequests) {
+    this.asyncInsertMaxInFlightRequests = asyncInsertMaxInFlightRequests;
+  }
+
   @Override
   public synchronized void open() throws IoTDBConnectionException {
     open(false, SessionConfig.DEFAULT_CONNECTION_TIMEOUT_MS);
@@ -398,6 +444,12 @@ public class Session implements ISession {
     this.connectionTimeoutInMs = connectionTimeoutInMs;
     defaultSessionConnection = constructSessionConnection(this, defaultEndPoint, zoneId);
     defaultSessionConnection.setEnableRedirect(enableQueryRedirection);
+    asyncTabletInserter =
+        new AsyncTabletInserter(
+            this,
+            asyncInsertMaxPendingBytes,
+            asyncInsertMaxBatchBytes,
+            asyncInsertMaxInFlightRequests);
     isClosed = false;
     if (enableRedirection || enableQueryRedirection) {
       deviceIdToEndpoint = new ConcurrentHashMap<>();
@@ -420,6 +472,12 @@ public class Session implements ISession {
     this.connectionTimeoutInMs = connectionTimeoutInMs;
     defaultSessionConnection = constructSessionConnection(this, defaultEndPoint, zoneId);
     defaultSessionConnection.setEnableRedirect(enableQueryRedirection);
+    asyncTabletInserter =
+        new AsyncTabletInserter(
+            this,
+            asyncInsertMaxPendingBytes,
+            asyncInsertMaxBatchBytes,
+            asyncInsertMaxInFlightRequests);
     isClosed = false;
     if (enableRedirection || enableQueryRedirection) {
       this.deviceIdToEndpoint = deviceIdToEndpoint;
@@ -434,6 +492,8 @@ public class Session implements ISession {
       return;
     }
     try {
+      // wait for the pending tablets to be sent
+      asyncTabletInserter.close();
       if (enableRedirection) {
         for (SessionConnection sessionConnection : endPointToSessionConnection.values()) {
           sessionConnection.close();
@@ -1055,6 +1115,19 @@ public class Session implements ISession {
     }
   }
 
+  /** @return the endpoint of the connection that {@link #getSessionConnection} returns */
+  TEndPoint getEndPoint(String deviceId) {
+    TEndPoint endPoint;
+    if (enableRedirection
+        && !deviceIdToEndpoint.isEmpty()
+        && (endPoint = deviceIdToEndpoint.get(deviceId)) != null
+        && endPointToSessionConnection.containsKey(endPoint)) {
+      return endPoint;
+    } else {
+      return defaultEndPoint;
+    }
+  }
+
   @Override
   public String getTimestampPrecision() throws TException {
     return defaultSessionConnection.getClient().getProperties().getTimestampPrecision();
@@ -1076,6 +1149,13 @@ public class Session implements ISession {
         }
       }
 
+      removeRedirections(endPoint);
+    }
+  }
+
+  /** Route the devices redirected to the broken endpoint to the default one */
+  void removeRedirections(TEndPoint endPoint) {
+    if (enableRedirection) {
       for (Iterator<Entry<String, TEndPoint>> it = deviceIdToEndpoint.entrySet().iterator();
           it.hasNext(); ) {
         Map.Entry<String, TEndPoint> entry = it.next();
@@ -1086,7 +1166,7 @@ public class Session implements ISession {
     }
   }
 
-  private void handleRedirection(String deviceId, TEndPoint endpoint) {
+  void handleRedirection(String deviceId, TEndPoint endpoint) {
     if (enableRedirection) {
       // no need to redirection
       if (endpoint.ip.equals("0.0.0.0")) {
@@ -2443,6 +2523,8 @@ public class Session implements ISession {
       } else {
         throw e;
       }
+    } finally {
+      SessionUtils.releaseBuffers(request);
     }
   }
 
@@ -2491,6 +2573,8 @@ public class Session implements ISession {
       } else {
         throw e;
       }
+    } finally {
+      SessionUtils.releaseBuffers(request);
     }
   }
 
@@ -2509,8 +2593,9 @@ public class Session implements ISession {
 
     request.setPrefixPath(tablet.deviceId);
     request.setIsAligned(isAligned);
-    request.setTimestamps(SessionUtils.getTimeBuffer(tablet));
-    request.setValues(SessionUtils.getValueBuffer(tablet));
+    // not by the setters, which copy the buffers
+    request.timestamps = SessionUtils.getTimeBuffer(tablet);
+    request.values = SessionUtils.getValueBuffer(tablet);
     request.setSize(tablet.rowSize);
     return request;
   }
@@ -2547,6 +2632,8 @@ public class Session implements ISession {
       try {
         defaultSessionConnection.insertTablets(request);
       } catch (RedirectException ignored) {
+      } finally {
+        SessionUtils.releaseBuffers(request);
       }
     }
   }
@@ -2583,6 +2670,8 @@ public class Session implements ISession {
       try {
         defaultSessionConnection.insertTablets(request);
       } catch (RedirectException ignored) {
+      } finally {
+        SessionUtils.releaseBuffers(request);
       }
     }
   }
@@ -2599,6 +2688,8 @@ public class Session implements ISession {
     }
 
     insertByGroup(tabletGroup, SessionConnection::insertTablets);
+    // not released if failed, as some of the requests may be still in flight
+    tabletGroup.values().forEach(SessionUtils::releaseBuffers);
   }
 
   private TSInsertTabletsReq genTSInsertTabletsReq(
@@ -2634,6 +2725,80 @@ public class Session implements ISession {
     request.addToSizeList(tablet.rowSize);
   }
 
+  /**
+   * insert a Tablet asynchronously. The tablet is serialized before this method returns, thus it
+   * can be reset and reused by the caller at once.
+   *
+   * <p>Up to asyncInsertMaxInFlightRequests requests are sent to one DataNode concurrently, and the
+   * tablets inserted asynchronously to the DataNode are coalesced into one request if they are
+   * queued while all of them are in flight. Thus the tablets may be written out of the order they
+   * are inserted. This method is blocked if the tablets not yet sent have exceeded
+   * asyncInsertMaxPendingBytes. If a coalesced request fails, all the tablets in it fail.
+   *
+   * @param tablet data batch
+   * @return the future completed after the tablet is written, or completed exceptionally with
+   *     IoTDBConnectionException or StatementExecutionException
+   */
+  @Override
+  public CompletableFuture<Void> insertTabletAsync(Tablet tablet) {
+    return submitTablet(tablet, false);
+  }
+
+  /**
+   * insert the aligned timeseries data of a device asynchronously.
+   *
+   * @param tablet data batch
+   * @see #insertTabletAsync(Tablet)
+   */
+  @Override
+  public CompletableFuture<Void> insertAlignedTabletAsync(Tablet tablet) {
+    return submitTablet(tablet, true);
+  }
+
+  /**
+   * insert the data of several devices asynchronously.
+   *
+   * @param tablets data batch in multiple device
+   * @return the future completed after all the tablets are written
+   * @see #insertTabletAsync(Tablet)
+   */
+  @Override
+  public CompletableFuture<Void> insertTabletsAsync(Map<String, Tablet> tablets) {
+    return submitTablets(tablets, false);
+  }
+
+  /**
+   * insert aligned data of several devices asynchronously.
+   *
+   * @param tablets data batch in multiple device
+   * @return the future completed after all the tablets are written
+   * @see #insertTabletAsync(Tablet)
+   */
+  @Override
+  public CompletableFuture<Void> insertAlignedTabletsAsync(Map<String, Tablet> tablets) {
+    return submitTablets(tablets, true);
+  }
+
+  private CompletableFuture<Void> submitTablets(Map<String, Tablet> tablets, boolean isAligned) {
+    CompletableFuture<?>[] futures =
+        tablets.values().stream()
+            .map(tablet -> submitTablet(tablet, isAligned))
+            .toArray(CompletableFuture[]::new);
+    return CompletableFuture.allOf(futures);
+  }
+
+  private CompletableFuture<Void> submitTablet(Tablet tablet, boolean isAligned) {
+    TSInsertTabletReq request;
+    try {
+      request = genTSInsertTabletReq(tablet, false, isAligned);
+    } catch (BatchExecutionException e) {
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+    return asyncTabletInserter.insert(request);
+  }
+
   /**
    * This method NOT insert data into database and the server just return after accept the request,
    * this method should be used to test other time cost in client
@@ -3446,6 +3611,10 @@ public class Session implements ISession {
     private boolean enableRedirection = SessionConfig.DEFAULT_REDIRECTION_MODE;
     private Version version = SessionConfig.DEFAULT_VERSION;
     private long timeOut = SessionConfig.DEFAULT_QUERY_TIME_OUT;
+    private long asyncInsertMaxPendingBytes = SessionConfig.DEFAULT_ASYNC_INSERT_MAX_PENDING_BYTES;
+    private long asyncInsertMaxBatchBytes = SessionConfig.DEFAULT_ASYNC_INSERT_MAX_BATCH_BYTES;
+    private int asyncInsertMaxInFlightRequests =
+        SessionConfig.DEFAULT_ASYNC_INSERT_MAX_IN_FLIGHT_REQUESTS;
 
     private List<String> nodeUrls = null;
 
@@ -3509,6 +3678,21 @@ public class Session implements ISession {
       return this;
     }
 
+    public Builder asyncInsertMaxPendingBytes(long asyncInsertMaxPendingBytes) {
+      this.asyncInsertMaxPendingBytes = asyncInsertMaxPendingBytes;
+      return this;
+    }
+
+    public Builder asyncInsertMaxBatchBytes(long asyncInsertMaxBatchBytes) {
+      this.asyncInsertMaxBatchBytes = asyncInsertMaxBatchBytes;
+      return this;
+    }
+
+    public Builder asyncInsertMaxInFlightRequests(int asyncInsertMaxInFlightRequests) {
+      this.asyncInsertMaxInFlightRequests = asyncInsertMaxInFlightRequests;
+      return this;
+    }
+
     public Session build() {
       if (nodeUrls != null
           && (!SessionConfig.DEFAULT_HOST.equals(host) || rpcPort != SessionConfig.DEFAULT_PORT)) {
@@ -3529,20 +3713,28 @@ public class Session implements ISession {
                 enableRedirection,
                 version);
         newSession.setEnableQueryRedirection(true);
+        newSession.setAsyncInsertMaxPendingBytes(asyncInsertMaxPendingBytes);
+        newSession.setAsyncInsertMaxBatchBytes(asyncInsertMaxBatchBytes);
+        newSession.setAsyncInsertMaxInFlightRequests(asyncInsertMaxInFlightRequests);
         return newSession;
       }
 
-      return new Session(
-          host,
-          rpcPort,
-          username,
-          password,
-          fetchSize,
-          zoneId,
-          thriftDefaultBufferSize,
-          thriftMaxFrameSize,
-          enableRedirection,
-          version);
+      Session newSession =
+          new Session(
+              host,
+              rpcPort,
+              username,
+              password,
+              fetchSize,
+              zoneId,
+              thriftDefaultBufferSize,
+              thriftMaxFrameSize,
+              enableRedirection,
+              version);
+      newSession.setAsyncInsertMaxPendingBytes(asyncInsertMaxPendingBytes);
+      newSession.setAsyncInsertMaxBatchBytes(asyncInsertMaxBatchBytes);
+      newSession.setAsyncInsertMaxInFlightRequests(asyncInsertMaxInFlightRequests);
+      return newSession;
     }
   }
 }
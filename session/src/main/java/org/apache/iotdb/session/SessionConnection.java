@@ -142,6 +142,9 @@ public class SessionConnection {
     openReq.setPassword(session.password);
     openReq.setZoneId(zoneId.toString());
     openReq.putToConfiguration("version", session.version.toString());
+    if (session.readConsistencyLevel != null) {
+      openReq.putToConfiguration("read_consistency_level", session.readConsistencyLevel);
+    }
 
     try {
       TSOpenSessionResp openResp = client.openSession(openReq);
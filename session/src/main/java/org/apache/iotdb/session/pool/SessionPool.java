@@ -44,9 +44,11 @@ import java.io.IOException;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 /**
  * SessionPool is a wrapper of a Session Set. Using SessionPool, the user do not need to consider
@@ -116,6 +118,11 @@ public class SessionPool implements ISessionPool {
   // whether the queue is closed.
   private boolean closed;
 
+  // the session out of the pool sending the tablets inserted asynchronously, shared by all the
+  // callers so that the tablets to one DataNode are queued and coalesced together
+  private Session asyncInsertSession;
+  private final Object asyncInsertSessionLock = new Object();
+
   // Redirect-able SessionPool
   private final List<String> nodeUrls;
 
@@ -536,6 +543,11 @@ public class SessionPool implements ISessionPool {
     this.closed = true;
     queue.clear();
     occupied.clear();
+    synchronized (asyncInsertSessionLock) {
+      // wait for the tablets inserted asynchronously to be sent
+      closeSession(asyncInsertSession);
+      asyncInsertSession = null;
+    }
   }
 
   @Override
@@ -776,6 +788,82 @@ public class SessionPool implements ISessionPool {
     }
   }
 
+  /**
+   * insert the data of a device asynchronously.
+   *
+   * <p>The tablets inserted asynchronously are sent by one session out of the pool, which is shared
+   * by all the callers, thus no session of the pool is occupied by the pending tablets. The tablet
+   * is not retried by the pool if it fails.
+   *
+   * @param tablet a tablet data of one device
+   * @see Session#insertTabletAsync(Tablet)
+   */
+  @Override
+  public CompletableFuture<Void> insertTabletAsync(Tablet tablet) {
+    return insertAsync(session -> session.insertTabletAsync(tablet));
+  }
+
+  /**
+   * insert the aligned data of a device asynchronously.
+   *
+   * @param tablet a tablet data of one device
+   * @see #insertTabletAsync(Tablet)
+   */
+  @Override
+  public CompletableFuture<Void> insertAlignedTabletAsync(Tablet tablet) {
+    return insertAsync(session -> session.insertAlignedTabletAsync(tablet));
+  }
+
+  /**
+   * insert the data of several devices asynchronously.
+   *
+   * @param tablets multiple batch
+   * @see #insertTabletAsync(Tablet)
+   */
+  @Override
+  public CompletableFuture<Void> insertTabletsAsync(Map<String, Tablet> tablets) {
+    return insertAsync(session -> session.insertTabletsAsync(tablets));
+  }
+
+  /**
+   * insert the aligned data of several devices asynchronously.
+   *
+   * @param tablets multiple batch
+   * @see #insertTabletAsync(Tablet)
+   */
+  @Override
+  public CompletableFuture<Void> insertAlignedTabletsAsync(Map<String, Tablet> tablets) {
+    return insertAsync(session -> session.insertAlignedTabletsAsync(tablets));
+  }
+
+  private CompletableFuture<Void> insertAsync(
+      Function<ISession, CompletableFuture<Void>> insertion) {
+    Session session;
+    try {
+      session = getAsyncInsertSession();
+    } catch (IoTDBConnectionException e) {
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+    // if the pool is closed concurrently, the tablet is failed by the closed session
+    return insertion.apply(session);
+  }
+
+  private Session getAsyncInsertSession() throws IoTDBConnectionException {
+    synchronized (asyncInsertSessionLock) {
+      if (closed) {
+        throw new IoTDBConnectionException(SESSION_POOL_IS_CLOSED);
+      }
+      if (asyncInsertSession == null) {
+        Session session = constructNewSession();
+        session.open(enableCompression, connectionTimeoutInMs, deviceIdToEndpoint);
+        asyncInsertSession = session;
+      }
+      return asyncInsertSession;
+    }
+  }
+
   /**
    * Insert data in batch format, which can reduce the overhead of network. This method is just like
    * jdbc batch insert, we pack some insert request in batch and send them to server If you want
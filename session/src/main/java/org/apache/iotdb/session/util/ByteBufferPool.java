@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.session.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ByteBufferPool caches the buffers which the tablets are serialized into, so that the large
+ * buffers are not allocated and zeroed for each insertion. The buffers are pooled by their
+ * capacities, which are rounded up to powers of two, and at most maxPooledBytes of them are cached.
+ *
+ * <p>The buffers are heap buffers, as thrift writes the backing array of a heap buffer to the
+ * transport directly, but copies a direct buffer into a temporary array.
+ */
+public class ByteBufferPool {
+
+  // the small buffers are cheap to allocate
+  private static final int MIN_POOLED_CAPACITY = 4096;
+  private static final int MAX_POOLED_CAPACITY = 1 << 30;
+
+  private final long maxPooledBytes;
+  private final AtomicLong pooledBytes = new AtomicLong(0);
+  // the i-th queue caches the buffers whose capacities are 2^i
+  private final List<Queue<ByteBuffer>> pooledBuffers = new ArrayList<>(Integer.SIZE);
+
+  public ByteBufferPool(long maxPooledBytes) {
+    this.maxPooledBytes = maxPooledBytes;
+    for (int i = 0; i < Integer.SIZE; i++) {
+      pooledBuffers.add(new ConcurrentLinkedQueue<>());
+    }
+  }
+
+  /** @return a cleared heap buffer whose capacity is no less than the size */
+  public ByteBuffer allocate(int size) {
+    if (size < MIN_POOLED_CAPACITY || size > MAX_POOLED_CAPACITY) {
+      return ByteBuffer.allocate(size);
+    }
+    int index = Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+    ByteBuffer buffer = pooledBuffers.get(index).poll();
+    if (buffer == null) {
+      return ByteBuffer.allocate(1 << index);
+    }
+    pooledBytes.addAndGet(-buffer.capacity());
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Return the buffer to the pool. The buffer must not be used afterwards, and the buffers not
+   * allocated by the pool are ignored.
+   */
+  public void release(ByteBuffer buffer) {
+    int capacity = buffer.capacity();
+    if (!buffer.hasArray()
+        || capacity < MIN_POOLED_CAPACITY
+        || capacity > MAX_POOLED_CAPACITY
+        || Integer.bitCount(capacity) != 1) {
+      return;
+    }
+    if (pooledBytes.addAndGet(capacity) > maxPooledBytes) {
+      pooledBytes.addAndGet(-capacity);
+      return;
+    }
+    pooledBuffers.get(Integer.numberOfTrailingZeros(capacity)).offer(buffer);
+  }
+
+  public long getPooledBytes() {
+    return pooledBytes.get();
+  }
+}
@@ -19,7 +19,10 @@
 package org.apache.iotdb.session.util;
 
 import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.isession.SessionConfig;
 import org.apache.iotdb.rpc.IoTDBConnectionException;
+import org.apache.iotdb.service.rpc.thrift.TSInsertTabletReq;
+import org.apache.iotdb.service.rpc.thrift.TSInsertTabletsReq;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
 import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
@@ -44,18 +47,28 @@ public class SessionUtils {
   private static final Logger logger = LoggerFactory.getLogger(SessionUtils.class);
   private static final byte TYPE_NULL = -2;
 
+  private static final ByteBufferPool TABLET_BUFFER_POOL =
+      new ByteBufferPool(SessionConfig.TABLET_BUFFER_POOL_MAX_BYTES);
+
+  /**
+   * The buffer may be allocated from a pool, and can be returned to it by {@link
+   * #releaseBuffers(TSInsertTabletReq)} after the request is sent.
+   */
   public static ByteBuffer getTimeBuffer(Tablet tablet) {
-    ByteBuffer timeBuffer = ByteBuffer.allocate(tablet.getTimeBytesSize());
-    for (int i = 0; i < tablet.rowSize; i++) {
-      timeBuffer.putLong(tablet.timestamps[i]);
-    }
+    ByteBuffer timeBuffer = TABLET_BUFFER_POOL.allocate(tablet.getTimeBytesSize());
+    timeBuffer.asLongBuffer().put(tablet.timestamps, 0, tablet.rowSize);
+    timeBuffer.position(tablet.rowSize * Long.BYTES);
     timeBuffer.flip();
     return timeBuffer;
   }
 
+  /**
+   * The buffer may be allocated from a pool, and can be returned to it by {@link
+   * #releaseBuffers(TSInsertTabletReq)} after the request is sent.
+   */
   @SuppressWarnings("squid:S3776") // Suppress high Cognitive Complexity warning
   public static ByteBuffer getValueBuffer(Tablet tablet) {
-    ByteBuffer valueBuffer = ByteBuffer.allocate(tablet.getTotalValueOccupation());
+    ByteBuffer valueBuffer = TABLET_BUFFER_POOL.allocate(tablet.getTotalValueOccupation());
     for (int i = 0; i < tablet.getSchemas().size(); i++) {
       MeasurementSchema schema = tablet.getSchemas().get(i);
       getValueBufferOfDataType(schema.getType(), tablet, i, valueBuffer);
@@ -65,10 +78,7 @@ public class SessionUtils {
         boolean columnHasNull = bitMap != null && !bitMap.isAllUnmarked();
         valueBuffer.put(BytesUtils.boolToByte(columnHasNull));
         if (columnHasNull) {
-          byte[] bytes = bitMap.getByteArray();
-          for (int j = 0; j < tablet.rowSize / Byte.SIZE + 1; j++) {
-            valueBuffer.put(bytes[j]);
-          }
+          valueBuffer.put(bitMap.getByteArray(), 0, tablet.rowSize / Byte.SIZE + 1);
         }
       }
     }
@@ -76,6 +86,26 @@ public class SessionUtils {
     return valueBuffer;
   }
 
+  /**
+   * Return the buffers of the sent request to the pool, the request must not be used afterwards.
+   */
+  public static void releaseBuffers(TSInsertTabletReq request) {
+    TABLET_BUFFER_POOL.release(request.timestamps);
+    TABLET_BUFFER_POOL.release(request.values);
+  }
+
+  /**
+   * Return the buffers of the sent request to the pool, the request must not be used afterwards.
+   */
+  public static void releaseBuffers(TSInsertTabletsReq request) {
+    if (request.timestampsList != null) {
+      request.timestampsList.forEach(TABLET_BUFFER_POOL::release);
+    }
+    if (request.valuesList != null) {
+      request.valuesList.forEach(TABLET_BUFFER_POOL::release);
+    }
+  }
+
   public static ByteBuffer getValueBuffer(List<TSDataType> types, List<Object> values)
       throws IoTDBConnectionException {
     ByteBuffer buffer = ByteBuffer.allocate(SessionUtils.calculateLength(types, values));
@@ -171,62 +201,51 @@ public class SessionUtils {
 
   private static void getValueBufferOfDataType(
       TSDataType dataType, Tablet tablet, int i, ByteBuffer valueBuffer) {
-
+    // the values are put in bulk, and the null values are overwritten afterwards
+    BitMap bitMap = tablet.bitMaps == null ? null : tablet.bitMaps[i];
+    boolean hasNull = bitMap != null && !bitMap.isAllUnmarked();
+    int start = valueBuffer.position();
     switch (dataType) {
       case INT32:
-        int[] intValues = (int[]) tablet.values[i];
-        for (int index = 0; index < tablet.rowSize; index++) {
-          if (tablet.bitMaps == null
-              || tablet.bitMaps[i] == null
-              || !tablet.bitMaps[i].isMarked(index)) {
-            valueBuffer.putInt(intValues[index]);
-          } else {
-            valueBuffer.putInt(Integer.MIN_VALUE);
+        valueBuffer.asIntBuffer().put((int[]) tablet.values[i], 0, tablet.rowSize);
+        valueBuffer.position(start + tablet.rowSize * Integer.BYTES);
+        for (int index = 0; hasNull && index < tablet.rowSize; index++) {
+          if (bitMap.isMarked(index)) {
+            valueBuffer.putInt(start + index * Integer.BYTES, Integer.MIN_VALUE);
           }
         }
         break;
       case INT64:
-        long[] longValues = (long[]) tablet.values[i];
-        for (int index = 0; index < tablet.rowSize; index++) {
-          if (tablet.bitMaps == null
-              || tablet.bitMaps[i] == null
-              || !tablet.bitMaps[i].isMarked(index)) {
-            valueBuffer.putLong(longValues[index]);
-          } else {
-            valueBuffer.putLong(Long.MIN_VALUE);
+        valueBuffer.asLongBuffer().put((long[]) tablet.values[i], 0, tablet.rowSize);
+        valueBuffer.position(start + tablet.rowSize * Long.BYTES);
+        for (int index = 0; hasNull && index < tablet.rowSize; index++) {
+          if (bitMap.isMarked(index)) {
+            valueBuffer.putLong(start + index * Long.BYTES, Long.MIN_VALUE);
           }
         }
         break;
       case FLOAT:
-        float[] floatValues = (float[]) tablet.values[i];
-        for (int index = 0; index < tablet.rowSize; index++) {
-          if (tablet.bitMaps == null
-              || tablet.bitMaps[i] == null
-              || !tablet.bitMaps[i].isMarked(index)) {
-            valueBuffer.putFloat(floatValues[index]);
-          } else {
-            valueBuffer.putFloat(Float.MIN_VALUE);
+        valueBuffer.asFloatBuffer().put((float[]) tablet.values[i], 0, tablet.rowSize);
+        valueBuffer.position(start + tablet.rowSize * Float.BYTES);
+        for (int index = 0; hasNull && index < tablet.rowSize; index++) {
+          if (bitMap.isMarked(index)) {
+            valueBuffer.putFloat(start + index * Float.BYTES, Float.MIN_VALUE);
           }
         }
         break;
       case DOUBLE:
-        double[] doubleValues = (double[]) tablet.values[i];
-        for (int index = 0; index < tablet.rowSize; index++) {
-          if (tablet.bitMaps == null
-              || tablet.bitMaps[i] == null
-              || !tablet.bitMaps[i].isMarked(index)) {
-            valueBuffer.putDouble(doubleValues[index]);
-          } else {
-            valueBuffer.putDouble(Double.MIN_VALUE);
+        valueBuffer.asDoubleBuffer().put((double[]) tablet.values[i], 0, tablet.rowSize);
+        valueBuffer.position(start + tablet.rowSize * Double.BYTES);
+        for (int index = 0; hasNull && index < tablet.rowSize; index++) {
+          if (bitMap.isMarked(index)) {
+            valueBuffer.putDouble(start + index * Double.BYTES, Double.MIN_VALUE);
           }
         }
         break;
       case BOOLEAN:
         boolean[] boolValues = (boolean[]) tablet.values[i];
         for (int index = 0; index < tablet.rowSize; index++) {
-          if (tablet.bitMaps == null
-              || tablet.bitMaps[i] == null
-              || !tablet.bitMaps[i].isMarked(index)) {
+          if (!hasNull || !bitMap.isMarked(index)) {
             valueBuffer.put(BytesUtils.boolToByte(boolValues[index]));
           } else {
             valueBuffer.put(BytesUtils.boolToByte(false));
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.session;
+
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.isession.SessionConfig;
+import org.apache.iotdb.rpc.IoTDBConnectionException;
+import org.apache.iotdb.rpc.StatementExecutionException;
+import org.apache.iotdb.service.rpc.thrift.TSInsertTabletsReq;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class AsyncTabletInserterTest {
+
+  private MockSession session;
+
+  @Before
+  public void setUp() throws IoTDBConnectionException {
+    session = new MockSession();
+  }
+
+  @After
+  public void tearDown() throws IoTDBConnectionException {
+    session.unblock();
+    session.close();
+  }
+
+  @Test
+  public void testOwnConnection() throws IoTDBConnectionException, InterruptedException {
+    session.open();
+    session.block();
+
+    CompletableFuture<Void> future = session.insertTabletAsync(genTablet("root.sg.d1"));
+    Assert.assertTrue(session.awaitRequests(1));
+    // the request in flight does not occupy the connection of the synchronous requests
+    Assert.assertEquals(2, session.getConnections().size());
+    MockSessionConnection defaultConnection = session.getConnections().get(0);
+    MockSessionConnection asyncConnection = session.getConnections().get(1);
+    Assert.assertTrue(defaultConnection.getRequests().isEmpty());
+    Assert.assertEquals(1, asyncConnection.getRequests().size());
+
+    session.unblock();
+    future.join();
+    session.close();
+    Assert.assertTrue(asyncConnection.isClosed());
+  }
+
+  @Test
+  public void testCoalesce() throws IoTDBConnectionException, InterruptedException {
+    session.setAsyncInsertMaxInFlightRequests(1);
+    session.open();
+    session.block();
+
+    CompletableFuture<Void> future1 = session.insertTabletAsync(genTablet("root.sg.d1"));
+    // the tablets queued while the first request is in flight are sent by one request
+    Assert.assertTrue(session.awaitRequests(1));
+    CompletableFuture<Void> future2 = session.insertTabletAsync(genTablet("root.sg.d2"));
+    CompletableFuture<Void> future3 = session.insertTabletAsync(genTablet("root.sg.d3"));
+    Assert.assertFalse(future1.isDone());
+
+    session.unblock();
+    CompletableFuture.allOf(future1, future2, future3).join();
+    List<TSInsertTabletsReq> requests = session.getConnections().get(1).getRequests();
+    Assert.assertEquals(2, requests.size());
+    Assert.assertEquals(Collections.singletonList("root.sg.d1"), requests.get(0).getPrefixPaths());
+    Assert.assertEquals(
+        Arrays.asList("root.sg.d2", "root.sg.d3"), requests.get(1).getPrefixPaths());
+  }
+
+  @Test
+  public void testInFlightRequests() throws IoTDBConnectionException, InterruptedException {
+    session.setAsyncInsertMaxInFlightRequests(2);
+    session.open();
+    session.block();
+
+    // each request in flight is sent through its own connection
+    CompletableFuture<Void> future1 = session.insertTabletAsync(genTablet("root.sg.d1"));
+    Assert.assertTrue(session.awaitRequests(1));
+    CompletableFuture<Void> future2 = session.insertTabletAsync(genTablet("root.sg.d2"));
+    Assert.assertTrue(session.awaitRequests(1));
+    Assert.assertEquals(3, session.getConnections().size());
+    // the tablets queued while both requests are in flight are sent by one request
+    CompletableFuture<Void> future3 = session.insertTabletAsync(genTablet("root.sg.d3"));
+    CompletableFuture<Void> future4 = session.insertTabletAsync(genTablet("root.sg.d4"));
+
+    session.unblock();
+    CompletableFuture.allOf(future1, future2, future3, future4).join();
+    Assert.assertEquals(3, session.getConnections().size());
+    Assert.assertTrue(session.getConnections().get(0).getRequests().isEmpty());
+    List<List<String>> prefixPaths = new ArrayList<>();
+    for (MockSessionConnection connection : session.getConnections()) {
+      for (TSInsertTabletsReq request : connection.getRequests()) {
+        prefixPaths.add(request.getPrefixPaths());
+      }
+    }
+    Assert.assertEquals(3, prefixPaths.size());
+    Assert.assertTrue(prefixPaths.contains(Arrays.asList("root.sg.d3", "root.sg.d4")));
+
+    session.close();
+    Assert.assertTrue(session.getConnections().get(1).isClosed());
+    Assert.assertTrue(session.getConnections().get(2).isClosed());
+  }
+
+  @Test
+  public void testBackPressure() throws Exception {
+    // only one tablet can be pending
+    session.setAsyncInsertMaxPendingBytes(1);
+    session.open();
+    session.block();
+
+    CompletableFuture<Void> future1 = session.insertTabletAsync(genTablet("root.sg.d1"));
+    Assert.assertTrue(session.awaitRequests(1));
+    AtomicReference<CompletableFuture<Void>> future2 = new AtomicReference<>();
+    Thread thread =
+        new Thread(() -> future2.set(session.insertTabletAsync(genTablet("root.sg.d2"))));
+    thread.start();
+    thread.join(500);
+    // blocked until the first tablet is sent
+    Assert.assertTrue(thread.isAlive());
+    Assert.assertNull(future2.get());
+
+    session.unblock();
+    thread.join();
+    CompletableFuture.allOf(future1, future2.get()).join();
+    Assert.assertEquals(2, session.getConnections().get(1).getRequests().size());
+  }
+
+  @Test
+  public void testFailure() throws IoTDBConnectionException {
+    session.open();
+    session.setFailed(true);
+
+    Map<String, Tablet> tablets = new LinkedHashMap<>();
+    tablets.put("root.sg.d1", genTablet("root.sg.d1"));
+    tablets.put("root.sg.d2", genTablet("root.sg.d2"));
+    try {
+      session.insertTabletsAsync(tablets).join();
+      Assert.fail();
+    } catch (CompletionException e) {
+      Assert.assertTrue(e.getCause() instanceof StatementExecutionException);
+    }
+  }
+
+  private Tablet genTablet(String deviceId) {
+    Tablet tablet =
+        new Tablet(
+            deviceId, Collections.singletonList(new MeasurementSchema("s1", TSDataType.INT64)));
+    for (long time = 0; time < 10; time++) {
+      int row = tablet.rowSize++;
+      tablet.addTimestamp(row, time);
+      tablet.addValue("s1", row, time);
+    }
+    return tablet;
+  }
+
+  private static class MockSession extends Session {
+
+    private final List<MockSessionConnection> connections = new CopyOnWriteArrayList<>();
+    private final Semaphore requestPermits = new Semaphore(0);
+    private volatile CountDownLatch blockLatch = new CountDownLatch(0);
+    private volatile boolean failed = false;
+
+    private MockSession() {
+      super(
+          "127.0.0.1",
+          55560,
+          SessionConfig.DEFAULT_USER,
+          SessionConfig.DEFAULT_PASSWORD,
+          SessionConfig.DEFAULT_FETCH_SIZE,
+          null,
+          SessionConfig.DEFAULT_INITIAL_BUFFER_CAPACITY,
+          SessionConfig.DEFAULT_MAX_FRAME_SIZE,
+          false,
+          SessionConfig.DEFAULT_VERSION);
+    }
+
+    @Override
+    public SessionConnection constructSessionConnection(
+        Session session, TEndPoint endpoint, ZoneId zoneId) {
+      MockSessionConnection connection = new MockSessionConnection(this);
+      connections.add(connection);
+      return connection;
+    }
+
+    /** @return the default connection followed by the ones for the async inserts */
+    private List<MockSessionConnection> getConnections() {
+      return connections;
+    }
+
+    private boolean awaitRequests(int requestNum) throws InterruptedException {
+      return requestPermits.tryAcquire(requestNum, 10, TimeUnit.SECONDS);
+    }
+
+    private void block() {
+      blockLatch = new CountDownLatch(1);
+    }
+
+    private void unblock() {
+      blockLatch.countDown();
+    }
+
+    private void setFailed(boolean failed) {
+      this.failed = failed;
+    }
+  }
+
+  private static class MockSessionConnection extends SessionConnection {
+
+    private final MockSession session;
+    private final List<TSInsertTabletsReq> requests = new CopyOnWriteArrayList<>();
+    private volatile boolean closed = false;
+
+    private MockSessionConnection(MockSession session) {
+      this.session = session;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    @Override
+    protected void insertTablets(TSInsertTabletsReq request) throws StatementExecutionException {
+      requests.add(request);
+      session.requestPermits.release();
+      try {
+        session.blockLatch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      if (session.failed) {
+        throw new StatementExecutionException("failed to insert");
+      }
+    }
+
+    private boolean isClosed() {
+      return closed;
+    }
+
+    private List<TSInsertTabletsReq> getRequests() {
+      return requests;
+    }
+  }
+}
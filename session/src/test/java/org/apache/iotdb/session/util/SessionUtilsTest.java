@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.session.util;
+
+import org.apache.iotdb.service.rpc.thrift.TSInsertTabletReq;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.BytesUtils;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class SessionUtilsTest {
+
+  @Test
+  public void testTabletBuffers() {
+    Tablet tablet =
+        new Tablet(
+            "root.sg.d1",
+            Arrays.asList(
+                new MeasurementSchema("s1", TSDataType.INT32),
+                new MeasurementSchema("s2", TSDataType.INT64),
+                new MeasurementSchema("s3", TSDataType.FLOAT),
+                new MeasurementSchema("s4", TSDataType.DOUBLE),
+                new MeasurementSchema("s5", TSDataType.BOOLEAN),
+                new MeasurementSchema("s6", TSDataType.TEXT)),
+            10);
+    tablet.initBitMaps();
+    for (int row = 0; row < 10; row++) {
+      tablet.addTimestamp(row, row);
+      tablet.addValue("s1", row, row);
+      tablet.addValue("s2", row, (long) row);
+      tablet.addValue("s3", row, (float) row);
+      tablet.addValue("s4", row, (double) row);
+      tablet.addValue("s5", row, true);
+      tablet.addValue("s6", row, String.valueOf(row));
+      tablet.rowSize++;
+    }
+    // the values of the null positions are not sent
+    for (int column = 0; column < 5; column++) {
+      tablet.bitMaps[column].mark(3);
+    }
+
+    ByteBuffer timeBuffer = SessionUtils.getTimeBuffer(tablet);
+    Assert.assertEquals(10 * Long.BYTES, timeBuffer.remaining());
+    for (int row = 0; row < 10; row++) {
+      Assert.assertEquals(row, timeBuffer.getLong());
+    }
+
+    ByteBuffer valueBuffer = SessionUtils.getValueBuffer(tablet);
+    Assert.assertEquals(tablet.getTotalValueOccupation(), valueBuffer.remaining());
+    for (int row = 0; row < 10; row++) {
+      Assert.assertEquals(row == 3 ? Integer.MIN_VALUE : row, valueBuffer.getInt());
+    }
+    for (int row = 0; row < 10; row++) {
+      Assert.assertEquals(row == 3 ? Long.MIN_VALUE : row, valueBuffer.getLong());
+    }
+    for (int row = 0; row < 10; row++) {
+      Assert.assertEquals(row == 3 ? Float.MIN_VALUE : row, valueBuffer.getFloat(), 0);
+    }
+    for (int row = 0; row < 10; row++) {
+      Assert.assertEquals(row == 3 ? Double.MIN_VALUE : row, valueBuffer.getDouble(), 0);
+    }
+    for (int row = 0; row < 10; row++) {
+      Assert.assertEquals(row != 3, BytesUtils.byteToBool(valueBuffer.get()));
+    }
+    for (int row = 0; row < 10; row++) {
+      byte[] bytes = new byte[valueBuffer.getInt()];
+      valueBuffer.get(bytes);
+      Assert.assertEquals(String.valueOf(row), new String(bytes));
+    }
+    for (int column = 0; column < 6; column++) {
+      boolean hasBitMap = BytesUtils.byteToBool(valueBuffer.get());
+      Assert.assertEquals(column < 5, hasBitMap);
+      if (hasBitMap) {
+        Assert.assertEquals(1 << 3, valueBuffer.get());
+        Assert.assertEquals(0, valueBuffer.get());
+      }
+    }
+    Assert.assertFalse(valueBuffer.hasRemaining());
+  }
+
+  @Test
+  public void testReleaseBuffers() {
+    Tablet tablet =
+        new Tablet(
+            "root.sg.d1",
+            Collections.singletonList(new MeasurementSchema("s1", TSDataType.INT64)),
+            1000);
+    for (int row = 0; row < 1000; row++) {
+      tablet.addTimestamp(row, row);
+      tablet.addValue("s1", row, (long) row);
+      tablet.rowSize++;
+    }
+    TSInsertTabletReq request = new TSInsertTabletReq();
+    request.timestamps = SessionUtils.getTimeBuffer(tablet);
+    request.values = SessionUtils.getValueBuffer(tablet);
+    SessionUtils.releaseBuffers(request);
+
+    // the released buffers are reused and filled again
+    tablet.timestamps[0] = 100;
+    ByteBuffer timeBuffer = SessionUtils.getTimeBuffer(tablet);
+    Assert.assertTrue(timeBuffer == request.timestamps || timeBuffer == request.values);
+    Assert.assertEquals(1000 * Long.BYTES, timeBuffer.remaining());
+    Assert.assertEquals(100, timeBuffer.getLong());
+    Assert.assertEquals(1, timeBuffer.getLong());
+  }
+}
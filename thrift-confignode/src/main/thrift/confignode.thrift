@@ -79,6 +79,8 @@ struct TRatisConfig {
 
   27: required i64 schemaRegionRatisLogMax
   28: required i64 dataRegionRatisLogMax
+
+  29: optional bool schemaReadLeaderLeaseEnable
 }
 
 struct TCQConfig {
@@ -647,6 +649,9 @@ struct TCQEntry {
   1: required string cqId
   2: required string sql
   3: required byte state
+  // the time range whose windows have all been computed by the CQ, which is used as a materialized view
+  4: optional i64 materializedStartTime
+  5: optional i64 materializedEndTime
 }
 
 struct TShowCQResp {
@@ -81,6 +81,8 @@ struct TSendSnapshotFragmentReq {
   3: required string filePath
   4: required i64 chunkLength
   5: required binary fileChunk
+  6: optional i64 offset
+  7: optional i64 checksum
 }
 
 struct TWaitSyncLogCompleteReq {
@@ -215,6 +215,27 @@ struct THeartbeatReq {
   1: required i64 heartbeatTimestamp
   2: required bool needJudgeLeader
   3: required bool needSamplingLoad
+  // The changes of the partition table since the version reported by the DataNode
+  4: optional TPartitionTableDelta partitionTableDelta
+}
+
+struct TPartitionTableDelta {
+  // Regenerated when the ConfigNode-leader starts, takes over or restores a snapshot, the versions
+  // of different epochs are incomparable
+  1: required i64 epoch
+  // The version that the delta is based on, ignored if fullSync
+  2: required i64 fromVersion
+  // The version after applying the delta
+  3: required i64 toVersion
+  // True if the delta contains all the databases, the DataNode should drop the cached databases not
+  // in it
+  4: required bool fullSync
+  // Map<StorageGroupName, Map<TSeriesPartitionSlot, TConsensusGroupId>>
+  5: required map<string, map<common.TSeriesPartitionSlot, common.TConsensusGroupId>> schemaPartitionTable
+  // Map<StorageGroupName, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
+  6: required map<string, map<common.TSeriesPartitionSlot, map<common.TTimePartitionSlot, list<common.TConsensusGroupId>>>> dataPartitionTable
+  // The databases whose partitions are all removed before adding the partitions above
+  7: optional set<string> removedStorageGroups
 }
 
 struct THeartbeatResp {
@@ -223,6 +244,14 @@ struct THeartbeatResp {
   3: optional string statusReason
   4: optional map<common.TConsensusGroupId, bool> judgedLeaders
   5: optional TLoadSample loadSample
+  // The replication lag in milliseconds of each replica in the RegionGroups led by this DataNode
+  // Key: RegionGroupId, Value: <DataNodeId, replication lag>
+  6: optional map<common.TConsensusGroupId, map<i32, i64>> replicationLagMap
+  // The version of the partition table cached by this DataNode
+  7: optional i64 partitionTableEpoch
+  8: optional i64 partitionTableVersion
+  // The load of each DataRegion in this DataNode, sampled together with the TLoadSample
+  9: optional map<common.TConsensusGroupId, TRegionLoadSample> regionLoadSampleMap
 }
 
 struct TLoadSample {
@@ -237,9 +266,24 @@ struct TLoadSample {
   4: required i64 freeDiskSpace
 }
 
+struct TRegionLoadSample {
+  // The number of points written into the Region since the DataNode started
+  1: required i64 writtenPoints
+  // The cpu time spent in querying the Region since the DataNode started
+  // Unit: Nanosecond
+  2: required i64 queryCpuTime
+  // The size of TsFiles in the Region
+  // Unit: Byte
+  3: required i64 diskSize
+}
+
 struct TRegionRouteReq {
   1: required i64 timestamp
   2: required map<common.TConsensusGroupId, common.TRegionReplicaSet> regionRouteMap
+  // The replication lag in milliseconds of each replica, used by the bounded staleness reads
+  3: optional map<common.TConsensusGroupId, map<i32, i64>> replicationLagMap
+  // The time when the replication lag of each RegionGroup is sampled, whose age is added to the lag
+  4: optional map<common.TConsensusGroupId, i64> replicationLagSampleTimeMap
 }
 
 struct TUpdateConfigNodeGroupReq {
@@ -350,6 +394,8 @@ struct TExecuteCQ {
   5: required string zoneId
   6: required string cqId
   7: required string username
+  // if set, only the results of the windows not ending before it are recomputed
+  8: optional i64 incrementalStartTime
 }
 
 // ====================================================
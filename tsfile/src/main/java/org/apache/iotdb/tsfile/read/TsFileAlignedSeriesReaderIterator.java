@@ -81,30 +81,51 @@ public class TsFileAlignedSeriesReaderIterator {
       totalSize += chunk.getHeader().getSerializedSize() + chunk.getHeader().getDataSize();
     }
 
-    AlignedChunkReader chunkReader =
-        new AlignedChunkReader(timeChunk, Arrays.asList(valueChunks), null);
-
-    return new NextAlignedChunkInfo(chunkReader, totalSize, notNullChunkNum, totalPointNum);
+    return new NextAlignedChunkInfo(
+        timeChunk, valueChunks, totalSize, notNullChunkNum, totalPointNum);
   }
 
   public class NextAlignedChunkInfo {
+    private final Chunk timeChunk;
+    // the value chunks in the order of the schema list, which is null if the series does not exist
+    private final Chunk[] valueChunks;
     private AlignedChunkReader reader;
     private long totalSize;
     private int notNullChunkNum;
     private long totalPointNum;
 
     public NextAlignedChunkInfo(
-        AlignedChunkReader reader, long totalSize, int notNullChunkNum, long totalPointNum) {
-      this.reader = reader;
+        Chunk timeChunk,
+        Chunk[] valueChunks,
+        long totalSize,
+        int notNullChunkNum,
+        long totalPointNum) {
+      this.timeChunk = timeChunk;
+      this.valueChunks = valueChunks;
       this.totalSize = totalSize;
       this.notNullChunkNum = notNullChunkNum;
       this.totalPointNum = totalPointNum;
     }
 
-    public AlignedChunkReader getReader() {
+    /**
+     * The reader is constructed lazily, since it consumes the data of the chunks, which can be
+     * copied page by page without being read.
+     */
+    public AlignedChunkReader getReader() throws IOException {
+      if (reader == null) {
+        reader = new AlignedChunkReader(timeChunk, Arrays.asList(valueChunks), null);
+      }
       return reader;
     }
 
+    public Chunk getTimeChunk() {
+      return timeChunk;
+    }
+
+    public Chunk[] getValueChunks() {
+      return valueChunks;
+    }
+
     public long getTotalSize() {
       return totalSize;
     }